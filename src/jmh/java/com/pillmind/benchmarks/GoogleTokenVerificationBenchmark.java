@@ -0,0 +1,94 @@
+package com.pillmind.benchmarks;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pillmind.benchmarks.support.LocalJwksServer;
+import com.pillmind.infra.oauth.GoogleJwksKeyCache;
+import com.pillmind.infra.oauth.GoogleTokenValidator;
+import com.pillmind.infra.oauth.GoogleTokenValidator.GoogleUserInfo;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * Verificação de ID token do Google com as chaves ainda não buscadas (cache frio: uma ida ao
+ * servidor JWKS local por login) e com as chaves já em memória (caminho normal).
+ * <p>
+ * {@code ./gradlew jmh -PjmhIncludes=GoogleTokenVerification}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GoogleTokenVerificationBenchmark {
+
+    private static final String CLIENT_ID = "benchmark.apps.googleusercontent.com";
+
+    private LocalJwksServer server;
+    private GoogleJwksKeyCache warmKeys;
+    private GoogleTokenValidator warm;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        server = new LocalJwksServer("bench", (RSAPublicKey) keyPair.getPublic());
+
+        Instant now = Instant.now();
+        token = Jwts.builder()
+                .setHeaderParam("kid", "bench")
+                .setIssuer("https://accounts.google.com")
+                .setAudience(CLIENT_ID)
+                .setSubject("google-123")
+                .claim("email", "bench@example.com")
+                .claim("email_verified", true)
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(Duration.ofDays(1))))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+
+        warmKeys = new GoogleJwksKeyCache(server.uri());
+        warm = new GoogleTokenValidator(CLIENT_ID, warmKeys);
+        warm.validate(token);
+    }
+
+    @TearDown
+    public void tearDown() {
+        warmKeys.close();
+        server.close();
+    }
+
+    @Benchmark
+    public GoogleUserInfo coldKeyCache() {
+        try (var keys = new GoogleJwksKeyCache(server.uri())) {
+            return new GoogleTokenValidator(CLIENT_ID, keys).validate(token);
+        }
+    }
+
+    @Benchmark
+    public GoogleUserInfo warmKeyCache() {
+        return warm.validate(token);
+    }
+}
@@ -0,0 +1,88 @@
+package com.pillmind.benchmarks;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pillmind.benchmarks.support.BenchmarkDatabase;
+import com.pillmind.main.config.JsonConfig;
+import com.pillmind.presentation.controllers.MedicineHttpController.MedicineJsonResponse;
+import com.pillmind.presentation.controllers.MedicineHttpController.MedicineWriteRequest;
+import com.pillmind.presentation.controllers.ProfileController.ProfileResponse;
+
+/**
+ * Mapper por reflexão ({@code reflection}, como os controllers faziam) contra o mapper
+ * compartilhado com Blackbird ({@code blackbird}), sem banco: só o custo do Jackson.
+ * <p>
+ * {@code ./gradlew jmh -PjmhIncludes=JsonSerialization -PjmhProfilers=gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final String WRITE_REQUEST = """
+            {"name":"Dipirona","dosage":"500mg","frequency":"daily","times":["08:00","20:00"],\
+            "startDate":"2024-01-01","notes":"Com alimento","medicineType":"capsule","quantity":30}""";
+
+    @Param({ "reflection", "blackbird" })
+    public String mapperType;
+
+    @Param({ "100" })
+    public int rows;
+
+    private ObjectMapper mapper;
+    private List<MedicineJsonResponse> medicines;
+    private ProfileResponse profile;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = "blackbird".equals(mapperType)
+                ? JsonConfig.createObjectMapper()
+                : new ObjectMapper().registerModule(new JavaTimeModule());
+
+        medicines = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            medicines.add(MedicineJsonResponse.from(
+                    BenchmarkDatabase.medicine("bench-user", "Medicine " + i, LocalDate.of(2024, 1, 1))));
+        }
+        profile = new ProfileResponse("bench-user", "Bench User", "bench@example.com", LocalDate.of(1990, 1, 1),
+                "MALE", null, true, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public byte[] medicineList() throws IOException {
+        return mapper.writeValueAsBytes(medicines);
+    }
+
+    @Benchmark
+    public byte[] profile() throws IOException {
+        return mapper.writeValueAsBytes(profile);
+    }
+
+    @Benchmark
+    public MedicineWriteRequest readWriteRequest() throws IOException {
+        return mapper.readValue(WRITE_REQUEST, MedicineWriteRequest.class);
+    }
+}
@@ -0,0 +1,82 @@
+package com.pillmind.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pillmind.benchmarks.support.BenchmarkDatabase;
+import com.pillmind.infra.db.postgres.MedicinePostgresRepository;
+import com.pillmind.presentation.controllers.MedicineHttpController.MedicineJsonResponse;
+import com.pillmind.presentation.helpers.JsonArrayStream;
+
+/**
+ * Alocação por requisição de GET /api/medicines: lista materializada + String JSON
+ * (caminho antigo, como {@code ctx.json}) contra escrita em streaming direto do ResultSet.
+ * <p>
+ * Compare {@code gc.alloc.rate.norm} (bytes/op):
+ * {@code ./gradlew jmh -PjmhIncludes=MedicineListSerialization -PjmhProfilers=gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MedicineListSerializationBenchmark {
+
+    @Param({ "10", "100", "10000" })
+    public int rows;
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    private BenchmarkDatabase database;
+    private MedicinePostgresRepository repository;
+    private String userId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.split(1);
+        repository = database.medicines();
+        userId = database.createUser("bench@example.com");
+        database.seedMedicines(userId, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public void materialized() throws IOException {
+        List<MedicineJsonResponse> items = repository.findAllByUserId(userId).stream()
+                .map(MedicineJsonResponse::from)
+                .toList();
+        sink.write(mapper.writeValueAsString(items).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public void streaming() throws IOException {
+        var out = new JsonArrayStream(mapper, sink);
+        repository.streamAllByUserId(userId, m -> out.write(MedicineJsonResponse.from(m)));
+        out.finish();
+    }
+}
@@ -0,0 +1,105 @@
+package com.pillmind.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pillmind.benchmarks.support.BenchmarkDatabase;
+import com.pillmind.domain.models.DoseTimes;
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.infra.db.postgres.MedicinePostgresRepository;
+
+/**
+ * Mapeamento das linhas de medicamentos de um usuário: {@code findAll} lê {@code times_packed}
+ * do SQLite de ponta a ponta; {@code timesJson} e {@code timesPacked} isolam só a decodificação
+ * da coluna de horários (o parse de {@code times_json} antigo contra {@link DoseTimes#fromPacked}).
+ * <p>
+ * {@code ./gradlew jmh -PjmhIncludes=MedicineRowMapping -PjmhProfilers=gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MedicineRowMappingBenchmark {
+
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {
+    };
+
+    @Param({ "200" })
+    public int rows;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private BenchmarkDatabase database;
+    private MedicinePostgresRepository repository;
+    private String userId;
+    private String[] timesJson;
+    private byte[][] timesPacked;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.split(1);
+        repository = database.medicines();
+        userId = database.createUser("bench@example.com");
+        database.seedMedicines(userId, rows);
+
+        List<Medicine> medicines = repository.findAllByUserId(userId);
+        timesJson = new String[medicines.size()];
+        timesPacked = new byte[medicines.size()][];
+        for (int i = 0; i < medicines.size(); i++) {
+            timesJson[i] = mapper.writeValueAsString(medicines.get(i).times());
+            timesPacked[i] = medicines.get(i).doseTimes().toPacked();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public List<Medicine> findAll() {
+        return repository.findAllByUserId(userId);
+    }
+
+    @Benchmark
+    public int timesJson() throws Exception {
+        int sum = 0;
+        for (String json : timesJson) {
+            List<String> times = mapper.readValue(json, STRING_LIST);
+            for (String time : times) {
+                sum += DoseTimes.parseMinute(time);
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int timesPacked() {
+        int sum = 0;
+        for (byte[] packed : timesPacked) {
+            DoseTimes times = DoseTimes.fromPacked(packed);
+            for (int i = 0; i < times.size(); i++) {
+                sum += times.minuteAt(i);
+            }
+        }
+        return sum;
+    }
+}
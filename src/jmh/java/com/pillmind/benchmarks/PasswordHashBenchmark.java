@@ -0,0 +1,63 @@
+package com.pillmind.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pillmind.infra.cryptography.Argon2idAdapter;
+import com.pillmind.infra.cryptography.BcryptAdapter;
+import com.pillmind.infra.cryptography.PasswordHashAlgorithm;
+import com.pillmind.infra.cryptography.Pbkdf2Adapter;
+import com.pillmind.main.config.Env;
+
+/**
+ * Custo de CPU de um login (compare) e de um cadastro (hash) por algoritmo, com os parâmetros
+ * configurados ({@code BCRYPT_SALT_ROUNDS}, {@code PBKDF2_ITERATIONS}, {@code ARGON2_*}).
+ * <p>
+ * {@code ./gradlew jmh -PjmhIncludes=PasswordHash -PjmhProfilers=gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PasswordHashBenchmark {
+
+    @Param({ "bcrypt", "pbkdf2-sha256", "argon2id" })
+    public String algorithm;
+
+    private PasswordHashAlgorithm sut;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        sut = switch (algorithm) {
+            case "bcrypt" -> new BcryptAdapter(Env.BCRYPT_SALT_ROUNDS);
+            case "pbkdf2-sha256" -> new Pbkdf2Adapter(Env.PBKDF2_ITERATIONS);
+            case "argon2id" -> new Argon2idAdapter(Env.ARGON2_MEMORY_KB, Env.ARGON2_ITERATIONS, Env.ARGON2_PARALLELISM);
+            default -> throw new IllegalArgumentException(algorithm);
+        };
+        hash = sut.hash("SecurePass123");
+    }
+
+    @Benchmark
+    public String hash() {
+        return sut.hash("SecurePass123");
+    }
+
+    @Benchmark
+    public boolean compare() {
+        return sut.compare("SecurePass123", hash);
+    }
+}
@@ -0,0 +1,72 @@
+package com.pillmind.benchmarks;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pillmind.benchmarks.support.BenchmarkDatabase;
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.infra.db.postgres.MedicinePostgresRepository;
+
+/**
+ * Vazão de inserts concorrentes no writer único do SQLite.
+ * <p>
+ * {@code maxBatch = 1} reproduz um commit (fsync) por escrita; valores maiores agrupam as
+ * escritas que chegam dentro de {@code windowMs} num único commit.
+ * <p>
+ * {@code ./gradlew jmh -PjmhIncludes=SqliteGroupCommit}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(16)
+@Fork(1)
+public class SqliteGroupCommitBenchmark {
+
+    @Param({ "1", "64" })
+    public int maxBatch;
+
+    @Param({ "0", "1" })
+    public long windowMs;
+
+    private BenchmarkDatabase database;
+    private MedicinePostgresRepository repository;
+    private String userId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.groupCommit(4, windowMs, maxBatch);
+        repository = database.medicines();
+        userId = database.createUser("bench@example.com");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        long commits = database.writeQueue().commits();
+        long statements = database.writeQueue().statements();
+        System.out.printf("%n%d escritas em %d commits (%.1f por commit)%n",
+                statements, commits, commits == 0 ? 0.0 : (double) statements / commits);
+        database.close();
+    }
+
+    @Benchmark
+    public Medicine insert() {
+        return repository.insert(BenchmarkDatabase.medicine(userId, "Medicine", LocalDate.of(2024, 1, 1)));
+    }
+}
@@ -0,0 +1,86 @@
+package com.pillmind.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pillmind.benchmarks.support.BenchmarkDatabase;
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.infra.db.postgres.MedicinePostgresRepository;
+
+/**
+ * Latência de leitura (p99 em SampleTime) com escritas concorrentes.
+ * <p>
+ * {@code single}: uma conexão compartilhada (antigo {@code setMaximumPoolSize(1)});
+ * {@code split}: pool somente leitura + writer único enfileirado.
+ * <p>
+ * {@code ./gradlew jmh -PjmhIncludes=SqliteReadLatency}
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class SqliteReadLatencyBenchmark {
+
+    private static final int MEDICINES = 200;
+
+    @Param({ "single", "split" })
+    public String mode;
+
+    private BenchmarkDatabase database;
+    private MedicinePostgresRepository repository;
+    private String userId;
+    private List<Medicine> seeded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = "split".equals(mode) ? BenchmarkDatabase.split(4) : BenchmarkDatabase.singleConnection();
+        repository = database.medicines();
+        userId = database.createUser("bench@example.com");
+        database.seedMedicines(userId, MEDICINES);
+        seeded = repository.findAllByUserId(userId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    @Group("readsUnderWriteLoad")
+    @GroupThreads(4)
+    public List<Medicine> read() {
+        return repository.findAllByUserId(userId);
+    }
+
+    @Benchmark
+    @Group("readsUnderWriteLoad")
+    @GroupThreads(2)
+    public void write() {
+        Medicine current = seeded.get(ThreadLocalRandom.current().nextInt(seeded.size()));
+        repository.update(new Medicine(current.id(), current.userId(), current.name(), current.dosage(),
+                current.frequency(), current.times(), current.startDate(), current.endDate(), current.notes(),
+                current.imageUrl(), current.medicineType(), current.prescribedFor(),
+                ThreadLocalRandom.current().nextInt(1, 100), current.reminderOnEmpty(), current.createdAt(),
+                LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,89 @@
+package com.pillmind.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pillmind.infra.cryptography.CachingDecrypter;
+import com.pillmind.infra.cryptography.JwtAdapter;
+import com.pillmind.infra.cryptography.JwtKeyRing;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Custo de autenticar uma requisição: chave e parser recriados a cada chamada (caminho antigo),
+ * verificação completa com parser pronto (token ainda não visto), o mesmo com várias chaves
+ * ativas resolvidas pelo {@code kid} e token já no cache.
+ * <p>
+ * Compare {@code gc.alloc.rate.norm} (bytes/op):
+ * {@code ./gradlew jmh -PjmhIncludes=TokenVerification -PjmhProfilers=gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TokenVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-min-256-bits-for-hmac-sha-256";
+
+    private JwtAdapter jwt;
+    private JwtAdapter rotated;
+    private String rotatedToken;
+    private CachingDecrypter cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwt = new JwtAdapter(SECRET, TimeUnit.HOURS.toMillis(1));
+        cached = new CachingDecrypter(jwt, 10_000);
+        token = jwt.encrypt("3f1c2a4e-7b7d-4d8e-9a36-5c0e1f2b6a90");
+        cached.decrypt(token);
+
+        rotated = new JwtAdapter(new JwtKeyRing("2024-06", Map.of(
+                JwtKeyRing.DEFAULT_KID, SECRET,
+                "2024-01", SECRET + "-2024-01",
+                "2024-06", SECRET + "-2024-06")), TimeUnit.HOURS.toMillis(1));
+        rotatedToken = rotated.encrypt("3f1c2a4e-7b7d-4d8e-9a36-5c0e1f2b6a90");
+    }
+
+    @Benchmark
+    public String rebuildPerCall() {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String cold() {
+        return jwt.decrypt(token);
+    }
+
+    @Benchmark
+    public String coldWithKeyRing() {
+        return rotated.decrypt(rotatedToken);
+    }
+
+    @Benchmark
+    public String cached() {
+        return cached.decrypt(token);
+    }
+}
@@ -0,0 +1,137 @@
+package com.pillmind.benchmarks.support;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.flywaydb.core.Flyway;
+
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.infra.db.postgres.MedicinePostgresRepository;
+import com.pillmind.infra.db.postgres.helpers.JdbcTransactionManager;
+import com.pillmind.infra.db.postgres.helpers.SqliteWriteQueue;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Banco SQLite temporário (arquivo, WAL, migrado) para benchmarks.
+ */
+public final class BenchmarkDatabase implements AutoCloseable {
+    private final Path file;
+    private final HikariDataSource writeDataSource;
+    private final HikariDataSource readDataSource;
+    private final SqliteWriteQueue writeQueue;
+    private final JdbcTransactionManager transactionManager;
+
+    private BenchmarkDatabase(Path file, int readers, long windowMs, int maxBatch) {
+        this.file = file;
+        String url = "jdbc:sqlite:" + file.toAbsolutePath();
+        Flyway.configure()
+                .dataSource(url, "", "")
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        this.writeDataSource = pool(url, 1, false);
+        if (readers > 0) {
+            this.readDataSource = pool(url, readers, true);
+            this.writeQueue = new SqliteWriteQueue(writeDataSource, 1024, windowMs, maxBatch);
+            this.transactionManager = new JdbcTransactionManager(readDataSource, writeQueue);
+        } else {
+            this.readDataSource = writeDataSource;
+            this.writeQueue = null;
+            this.transactionManager = new JdbcTransactionManager(writeDataSource);
+        }
+    }
+
+    /** Configuração antiga: uma única conexão para leituras e escritas. */
+    public static BenchmarkDatabase singleConnection() throws IOException {
+        return new BenchmarkDatabase(Files.createTempFile("pillmind-bench", ".db"), 0, 0, 1);
+    }
+
+    /** Pool somente leitura com {@code readers} conexões e writer único enfileirado. */
+    public static BenchmarkDatabase split(int readers) throws IOException {
+        return groupCommit(readers, 1, 64);
+    }
+
+    /** Como {@link #split(int)}, com janela e tamanho do commit em grupo explícitos. */
+    public static BenchmarkDatabase groupCommit(int readers, long windowMs, int maxBatch) throws IOException {
+        return new BenchmarkDatabase(Files.createTempFile("pillmind-bench", ".db"), readers, windowMs, maxBatch);
+    }
+
+    public SqliteWriteQueue writeQueue() {
+        return writeQueue;
+    }
+
+    public JdbcTransactionManager transactionManager() {
+        return transactionManager;
+    }
+
+    public MedicinePostgresRepository medicines() {
+        return new MedicinePostgresRepository(transactionManager);
+    }
+
+    /** Cria um usuário diretamente na tabela e retorna o id. */
+    public String createUser(String email) throws SQLException {
+        String id = UUID.randomUUID().toString();
+        try (Connection connection = writeDataSource.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(
+                        "INSERT INTO users (id, name, email) VALUES (?, ?, ?)")) {
+            stmt.setString(1, id);
+            stmt.setString(2, "Bench User");
+            stmt.setString(3, email);
+            stmt.executeUpdate();
+        }
+        return id;
+    }
+
+    /** Insere {@code count} medicamentos para o usuário. */
+    public void seedMedicines(String userId, int count) {
+        MedicinePostgresRepository repository = medicines();
+        for (int i = 0; i < count; i++) {
+            repository.insert(medicine(userId, "Medicine " + i, LocalDate.of(2024, 1, 1).plusDays(i % 365)));
+        }
+    }
+
+    public static Medicine medicine(String userId, String name, LocalDate startDate) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Medicine(UUID.randomUUID().toString(), userId, name, "500mg", "twice-a-day",
+                List.of("08:00", "20:00"), startDate, null, "Com alimento", null, "capsule", null, 30, true,
+                now, now);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writeQueue != null) {
+            writeQueue.close();
+        }
+        if (readDataSource != writeDataSource) {
+            readDataSource.close();
+        }
+        writeDataSource.close();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(Path.of(file + "-wal"));
+        Files.deleteIfExists(Path.of(file + "-shm"));
+    }
+
+    private static HikariDataSource pool(String url, int size, boolean queryOnly) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.addDataSourceProperty("foreign_keys", "true");
+        config.addDataSourceProperty("journal_mode", "WAL");
+        config.addDataSourceProperty("busy_timeout", "5000");
+        if (queryOnly) {
+            config.setConnectionInitSql("PRAGMA query_only = ON");
+        }
+        config.setMaximumPoolSize(size);
+        config.setMinimumIdle(size);
+        return new HikariDataSource(config);
+    }
+}
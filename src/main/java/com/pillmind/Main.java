@@ -3,19 +3,24 @@ package com.pillmind;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pillmind.main.config.Env;
 import com.pillmind.main.config.FlywayConfig;
 import com.pillmind.main.config.SwaggerConfig;
 import com.pillmind.main.di.ApplicationBootstrap;
 import com.pillmind.main.di.Container;
 import com.pillmind.main.routes.AuthRoutes;
+import com.pillmind.main.routes.DoseRoutes;
 import com.pillmind.main.routes.HealthRoutes;
 import com.pillmind.main.routes.MediaRoutes;
 import com.pillmind.main.routes.MedicineRoutes;
+import com.pillmind.main.routes.MetricsRoutes;
+import com.pillmind.main.routes.ScheduleRoutes;
 import com.pillmind.main.routes.SwaggerRoutes;
 import com.pillmind.presentation.handlers.ErrorHandlers;
 
 import io.javalin.Javalin;
+import io.javalin.json.JavalinJackson;
 import io.javalin.plugin.bundled.CorsPluginConfig;
 
 /**
@@ -31,6 +36,7 @@ public class Main {
       logger.info("Ambiente: {}", Env.APP_ENV);
       logger.info("Porta: {}", Env.PORT);
       logger.info("Database: {}", Env.DATABASE_URL);
+      logger.info("Virtual threads: {}", Env.HTTP_VIRTUAL_THREADS);
 
       // Executa migrations do banco de dados
       logger.info("Executando migrations do Flyway...");
@@ -46,6 +52,11 @@ public class Main {
 
       var app = Javalin
         .create(config -> {
+          // Handlers fazem I/O bloqueante (JDBC, bcrypt, MinIO): em virtual threads não prendem threads do SO
+          config.useVirtualThreads = Env.HTTP_VIRTUAL_THREADS;
+          // ctx.json com o mesmo mapper dos controllers (serializadores já construídos e aquecidos)
+          config.jsonMapper(new JavalinJackson(container.resolve("json.mapper", ObjectMapper.class),
+              Env.HTTP_VIRTUAL_THREADS));
           config.bundledPlugins.enableCors(cors -> cors.addRule(CorsPluginConfig.CorsRule::anyHost));
           // Registra plugins do Swagger/OpenAPI
           config.registerPlugin(SwaggerConfig.createOpenApiPlugin());
@@ -58,9 +69,12 @@ public class Main {
       // Configura rotas
       logger.info("Configurando rotas...");
       container.resolve("route.health", HealthRoutes.class).setup(app);
+      container.resolve("route.metrics", MetricsRoutes.class).setup(app);
       container.resolve("route.media", MediaRoutes.class).setup(app);
       container.resolve("route.auth", AuthRoutes.class).setup(app);
       container.resolve("route.medicines", MedicineRoutes.class).setup(app);
+      container.resolve("route.schedule", ScheduleRoutes.class).setup(app);
+      container.resolve("route.doses", DoseRoutes.class).setup(app);
       container.resolve("route.swagger", SwaggerRoutes.class).setup(app);
       logger.info("Rotas configuradas!");
 
@@ -71,6 +85,12 @@ public class Main {
       logger.info("Swagger UI (spec completo): http://localhost:{}/swagger", Env.PORT);
       logger.info("Swagger UI (estático): http://localhost:{}/swagger-ui", Env.PORT);
 
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+        logger.info("Encerrando servidor...");
+        app.stop();
+        bootstrap.shutdown();
+      }, "pillmind-shutdown"));
+
     } catch (Exception e) {
       logger.error("✗ Erro ao iniciar a aplicação:", e);
       System.exit(1);
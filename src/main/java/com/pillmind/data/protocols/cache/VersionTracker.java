@@ -0,0 +1,28 @@
+package com.pillmind.data.protocols.cache;
+
+/**
+ * Versão por usuário de cada recurso, usada em ETags e validação de cache.
+ * <p>
+ * Escritas chamam {@link #bump} depois de confirmadas; leituras obtêm a versão antes de consultar
+ * o banco, então uma resposta nunca fica associada a uma versão mais nova que os seus dados.
+ */
+public interface VersionTracker {
+
+    /**
+     * Recursos versionados por usuário
+     */
+    enum Scope {
+        MEDICINES,
+        PROFILE
+    }
+
+    /**
+     * Versão atual do recurso do usuário (valor opaco, muda a cada {@link #bump})
+     */
+    String current(Scope scope, String userId);
+
+    /**
+     * Marca o recurso do usuário como alterado
+     */
+    void bump(Scope scope, String userId);
+}
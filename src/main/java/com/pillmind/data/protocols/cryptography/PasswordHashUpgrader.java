@@ -0,0 +1,13 @@
+package com.pillmind.data.protocols.cryptography;
+
+/**
+ * Regrava, fora do caminho da requisição, hashes de senha gerados com algoritmo ou custo antigos
+ */
+public interface PasswordHashUpgrader {
+
+    /**
+     * Chamado após um login bem-sucedido, enquanto a senha em texto ainda está disponível;
+     * não faz nada se o hash já usa os parâmetros atuais
+     */
+    void upgradeIfNeeded(String localAccountId, String currentHash, String plaintext);
+}
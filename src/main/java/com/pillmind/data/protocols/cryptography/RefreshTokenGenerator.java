@@ -0,0 +1,16 @@
+package com.pillmind.data.protocols.cryptography;
+
+/**
+ * Protocolo para gerar refresh tokens opacos e calcular o hash guardado no banco
+ */
+public interface RefreshTokenGenerator {
+    /**
+     * Token aleatório novo, entregue só ao cliente
+     */
+    String generate();
+
+    /**
+     * Hash determinístico do token, usado para buscá-lo no banco
+     */
+    String hash(String token);
+}
@@ -0,0 +1,18 @@
+package com.pillmind.data.protocols.cryptography;
+
+import java.time.Instant;
+
+/**
+ * Protocolo para revogar tokens de acesso antes do {@code exp} (logout)
+ */
+public interface TokenRevocationStore {
+    /**
+     * Revoga o token de id {@code tokenId} até {@code expiresAt}
+     */
+    void revoke(String tokenId, Instant expiresAt);
+
+    /**
+     * Consulta feita a cada requisição autenticada; não deve ir ao banco
+     */
+    boolean isRevoked(String tokenId);
+}
@@ -0,0 +1,24 @@
+package com.pillmind.data.protocols.cryptography;
+
+import java.time.Instant;
+
+/**
+ * Protocolo para verificação de token de acesso (assinatura e expiração)
+ */
+public interface TokenVerifier {
+  /**
+   * Valida o token e devolve o sujeito com a expiração e o id (jti); lança exceção se for inválido
+   * ou expirado.
+   */
+  VerifiedToken verify(String token);
+
+  /**
+   * @param expiresAt {@code null} se o token não tiver {@code exp}
+   * @param tokenId   {@code jti}; {@code null} em tokens emitidos antes de existir revogação
+   */
+  record VerifiedToken(String subject, Instant expiresAt, String tokenId) {
+    public VerifiedToken(String subject, Instant expiresAt) {
+      this(subject, expiresAt, null);
+    }
+  }
+}
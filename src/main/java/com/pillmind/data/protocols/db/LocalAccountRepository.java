@@ -1,5 +1,7 @@
 package com.pillmind.data.protocols.db;
 
+import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
 
 import com.pillmind.domain.models.LocalAccount;
@@ -11,6 +13,8 @@ public interface LocalAccountRepository {
     
     /**
      * Adiciona uma nova conta local
+     *
+     * @throws com.pillmind.domain.errors.ConflictException se o email já estiver cadastrado
      */
     LocalAccount add(LocalAccount localAccount);
     
@@ -19,6 +23,16 @@ public interface LocalAccountRepository {
      */
     LocalAccount update(LocalAccount localAccount);
     
+    /**
+     * Troca o hash da senha só se o atual ainda for {@code expectedHash}; retorna se trocou
+     */
+    boolean updatePasswordHash(String id, String expectedHash, String newHash);
+    
+    /**
+     * Atualiza em lote o último login por ID de conta; retorna as linhas alteradas
+     */
+    int updateLastLoginAt(Map<String, LocalDateTime> lastLoginByAccountId);
+    
     /**
      * Busca conta local por ID
      */
@@ -0,0 +1,19 @@
+package com.pillmind.data.protocols.db;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registra o último login das contas fora do caminho da requisição
+ */
+public interface LoginActivityRecorder {
+
+    /**
+     * Registra login de uma conta local
+     */
+    void recordLocalLogin(String localAccountId, LocalDateTime loginAt);
+
+    /**
+     * Registra login de uma conta OAuth2
+     */
+    void recordOAuthLogin(String oauthAccountId, LocalDateTime loginAt);
+}
@@ -1,9 +1,13 @@
 package com.pillmind.data.protocols.db;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.pillmind.domain.models.Medicine;
+import com.pillmind.domain.models.MedicineCursor;
 
 /**
  * Persistência de medicamentos por usuário.
@@ -12,14 +16,63 @@ public interface MedicineRepository {
 
     List<Medicine> findAllByUserId(String userId);
 
+    /**
+     * Mesma ordem de {@link #findAllByUserId(String)}, entregando cada linha ao {@code sink} assim
+     * que sai do cursor. A conexão fica emprestada até o último item ser consumido.
+     *
+     * @return quantidade de medicamentos entregues
+     */
+    int streamAllByUserId(String userId, Consumer<Medicine> sink);
+
+    /**
+     * Medicamentos de todos os usuários ainda ativos em {@code day} (sem {@code end_date} ou com
+     * {@code end_date >= day}), entregues ao {@code sink} conforme saem do cursor. Usado para
+     * reconstruir estado em memória na inicialização sem materializar a tabela.
+     *
+     * @return quantidade de medicamentos entregues
+     */
+    int streamActive(LocalDate day, Consumer<Medicine> sink);
+
+    /**
+     * Medicamentos de todos os usuários com {@code updated_at} posterior a {@code since}, do mais
+     * antigo ao mais recente, entregues ao {@code sink} conforme saem do cursor.
+     *
+     * @return quantidade de medicamentos entregues
+     */
+    int streamUpdatedSince(LocalDateTime since, Consumer<Medicine> sink);
+
+    /**
+     * Até {@code limit} medicamentos na ordem (start_date, name, id), começando depois de {@code after}.
+     *
+     * @param after null para a primeira página
+     */
+    List<Medicine> findPageByUserId(String userId, MedicineCursor after, int limit);
+
     Optional<Medicine> findByIdAndUserId(String id, String userId);
 
+    /**
+     * Medicamentos com {@code updated_at} posterior a {@code since}, do mais antigo ao mais recente.
+     */
+    List<Medicine> findUpdatedSince(String userId, LocalDateTime since);
+
+    /**
+     * IDs de medicamentos removidos depois de {@code since} (tombstones).
+     */
+    List<String> findDeletedIdsSince(String userId, LocalDateTime since);
+
     Medicine insert(Medicine medicine);
 
     void update(Medicine medicine);
 
     /**
+     * Remove o medicamento e registra o tombstone na mesma transação.
+     *
      * @return true se uma linha foi removida
      */
     boolean deleteByIdAndUserId(String id, String userId);
+
+    /**
+     * Remove os tombstones gravados antes de {@code cutoff}; retorna as linhas removidas
+     */
+    int deleteTombstonesBefore(LocalDateTime cutoff);
 }
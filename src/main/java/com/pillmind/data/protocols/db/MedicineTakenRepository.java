@@ -0,0 +1,31 @@
+package com.pillmind.data.protocols.db;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.pillmind.domain.models.MedicineTaken;
+
+/**
+ * Persistência do histórico de doses tomadas/puladas.
+ */
+public interface MedicineTakenRepository {
+
+    /**
+     * Grava as doses numa transação; uma dose já registrada (mesmo medicamento, dia e horário)
+     * tem {@code takenAt}, {@code skipped} e {@code updatedAt} substituídos, mantendo id e
+     * {@code createdAt}. Cada dose deve aparecer uma única vez na lista.
+     *
+     * @return quantidade de doses gravadas
+     */
+    int upsertAll(List<MedicineTaken> doses);
+
+    /**
+     * Doses do usuário entre {@code from} e {@code to} (inclusivos), por dia, medicamento e horário.
+     */
+    List<MedicineTaken> findByUserAndDateRange(String userId, LocalDate from, LocalDate to);
+
+    /**
+     * Doses de um medicamento do usuário entre {@code from} e {@code to} (inclusivos), por dia e horário.
+     */
+    List<MedicineTaken> findByMedicineAndDateRange(String userId, String medicineId, LocalDate from, LocalDate to);
+}
@@ -1,6 +1,8 @@
 package com.pillmind.data.protocols.db;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.pillmind.domain.models.AuthProvider;
@@ -21,6 +23,11 @@ public interface OAuthAccountRepository {
      */
     OAuthAccount update(OAuthAccount oauthAccount);
     
+    /**
+     * Atualiza em lote o último login por ID de conta; retorna as linhas alteradas
+     */
+    int updateLastLoginAt(Map<String, LocalDateTime> lastLoginByAccountId);
+    
     /**
      * Busca conta OAuth2 por ID
      */
@@ -0,0 +1,37 @@
+package com.pillmind.data.protocols.db;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import com.pillmind.domain.models.RefreshToken;
+
+/**
+ * Interface para operações de refresh token no banco de dados
+ */
+public interface RefreshTokenRepository {
+
+    /**
+     * Adiciona um novo refresh token
+     */
+    RefreshToken add(RefreshToken refreshToken);
+
+    /**
+     * Busca refresh token pelo hash
+     */
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Revoga o token só se ainda não estiver revogado; retorna se revogou
+     */
+    boolean revoke(String id, LocalDateTime revokedAt);
+
+    /**
+     * Revoga todos os tokens ainda válidos da família; retorna as linhas alteradas
+     */
+    int revokeFamily(String familyId, LocalDateTime revokedAt);
+
+    /**
+     * Remove os tokens vencidos de todos os usuários; retorna as linhas removidas
+     */
+    int deleteExpired(LocalDateTime now);
+}
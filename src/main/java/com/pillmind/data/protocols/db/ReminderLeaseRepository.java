@@ -0,0 +1,81 @@
+package com.pillmind.data.protocols.db;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leases dos shards de lembretes entre réplicas. Horários em epoch ms; cada operação de posse é
+ * um UPDATE condicional, então só um nó vence uma disputa.
+ */
+public interface ReminderLeaseRepository {
+
+    /**
+     * Estado de um shard
+     *
+     * @param assignedTo nó escolhido pelo líder (null antes da primeira distribuição)
+     * @param owner      nó que detém o lease (null se liberado)
+     */
+    record ShardLease(int shard, String assignedTo, String owner, long expiresAt) {
+    }
+
+    /**
+     * Registra (ou atualiza) o heartbeat do nó
+     */
+    void heartbeat(String nodeId, long now);
+
+    /**
+     * Nós com heartbeat em ou depois de {@code since}, ordenados por ID
+     */
+    List<String> findLiveNodes(long since);
+
+    /**
+     * Remove nós sem heartbeat desde {@code before}; retorna as linhas removidas
+     */
+    int deleteNodesBefore(long before);
+
+    /**
+     * Remove o nó (saída ordenada): o líder redistribui os shards dele sem esperar o heartbeat expirar
+     */
+    void deleteNode(String nodeId);
+
+    /**
+     * Assume ou renova a liderança se ela é do próprio nó ou expirou
+     *
+     * @return true se o nó é o líder até {@code expiresAt}
+     */
+    boolean tryAcquireLeadership(String nodeId, long now, long expiresAt);
+
+    /**
+     * Libera a liderança, se for do nó
+     */
+    void releaseLeadership(String nodeId);
+
+    /**
+     * Garante as linhas dos shards {@code [0, shardCount)} e remove as de shards acima disso
+     */
+    void ensureShards(int shardCount);
+
+    List<ShardLease> findShards();
+
+    /**
+     * Grava a distribuição do líder ({@code shard -> nó}); só altera linhas que mudaram
+     */
+    void assign(Map<Integer, String> assignments);
+
+    /**
+     * Renova os leases ainda válidos do nó
+     *
+     * @return shards renovados
+     */
+    int renew(String nodeId, long now, long expiresAt);
+
+    /**
+     * Assume o shard se ele está atribuído ao nó e o lease está livre ou expirado
+     */
+    boolean tryClaim(int shard, String nodeId, long now, long expiresAt);
+
+    /**
+     * Libera o lease do shard, se for do nó, para o próximo dono assumir sem esperar a expiração
+     */
+    void release(int shard, String nodeId);
+}
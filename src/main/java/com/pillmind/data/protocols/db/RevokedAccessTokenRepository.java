@@ -0,0 +1,25 @@
+package com.pillmind.data.protocols.db;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Interface para a lista de tokens de acesso revogados (por jti) no banco de dados
+ */
+public interface RevokedAccessTokenRepository {
+
+    /**
+     * Registra o jti revogado até a expiração do token (idempotente)
+     */
+    void add(String tokenId, LocalDateTime expiresAt);
+
+    /**
+     * jti ainda não expirados, com a expiração de cada um
+     */
+    Map<String, LocalDateTime> findUnexpired(LocalDateTime now);
+
+    /**
+     * Remove os jti já expirados; retorna as linhas removidas
+     */
+    int deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,15 @@
+package com.pillmind.data.protocols.db;
+
+import java.util.function.Supplier;
+
+/**
+ * Unidade de trabalho: executa várias operações de repositório na mesma transação.
+ */
+public interface TransactionManager {
+
+    /**
+     * Executa {@code work} em uma transação; confirma ao final ou desfaz se lançar exceção.
+     * Chamadas aninhadas participam da transação já aberta na thread atual.
+     */
+    <T> T inTransaction(Supplier<T> work);
+}
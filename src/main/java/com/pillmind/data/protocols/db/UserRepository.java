@@ -11,6 +11,8 @@ public interface UserRepository {
     
     /**
      * Adiciona um novo usuário
+     *
+     * @throws com.pillmind.domain.errors.ConflictException se o email já estiver cadastrado
      */
     User add(User user);
     
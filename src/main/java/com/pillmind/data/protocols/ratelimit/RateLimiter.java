@@ -0,0 +1,14 @@
+package com.pillmind.data.protocols.ratelimit;
+
+/**
+ * Protocolo para limitar a taxa de operações por chave (IP, email...)
+ */
+public interface RateLimiter {
+
+    /**
+     * Consome uma permissão da chave
+     *
+     * @return 0 se liberado; senão, milissegundos até a próxima permissão
+     */
+    long tryAcquire(String key);
+}
@@ -0,0 +1,17 @@
+package com.pillmind.data.protocols.schedule;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.pillmind.domain.models.ScheduledDose;
+
+/**
+ * Agenda de doses já compilada a partir dos medicamentos de cada usuário.
+ */
+public interface DoseSchedule {
+
+    /**
+     * Doses em {@code [from, to)}, ordenadas por horário
+     */
+    List<ScheduledDose> dosesBetween(String userId, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,39 @@
+package com.pillmind.data.protocols.schedule;
+
+import java.util.List;
+
+import com.pillmind.domain.models.Medicine;
+
+/**
+ * Avisado pelos casos de uso de escrita de medicamentos depois do commit (e do bump de versão).
+ */
+public interface MedicineChangeListener {
+
+    /**
+     * Medicamento criado ou alterado
+     */
+    void medicineSaved(Medicine medicine);
+
+    /**
+     * Medicamento removido
+     */
+    void medicineDeleted(String userId, String medicineId);
+
+    /**
+     * Repassa cada aviso a todos os {@code listeners}, na ordem dada
+     */
+    static MedicineChangeListener all(MedicineChangeListener... listeners) {
+        List<MedicineChangeListener> targets = List.of(listeners);
+        return new MedicineChangeListener() {
+            @Override
+            public void medicineSaved(Medicine medicine) {
+                targets.forEach(listener -> listener.medicineSaved(medicine));
+            }
+
+            @Override
+            public void medicineDeleted(String userId, String medicineId) {
+                targets.forEach(listener -> listener.medicineDeleted(userId, medicineId));
+            }
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.pillmind.data.protocols.schedule;
+
+import com.pillmind.domain.models.DoseReminder;
+
+/**
+ * Destino dos lembretes disparados no horário de cada dose (push, fila, log...).
+ */
+public interface ReminderSink {
+
+    /**
+     * Chamado na thread do despachante: implementações lentas devem repassar o trabalho
+     */
+    void deliver(DoseReminder reminder);
+}
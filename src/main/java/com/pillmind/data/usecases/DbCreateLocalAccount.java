@@ -4,6 +4,7 @@ import java.util.UUID;
 
 import com.pillmind.data.protocols.cryptography.Hasher;
 import com.pillmind.data.protocols.db.LocalAccountRepository;
+import com.pillmind.data.protocols.db.TransactionManager;
 import com.pillmind.data.protocols.db.UserRepository;
 import com.pillmind.domain.errors.ConflictException;
 import com.pillmind.domain.models.LocalAccount;
@@ -13,33 +14,34 @@ import com.pillmind.domain.usecases.CreateLocalAccount;
 /**
  * Implementação do caso de uso CreateLocalAccount
  * Cria tanto o User (perfil) quanto o LocalAccount (credencial)
+ * <p>
+ * Os dois INSERTs rodam numa única transação e o email duplicado é detectado pelos
+ * {@code UNIQUE(email)} das tabelas, sem consulta prévia: dois cadastros simultâneos do mesmo
+ * email não passam ambos pela verificação. O hash da senha é feito antes de abrir a transação,
+ * para o lock de escrita não ficar preso durante o bcrypt.
  */
 public class DbCreateLocalAccount extends DbUseCase implements CreateLocalAccount {
+    private static final String EMAIL_IN_USE = "Este email já está em uso. Use outro email ou faça login.";
+
     private final Hasher hasher;
     private final UserRepository userRepository;
     private final LocalAccountRepository localAccountRepository;
+    private final TransactionManager transactionManager;
 
-    public DbCreateLocalAccount(Hasher hasher, UserRepository userRepository, LocalAccountRepository localAccountRepository) {
+    public DbCreateLocalAccount(Hasher hasher, UserRepository userRepository, LocalAccountRepository localAccountRepository,
+                                TransactionManager transactionManager) {
         this.hasher = hasher;
         this.userRepository = userRepository;
         this.localAccountRepository = localAccountRepository;
+        this.transactionManager = transactionManager;
     }
 
     @Override
     public Result execute(Params params) {
-        // 1. Verificar se email já está em uso (tanto em users quanto em local_accounts)
-        if (userRepository.emailExists(params.email())) {
-            throw new ConflictException("Este email já está em uso. Use outro email ou faça login.");
-        }
-        
-        if (localAccountRepository.emailExists(params.email())) {
-            throw new ConflictException("Este email já está em uso. Use outro email ou faça login.");
-        }
-
-        // 2. Hash da senha
+        // 1. Hash da senha, fora da transação
         var hashedPassword = hasher.hash(params.password());
 
-        // 3. Criar usuário (perfil)
+        // 2. Criar usuário (perfil)
         var userId = UUID.randomUUID().toString();
         var user = new User(
             userId,
@@ -50,7 +52,7 @@ public class DbCreateLocalAccount extends DbUseCase implements CreateLocalAccoun
             params.pictureUrl()
         );
 
-        // 4. Criar conta local (credencial)
+        // 3. Criar conta local (credencial)
         var localAccountId = UUID.randomUUID().toString();
         var localAccount = new LocalAccount(
             localAccountId,
@@ -59,10 +61,16 @@ public class DbCreateLocalAccount extends DbUseCase implements CreateLocalAccoun
             hashedPassword
         );
 
-        // 5. Persistir ambos (ordem importante: primeiro user, depois local_account)
-        var createdUser = userRepository.add(user);
-        localAccountRepository.add(localAccount);
-
-        return new Result(createdUser, localAccountId);
+        // 4. Persistir ambos (ordem importante: primeiro user, depois local_account)
+        try {
+            var createdUser = transactionManager.inTransaction(() -> {
+                var created = userRepository.add(user);
+                localAccountRepository.add(localAccount);
+                return created;
+            });
+            return new Result(createdUser, localAccountId);
+        } catch (ConflictException e) {
+            throw new ConflictException(EMAIL_IN_USE, e);
+        }
     }
-}
\ No newline at end of file
+}
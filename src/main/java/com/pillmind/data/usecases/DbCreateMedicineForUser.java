@@ -3,16 +3,23 @@ package com.pillmind.data.usecases;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import com.pillmind.data.protocols.cache.VersionTracker;
 import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.data.protocols.schedule.MedicineChangeListener;
 import com.pillmind.domain.models.Medicine;
 import com.pillmind.domain.usecases.CreateMedicineForUser;
 
 public class DbCreateMedicineForUser extends DbUseCase implements CreateMedicineForUser {
 
     private final MedicineRepository medicineRepository;
+    private final VersionTracker versionTracker;
+    private final MedicineChangeListener changeListener;
 
-    public DbCreateMedicineForUser(MedicineRepository medicineRepository) {
+    public DbCreateMedicineForUser(MedicineRepository medicineRepository, VersionTracker versionTracker,
+            MedicineChangeListener changeListener) {
         this.medicineRepository = medicineRepository;
+        this.versionTracker = versionTracker;
+        this.changeListener = changeListener;
     }
 
     @Override
@@ -36,6 +43,9 @@ public class DbCreateMedicineForUser extends DbUseCase implements CreateMedicine
                 params.reminderOnEmpty(),
                 now,
                 now);
-        return medicineRepository.insert(medicine);
+        var created = medicineRepository.insert(medicine);
+        versionTracker.bump(VersionTracker.Scope.MEDICINES, params.userId());
+        changeListener.medicineSaved(created);
+        return created;
     }
 }
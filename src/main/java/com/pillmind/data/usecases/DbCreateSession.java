@@ -0,0 +1,48 @@
+package com.pillmind.data.usecases;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.pillmind.data.protocols.cryptography.Encrypter;
+import com.pillmind.data.protocols.cryptography.RefreshTokenGenerator;
+import com.pillmind.data.protocols.db.RefreshTokenRepository;
+import com.pillmind.domain.models.RefreshToken;
+import com.pillmind.domain.usecases.CreateSession;
+
+/**
+ * Implementação do caso de uso CreateSession
+ * <p>
+ * Cada login abre uma família nova de refresh tokens com um único INSERT; os tokens vencidos
+ * são removidos em segundo plano (PeriodicPurge), fora do caminho do sign-in.
+ */
+public class DbCreateSession extends DbUseCase implements CreateSession {
+    private final Encrypter encrypter;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenGenerator refreshTokenGenerator;
+    private final Duration refreshTokenTtl;
+
+    public DbCreateSession(Encrypter encrypter, RefreshTokenRepository refreshTokenRepository,
+                           RefreshTokenGenerator refreshTokenGenerator, Duration refreshTokenTtl) {
+        this.encrypter = encrypter;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenGenerator = refreshTokenGenerator;
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    @Override
+    public Result execute(Params params) {
+        var now = LocalDateTime.now();
+        var refreshToken = refreshTokenGenerator.generate();
+        refreshTokenRepository.add(new RefreshToken(
+            UUID.randomUUID().toString(),
+            params.userId(),
+            UUID.randomUUID().toString(),
+            refreshTokenGenerator.hash(refreshToken),
+            now.plus(refreshTokenTtl),
+            now,
+            null));
+
+        return new Result(encrypter.encrypt(params.userId()), refreshToken);
+    }
+}
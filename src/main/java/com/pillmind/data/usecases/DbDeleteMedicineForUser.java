@@ -1,15 +1,22 @@
 package com.pillmind.data.usecases;
 
+import com.pillmind.data.protocols.cache.VersionTracker;
 import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.data.protocols.schedule.MedicineChangeListener;
 import com.pillmind.domain.errors.NotFoundException;
 import com.pillmind.domain.usecases.DeleteMedicineForUser;
 
 public class DbDeleteMedicineForUser extends DbUseCase implements DeleteMedicineForUser {
 
     private final MedicineRepository medicineRepository;
+    private final VersionTracker versionTracker;
+    private final MedicineChangeListener changeListener;
 
-    public DbDeleteMedicineForUser(MedicineRepository medicineRepository) {
+    public DbDeleteMedicineForUser(MedicineRepository medicineRepository, VersionTracker versionTracker,
+            MedicineChangeListener changeListener) {
         this.medicineRepository = medicineRepository;
+        this.versionTracker = versionTracker;
+        this.changeListener = changeListener;
     }
 
     @Override
@@ -18,6 +25,8 @@ public class DbDeleteMedicineForUser extends DbUseCase implements DeleteMedicine
         if (!removed) {
             throw new NotFoundException("Medicamento não encontrado");
         }
+        versionTracker.bump(VersionTracker.Scope.MEDICINES, params.userId());
+        changeListener.medicineDeleted(params.userId(), params.medicineId());
         return null;
     }
 }
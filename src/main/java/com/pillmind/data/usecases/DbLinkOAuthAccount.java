@@ -1,8 +1,11 @@
 package com.pillmind.data.usecases;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 import java.util.UUID;
 
+import com.pillmind.data.protocols.cache.VersionTracker;
+import com.pillmind.data.protocols.db.LoginActivityRecorder;
 import com.pillmind.data.protocols.db.OAuthAccountRepository;
 import com.pillmind.data.protocols.db.UserRepository;
 import com.pillmind.domain.models.OAuthAccount;
@@ -13,14 +16,21 @@ import com.pillmind.domain.usecases.LinkOAuthAccount;
  * Implementação do caso de uso LinkOAuthAccount
  * Se usuário não existir, cria User + OAuthAccount
  * Se existir, apenas vincula novo OAuthAccount ou atualiza existente
+ * O último login é registrado fora do caminho da requisição; a conta OAuth só é regravada quando
+ * dados do provedor ou tokens mudaram
  */
 public class DbLinkOAuthAccount extends DbUseCase implements LinkOAuthAccount {
     private final UserRepository userRepository;
     private final OAuthAccountRepository oauthAccountRepository;
+    private final VersionTracker versionTracker;
+    private final LoginActivityRecorder loginActivityRecorder;
 
-    public DbLinkOAuthAccount(UserRepository userRepository, OAuthAccountRepository oauthAccountRepository) {
+    public DbLinkOAuthAccount(UserRepository userRepository, OAuthAccountRepository oauthAccountRepository,
+            VersionTracker versionTracker, LoginActivityRecorder loginActivityRecorder) {
         this.userRepository = userRepository;
         this.oauthAccountRepository = oauthAccountRepository;
+        this.versionTracker = versionTracker;
+        this.loginActivityRecorder = loginActivityRecorder;
     }
 
     @Override
@@ -30,16 +40,19 @@ public class DbLinkOAuthAccount extends DbUseCase implements LinkOAuthAccount {
             params.provider(), params.providerUserId());
 
         if (existingOAuthAccount.isPresent()) {
-            // OAuth account já existe, atualizar dados e retornar o usuário
+            // OAuth account já existe, atualizar dados que mudaram e retornar o usuário
             var oauthAccount = existingOAuthAccount.get();
-            var updatedOAuthAccount = oauthAccount.withUpdatedProviderData(
-                params.providerName(),
-                params.email(),
-                params.profileImageUrl()
-            ).withLastLoginAt(LocalDateTime.now());
+            var updatedOAuthAccount = oauthAccount;
+            if (providerDataChanged(oauthAccount, params)) {
+                updatedOAuthAccount = updatedOAuthAccount.withUpdatedProviderData(
+                    params.providerName(),
+                    params.email(),
+                    params.profileImageUrl()
+                );
+            }
             
             // Atualizar tokens se fornecidos
-            if (params.accessToken() != null) {
+            if (params.accessToken() != null && tokensChanged(oauthAccount, params)) {
                 updatedOAuthAccount = updatedOAuthAccount.withUpdatedTokens(
                     params.accessToken(), 
                     params.refreshToken(), 
@@ -47,15 +60,20 @@ public class DbLinkOAuthAccount extends DbUseCase implements LinkOAuthAccount {
                 );
             }
             
-            oauthAccountRepository.update(updatedOAuthAccount);
+            if (updatedOAuthAccount != oauthAccount) {
+                oauthAccountRepository.update(updatedOAuthAccount);
+            }
+            loginActivityRecorder.recordOAuthLogin(oauthAccount.id(), LocalDateTime.now());
             
             var user = userRepository.findById(oauthAccount.userId())
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
             
             // Atualizar dados do usuário se mudou (nome, foto)
-            var updatedUser = user.withUpdatedProfile(params.providerName(), params.profileImageUrl());
-            if (!user.equals(updatedUser)) {
+            var updatedUser = user;
+            if (profileChanged(user, params)) {
+                updatedUser = user.withUpdatedProfile(params.providerName(), params.profileImageUrl());
                 userRepository.update(updatedUser);
+                versionTracker.bump(VersionTracker.Scope.PROFILE, user.id());
             }
             
             return new Result(updatedUser, oauthAccount.id(), false);
@@ -73,9 +91,10 @@ public class DbLinkOAuthAccount extends DbUseCase implements LinkOAuthAccount {
             isNewUser = false;
             
             // Atualizar dados do usuário se mudou (nome, foto)
-            var updatedUser = user.withUpdatedProfile(params.providerName(), params.profileImageUrl());
-            if (!user.equals(updatedUser)) {
-                user = userRepository.update(updatedUser);
+            if (profileChanged(user, params)) {
+                user = userRepository.update(
+                    user.withUpdatedProfile(params.providerName(), params.profileImageUrl()));
+                versionTracker.bump(VersionTracker.Scope.PROFILE, user.id());
             }
         } else {
             // Criar novo usuário
@@ -111,7 +130,26 @@ public class DbLinkOAuthAccount extends DbUseCase implements LinkOAuthAccount {
         );
         
         oauthAccountRepository.add(oauthAccount);
+        loginActivityRecorder.recordOAuthLogin(oauthAccountId, LocalDateTime.now());
 
         return new Result(user, oauthAccountId, isNewUser);
     }
+
+    /** withUpdatedProfile sempre renova updatedAt: a comparação é feita nos campos */
+    private static boolean profileChanged(User user, Params params) {
+        return !Objects.equals(user.name(), params.providerName())
+                || !Objects.equals(user.pictureUrl(), params.profileImageUrl());
+    }
+
+    private static boolean providerDataChanged(OAuthAccount account, Params params) {
+        return !Objects.equals(account.providerName(), params.providerName())
+                || !Objects.equals(account.email(), params.email())
+                || !Objects.equals(account.profileImageUrl(), params.profileImageUrl());
+    }
+
+    private static boolean tokensChanged(OAuthAccount account, Params params) {
+        return !Objects.equals(account.accessToken(), params.accessToken())
+                || !Objects.equals(account.refreshToken(), params.refreshToken())
+                || !Objects.equals(account.tokenExpiry(), params.tokenExpiry());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.pillmind.data.usecases;
+
+import java.util.List;
+
+import com.pillmind.data.protocols.db.MedicineTakenRepository;
+import com.pillmind.domain.models.MedicineTaken;
+import com.pillmind.domain.usecases.ListDosesForUser;
+
+public class DbListDosesForUser extends DbUseCase implements ListDosesForUser {
+
+    private final MedicineTakenRepository medicineTakenRepository;
+
+    public DbListDosesForUser(MedicineTakenRepository medicineTakenRepository) {
+        this.medicineTakenRepository = medicineTakenRepository;
+    }
+
+    @Override
+    public List<MedicineTaken> execute(Params params) {
+        if (params.medicineId() != null) {
+            return medicineTakenRepository.findByMedicineAndDateRange(params.userId(), params.medicineId(),
+                    params.from(), params.to());
+        }
+        return medicineTakenRepository.findByUserAndDateRange(params.userId(), params.from(), params.to());
+    }
+}
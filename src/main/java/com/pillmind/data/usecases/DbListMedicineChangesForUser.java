@@ -0,0 +1,53 @@
+package com.pillmind.data.usecases;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.domain.usecases.ListMedicineChangesForUser;
+
+public class DbListMedicineChangesForUser extends DbUseCase implements ListMedicineChangesForUser {
+
+    /**
+     * {@code updated_at} é definido antes do commit (que pode esperar no writer); reenviar o que
+     * mudou nessa janela evita perder linhas confirmadas depois da leitura anterior.
+     */
+    static final long SAFETY_WINDOW_MS = 5_000;
+
+    private final MedicineRepository medicineRepository;
+    /** Tombstones mais antigos que isso já podem ter sido apagados */
+    private final long tombstoneRetentionMs;
+
+    public DbListMedicineChangesForUser(MedicineRepository medicineRepository, long tombstoneRetentionMs) {
+        this.medicineRepository = medicineRepository;
+        this.tombstoneRetentionMs = tombstoneRetentionMs;
+    }
+
+    @Override
+    public Result execute(Params params) {
+        // Watermark tirado antes das consultas: o que mudar durante a leitura volta na próxima
+        long watermark = System.currentTimeMillis();
+
+        long sinceMs = params.since() == null ? 0 : Math.max(0, params.since() - SAFETY_WINDOW_MS);
+        // Remoções anteriores à retenção não estão mais nos tombstones: só a lista completa é segura
+        if (params.since() == null || sinceMs < watermark - tombstoneRetentionMs) {
+            List<Medicine> all = medicineRepository.findAllByUserId(params.userId());
+            return new Result(all, List.of(), watermark, true);
+        }
+
+        LocalDateTime since = toLocalDateTime(sinceMs);
+        return new Result(
+                medicineRepository.findUpdatedSince(params.userId(), since),
+                medicineRepository.findDeletedIdsSince(params.userId(), since),
+                watermark,
+                false);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        // Mesmo fuso de Timestamp.valueOf usado na gravação de updated_at
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,44 @@
+package com.pillmind.data.usecases;
+
+import java.util.List;
+
+import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.domain.errors.ValidationException;
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.domain.models.MedicineCursor;
+import com.pillmind.domain.usecases.ListMedicinesPageForUser;
+
+public class DbListMedicinesPageForUser extends DbUseCase implements ListMedicinesPageForUser {
+
+    private final MedicineRepository medicineRepository;
+
+    public DbListMedicinesPageForUser(MedicineRepository medicineRepository) {
+        this.medicineRepository = medicineRepository;
+    }
+
+    @Override
+    public Result execute(Params params) {
+        int limit = resolveLimit(params.limit());
+        MedicineCursor after = params.cursor() != null && !params.cursor().isBlank()
+                ? MedicineCursor.decode(params.cursor())
+                : null;
+
+        // Um item a mais indica se existe próxima página sem um COUNT
+        List<Medicine> rows = medicineRepository.findPageByUserId(params.userId(), after, limit + 1);
+        if (rows.size() <= limit) {
+            return new Result(rows, null);
+        }
+        List<Medicine> page = rows.subList(0, limit);
+        return new Result(List.copyOf(page), MedicineCursor.after(page.get(limit - 1)).encode());
+    }
+
+    private static int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new ValidationException("limit deve ser maior que zero");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
@@ -0,0 +1,21 @@
+package com.pillmind.data.usecases;
+
+import java.util.List;
+
+import com.pillmind.data.protocols.schedule.DoseSchedule;
+import com.pillmind.domain.models.ScheduledDose;
+import com.pillmind.domain.usecases.ListScheduleForUser;
+
+public class DbListScheduleForUser extends DbUseCase implements ListScheduleForUser {
+
+    private final DoseSchedule doseSchedule;
+
+    public DbListScheduleForUser(DoseSchedule doseSchedule) {
+        this.doseSchedule = doseSchedule;
+    }
+
+    @Override
+    public List<ScheduledDose> execute(Params params) {
+        return doseSchedule.dosesBetween(params.userId(), params.from(), params.to());
+    }
+}
@@ -2,11 +2,13 @@ package com.pillmind.data.usecases;
 
 import java.time.LocalDateTime;
 
-import com.pillmind.data.protocols.cryptography.Encrypter;
 import com.pillmind.data.protocols.cryptography.HashComparer;
+import com.pillmind.data.protocols.cryptography.PasswordHashUpgrader;
 import com.pillmind.data.protocols.db.LocalAccountRepository;
+import com.pillmind.data.protocols.db.LoginActivityRecorder;
 import com.pillmind.data.protocols.db.UserRepository;
 import com.pillmind.domain.errors.UnauthorizedException;
+import com.pillmind.domain.usecases.CreateSession;
 import com.pillmind.domain.usecases.LocalAuthentication;
 
 /**
@@ -16,14 +18,20 @@ public class DbLocalAuthentication extends DbUseCase implements LocalAuthenticat
     private final LocalAccountRepository localAccountRepository;
     private final UserRepository userRepository;
     private final HashComparer hashComparer;
-    private final Encrypter encrypter;
+    private final CreateSession createSession;
+    private final LoginActivityRecorder loginActivityRecorder;
+    private final PasswordHashUpgrader passwordHashUpgrader;
 
     public DbLocalAuthentication(LocalAccountRepository localAccountRepository, UserRepository userRepository, 
-                                HashComparer hashComparer, Encrypter encrypter) {
+                                HashComparer hashComparer, CreateSession createSession,
+                                LoginActivityRecorder loginActivityRecorder,
+                                PasswordHashUpgrader passwordHashUpgrader) {
         this.localAccountRepository = localAccountRepository;
         this.userRepository = userRepository;
         this.hashComparer = hashComparer;
-        this.encrypter = encrypter;
+        this.createSession = createSession;
+        this.loginActivityRecorder = loginActivityRecorder;
+        this.passwordHashUpgrader = passwordHashUpgrader;
     }
 
     @Override
@@ -37,17 +45,19 @@ public class DbLocalAuthentication extends DbUseCase implements LocalAuthenticat
             throw new UnauthorizedException("Credenciais inválidas");
         }
 
+        // 2.1 Regravar hash com algoritmo/custo atuais, se preciso (fora da requisição)
+        passwordHashUpgrader.upgradeIfNeeded(localAccount.id(), localAccount.passwordHash(), params.password());
+
         // 3. Buscar dados do usuário (perfil)
         var user = userRepository.findById(localAccount.userId())
             .orElseThrow(() -> new UnauthorizedException("Usuário não encontrado"));
 
-        // 4. Atualizar timestamp de último login
-        var updatedLocalAccount = localAccount.withLastLoginAt(LocalDateTime.now());
-        localAccountRepository.update(updatedLocalAccount);
+        // 4. Registrar último login (gravado em lote fora da requisição)
+        loginActivityRecorder.recordLocalLogin(localAccount.id(), LocalDateTime.now());
 
-        // 5. Gerar token de acesso
-        var accessToken = encrypter.encrypt(user.id());
+        // 5. Abrir sessão: token de acesso curto + refresh token
+        var session = createSession.execute(new CreateSession.Params(user.id()));
 
-        return new Result(accessToken, user);
+        return new Result(session.accessToken(), session.refreshToken(), user);
     }
 }
\ No newline at end of file
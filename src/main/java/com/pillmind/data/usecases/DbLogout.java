@@ -0,0 +1,40 @@
+package com.pillmind.data.usecases;
+
+import java.time.LocalDateTime;
+
+import com.pillmind.data.protocols.cryptography.RefreshTokenGenerator;
+import com.pillmind.data.protocols.cryptography.TokenRevocationStore;
+import com.pillmind.data.protocols.db.RefreshTokenRepository;
+import com.pillmind.domain.usecases.Logout;
+
+/**
+ * Implementação do caso de uso Logout
+ */
+public class DbLogout extends DbUseCase implements Logout {
+    private final TokenRevocationStore tokenRevocationStore;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenGenerator refreshTokenGenerator;
+
+    public DbLogout(TokenRevocationStore tokenRevocationStore, RefreshTokenRepository refreshTokenRepository,
+                    RefreshTokenGenerator refreshTokenGenerator) {
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenGenerator = refreshTokenGenerator;
+    }
+
+    @Override
+    public Void execute(Params params) {
+        // Tokens antigos, sem jti, não têm como ser revogados: vencem sozinhos
+        if (params.accessTokenId() != null && params.accessTokenExpiresAt() != null) {
+            tokenRevocationStore.revoke(params.accessTokenId(), params.accessTokenExpiresAt());
+        }
+
+        if (params.refreshToken() != null && !params.refreshToken().isBlank()) {
+            refreshTokenRepository.findByTokenHash(refreshTokenGenerator.hash(params.refreshToken()))
+                // Só encerra sessões do próprio usuário
+                .filter(token -> token.userId().equals(params.userId()))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.familyId(), LocalDateTime.now()));
+        }
+        return null;
+    }
+}
@@ -3,6 +3,7 @@ package com.pillmind.data.usecases;
 import java.time.LocalDateTime;
 
 import com.pillmind.data.protocols.cryptography.Encrypter;
+import com.pillmind.data.protocols.db.LoginActivityRecorder;
 import com.pillmind.data.protocols.db.OAuthAccountRepository;
 import com.pillmind.data.protocols.db.UserRepository;
 import com.pillmind.domain.errors.UnauthorizedException;
@@ -15,11 +16,14 @@ public class DbOAuthAuthentication extends DbUseCase implements OAuthAuthenticat
     private final OAuthAccountRepository oauthAccountRepository;
     private final UserRepository userRepository;
     private final Encrypter encrypter;
+    private final LoginActivityRecorder loginActivityRecorder;
 
-    public DbOAuthAuthentication(OAuthAccountRepository oauthAccountRepository, UserRepository userRepository, Encrypter encrypter) {
+    public DbOAuthAuthentication(OAuthAccountRepository oauthAccountRepository, UserRepository userRepository, Encrypter encrypter,
+                                 LoginActivityRecorder loginActivityRecorder) {
         this.oauthAccountRepository = oauthAccountRepository;
         this.userRepository = userRepository;
         this.encrypter = encrypter;
+        this.loginActivityRecorder = loginActivityRecorder;
     }
 
     @Override
@@ -33,9 +37,8 @@ public class DbOAuthAuthentication extends DbUseCase implements OAuthAuthenticat
         var user = userRepository.findById(oauthAccount.userId())
             .orElseThrow(() -> new UnauthorizedException("Usuário não encontrado"));
 
-        // 3. Atualizar timestamp de último login
-        var updatedOAuthAccount = oauthAccount.withLastLoginAt(LocalDateTime.now());
-        oauthAccountRepository.update(updatedOAuthAccount);
+        // 3. Registrar último login (gravado em lote fora da requisição)
+        loginActivityRecorder.recordOAuthLogin(oauthAccount.id(), LocalDateTime.now());
 
         // 4. Gerar token de acesso
         var accessToken = encrypter.encrypt(user.id());
@@ -0,0 +1,67 @@
+package com.pillmind.data.usecases;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.data.protocols.db.MedicineTakenRepository;
+import com.pillmind.domain.errors.NotFoundException;
+import com.pillmind.domain.errors.ValidationException;
+import com.pillmind.domain.models.DoseTimes;
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.domain.models.MedicineTaken;
+import com.pillmind.domain.usecases.RecordDosesForUser;
+
+public class DbRecordDosesForUser extends DbUseCase implements RecordDosesForUser {
+
+    private final MedicineRepository medicineRepository;
+    private final MedicineTakenRepository medicineTakenRepository;
+
+    public DbRecordDosesForUser(MedicineRepository medicineRepository,
+            MedicineTakenRepository medicineTakenRepository) {
+        this.medicineRepository = medicineRepository;
+        this.medicineTakenRepository = medicineTakenRepository;
+    }
+
+    @Override
+    public Integer execute(Params params) {
+        if (params.doses().isEmpty()) {
+            return 0;
+        }
+        // Uma leitura (ou o cache) para validar todos os medicamentos do lote
+        Set<String> owned = medicineRepository.findAllByUserId(params.userId()).stream()
+                .map(Medicine::id)
+                .collect(Collectors.toSet());
+
+        var now = LocalDateTime.now();
+        // A mesma dose repetida no lote vale pela última ocorrência; o upsert não aceita a chave duas vezes
+        Map<String, MedicineTaken> byDose = new LinkedHashMap<>();
+        for (Dose dose : params.doses()) {
+            if (!owned.contains(dose.medicineId())) {
+                throw new NotFoundException("Medicamento não encontrado: " + dose.medicineId());
+            }
+            int minute = DoseTimes.parseMinute(dose.scheduledTime());
+            if (minute < 0) {
+                throw new ValidationException("Horário inválido: " + dose.scheduledTime() + " (use HH:mm)");
+            }
+            String time = DoseTimes.formatMinute(minute);
+            LocalDateTime takenAt = dose.skipped() ? null : (dose.takenAt() != null ? dose.takenAt() : now);
+            byDose.put(dose.medicineId() + '|' + dose.date() + '|' + time, new MedicineTaken(
+                    UUID.randomUUID().toString(),
+                    params.userId(),
+                    dose.medicineId(),
+                    dose.date(),
+                    time,
+                    takenAt,
+                    dose.skipped(),
+                    now,
+                    now));
+        }
+        return medicineTakenRepository.upsertAll(new ArrayList<>(byDose.values()));
+    }
+}
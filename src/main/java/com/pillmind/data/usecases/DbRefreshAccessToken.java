@@ -0,0 +1,85 @@
+package com.pillmind.data.usecases;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pillmind.data.protocols.cryptography.Encrypter;
+import com.pillmind.data.protocols.cryptography.RefreshTokenGenerator;
+import com.pillmind.data.protocols.db.RefreshTokenRepository;
+import com.pillmind.data.protocols.db.TransactionManager;
+import com.pillmind.domain.errors.UnauthorizedException;
+import com.pillmind.domain.models.RefreshToken;
+import com.pillmind.domain.usecases.RefreshAccessToken;
+
+/**
+ * Implementação do caso de uso RefreshAccessToken
+ * <p>
+ * O token apresentado é revogado e substituído por outro da mesma família, na mesma transação.
+ * Um token já revogado sendo usado de novo indica que vazou (ou foi copiado): a família inteira é
+ * revogada e o usuário precisa fazer login outra vez.
+ */
+public class DbRefreshAccessToken extends DbUseCase implements RefreshAccessToken {
+    private static final Logger logger = LoggerFactory.getLogger(DbRefreshAccessToken.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenGenerator refreshTokenGenerator;
+    private final Encrypter encrypter;
+    private final TransactionManager transactionManager;
+    private final Duration refreshTokenTtl;
+
+    public DbRefreshAccessToken(RefreshTokenRepository refreshTokenRepository,
+                                RefreshTokenGenerator refreshTokenGenerator, Encrypter encrypter,
+                                TransactionManager transactionManager, Duration refreshTokenTtl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenGenerator = refreshTokenGenerator;
+        this.encrypter = encrypter;
+        this.transactionManager = transactionManager;
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    @Override
+    public Result execute(Params params) {
+        var current = refreshTokenRepository.findByTokenHash(refreshTokenGenerator.hash(params.refreshToken()))
+            .orElseThrow(() -> new UnauthorizedException("Refresh token inválido"));
+        var now = LocalDateTime.now();
+
+        if (current.isRevoked()) {
+            revokeFamilyOnReuse(current, now);
+        }
+        if (current.isExpired(now)) {
+            throw new UnauthorizedException("Refresh token expirado");
+        }
+
+        var nextToken = refreshTokenGenerator.generate();
+        boolean rotated = transactionManager.inTransaction(() -> {
+            // Duas rotações simultâneas do mesmo token: só uma revoga, a outra é tratada como reuso
+            if (!refreshTokenRepository.revoke(current.id(), now)) {
+                return false;
+            }
+            refreshTokenRepository.add(new RefreshToken(
+                UUID.randomUUID().toString(),
+                current.userId(),
+                current.familyId(),
+                refreshTokenGenerator.hash(nextToken),
+                now.plus(refreshTokenTtl),
+                now,
+                null));
+            return true;
+        });
+        if (!rotated) {
+            revokeFamilyOnReuse(current, now);
+        }
+
+        return new Result(encrypter.encrypt(current.userId()), nextToken);
+    }
+
+    private void revokeFamilyOnReuse(RefreshToken reused, LocalDateTime now) {
+        int revoked = refreshTokenRepository.revokeFamily(reused.familyId(), now);
+        logger.warn("Refresh token reutilizado (usuário {}); {} token(s) da sessão revogados", reused.userId(), revoked);
+        throw new UnauthorizedException("Refresh token inválido");
+    }
+}
@@ -0,0 +1,18 @@
+package com.pillmind.data.usecases;
+
+import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.domain.usecases.StreamMedicinesForUser;
+
+public class DbStreamMedicinesForUser extends DbUseCase implements StreamMedicinesForUser {
+
+    private final MedicineRepository medicineRepository;
+
+    public DbStreamMedicinesForUser(MedicineRepository medicineRepository) {
+        this.medicineRepository = medicineRepository;
+    }
+
+    @Override
+    public Integer execute(Params params) {
+        return medicineRepository.streamAllByUserId(params.userId(), params.sink());
+    }
+}
@@ -2,7 +2,9 @@ package com.pillmind.data.usecases;
 
 import java.time.LocalDateTime;
 
+import com.pillmind.data.protocols.cache.VersionTracker;
 import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.data.protocols.schedule.MedicineChangeListener;
 import com.pillmind.domain.errors.NotFoundException;
 import com.pillmind.domain.models.Medicine;
 import com.pillmind.domain.usecases.UpdateMedicineForUser;
@@ -10,9 +12,14 @@ import com.pillmind.domain.usecases.UpdateMedicineForUser;
 public class DbUpdateMedicineForUser extends DbUseCase implements UpdateMedicineForUser {
 
     private final MedicineRepository medicineRepository;
+    private final VersionTracker versionTracker;
+    private final MedicineChangeListener changeListener;
 
-    public DbUpdateMedicineForUser(MedicineRepository medicineRepository) {
+    public DbUpdateMedicineForUser(MedicineRepository medicineRepository, VersionTracker versionTracker,
+            MedicineChangeListener changeListener) {
         this.medicineRepository = medicineRepository;
+        this.versionTracker = versionTracker;
+        this.changeListener = changeListener;
     }
 
     @Override
@@ -39,6 +46,8 @@ public class DbUpdateMedicineForUser extends DbUseCase implements UpdateMedicine
                 existing.createdAt(),
                 LocalDateTime.now());
         medicineRepository.update(updated);
+        versionTracker.bump(VersionTracker.Scope.MEDICINES, params.userId());
+        changeListener.medicineSaved(updated);
         return updated;
     }
 }
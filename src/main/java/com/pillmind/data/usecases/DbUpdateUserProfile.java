@@ -1,5 +1,6 @@
 package com.pillmind.data.usecases;
 
+import com.pillmind.data.protocols.cache.VersionTracker;
 import com.pillmind.data.protocols.db.UserRepository;
 import com.pillmind.domain.errors.ConflictException;
 import com.pillmind.domain.errors.NotFoundException;
@@ -11,9 +12,11 @@ import com.pillmind.domain.usecases.UpdateUserProfile;
  */
 public class DbUpdateUserProfile extends DbUseCase implements UpdateUserProfile {
     private final UserRepository userRepository;
+    private final VersionTracker versionTracker;
 
-    public DbUpdateUserProfile(UserRepository userRepository) {
+    public DbUpdateUserProfile(UserRepository userRepository, VersionTracker versionTracker) {
         this.userRepository = userRepository;
+        this.versionTracker = versionTracker;
     }
 
     @Override
@@ -39,7 +42,9 @@ public class DbUpdateUserProfile extends DbUseCase implements UpdateUserProfile
             params.pictureUrl()
         );
 
-        // 4. Persistir atualização
-        return userRepository.update(updatedUser);
+        // 4. Persistir atualização e invalidar ETag do perfil
+        var saved = userRepository.update(updatedUser);
+        versionTracker.bump(VersionTracker.Scope.PROFILE, params.userId());
+        return saved;
     }
 }
\ No newline at end of file
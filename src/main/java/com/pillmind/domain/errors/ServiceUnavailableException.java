@@ -4,11 +4,30 @@ package com.pillmind.domain.errors;
  * Recurso temporariamente indisponível (ex.: armazenamento de objetos desligado).
  */
 public class ServiceUnavailableException extends RuntimeException {
+  private final long retryAfterSeconds;
+
   public ServiceUnavailableException(String message) {
-    super(message);
+    this(message, 0, null);
   }
 
   public ServiceUnavailableException(String message, Throwable cause) {
+    this(message, 0, cause);
+  }
+
+  /**
+   * @param retryAfterSeconds sugestão de espera enviada no header {@code Retry-After}
+   */
+  public ServiceUnavailableException(String message, long retryAfterSeconds) {
+    this(message, retryAfterSeconds, null);
+  }
+
+  private ServiceUnavailableException(String message, long retryAfterSeconds, Throwable cause) {
     super(message, cause);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  /** Segundos até uma nova tentativa fazer sentido; 0 se não houver sugestão. */
+  public long retryAfterSeconds() {
+    return retryAfterSeconds;
   }
 }
@@ -0,0 +1,18 @@
+package com.pillmind.domain.errors;
+
+/**
+ * Limite de requisições excedido (ex.: tentativas de login).
+ */
+public class TooManyRequestsException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /** Segundos até a próxima tentativa ser aceita. */
+    public long retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,14 @@
+package com.pillmind.domain.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lembrete de uma dose que chegou no horário, entregue a um {@code ReminderSink}.
+ */
+public record DoseReminder(
+        String userId,
+        String medicineId,
+        String medicineName,
+        String dosage,
+        LocalDateTime scheduledAt) {
+}
@@ -0,0 +1,179 @@
+package com.pillmind.domain.models;
+
+import java.time.LocalTime;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Horários de dose de um medicamento como minutos do dia ({@code 0..1439}), na ordem informada.
+ * <p>
+ * É uma {@code List<String>} imutável ("HH:mm") para a API e o cache, mas guarda só um
+ * {@code short} por horário: o banco grava {@link #toPacked()} (2 bytes por horário) e a agenda lê
+ * {@link #minuteAt(int)} sem formatar nem interpretar strings.
+ */
+public final class DoseTimes extends AbstractList<String> implements RandomAccess {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final DoseTimes EMPTY = new DoseTimes(new short[0]);
+
+    private final short[] minutes;
+
+    private DoseTimes(short[] minutes) {
+        this.minutes = minutes;
+    }
+
+    public static DoseTimes empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Converte horários "HH:mm" (ou "H:mm").
+     *
+     * @throws IllegalArgumentException se algum horário for inválido
+     */
+    public static DoseTimes of(List<String> times) {
+        if (times instanceof DoseTimes doseTimes) {
+            return doseTimes;
+        }
+        if (times == null || times.isEmpty()) {
+            return EMPTY;
+        }
+        short[] minutes = new short[times.size()];
+        for (int i = 0; i < minutes.length; i++) {
+            int minute = parseMinute(times.get(i));
+            if (minute < 0) {
+                throw new IllegalArgumentException("Horário inválido: " + times.get(i));
+            }
+            minutes[i] = (short) minute;
+        }
+        return new DoseTimes(minutes);
+    }
+
+    /**
+     * @throws IllegalArgumentException se algum valor estiver fora de {@code 0..1439}
+     */
+    public static DoseTimes ofMinutes(int... minutesOfDay) {
+        if (minutesOfDay.length == 0) {
+            return EMPTY;
+        }
+        short[] minutes = new short[minutesOfDay.length];
+        for (int i = 0; i < minutes.length; i++) {
+            minutes[i] = checkMinute(minutesOfDay[i]);
+        }
+        return new DoseTimes(minutes);
+    }
+
+    /**
+     * Lê o formato de {@link #toPacked()}; {@code null} ou vazio viram lista vazia.
+     *
+     * @throws IllegalArgumentException se o tamanho for ímpar ou algum valor estiver fora do dia
+     */
+    public static DoseTimes fromPacked(byte[] packed) {
+        if (packed == null || packed.length == 0) {
+            return EMPTY;
+        }
+        if ((packed.length & 1) != 0) {
+            throw new IllegalArgumentException("times_packed com tamanho ímpar: " + packed.length);
+        }
+        short[] minutes = new short[packed.length >> 1];
+        for (int i = 0; i < minutes.length; i++) {
+            minutes[i] = checkMinute(((packed[2 * i] & 0xFF) << 8) | (packed[2 * i + 1] & 0xFF));
+        }
+        return new DoseTimes(minutes);
+    }
+
+    /**
+     * Minuto do dia de "HH:mm"/"H:mm", ou {@code -1} se o texto não for um horário válido.
+     */
+    public static int parseMinute(String time) {
+        if (time == null) {
+            return -1;
+        }
+        int length = time.length();
+        if (length != 4 && length != 5) {
+            return -1;
+        }
+        int colon = length - 3;
+        if (time.charAt(colon) != ':') {
+            return -1;
+        }
+        int hours = digits(time, 0, colon);
+        int mins = digits(time, colon + 1, length);
+        if (hours < 0 || hours > 23 || mins < 0 || mins > 59) {
+            return -1;
+        }
+        return hours * 60 + mins;
+    }
+
+    /** Minutos do dia como big-endian, 2 bytes por horário. */
+    public byte[] toPacked() {
+        byte[] packed = new byte[minutes.length * 2];
+        for (int i = 0; i < minutes.length; i++) {
+            packed[2 * i] = (byte) (minutes[i] >>> 8);
+            packed[2 * i + 1] = (byte) minutes[i];
+        }
+        return packed;
+    }
+
+    public int minuteAt(int index) {
+        return minutes[index];
+    }
+
+    public LocalTime timeAt(int index) {
+        return LocalTime.of(minutes[index] / 60, minutes[index] % 60);
+    }
+
+    @Override
+    public String get(int index) {
+        return formatMinute(minutes[index]);
+    }
+
+    /** "HH:mm" de um minuto do dia em {@code 0..1439}. */
+    public static String formatMinute(int minute) {
+        int hours = minute / 60;
+        int mins = minute % 60;
+        return new String(new char[] {
+                (char) ('0' + hours / 10), (char) ('0' + hours % 10), ':',
+                (char) ('0' + mins / 10), (char) ('0' + mins % 10) });
+    }
+
+    @Override
+    public int size() {
+        return minutes.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof DoseTimes other) {
+            return Arrays.equals(minutes, other.minutes);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        // Mesmo contrato de List.hashCode: igual a uma List<String> com os mesmos horários
+        return super.hashCode();
+    }
+
+    private static short checkMinute(int minute) {
+        if (minute < 0 || minute >= MINUTES_PER_DAY) {
+            throw new IllegalArgumentException("Minuto do dia fora do intervalo: " + minute);
+        }
+        return (short) minute;
+    }
+
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
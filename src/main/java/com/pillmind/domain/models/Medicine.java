@@ -6,6 +6,9 @@ import java.util.List;
 
 /**
  * Medicamento associado a um usuário (lembretes / agenda).
+ * <p>
+ * {@code times} é sempre um {@link DoseTimes}: "HH:mm" para quem lê a lista, minutos do dia para
+ * a agenda via {@link #doseTimes()}.
  */
 public record Medicine(
         String id,
@@ -26,6 +29,10 @@ public record Medicine(
         LocalDateTime updatedAt) implements Entity {
 
     public Medicine {
-        times = times == null ? List.of() : List.copyOf(times);
+        times = DoseTimes.of(times);
+    }
+
+    public DoseTimes doseTimes() {
+        return (DoseTimes) times;
     }
 }
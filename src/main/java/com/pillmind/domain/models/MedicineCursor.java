@@ -0,0 +1,40 @@
+package com.pillmind.domain.models;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.pillmind.domain.errors.ValidationException;
+
+/**
+ * Posição na listagem paginada de medicamentos: último item visto na ordem
+ * (start_date, name, id). Trafega como token opaco (base64url).
+ */
+public record MedicineCursor(LocalDate startDate, String name, String id) {
+
+    private static final String SEPARATOR = "\n";
+
+    public static MedicineCursor after(Medicine medicine) {
+        return new MedicineCursor(medicine.startDate(), medicine.name(), medicine.id());
+    }
+
+    public String encode() {
+        // name por último: é o único campo que pode conter o separador
+        String raw = startDate + SEPARATOR + id + SEPARATOR + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MedicineCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 3);
+            if (parts.length != 3 || parts[1].isEmpty()) {
+                throw new ValidationException("Cursor inválido");
+            }
+            return new MedicineCursor(LocalDate.parse(parts[0]), parts[2], parts[1]);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Cursor inválido", e);
+        }
+    }
+}
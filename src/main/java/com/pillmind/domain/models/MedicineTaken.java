@@ -0,0 +1,22 @@
+package com.pillmind.domain.models;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Registro de uma dose prevista: tomada ({@code takenAt}) ou pulada ({@code skipped}).
+ * <p>
+ * Uma dose é identificada por medicamento, dia e horário previsto ("HH:mm"); registrar de novo a
+ * mesma dose substitui o registro anterior.
+ */
+public record MedicineTaken(
+        String id,
+        String userId,
+        String medicineId,
+        LocalDate date,
+        String scheduledTime,
+        LocalDateTime takenAt,
+        boolean skipped,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) implements Entity {
+}
@@ -0,0 +1,27 @@
+package com.pillmind.domain.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh token de uma sessão. Só o hash do token é guardado.
+ * <p>
+ * Tokens da mesma sessão compartilham {@code familyId}: cada rotação revoga o atual e cria o
+ * próximo na mesma família.
+ */
+public record RefreshToken(
+        String id,
+        String userId,
+        String familyId,
+        String tokenHash,
+        LocalDateTime expiresAt,
+        LocalDateTime createdAt,
+        LocalDateTime revokedAt) {
+
+    public boolean isRevoked() {
+        return revokedAt != null;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+}
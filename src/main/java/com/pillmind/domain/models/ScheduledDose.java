@@ -0,0 +1,13 @@
+package com.pillmind.domain.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Uma dose prevista na agenda de um medicamento.
+ */
+public record ScheduledDose(
+        String medicineId,
+        String medicineName,
+        String dosage,
+        LocalDateTime scheduledAt) {
+}
@@ -0,0 +1,16 @@
+package com.pillmind.domain.usecases;
+
+/**
+ * Use Case para abrir uma sessão depois do login: token de acesso curto + refresh token
+ */
+public interface CreateSession extends UseCase<CreateSession.Params, CreateSession.Result> {
+
+    record Params(
+        String userId
+    ) {}
+
+    record Result(
+        String accessToken,
+        String refreshToken
+    ) {}
+}
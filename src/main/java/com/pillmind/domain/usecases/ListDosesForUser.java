@@ -0,0 +1,20 @@
+package com.pillmind.domain.usecases;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.pillmind.domain.models.MedicineTaken;
+
+/**
+ * Doses registradas do usuário num intervalo de dias, opcionalmente de um único medicamento.
+ */
+public interface ListDosesForUser extends UseCase<ListDosesForUser.Params, List<MedicineTaken>> {
+
+    /**
+     * @param medicineId {@code null} para todos os medicamentos
+     * @param from       primeiro dia (inclusivo)
+     * @param to         último dia (inclusivo)
+     */
+    record Params(String userId, String medicineId, LocalDate from, LocalDate to) {
+    }
+}
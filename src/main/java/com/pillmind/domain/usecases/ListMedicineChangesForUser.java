@@ -0,0 +1,28 @@
+package com.pillmind.domain.usecases;
+
+import java.util.List;
+
+import com.pillmind.domain.models.Medicine;
+
+/**
+ * Medicamentos alterados e removidos desde um watermark, para sincronização incremental.
+ */
+public interface ListMedicineChangesForUser
+        extends UseCase<ListMedicineChangesForUser.Params, ListMedicineChangesForUser.Result> {
+
+    /**
+     * @param since watermark devolvido pela sincronização anterior (epoch ms); null para sincronização completa
+     */
+    record Params(String userId, Long since) {
+    }
+
+    /**
+     * @param changed    medicamentos criados ou alterados
+     * @param deletedIds IDs removidos (vazio na sincronização completa)
+     * @param watermark  valor a enviar como {@code since} na próxima sincronização
+     * @param full       {@code changed} é a lista completa: sem since, ou since mais antigo que a
+     *                   retenção dos tombstones; o app descarta o que não estiver nela
+     */
+    record Result(List<Medicine> changed, List<String> deletedIds, long watermark, boolean full) {
+    }
+}
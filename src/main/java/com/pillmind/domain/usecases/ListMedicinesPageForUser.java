@@ -0,0 +1,25 @@
+package com.pillmind.domain.usecases;
+
+import java.util.List;
+
+import com.pillmind.domain.models.Medicine;
+
+/**
+ * Lista medicamentos do usuário em páginas (keyset); {@code nextCursor} é null na última página.
+ */
+public interface ListMedicinesPageForUser
+        extends UseCase<ListMedicinesPageForUser.Params, ListMedicinesPageForUser.Result> {
+
+    int DEFAULT_LIMIT = 50;
+    int MAX_LIMIT = 100;
+
+    /**
+     * @param cursor token da página anterior ou null para a primeira página
+     * @param limit  itens por página; null usa {@link #DEFAULT_LIMIT}, acima de {@link #MAX_LIMIT} é limitado
+     */
+    record Params(String userId, String cursor, Integer limit) {
+    }
+
+    record Result(List<Medicine> items, String nextCursor) {
+    }
+}
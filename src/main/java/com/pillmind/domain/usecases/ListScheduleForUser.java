@@ -0,0 +1,19 @@
+package com.pillmind.domain.usecases;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.pillmind.domain.models.ScheduledDose;
+
+/**
+ * Doses previstas do usuário num intervalo, em ordem de horário.
+ */
+public interface ListScheduleForUser extends UseCase<ListScheduleForUser.Params, List<ScheduledDose>> {
+
+    /**
+     * @param from início do intervalo (inclusivo)
+     * @param to   fim do intervalo (exclusivo)
+     */
+    record Params(String userId, LocalDateTime from, LocalDateTime to) {
+    }
+}
@@ -14,6 +14,7 @@ public interface LocalAuthentication extends UseCase<LocalAuthentication.Params,
     
     record Result(
         String accessToken,
+        String refreshToken,
         User user
     ) {}
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.pillmind.domain.usecases;
+
+import java.time.Instant;
+
+/**
+ * Use Case para encerrar a sessão: revoga o token de acesso atual e a família do refresh token
+ */
+public interface Logout extends UseCase<Logout.Params, Void> {
+
+    record Params(
+        String userId,
+        String accessTokenId,
+        Instant accessTokenExpiresAt,
+        // Opcional: sem ele só o token de acesso é revogado
+        String refreshToken
+    ) {}
+}
@@ -0,0 +1,24 @@
+package com.pillmind.domain.usecases;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Marca várias doses de uma vez como tomadas ou puladas (POST /api/doses/batch).
+ * <p>
+ * Registrar de novo a mesma dose (medicamento, dia e horário) substitui o registro anterior.
+ * Retorna a quantidade de doses gravadas.
+ */
+public interface RecordDosesForUser extends UseCase<RecordDosesForUser.Params, Integer> {
+
+    record Params(String userId, List<Dose> doses) {
+    }
+
+    /**
+     * @param scheduledTime horário previsto, "HH:mm"
+     * @param takenAt       quando foi tomada; {@code null} numa dose tomada usa o momento do registro
+     */
+    record Dose(String medicineId, LocalDate date, String scheduledTime, boolean skipped, LocalDateTime takenAt) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.pillmind.domain.usecases;
+
+/**
+ * Use Case para trocar um refresh token por um novo token de acesso.
+ * O refresh token é rotacionado: o usado deixa de valer e um novo é devolvido.
+ */
+public interface RefreshAccessToken extends UseCase<RefreshAccessToken.Params, RefreshAccessToken.Result> {
+
+    record Params(
+        String refreshToken
+    ) {}
+
+    record Result(
+        String accessToken,
+        String refreshToken
+    ) {}
+}
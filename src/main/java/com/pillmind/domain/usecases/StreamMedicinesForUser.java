@@ -0,0 +1,15 @@
+package com.pillmind.domain.usecases;
+
+import java.util.function.Consumer;
+
+import com.pillmind.domain.models.Medicine;
+
+/**
+ * Entrega os medicamentos do usuário um a um ao {@code sink}, na ordem da listagem,
+ * sem montar a lista em memória. Retorna quantos itens foram entregues.
+ */
+public interface StreamMedicinesForUser extends UseCase<StreamMedicinesForUser.Params, Integer> {
+
+    record Params(String userId, Consumer<Medicine> sink) {
+    }
+}
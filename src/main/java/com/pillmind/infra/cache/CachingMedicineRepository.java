@@ -0,0 +1,194 @@
+package com.pillmind.infra.cache;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pillmind.data.protocols.cache.VersionTracker;
+import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.domain.models.MedicineCursor;
+import com.pillmind.infra.metrics.MetricsSource;
+
+/**
+ * Cache da lista de medicamentos de cada usuário na frente do {@link MedicineRepository}.
+ * <p>
+ * Cada entrada guarda a versão de {@link VersionTracker} lida antes da consulta e só é servida
+ * enquanto essa versão for a atual. Os casos de uso de escrita incrementam a versão depois do
+ * commit, então uma carga que correu em paralelo com um delete fica marcada com a versão antiga e
+ * nunca volta a ser servida. O peso de cada entrada é o número de medicamentos; a política de
+ * despejo é a W-TinyLFU do Caffeine.
+ */
+public class CachingMedicineRepository implements MedicineRepository, MetricsSource {
+  /** Listas maiores não são guardadas (nem acumuladas durante o streaming). */
+  static final int MAX_CACHED_PER_USER = 1_000;
+
+  private final MedicineRepository delegate;
+  private final VersionTracker versionTracker;
+  private final Cache<String, CachedMedicines> cache;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * @param maxWeight total de medicamentos mantidos em memória, somando todos os usuários
+   */
+  public CachingMedicineRepository(MedicineRepository delegate, VersionTracker versionTracker, long maxWeight) {
+    this(delegate, versionTracker, maxWeight, ForkJoinPool.commonPool());
+  }
+
+  CachingMedicineRepository(MedicineRepository delegate, VersionTracker versionTracker, long maxWeight,
+      Executor maintenanceExecutor) {
+    this.delegate = delegate;
+    this.versionTracker = versionTracker;
+    this.cache = Caffeine.newBuilder()
+        .maximumWeight(maxWeight)
+        .weigher((String userId, CachedMedicines entry) -> 1 + entry.items().size())
+        .executor(maintenanceExecutor)
+        .recordStats()
+        .build();
+  }
+
+  @Override
+  public List<Medicine> findAllByUserId(String userId) {
+    String version = currentVersion(userId);
+    CachedMedicines cached = lookup(userId, version);
+    if (cached != null) {
+      return cached.items();
+    }
+    List<Medicine> items = delegate.findAllByUserId(userId);
+    store(userId, version, items);
+    return items;
+  }
+
+  @Override
+  public int streamAllByUserId(String userId, Consumer<Medicine> sink) {
+    String version = currentVersion(userId);
+    CachedMedicines cached = lookup(userId, version);
+    if (cached != null) {
+      cached.items().forEach(sink);
+      return cached.items().size();
+    }
+
+    List<Medicine> collected = new ArrayList<>();
+    int count = delegate.streamAllByUserId(userId, medicine -> {
+      if (collected.size() <= MAX_CACHED_PER_USER) {
+        collected.add(medicine);
+      }
+      sink.accept(medicine);
+    });
+    store(userId, version, collected);
+    return count;
+  }
+
+  @Override
+  public Optional<Medicine> findByIdAndUserId(String id, String userId) {
+    CachedMedicines cached = lookup(userId, currentVersion(userId));
+    if (cached != null) {
+      return cached.items().stream().filter(m -> m.id().equals(id)).findFirst();
+    }
+    // Um GET por id não justifica carregar a lista inteira
+    return delegate.findByIdAndUserId(id, userId);
+  }
+
+  @Override
+  public List<Medicine> findPageByUserId(String userId, MedicineCursor after, int limit) {
+    return delegate.findPageByUserId(userId, after, limit);
+  }
+
+  @Override
+  public int streamActive(LocalDate day, Consumer<Medicine> sink) {
+    // Varredura de todos os usuários: passa direto, sem ocupar o cache
+    return delegate.streamActive(day, sink);
+  }
+
+  @Override
+  public int streamUpdatedSince(LocalDateTime since, Consumer<Medicine> sink) {
+    return delegate.streamUpdatedSince(since, sink);
+  }
+
+  @Override
+  public List<Medicine> findUpdatedSince(String userId, LocalDateTime since) {
+    return delegate.findUpdatedSince(userId, since);
+  }
+
+  @Override
+  public List<String> findDeletedIdsSince(String userId, LocalDateTime since) {
+    return delegate.findDeletedIdsSince(userId, since);
+  }
+
+  @Override
+  public int deleteTombstonesBefore(LocalDateTime cutoff) {
+    return delegate.deleteTombstonesBefore(cutoff);
+  }
+
+  // Escritas só liberam memória; quem invalida de fato é o incremento de versão nos casos de uso
+
+  @Override
+  public Medicine insert(Medicine medicine) {
+    Medicine inserted = delegate.insert(medicine);
+    cache.invalidate(medicine.userId());
+    return inserted;
+  }
+
+  @Override
+  public void update(Medicine medicine) {
+    delegate.update(medicine);
+    cache.invalidate(medicine.userId());
+  }
+
+  @Override
+  public boolean deleteByIdAndUserId(String id, String userId) {
+    boolean removed = delegate.deleteByIdAndUserId(id, userId);
+    cache.invalidate(userId);
+    return removed;
+  }
+
+  @Override
+  public String metricsName() {
+    return "medicineCache";
+  }
+
+  @Override
+  public Map<String, Number> metrics() {
+    Map<String, Number> metrics = new LinkedHashMap<>();
+    metrics.put("hits", hits.sum());
+    metrics.put("misses", misses.sum());
+    metrics.put("evictions", cache.stats().evictionCount());
+    metrics.put("users", cache.estimatedSize());
+    metrics.put("weight", cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L));
+    return metrics;
+  }
+
+  private String currentVersion(String userId) {
+    return versionTracker.current(VersionTracker.Scope.MEDICINES, userId);
+  }
+
+  private CachedMedicines lookup(String userId, String version) {
+    CachedMedicines cached = cache.getIfPresent(userId);
+    if (cached != null && cached.version().equals(version)) {
+      hits.increment();
+      return cached;
+    }
+    misses.increment();
+    return null;
+  }
+
+  private void store(String userId, String version, List<Medicine> items) {
+    if (items.size() <= MAX_CACHED_PER_USER) {
+      cache.put(userId, new CachedMedicines(version, List.copyOf(items)));
+    }
+  }
+
+  private record CachedMedicines(String version, List<Medicine> items) {
+  }
+}
@@ -0,0 +1,79 @@
+package com.pillmind.infra.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.pillmind.data.protocols.cache.VersionTracker;
+
+/**
+ * Versões em memória, válidas dentro do processo.
+ * <p>
+ * Todas as versões saem de uma única sequência, então dois usuários (ou dois recursos) nunca
+ * compartilham a mesma versão. O prefixo de boot invalida as versões de execuções anteriores;
+ * depois de um restart o cliente recebe 200 uma vez e volta a receber 304.
+ * <p>
+ * Escritas feitas em outras réplicas não chegam aqui. Com {@code maxAgeMs > 0} cada versão é
+ * trocada depois desse tempo mesmo sem {@link #bump}, o que limita por quanto tempo o cache local
+ * e os ETags podem ignorar essas escritas.
+ */
+public class InMemoryVersionTracker implements VersionTracker {
+  private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+  private final AtomicLong sequence = new AtomicLong();
+  private final Map<String, Stamp> versions = new ConcurrentHashMap<>();
+  /** 0 = versões só mudam no bump */
+  private final long maxAgeNanos;
+  private final LongSupplier nanoClock;
+
+  /**
+   * Versões que só mudam no {@link #bump}: para uma única réplica.
+   */
+  public InMemoryVersionTracker() {
+    this(0);
+  }
+
+  /**
+   * @param maxAgeMs idade máxima de uma versão; 0 = só muda no {@link #bump}
+   */
+  public InMemoryVersionTracker(long maxAgeMs) {
+    this(maxAgeMs, System::nanoTime);
+  }
+
+  InMemoryVersionTracker(long maxAgeMs, LongSupplier nanoClock) {
+    this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMs);
+    this.nanoClock = nanoClock;
+  }
+
+  @Override
+  public String current(Scope scope, String userId) {
+    long now = nanoClock.getAsLong();
+    Stamp stamp = versions.get(key(scope, userId));
+    if (stamp == null || expired(stamp, now)) {
+      stamp = versions.compute(key(scope, userId),
+          (key, existing) -> existing == null || expired(existing, now) ? next(now) : existing);
+    }
+    return bootId + "." + stamp.version();
+  }
+
+  @Override
+  public void bump(Scope scope, String userId) {
+    versions.put(key(scope, userId), next(nanoClock.getAsLong()));
+  }
+
+  private Stamp next(long now) {
+    return new Stamp(sequence.incrementAndGet(), now);
+  }
+
+  private boolean expired(Stamp stamp, long now) {
+    return maxAgeNanos > 0 && now - stamp.assignedAt() >= maxAgeNanos;
+  }
+
+  private static String key(Scope scope, String userId) {
+    return scope.name() + ':' + userId;
+  }
+
+  private record Stamp(long version, long assignedAt) {
+  }
+}
@@ -0,0 +1,56 @@
+package com.pillmind.infra.cache;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cache compartilhado entre as réplicas (Redis em produção).
+ * <p>
+ * Toda operação lança {@link SharedCacheUnavailableException} quando o servidor não responde;
+ * quem chama decide como seguir só com o banco.
+ */
+public interface SharedCacheClient extends AutoCloseable {
+
+  Optional<String> get(String key);
+
+  void set(String key, String value, long ttlSeconds);
+
+  /**
+   * Grava só se a chave não existir
+   *
+   * @return true se gravou
+   */
+  boolean setIfAbsent(String key, String value, long ttlSeconds);
+
+  long increment(String key);
+
+  /**
+   * Executa um script Lua atomicamente no servidor
+   *
+   * @return o inteiro devolvido pelo script
+   */
+  long eval(String script, List<String> keys, List<String> args);
+
+  void publish(String channel, String message);
+
+  /**
+   * Assina o canal em segundo plano, reconectando sozinho enquanto não for fechado.
+   */
+  AutoCloseable subscribe(String channel, Subscriber subscriber);
+
+  @Override
+  void close();
+
+  /**
+   * Recebe mensagens de um canal
+   */
+  interface Subscriber {
+
+    /**
+     * Chamado a cada (re)conexão; mensagens publicadas enquanto desconectado foram perdidas
+     */
+    void onSubscribed();
+
+    void onMessage(String message);
+  }
+}
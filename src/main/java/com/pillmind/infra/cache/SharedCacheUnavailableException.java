@@ -0,0 +1,15 @@
+package com.pillmind.infra.cache;
+
+/**
+ * Cache compartilhado fora do ar ou lento demais; a operação deve seguir sem ele.
+ */
+public class SharedCacheUnavailableException extends RuntimeException {
+
+  public SharedCacheUnavailableException(String message) {
+    super(message);
+  }
+
+  public SharedCacheUnavailableException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,191 @@
+package com.pillmind.infra.cache;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pillmind.data.protocols.cache.VersionTracker;
+import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.domain.models.MedicineCursor;
+import com.pillmind.infra.metrics.MetricsSource;
+
+/**
+ * Segundo nível do cache de medicamentos, compartilhado entre as réplicas.
+ * <p>
+ * A chave inclui a versão do usuário ({@link VersionTracker}), então uma escrita em qualquer nó
+ * torna a entrada antiga inalcançável sem precisar apagá-la; ela expira pelo TTL. Com o cache
+ * compartilhado fora do ar, as leituras vão direto ao banco.
+ */
+public class SharedCachingMedicineRepository implements MedicineRepository, MetricsSource {
+  private static final Logger logger = LoggerFactory.getLogger(SharedCachingMedicineRepository.class);
+  private static final String KEY_PREFIX = "pillmind:medicines:v1:";
+  private static final TypeReference<List<Medicine>> MEDICINE_LIST = new TypeReference<>() {
+  };
+
+  private final MedicineRepository delegate;
+  private final VersionTracker versionTracker;
+  private final SharedCacheClient client;
+  private final long ttlSeconds;
+  private final ObjectMapper objectMapper;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder unavailable = new LongAdder();
+
+  public SharedCachingMedicineRepository(MedicineRepository delegate, VersionTracker versionTracker,
+      SharedCacheClient client, long ttlSeconds, ObjectMapper objectMapper) {
+    this.delegate = delegate;
+    this.versionTracker = versionTracker;
+    this.client = client;
+    this.ttlSeconds = ttlSeconds;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public List<Medicine> findAllByUserId(String userId) {
+    String key = key(userId);
+    List<Medicine> cached = read(key);
+    if (cached != null) {
+      return cached;
+    }
+    List<Medicine> items = delegate.findAllByUserId(userId);
+    write(key, items);
+    return items;
+  }
+
+  @Override
+  public int streamAllByUserId(String userId, Consumer<Medicine> sink) {
+    String key = key(userId);
+    List<Medicine> cached = read(key);
+    if (cached != null) {
+      cached.forEach(sink);
+      return cached.size();
+    }
+
+    List<Medicine> collected = new ArrayList<>();
+    int count = delegate.streamAllByUserId(userId, medicine -> {
+      if (collected.size() <= CachingMedicineRepository.MAX_CACHED_PER_USER) {
+        collected.add(medicine);
+      }
+      sink.accept(medicine);
+    });
+    write(key, collected);
+    return count;
+  }
+
+  @Override
+  public Optional<Medicine> findByIdAndUserId(String id, String userId) {
+    List<Medicine> cached = read(key(userId));
+    if (cached != null) {
+      return cached.stream().filter(m -> m.id().equals(id)).findFirst();
+    }
+    return delegate.findByIdAndUserId(id, userId);
+  }
+
+  @Override
+  public List<Medicine> findPageByUserId(String userId, MedicineCursor after, int limit) {
+    return delegate.findPageByUserId(userId, after, limit);
+  }
+
+  @Override
+  public int streamActive(LocalDate day, Consumer<Medicine> sink) {
+    // Varredura de todos os usuários: passa direto, sem ocupar o cache
+    return delegate.streamActive(day, sink);
+  }
+
+  @Override
+  public int streamUpdatedSince(LocalDateTime since, Consumer<Medicine> sink) {
+    return delegate.streamUpdatedSince(since, sink);
+  }
+
+  @Override
+  public List<Medicine> findUpdatedSince(String userId, LocalDateTime since) {
+    return delegate.findUpdatedSince(userId, since);
+  }
+
+  @Override
+  public List<String> findDeletedIdsSince(String userId, LocalDateTime since) {
+    return delegate.findDeletedIdsSince(userId, since);
+  }
+
+  @Override
+  public int deleteTombstonesBefore(LocalDateTime cutoff) {
+    return delegate.deleteTombstonesBefore(cutoff);
+  }
+
+  @Override
+  public Medicine insert(Medicine medicine) {
+    return delegate.insert(medicine);
+  }
+
+  @Override
+  public void update(Medicine medicine) {
+    delegate.update(medicine);
+  }
+
+  @Override
+  public boolean deleteByIdAndUserId(String id, String userId) {
+    return delegate.deleteByIdAndUserId(id, userId);
+  }
+
+  @Override
+  public String metricsName() {
+    return "sharedMedicineCache";
+  }
+
+  @Override
+  public Map<String, Number> metrics() {
+    Map<String, Number> metrics = new LinkedHashMap<>();
+    metrics.put("hits", hits.sum());
+    metrics.put("misses", misses.sum());
+    metrics.put("unavailable", unavailable.sum());
+    return metrics;
+  }
+
+  private String key(String userId) {
+    // Versão lida antes da consulta: uma escrita concorrente deixa a entrada numa chave já obsoleta
+    return KEY_PREFIX + userId + ":" + versionTracker.current(VersionTracker.Scope.MEDICINES, userId);
+  }
+
+  private List<Medicine> read(String key) {
+    try {
+      Optional<String> json = client.get(key);
+      if (json.isPresent()) {
+        List<Medicine> items = objectMapper.readValue(json.get(), MEDICINE_LIST);
+        hits.increment();
+        return items;
+      }
+    } catch (SharedCacheUnavailableException e) {
+      unavailable.increment();
+    } catch (JsonProcessingException e) {
+      logger.warn("Entrada de cache ilegível em {}, ignorando: {}", key, e.getMessage());
+    }
+    misses.increment();
+    return null;
+  }
+
+  private void write(String key, List<Medicine> items) {
+    if (items.size() > CachingMedicineRepository.MAX_CACHED_PER_USER) {
+      return;
+    }
+    try {
+      client.set(key, objectMapper.writeValueAsString(items), ttlSeconds);
+    } catch (SharedCacheUnavailableException e) {
+      unavailable.increment();
+    } catch (JsonProcessingException e) {
+      logger.warn("Erro ao serializar medicamentos para o cache: {}", e.getMessage());
+    }
+  }
+}
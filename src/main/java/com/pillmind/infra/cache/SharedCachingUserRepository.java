@@ -0,0 +1,120 @@
+package com.pillmind.infra.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pillmind.data.protocols.cache.VersionTracker;
+import com.pillmind.data.protocols.db.UserRepository;
+import com.pillmind.domain.models.User;
+import com.pillmind.infra.metrics.MetricsSource;
+
+/**
+ * {@link UserRepository#findById} com cache compartilhado entre as réplicas.
+ * <p>
+ * Mesmo esquema de {@link SharedCachingMedicineRepository}: chave com a versão do perfil, que os
+ * casos de uso incrementam depois de cada atualização do usuário.
+ */
+public class SharedCachingUserRepository implements UserRepository, MetricsSource {
+  private static final Logger logger = LoggerFactory.getLogger(SharedCachingUserRepository.class);
+  private static final String KEY_PREFIX = "pillmind:users:v1:";
+
+  private final UserRepository delegate;
+  private final VersionTracker versionTracker;
+  private final SharedCacheClient client;
+  private final long ttlSeconds;
+  private final ObjectMapper objectMapper;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder unavailable = new LongAdder();
+
+  public SharedCachingUserRepository(UserRepository delegate, VersionTracker versionTracker,
+      SharedCacheClient client, long ttlSeconds, ObjectMapper objectMapper) {
+    this.delegate = delegate;
+    this.versionTracker = versionTracker;
+    this.client = client;
+    this.ttlSeconds = ttlSeconds;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public Optional<User> findById(String id) {
+    String key = KEY_PREFIX + id + ":" + versionTracker.current(VersionTracker.Scope.PROFILE, id);
+    try {
+      Optional<String> json = client.get(key);
+      if (json.isPresent()) {
+        User user = objectMapper.readValue(json.get(), User.class);
+        hits.increment();
+        return Optional.of(user);
+      }
+    } catch (SharedCacheUnavailableException e) {
+      unavailable.increment();
+    } catch (JsonProcessingException e) {
+      logger.warn("Entrada de cache ilegível em {}, ignorando: {}", key, e.getMessage());
+    }
+    misses.increment();
+
+    Optional<User> user = delegate.findById(id);
+    // Usuário inexistente não é guardado: o cadastro não incrementa versão
+    user.ifPresent(found -> write(key, found));
+    return user;
+  }
+
+  @Override
+  public User add(User user) {
+    return delegate.add(user);
+  }
+
+  @Override
+  public User update(User user) {
+    return delegate.update(user);
+  }
+
+  @Override
+  public Optional<User> findByEmail(String email) {
+    return delegate.findByEmail(email);
+  }
+
+  @Override
+  public boolean emailExists(String email) {
+    return delegate.emailExists(email);
+  }
+
+  @Override
+  public boolean delete(String id) {
+    boolean deleted = delegate.delete(id);
+    // Nenhum caso de uso remove usuários ainda; sem isso o cache continuaria devolvendo o removido
+    versionTracker.bump(VersionTracker.Scope.PROFILE, id);
+    return deleted;
+  }
+
+  @Override
+  public String metricsName() {
+    return "sharedUserCache";
+  }
+
+  @Override
+  public Map<String, Number> metrics() {
+    Map<String, Number> metrics = new LinkedHashMap<>();
+    metrics.put("hits", hits.sum());
+    metrics.put("misses", misses.sum());
+    metrics.put("unavailable", unavailable.sum());
+    return metrics;
+  }
+
+  private void write(String key, User user) {
+    try {
+      client.set(key, objectMapper.writeValueAsString(user), ttlSeconds);
+    } catch (SharedCacheUnavailableException e) {
+      unavailable.increment();
+    } catch (JsonProcessingException e) {
+      logger.warn("Erro ao serializar usuário para o cache: {}", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package com.pillmind.infra.cache;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pillmind.data.protocols.cache.VersionTracker;
+
+/**
+ * Versões guardadas no cache compartilhado, válidas entre todas as réplicas.
+ * <p>
+ * Cada nó mantém uma cópia local das versões lidas. Um {@link #bump} grava a nova versão e publica
+ * a chave no canal {@link #CHANNEL}; os outros nós descartam a cópia local e leem a versão nova.
+ * Se uma mensagem se perder, a cópia local expira depois de {@code localTtl}.
+ * <p>
+ * Sem o cache compartilhado não há como saber de escritas feitas em outros nós. Nesse caso
+ * {@link #current} devolve uma versão descartável (nunca repetida), o que desliga os caches e o
+ * 304 até o servidor voltar. Incrementos que falharam são refeitos na primeira chamada que
+ * funcionar.
+ */
+public class SharedVersionTracker implements VersionTracker, AutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(SharedVersionTracker.class);
+
+  static final String CHANNEL = "pillmind:versions";
+  private static final String SEQUENCE_KEY = "pillmind:versions:seq";
+  /** Chaves sem escrita somem depois disso; a próxima versão sai maior que qualquer anterior. */
+  private static final long VERSION_TTL_SECONDS = Duration.ofDays(7).toSeconds();
+
+  private final SharedCacheClient client;
+  private final Cache<String, String> local;
+  private final Set<String> pendingBumps = ConcurrentHashMap.newKeySet();
+  private final String nodeId = UUID.randomUUID().toString();
+  private final AtomicLong offlineSequence = new AtomicLong();
+  /** Cresce a cada invalidação local; evita guardar uma versão lida antes de uma invalidação. */
+  private final AtomicLong invalidations = new AtomicLong();
+  private final AutoCloseable subscription;
+
+  public SharedVersionTracker(SharedCacheClient client, long localTtlMs) {
+    this.client = client;
+    this.local = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofMillis(localTtlMs))
+        .build();
+    this.subscription = client.subscribe(CHANNEL, new SharedCacheClient.Subscriber() {
+      @Override
+      public void onSubscribed() {
+        // Invalidações publicadas enquanto estávamos desconectados foram perdidas
+        invalidations.incrementAndGet();
+        local.invalidateAll();
+        try {
+          retryPendingBumps();
+        } catch (SharedCacheUnavailableException e) {
+          // Caiu de novo; fica para a próxima chamada
+        }
+      }
+
+      @Override
+      public void onMessage(String key) {
+        invalidations.incrementAndGet();
+        local.invalidate(key);
+      }
+    });
+  }
+
+  @Override
+  public String current(Scope scope, String userId) {
+    String key = key(scope, userId);
+    String cached = local.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+
+    long generation = invalidations.get();
+    try {
+      retryPendingBumps();
+      String version = client.get(key).orElseGet(() -> initialize(key));
+      if (invalidations.get() == generation) {
+        local.put(key, version);
+      }
+      return version;
+    } catch (SharedCacheUnavailableException e) {
+      return "offline-" + nodeId + "." + offlineSequence.incrementAndGet();
+    }
+  }
+
+  @Override
+  public void bump(Scope scope, String userId) {
+    String key = key(scope, userId);
+    try {
+      retryPendingBumps();
+      publishBump(key);
+    } catch (SharedCacheUnavailableException e) {
+      logger.warn("Não foi possível publicar nova versão de {}; nova tentativa quando o cache voltar", key);
+      pendingBumps.add(key);
+    } finally {
+      invalidations.incrementAndGet();
+      local.invalidate(key);
+    }
+  }
+
+  /** Incrementos aguardando o cache compartilhado voltar. */
+  public int pendingBumps() {
+    return pendingBumps.size();
+  }
+
+  @Override
+  public void close() throws Exception {
+    subscription.close();
+  }
+
+  private void retryPendingBumps() {
+    for (String key : pendingBumps) {
+      publishBump(key);
+      pendingBumps.remove(key);
+    }
+  }
+
+  private void publishBump(String key) {
+    client.set(key, String.valueOf(client.increment(SEQUENCE_KEY)), VERSION_TTL_SECONDS);
+    client.publish(CHANNEL, key);
+  }
+
+  private String initialize(String key) {
+    String fresh = String.valueOf(client.increment(SEQUENCE_KEY));
+    if (client.setIfAbsent(key, fresh, VERSION_TTL_SECONDS)) {
+      return fresh;
+    }
+    // Outro nó inicializou a chave ao mesmo tempo
+    return client.get(key).orElse(fresh);
+  }
+
+  private static String key(Scope scope, String userId) {
+    return "pillmind:versions:" + scope.name().toLowerCase() + ":" + userId;
+  }
+}
@@ -0,0 +1,162 @@
+package com.pillmind.infra.cache.redis;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pillmind.infra.cache.SharedCacheClient;
+import com.pillmind.infra.cache.SharedCacheUnavailableException;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.params.SetParams;
+
+/**
+ * {@link SharedCacheClient} sobre Jedis.
+ * <p>
+ * Depois de uma falha, as chamadas falham imediatamente durante {@link #RETRY_AFTER_MS} em vez de
+ * esperar o timeout em cada requisição.
+ */
+public class JedisSharedCacheClient implements SharedCacheClient {
+  private static final Logger logger = LoggerFactory.getLogger(JedisSharedCacheClient.class);
+
+  /** Tempo sem tentar o Redis depois de uma falha. */
+  static final long RETRY_AFTER_MS = 5_000;
+
+  private final URI uri;
+  private final int timeoutMs;
+  private final JedisPool pool;
+  private volatile long retryAt;
+
+  public JedisSharedCacheClient(String url, int timeoutMs) {
+    this.uri = URI.create(url);
+    this.timeoutMs = timeoutMs;
+    JedisPoolConfig config = new JedisPoolConfig();
+    config.setMaxWait(Duration.ofMillis(timeoutMs));
+    this.pool = new JedisPool(config, uri, timeoutMs);
+  }
+
+  @Override
+  public Optional<String> get(String key) {
+    return Optional.ofNullable(call(jedis -> jedis.get(key)));
+  }
+
+  @Override
+  public void set(String key, String value, long ttlSeconds) {
+    call(jedis -> jedis.setex(key, ttlSeconds, value));
+  }
+
+  @Override
+  public boolean setIfAbsent(String key, String value, long ttlSeconds) {
+    return "OK".equals(call(jedis -> jedis.set(key, value, SetParams.setParams().nx().ex(ttlSeconds))));
+  }
+
+  @Override
+  public long increment(String key) {
+    return call(jedis -> jedis.incr(key));
+  }
+
+  @Override
+  public long eval(String script, List<String> keys, List<String> args) {
+    return call(jedis -> ((Number) jedis.eval(script, keys, args)).longValue());
+  }
+
+  @Override
+  public void publish(String channel, String message) {
+    call(jedis -> jedis.publish(channel, message));
+  }
+
+  @Override
+  public AutoCloseable subscribe(String channel, Subscriber subscriber) {
+    var subscription = new Subscription(channel, subscriber);
+    Thread thread = new Thread(subscription, "redis-subscriber-" + channel);
+    thread.setDaemon(true);
+    thread.start();
+    return subscription;
+  }
+
+  @Override
+  public void close() {
+    pool.close();
+  }
+
+  private <T> T call(Function<Jedis, T> operation) {
+    if (System.currentTimeMillis() < retryAt) {
+      throw new SharedCacheUnavailableException("Redis indisponível");
+    }
+    try (Jedis jedis = pool.getResource()) {
+      return operation.apply(jedis);
+    } catch (JedisException e) {
+      if (System.currentTimeMillis() >= retryAt) {
+        logger.warn("Redis indisponível, seguindo só com o banco por {} ms: {}", RETRY_AFTER_MS, e.getMessage());
+      }
+      retryAt = System.currentTimeMillis() + RETRY_AFTER_MS;
+      throw new SharedCacheUnavailableException("Redis indisponível", e);
+    }
+  }
+
+  /**
+   * Conexão dedicada (sem timeout de leitura) que reassina o canal após cada queda.
+   */
+  private final class Subscription implements Runnable, AutoCloseable {
+    private final String channel;
+    private final Subscriber subscriber;
+    private final JedisPubSub pubSub;
+    private volatile boolean closed;
+
+    Subscription(String channel, Subscriber subscriber) {
+      this.channel = channel;
+      this.subscriber = subscriber;
+      this.pubSub = new JedisPubSub() {
+        @Override
+        public void onSubscribe(String subscribedChannel, int subscribedChannels) {
+          subscriber.onSubscribed();
+        }
+
+        @Override
+        public void onMessage(String messageChannel, String message) {
+          subscriber.onMessage(message);
+        }
+      };
+    }
+
+    @Override
+    public void run() {
+      while (!closed) {
+        try (Jedis jedis = new Jedis(uri, timeoutMs, 0)) {
+          jedis.subscribe(pubSub, channel);
+        } catch (JedisException e) {
+          if (!closed) {
+            logger.warn("Assinatura de {} caiu, reconectando em {} ms: {}", channel, RETRY_AFTER_MS, e.getMessage());
+            sleep();
+          }
+        }
+      }
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+      if (pubSub.isSubscribed()) {
+        pubSub.unsubscribe();
+      }
+    }
+
+    private void sleep() {
+      try {
+        Thread.sleep(RETRY_AFTER_MS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        closed = true;
+      }
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.pillmind.infra.cryptography;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
+import org.bouncycastle.crypto.params.Argon2Parameters;
+
+/**
+ * Argon2id (BouncyCastle) no formato PHC
+ * {@code $argon2id$v=19$m=<KiB>,t=<iterações>,p=<paralelismo>$<salt>$<hash>} (Base64 sem padding).
+ */
+public class Argon2idAdapter implements PasswordHashAlgorithm {
+    static final String PREFIX = "$argon2id$";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+    private final int memoryKb;
+    private final int iterations;
+    private final int parallelism;
+    private final SecureRandom random = new SecureRandom();
+
+    public Argon2idAdapter(int memoryKb, int iterations, int parallelism) {
+        this.memoryKb = memoryKb;
+        this.iterations = iterations;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public String hash(String plaintext) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        Parsed parsed = new Parsed(memoryKb, iterations, parallelism, salt, new byte[HASH_BYTES]);
+        derive(plaintext, parsed, parsed.hash());
+        return PREFIX + "v=" + Argon2Parameters.ARGON2_VERSION_13
+                + "$m=" + memoryKb + ",t=" + iterations + ",p=" + parallelism
+                + "$" + ENCODER.encodeToString(salt) + "$" + ENCODER.encodeToString(parsed.hash());
+    }
+
+    @Override
+    public boolean compare(String plaintext, String hashedValue) {
+        Parsed parsed = parse(hashedValue);
+        byte[] actual = new byte[parsed.hash().length];
+        derive(plaintext, parsed, actual);
+        return MessageDigest.isEqual(actual, parsed.hash());
+    }
+
+    @Override
+    public String id() {
+        return "argon2id";
+    }
+
+    @Override
+    public boolean supports(String hashedValue) {
+        return hashedValue != null && hashedValue.startsWith(PREFIX);
+    }
+
+    @Override
+    public boolean needsRehash(String hashedValue) {
+        try {
+            Parsed parsed = parse(hashedValue);
+            return parsed.memoryKb() != memoryKb || parsed.iterations() != iterations
+                    || parsed.parallelism() != parallelism;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    private static void derive(String plaintext, Parsed parsed, byte[] out) {
+        var generator = new Argon2BytesGenerator();
+        generator.init(new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
+                .withVersion(Argon2Parameters.ARGON2_VERSION_13)
+                .withMemoryAsKB(parsed.memoryKb())
+                .withIterations(parsed.iterations())
+                .withParallelism(parsed.parallelism())
+                .withSalt(parsed.salt())
+                .build());
+        generator.generateBytes(plaintext.getBytes(StandardCharsets.UTF_8), out);
+    }
+
+    private static Parsed parse(String hashedValue) {
+        // "", "argon2id", "v=19", "m=..,t=..,p=..", salt, hash
+        String[] parts = hashedValue.split("\\$");
+        if (parts.length != 6 || !parts[2].equals("v=" + Argon2Parameters.ARGON2_VERSION_13)) {
+            throw new IllegalArgumentException("Hash Argon2id inválido");
+        }
+        int memory = -1;
+        int time = -1;
+        int lanes = -1;
+        for (String param : parts[3].split(",")) {
+            String[] pair = param.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Hash Argon2id inválido");
+            }
+            int value = Integer.parseInt(pair[1]);
+            switch (pair[0]) {
+                case "m" -> memory = value;
+                case "t" -> time = value;
+                case "p" -> lanes = value;
+                default -> throw new IllegalArgumentException("Parâmetro Argon2id desconhecido: " + pair[0]);
+            }
+        }
+        if (memory <= 0 || time <= 0 || lanes <= 0) {
+            throw new IllegalArgumentException("Hash Argon2id inválido");
+        }
+        return new Parsed(memory, time, lanes, DECODER.decode(parts[4]), DECODER.decode(parts[5]));
+    }
+
+    private record Parsed(int memoryKb, int iterations, int parallelism, byte[] salt, byte[] hash) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.pillmind.infra.cryptography;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pillmind.data.protocols.cryptography.Hasher;
+import com.pillmind.data.protocols.cryptography.PasswordHashUpgrader;
+import com.pillmind.data.protocols.db.LocalAccountRepository;
+import com.pillmind.infra.metrics.MetricsSource;
+
+/**
+ * Regrava hashes desatualizados numa thread própria, depois que o login já respondeu.
+ * <p>
+ * A fila é limitada: se encher, a atualização é descartada e acontece num próximo login. A gravação
+ * só troca o hash se ele ainda for o lido no login, então uma troca de senha concorrente vence.
+ */
+public class AsyncPasswordHashUpgrader implements PasswordHashUpgrader, MetricsSource, AutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(AsyncPasswordHashUpgrader.class);
+
+  private final PasswordHashAlgorithm passwordHashes;
+  private final Hasher hasher;
+  private final LocalAccountRepository localAccountRepository;
+  private final ThreadPoolExecutor executor;
+  private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+  private final LongAdder upgraded = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+
+  /**
+   * @param passwordHashes decide se o hash está desatualizado
+   * @param hasher         gera o hash novo (em produção, o pool limitado de hashing)
+   */
+  public AsyncPasswordHashUpgrader(PasswordHashAlgorithm passwordHashes, Hasher hasher,
+      LocalAccountRepository localAccountRepository, int queueCapacity) {
+    this.passwordHashes = passwordHashes;
+    this.hasher = hasher;
+    this.localAccountRepository = localAccountRepository;
+    this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        runnable -> {
+          Thread thread = new Thread(runnable, "password-rehash");
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  @Override
+  public void upgradeIfNeeded(String localAccountId, String currentHash, String plaintext) {
+    if (!passwordHashes.needsRehash(currentHash) || !inFlight.add(localAccountId)) {
+      return;
+    }
+    try {
+      executor.execute(() -> upgrade(localAccountId, currentHash, plaintext));
+    } catch (RejectedExecutionException e) {
+      inFlight.remove(localAccountId);
+      dropped.increment();
+    }
+  }
+
+  @Override
+  public String metricsName() {
+    return "passwordRehash";
+  }
+
+  @Override
+  public Map<String, Number> metrics() {
+    Map<String, Number> metrics = new LinkedHashMap<>();
+    metrics.put("queued", executor.getQueue().size());
+    metrics.put("upgraded", upgraded.sum());
+    metrics.put("dropped", dropped.sum());
+    metrics.put("failed", failed.sum());
+    return metrics;
+  }
+
+  /**
+   * Espera as atualizações enfileiradas terminarem (até 5 s) e encerra a thread.
+   */
+  @Override
+  public void close() {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void upgrade(String localAccountId, String currentHash, String plaintext) {
+    try {
+      String newHash = hasher.hash(plaintext);
+      if (localAccountRepository.updatePasswordHash(localAccountId, currentHash, newHash)) {
+        upgraded.increment();
+        logger.debug("Hash de senha da conta {} atualizado para {}", localAccountId, passwordHashes.id());
+      }
+    } catch (RuntimeException e) {
+      failed.increment();
+      logger.warn("Erro ao atualizar hash de senha da conta {}; nova tentativa no próximo login: {}",
+          localAccountId, e.getMessage());
+    } finally {
+      inFlight.remove(localAccountId);
+    }
+  }
+}
@@ -1,13 +1,13 @@
 package com.pillmind.infra.cryptography;
 
-import com.pillmind.data.protocols.cryptography.HashComparer;
-import com.pillmind.data.protocols.cryptography.Hasher;
 import org.mindrot.jbcrypt.BCrypt;
 
 /**
  * Adaptador para BCrypt
+ * <p>
+ * O custo fica no próprio hash ({@code $2a$12$...}).
  */
-public class BcryptAdapter implements Hasher, HashComparer {
+public class BcryptAdapter implements PasswordHashAlgorithm {
     private final int saltRounds;
 
     public BcryptAdapter(int saltRounds) {
@@ -23,4 +23,25 @@ public class BcryptAdapter implements Hasher, HashComparer {
     public boolean compare(String plaintext, String hashedValue) {
         return BCrypt.checkpw(plaintext, hashedValue);
     }
+
+    @Override
+    public String id() {
+        return "bcrypt";
+    }
+
+    @Override
+    public boolean supports(String hashedValue) {
+        return hashedValue != null && hashedValue.startsWith("$2");
+    }
+
+    @Override
+    public boolean needsRehash(String hashedValue) {
+        // $2a$12$<salt+hash>: o custo são os dois dígitos depois da versão
+        int costStart = hashedValue.indexOf('$', 1) + 1;
+        try {
+            return Integer.parseInt(hashedValue.substring(costStart, costStart + 2)) != saltRounds;
+        } catch (RuntimeException e) {
+            return true;
+        }
+    }
 }
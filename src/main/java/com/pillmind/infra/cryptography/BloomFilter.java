@@ -0,0 +1,72 @@
+package com.pillmind.infra.cryptography;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter de strings, seguro para inserções e consultas concorrentes.
+ * <p>
+ * Responde "talvez" ou "com certeza não"; nunca remove. Usa hashing duplo sobre um hash de
+ * 64 bits do {@code hashCode()} espalhado pelo finalizador do SplitMix64.
+ */
+final class BloomFilter {
+  private final AtomicLongArray words;
+  private final long bits;
+  private final int hashes;
+
+  /**
+   * @param expectedInsertions elementos esperados antes de a taxa de falso positivo subir
+   * @param falsePositiveRate  taxa desejada de falso positivo (ex.: 0.01)
+   */
+  BloomFilter(int expectedInsertions, double falsePositiveRate) {
+    int n = Math.max(1, expectedInsertions);
+    long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    this.words = new AtomicLongArray((int) Math.max(1, (m + 63) / 64));
+    this.bits = (long) words.length() * 64;
+    this.hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+  }
+
+  void put(String value) {
+    long hash = mix(value.hashCode());
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashes; i++) {
+      long bit = index(h1 + i * h2);
+      long mask = 1L << bit;
+      int word = (int) (bit >>> 6);
+      long current;
+      do {
+        current = words.get(word);
+        if ((current & mask) != 0) {
+          break;
+        }
+      } while (!words.compareAndSet(word, current, current | mask));
+    }
+  }
+
+  boolean mightContain(String value) {
+    long hash = mix(value.hashCode());
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashes; i++) {
+      long bit = index(h1 + i * h2);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  long bitSize() {
+    return bits;
+  }
+
+  private long index(int combined) {
+    return (combined & Integer.MAX_VALUE) % bits;
+  }
+
+  private static long mix(long z) {
+    z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+    z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+    return z ^ (z >>> 33);
+  }
+}
@@ -0,0 +1,156 @@
+package com.pillmind.infra.cryptography;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pillmind.data.protocols.cryptography.TokenRevocationStore;
+import com.pillmind.data.protocols.db.RevokedAccessTokenRepository;
+import com.pillmind.infra.metrics.MetricsSource;
+
+/**
+ * Tokens de acesso revogados em memória: Bloom filter na frente de um mapa exato.
+ * <p>
+ * Quase todo token consultado não foi revogado, e o Bloom filter responde esse caso sem tocar no
+ * mapa; um "talvez" é confirmado no mapa, que também descarta falsos positivos. Nada vai ao
+ * banco por requisição.
+ * <p>
+ * A tabela {@code revoked_access_tokens} é a fonte da verdade: cada revogação grava nela antes
+ * de entrar na memória, e uma tarefa periódica recarrega tudo que ainda não expirou (trazendo
+ * revogações feitas por outras réplicas), apaga os vencidos e reconstrói o filtro, que não
+ * suporta remoção.
+ */
+public class BloomFilterTokenRevocationStore implements TokenRevocationStore, MetricsSource, AutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(BloomFilterTokenRevocationStore.class);
+
+  private static final int MIN_CAPACITY = 1024;
+  private static final double FALSE_POSITIVE_RATE = 0.01;
+
+  private final RevokedAccessTokenRepository repository;
+  private final Clock clock;
+  private final ScheduledExecutorService scheduler;
+  // Lock em vez de synchronized: a escrita no banco não prende a carrier de uma virtual thread
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private final LongAdder checks = new LongAdder();
+  private final LongAdder bloomHits = new LongAdder();
+  private final LongAdder revokedHits = new LongAdder();
+  private volatile Snapshot snapshot;
+
+  public BloomFilterTokenRevocationStore(RevokedAccessTokenRepository repository, long syncIntervalMs) {
+    this(repository, Clock.systemUTC());
+    this.scheduler.scheduleWithFixedDelay(this::sync, syncIntervalMs, syncIntervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Sem sincronização automática; os testes chamam {@link #sync()}.
+   */
+  BloomFilterTokenRevocationStore(RevokedAccessTokenRepository repository, Clock clock) {
+    this.repository = repository;
+    this.clock = clock;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "token-revocation-sync");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.snapshot = load();
+  }
+
+  @Override
+  public void revoke(String tokenId, Instant expiresAt) {
+    if (!expiresAt.isAfter(clock.instant())) {
+      return;
+    }
+    writeLock.lock();
+    try {
+      repository.add(tokenId, LocalDateTime.ofInstant(expiresAt, ZoneOffset.UTC));
+      snapshot.add(tokenId, expiresAt);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public boolean isRevoked(String tokenId) {
+    if (tokenId == null) {
+      return false;
+    }
+    checks.increment();
+    Snapshot current = snapshot;
+    if (!current.bloom().mightContain(tokenId)) {
+      return false;
+    }
+    bloomHits.increment();
+    Instant expiresAt = current.exact().get(tokenId);
+    if (expiresAt == null || !expiresAt.isAfter(clock.instant())) {
+      return false;
+    }
+    revokedHits.increment();
+    return true;
+  }
+
+  /**
+   * Recarrega do banco e reconstrói o filtro. Público para testes e para forçar a sincronização.
+   */
+  public void sync() {
+    writeLock.lock();
+    try {
+      repository.deleteExpired(LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC));
+      snapshot = load();
+    } catch (RuntimeException e) {
+      logger.warn("Erro ao sincronizar tokens revogados; mantendo a lista atual: {}", e.getMessage());
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public String metricsName() {
+    return "tokenRevocation";
+  }
+
+  @Override
+  public Map<String, Number> metrics() {
+    Snapshot current = snapshot;
+    Map<String, Number> metrics = new LinkedHashMap<>();
+    metrics.put("revoked", current.exact().size());
+    metrics.put("bloomBits", current.bloom().bitSize());
+    metrics.put("checks", checks.sum());
+    metrics.put("bloomHits", bloomHits.sum());
+    metrics.put("revokedHits", revokedHits.sum());
+    return metrics;
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  private Snapshot load() {
+    Map<String, LocalDateTime> unexpired = repository.findUnexpired(
+        LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC));
+    // Folga para as revogações até a próxima reconstrução sem degradar o filtro
+    var next = new Snapshot(new BloomFilter(Math.max(MIN_CAPACITY, unexpired.size() * 2), FALSE_POSITIVE_RATE),
+        new ConcurrentHashMap<>());
+    unexpired.forEach((tokenId, expiresAt) -> next.add(tokenId, expiresAt.toInstant(ZoneOffset.UTC)));
+    return next;
+  }
+
+  private record Snapshot(BloomFilter bloom, Map<String, Instant> exact) {
+    void add(String tokenId, Instant expiresAt) {
+      exact.put(tokenId, expiresAt);
+      bloom.put(tokenId);
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package com.pillmind.infra.cryptography;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.pillmind.data.protocols.cryptography.HashComparer;
+import com.pillmind.data.protocols.cryptography.Hasher;
+import com.pillmind.domain.errors.ServiceUnavailableException;
+import com.pillmind.infra.metrics.MetricsSource;
+
+/**
+ * Executa hash e comparação de senha num pool dedicado, do tamanho do número de CPUs.
+ * <p>
+ * Com bcrypt custo 12 cada operação ocupa um núcleo por ~250 ms; rodando direto nas threads do
+ * Jetty, uma rajada de sign-in travava as demais rotas. Aqui no máximo {@code threads} hashes
+ * rodam ao mesmo tempo e até {@code queueCapacity} esperam; além disso a requisição é recusada na
+ * hora com 503 e {@code Retry-After}, sem segurar thread do servidor.
+ */
+public class BoundedPasswordHasher implements Hasher, HashComparer, MetricsSource, AutoCloseable {
+  static final long RETRY_AFTER_SECONDS = 1;
+
+  private final Hasher hasher;
+  private final HashComparer hashComparer;
+  private final ThreadPoolExecutor executor;
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder waitNanos = new LongAdder();
+  private final LongAdder hashNanos = new LongAdder();
+
+  public <T extends Hasher & HashComparer> BoundedPasswordHasher(T delegate, int threads, int queueCapacity) {
+    this.hasher = delegate;
+    this.hashComparer = delegate;
+    AtomicInteger sequence = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        runnable -> {
+          Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  @Override
+  public String hash(String plaintext) {
+    return run(() -> hasher.hash(plaintext));
+  }
+
+  @Override
+  public boolean compare(String plaintext, String hashedValue) {
+    return run(() -> hashComparer.compare(plaintext, hashedValue));
+  }
+
+  @Override
+  public String metricsName() {
+    return "passwordHashing";
+  }
+
+  @Override
+  public Map<String, Number> metrics() {
+    long done = completed.sum();
+    Map<String, Number> metrics = new LinkedHashMap<>();
+    metrics.put("queued", executor.getQueue().size());
+    metrics.put("active", executor.getActiveCount());
+    metrics.put("completed", done);
+    metrics.put("rejected", rejected.sum());
+    metrics.put("avgWaitMs", done == 0 ? 0.0 : waitNanos.sum() / 1_000_000.0 / done);
+    metrics.put("avgHashMs", done == 0 ? 0.0 : hashNanos.sum() / 1_000_000.0 / done);
+    return metrics;
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  private <T> T run(Callable<T> work) {
+    long submittedAt = System.nanoTime();
+    Future<T> future;
+    try {
+      future = executor.submit(() -> {
+        long startedAt = System.nanoTime();
+        try {
+          return work.call();
+        } finally {
+          long finishedAt = System.nanoTime();
+          waitNanos.add(startedAt - submittedAt);
+          hashNanos.add(finishedAt - startedAt);
+          completed.increment();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      throw new ServiceUnavailableException("Servidor ocupado, tente novamente em instantes",
+          RETRY_AFTER_SECONDS);
+    }
+
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new ServiceUnavailableException("Operação de senha interrompida", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      throw new IllegalStateException("Erro ao processar senha", e.getCause());
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package com.pillmind.infra.cryptography;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.pillmind.data.protocols.cryptography.Decrypter;
+import com.pillmind.data.protocols.cryptography.TokenVerifier;
+import com.pillmind.data.protocols.cryptography.TokenVerifier.VerifiedToken;
+import com.pillmind.infra.metrics.MetricsSource;
+
+/**
+ * Cache de tokens já verificados na frente do {@link TokenVerifier}.
+ * <p>
+ * Um app mantém o mesmo token de acesso por toda a sessão, então a verificação HMAC e o parse do
+ * JSON se repetem a cada chamada. A chave do cache é o SHA-256 do token (o token em si não fica em
+ * memória) e cada entrada expira no {@code exp} do token. Tokens inválidos nunca são guardados:
+ * a exceção do verificador chega intacta a quem chama.
+ */
+public class CachingDecrypter implements Decrypter, TokenVerifier, MetricsSource {
+  private final TokenVerifier verifier;
+  private final Clock clock;
+  private final Cache<String, VerifiedToken> cache;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * @param maxEntries número máximo de tokens verificados mantidos em memória
+   */
+  public CachingDecrypter(TokenVerifier verifier, long maxEntries) {
+    this(verifier, maxEntries, Clock.systemUTC(), ForkJoinPool.commonPool());
+  }
+
+  CachingDecrypter(TokenVerifier verifier, long maxEntries, Clock clock, Executor maintenanceExecutor) {
+    this.verifier = verifier;
+    this.clock = clock;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxEntries)
+        .expireAfter(new UntilTokenExpiry(clock))
+        .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+        .executor(maintenanceExecutor)
+        .build();
+  }
+
+  @Override
+  public String decrypt(String ciphertext) {
+    return verify(ciphertext).subject();
+  }
+
+  @Override
+  public VerifiedToken verify(String token) {
+    String key = sha256(token);
+    VerifiedToken cached = cache.getIfPresent(key);
+    if (cached != null && cached.expiresAt().isAfter(clock.instant())) {
+      hits.increment();
+      return cached;
+    }
+
+    misses.increment();
+    VerifiedToken verified = verifier.verify(token);
+    // Sem exp não há até quando confiar na verificação
+    if (verified.expiresAt() != null) {
+      cache.put(key, verified);
+    }
+    return verified;
+  }
+
+  /**
+   * Descarta as verificações guardadas; chamado quando as chaves do JWT mudam.
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  @Override
+  public String metricsName() {
+    return "tokenCache";
+  }
+
+  @Override
+  public Map<String, Number> metrics() {
+    Map<String, Number> metrics = new LinkedHashMap<>();
+    metrics.put("hits", hits.sum());
+    metrics.put("misses", misses.sum());
+    metrics.put("entries", cache.estimatedSize());
+    return metrics;
+  }
+
+  private static String sha256(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 indisponível", e);
+    }
+  }
+
+  /**
+   * Cada entrada vive até o {@code exp} do próprio token; leituras e sobrescritas não a estendem.
+   */
+  private record UntilTokenExpiry(Clock clock) implements Expiry<String, VerifiedToken> {
+    @Override
+    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+      Duration remaining = Duration.between(clock.instant(), value.expiresAt());
+      return remaining.isNegative() ? 0L : remaining.toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -2,48 +2,88 @@ package com.pillmind.infra.cryptography;
 
 import com.pillmind.data.protocols.cryptography.Decrypter;
 import com.pillmind.data.protocols.cryptography.Encrypter;
+import com.pillmind.data.protocols.cryptography.TokenVerifier;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 
-import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 
 /**
  * Adaptador para JWT
+ * <p>
+ * As chaves HMAC ficam num {@link JwtKeyRing} imutável e o parser é montado uma vez no construtor;
+ * ele resolve a chave pelo {@code kid} do header a cada verificação. {@link #rotate(JwtKeyRing)}
+ * troca o conjunto de chaves sem reiniciar a aplicação.
+ * <p>
+ * Cada token leva um {@code jti} aleatório, usado para revogá-lo no logout.
  */
-public class JwtAdapter implements Encrypter, Decrypter {
-  private final String secret;
+public class JwtAdapter implements Encrypter, Decrypter, TokenVerifier {
+  private final JwtParser parser;
   private final long expirationInMs;
+  private volatile JwtKeyRing keyRing;
 
   public JwtAdapter(String secret, long expirationInMs) {
-    this.secret = secret;
+    this(JwtKeyRing.single(secret), expirationInMs);
+  }
+
+  public JwtAdapter(JwtKeyRing keyRing, long expirationInMs) {
+    this.keyRing = keyRing;
     this.expirationInMs = expirationInMs;
+    this.parser = Jwts.parserBuilder()
+        .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+          @Override
+          public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            Key key = JwtAdapter.this.keyRing.key(header.getKeyId());
+            if (key == null) {
+              throw new JwtException("Chave de assinatura desconhecida: " + header.getKeyId());
+            }
+            return key;
+          }
+        })
+        .build();
+  }
+
+  /**
+   * Passa a assinar com a chave ativa do novo conjunto e a validar só com as chaves dele.
+   */
+  public void rotate(JwtKeyRing keyRing) {
+    this.keyRing = keyRing;
+  }
+
+  public JwtKeyRing keyRing() {
+    return keyRing;
   }
 
   @Override
   public String encrypt(String plaintext) {
-    // Cria a chave HMAC a partir do segredo configurado
-    Key key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    JwtKeyRing ring = keyRing;
     long now = System.currentTimeMillis();
     return Jwts.builder()
+        .setHeaderParam(JwsHeader.KEY_ID, ring.activeKid())
+        .setId(UUID.randomUUID().toString())
         .setSubject(plaintext)
         .setIssuedAt(new Date(now))
         .setExpiration(new Date(now + expirationInMs))
-        .signWith(key, SignatureAlgorithm.HS256)
+        .signWith(ring.activeKey(), SignatureAlgorithm.HS256)
         .compact();
   }
 
   @Override
   public String decrypt(String ciphertext) {
-    Key key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-    Jws<Claims> jws = Jwts.parserBuilder()
-        .setSigningKey(key)
-        .build()
-        .parseClaimsJws(ciphertext);
-    return jws.getBody().getSubject();
+    return verify(ciphertext).subject();
+  }
+
+  @Override
+  public VerifiedToken verify(String token) {
+    Claims claims = parser.parseClaimsJws(token).getBody();
+    Date expiration = claims.getExpiration();
+    return new VerifiedToken(claims.getSubject(), expiration != null ? expiration.toInstant() : null, claims.getId());
   }
 }
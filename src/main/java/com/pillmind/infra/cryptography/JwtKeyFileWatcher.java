@@ -0,0 +1,121 @@
+package com.pillmind.infra.cryptography;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Recarrega as chaves do JWT de um arquivo quando ele muda, sem reiniciar a aplicação.
+ * <p>
+ * Formato (properties):
+ * <pre>
+ * active=2024-06
+ * key.2024-06=&lt;segredo de 256+ bits&gt;
+ * key.2024-01=&lt;segredo anterior, só para validar&gt;
+ * </pre>
+ * O {@code JWT_SECRET} entra como kid {@value JwtKeyRing#DEFAULT_KID} se o arquivo não o definir,
+ * então tokens emitidos antes da rotação continuam válidos. Um arquivo inválido é ignorado e as
+ * chaves atuais permanecem.
+ */
+public class JwtKeyFileWatcher implements AutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(JwtKeyFileWatcher.class);
+  private static final String ACTIVE = "active";
+  private static final String KEY_PREFIX = "key.";
+
+  private final Path file;
+  private final String fallbackSecret;
+  private final Consumer<JwtKeyRing> onChange;
+  private final ScheduledExecutorService scheduler;
+  private FileTime lastModified;
+  private long lastSize = -1;
+
+  /**
+   * Lê o arquivo uma vez (falha se for inválido) e passa a verificá-lo a cada {@code intervalMs}.
+   */
+  public JwtKeyFileWatcher(Path file, String fallbackSecret, long intervalMs, Consumer<JwtKeyRing> onChange) {
+    this.file = file;
+    this.fallbackSecret = fallbackSecret;
+    this.onChange = onChange;
+    if (!reload()) {
+      throw new IllegalStateException("Não foi possível carregar as chaves do JWT de " + file);
+    }
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "jwt-key-reload");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.scheduler.scheduleWithFixedDelay(this::reloadIfChanged, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Lê o arquivo se a data de modificação ou o tamanho mudaram. Chamado pelo agendador; público
+   * para testes.
+   */
+  public synchronized void reloadIfChanged() {
+    try {
+      if (Files.getLastModifiedTime(file).equals(lastModified) && Files.size(file) == lastSize) {
+        return;
+      }
+    } catch (IOException e) {
+      logger.warn("Arquivo de chaves do JWT inacessível ({}); mantendo as chaves atuais", e.getMessage());
+      return;
+    }
+    reload();
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  private synchronized boolean reload() {
+    try {
+      FileTime modified = Files.getLastModifiedTime(file);
+      long size = Files.size(file);
+      JwtKeyRing ring = parse();
+      lastModified = modified;
+      lastSize = size;
+      onChange.accept(ring);
+      logger.info("Chaves do JWT carregadas: ativa={}, kids={}", ring.activeKid(), ring.kids());
+      return true;
+    } catch (IOException | RuntimeException e) {
+      logger.error("Erro ao carregar chaves do JWT de {}; mantendo as chaves atuais: {}", file, e.getMessage());
+      return false;
+    }
+  }
+
+  private JwtKeyRing parse() throws IOException {
+    Properties properties = new Properties();
+    try (Reader reader = Files.newBufferedReader(file)) {
+      properties.load(reader);
+    }
+
+    Map<String, String> secrets = new LinkedHashMap<>();
+    if (fallbackSecret != null && !fallbackSecret.isBlank()) {
+      secrets.put(JwtKeyRing.DEFAULT_KID, fallbackSecret);
+    }
+    for (String name : properties.stringPropertyNames()) {
+      if (name.startsWith(KEY_PREFIX) && name.length() > KEY_PREFIX.length()) {
+        secrets.put(name.substring(KEY_PREFIX.length()), properties.getProperty(name).trim());
+      }
+    }
+
+    String active = properties.getProperty(ACTIVE);
+    if (active == null || active.isBlank()) {
+      throw new IllegalArgumentException("Propriedade '" + ACTIVE + "' ausente");
+    }
+    return new JwtKeyRing(active.trim(), secrets);
+  }
+}
@@ -0,0 +1,61 @@
+package com.pillmind.infra.cryptography;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Conjunto imutável de chaves HMAC do JWT, identificadas pelo {@code kid}.
+ * <p>
+ * Tokens novos são assinados com a chave ativa; qualquer chave do conjunto valida tokens já
+ * emitidos. Para rotacionar: publicar a chave nova, torná-la ativa e só remover a antiga depois
+ * que os tokens assinados com ela expirarem.
+ */
+public final class JwtKeyRing {
+  /** kid da chave de {@code JWT_SECRET} e dos tokens emitidos antes da rotação (sem kid). */
+  public static final String DEFAULT_KID = "default";
+
+  private final String activeKid;
+  private final Map<String, Key> keys;
+
+  /**
+   * @param secrets segredos por kid; cada um com pelo menos 256 bits
+   */
+  public JwtKeyRing(String activeKid, Map<String, String> secrets) {
+    if (!secrets.containsKey(activeKid)) {
+      throw new IllegalArgumentException("Chave ativa '" + activeKid + "' não está entre as chaves do JWT");
+    }
+    Map<String, Key> built = new LinkedHashMap<>();
+    secrets.forEach((kid, secret) -> built.put(kid, Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8))));
+    this.activeKid = activeKid;
+    this.keys = Map.copyOf(built);
+  }
+
+  /** Uma única chave, com kid {@value #DEFAULT_KID}. */
+  public static JwtKeyRing single(String secret) {
+    return new JwtKeyRing(DEFAULT_KID, Map.of(DEFAULT_KID, secret));
+  }
+
+  public String activeKid() {
+    return activeKid;
+  }
+
+  public Key activeKey() {
+    return keys.get(activeKid);
+  }
+
+  /**
+   * Chave de verificação do kid; {@code null} se desconhecido.
+   */
+  public Key key(String kid) {
+    return keys.get(kid != null ? kid : DEFAULT_KID);
+  }
+
+  public Set<String> kids() {
+    return keys.keySet();
+  }
+}
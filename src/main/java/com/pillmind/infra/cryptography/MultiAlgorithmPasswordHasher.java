@@ -0,0 +1,62 @@
+package com.pillmind.infra.cryptography;
+
+import java.util.List;
+
+/**
+ * Gera hashes com o algoritmo configurado e valida hashes de qualquer algoritmo conhecido.
+ * <p>
+ * Cada hash traz algoritmo e parâmetros, então trocar {@code PASSWORD_HASH_ALGORITHM} ou o custo
+ * não invalida senhas existentes: elas continuam validando e são regravadas no próximo login
+ * (ver {@link AsyncPasswordHashUpgrader}).
+ */
+public class MultiAlgorithmPasswordHasher implements PasswordHashAlgorithm {
+    private final PasswordHashAlgorithm current;
+    private final List<PasswordHashAlgorithm> algorithms;
+
+    /**
+     * @param currentId  {@link PasswordHashAlgorithm#id()} usado para novos hashes
+     * @param algorithms todos os algoritmos aceitos na validação
+     */
+    public MultiAlgorithmPasswordHasher(String currentId, List<PasswordHashAlgorithm> algorithms) {
+        this.current = algorithms.stream()
+                .filter(algorithm -> algorithm.id().equals(currentId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Algoritmo de hash de senha desconhecido: " + currentId));
+        this.algorithms = List.copyOf(algorithms);
+    }
+
+    @Override
+    public String hash(String plaintext) {
+        return current.hash(plaintext);
+    }
+
+    @Override
+    public boolean compare(String plaintext, String hashedValue) {
+        PasswordHashAlgorithm algorithm = algorithmFor(hashedValue);
+        return algorithm != null && algorithm.compare(plaintext, hashedValue);
+    }
+
+    @Override
+    public String id() {
+        return current.id();
+    }
+
+    @Override
+    public boolean supports(String hashedValue) {
+        return algorithmFor(hashedValue) != null;
+    }
+
+    @Override
+    public boolean needsRehash(String hashedValue) {
+        return !current.supports(hashedValue) || current.needsRehash(hashedValue);
+    }
+
+    private PasswordHashAlgorithm algorithmFor(String hashedValue) {
+        for (PasswordHashAlgorithm algorithm : algorithms) {
+            if (algorithm.supports(hashedValue)) {
+                return algorithm;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.pillmind.infra.cryptography;
+
+import com.pillmind.data.protocols.cryptography.HashComparer;
+import com.pillmind.data.protocols.cryptography.Hasher;
+
+/**
+ * Algoritmo de hash de senha cujo hash carrega os próprios parâmetros (formato PHC ou bcrypt).
+ */
+public interface PasswordHashAlgorithm extends Hasher, HashComparer {
+
+    /**
+     * Nome usado em {@code PASSWORD_HASH_ALGORITHM} (ex.: "bcrypt", "argon2id")
+     */
+    String id();
+
+    /**
+     * Se o hash foi gerado por este algoritmo
+     */
+    boolean supports(String hashedValue);
+
+    /**
+     * Se o hash (deste algoritmo) usa parâmetros diferentes dos configurados
+     */
+    boolean needsRehash(String hashedValue);
+}
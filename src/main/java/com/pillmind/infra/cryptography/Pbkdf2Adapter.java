@@ -0,0 +1,85 @@
+package com.pillmind.infra.cryptography;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * PBKDF2-HMAC-SHA256 da própria JDK, no formato PHC
+ * {@code $pbkdf2-sha256$i=<iterações>$<salt>$<hash>} (Base64 sem padding).
+ */
+public class Pbkdf2Adapter implements PasswordHashAlgorithm {
+    static final String PREFIX = "$pbkdf2-sha256$";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+
+    public Pbkdf2Adapter(int iterations) {
+        this.iterations = iterations;
+    }
+
+    @Override
+    public String hash(String plaintext) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = derive(plaintext, salt, iterations, HASH_BYTES);
+        return PREFIX + "i=" + iterations + "$" + ENCODER.encodeToString(salt) + "$" + ENCODER.encodeToString(hash);
+    }
+
+    @Override
+    public boolean compare(String plaintext, String hashedValue) {
+        Parsed parsed = parse(hashedValue);
+        byte[] actual = derive(plaintext, parsed.salt(), parsed.iterations(), parsed.hash().length);
+        return MessageDigest.isEqual(actual, parsed.hash());
+    }
+
+    @Override
+    public String id() {
+        return "pbkdf2-sha256";
+    }
+
+    @Override
+    public boolean supports(String hashedValue) {
+        return hashedValue != null && hashedValue.startsWith(PREFIX);
+    }
+
+    @Override
+    public boolean needsRehash(String hashedValue) {
+        try {
+            return parse(hashedValue).iterations() != iterations;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    private static byte[] derive(String plaintext, byte[] salt, int iterations, int length) {
+        PBEKeySpec spec = new PBEKeySpec(plaintext.toCharArray(), salt, iterations, length * 8);
+        try {
+            return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2WithHmacSHA256 indisponível", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private static Parsed parse(String hashedValue) {
+        // "", "pbkdf2-sha256", "i=600000", salt, hash
+        String[] parts = hashedValue.split("\\$");
+        if (parts.length != 5 || !parts[2].startsWith("i=")) {
+            throw new IllegalArgumentException("Hash PBKDF2 inválido");
+        }
+        return new Parsed(Integer.parseInt(parts[2].substring(2)), DECODER.decode(parts[3]), DECODER.decode(parts[4]));
+    }
+
+    private record Parsed(int iterations, byte[] salt, byte[] hash) {
+    }
+}
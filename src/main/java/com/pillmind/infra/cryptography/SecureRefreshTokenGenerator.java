@@ -0,0 +1,39 @@
+package com.pillmind.infra.cryptography;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+import com.pillmind.data.protocols.cryptography.RefreshTokenGenerator;
+
+/**
+ * Refresh tokens de 256 bits aleatórios (base64url), guardados como SHA-256.
+ * <p>
+ * Com essa entropia um hash lento (bcrypt) não acrescenta nada, e o SHA-256 permite buscar o
+ * token pelo índice da tabela.
+ */
+public class SecureRefreshTokenGenerator implements RefreshTokenGenerator {
+  private static final int TOKEN_BYTES = 32;
+
+  private final SecureRandom random = new SecureRandom();
+
+  @Override
+  public String generate() {
+    byte[] bytes = new byte[TOKEN_BYTES];
+    random.nextBytes(bytes);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+
+  @Override
+  public String hash(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 indisponível", e);
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package com.pillmind.infra.db;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pillmind.data.protocols.db.LocalAccountRepository;
+import com.pillmind.data.protocols.db.LoginActivityRecorder;
+import com.pillmind.data.protocols.db.OAuthAccountRepository;
+
+/**
+ * Acumula o último login de cada conta em memória e grava em lote.
+ * <p>
+ * O sign-in só registra o timestamp no mapa (mantendo o mais recente por conta); uma thread
+ * agendada faz um UPDATE em lote a cada intervalo e no {@link #close()}. Se a gravação falhar,
+ * os timestamps continuam pendentes para a próxima tentativa.
+ */
+public class BufferedLoginActivityRecorder implements LoginActivityRecorder, AutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(BufferedLoginActivityRecorder.class);
+
+  private final LocalAccountRepository localAccountRepository;
+  private final OAuthAccountRepository oauthAccountRepository;
+  private final Map<String, LocalDateTime> pendingLocal = new ConcurrentHashMap<>();
+  private final Map<String, LocalDateTime> pendingOAuth = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService scheduler;
+  private final ReentrantLock flushLock = new ReentrantLock();
+
+  public BufferedLoginActivityRecorder(LocalAccountRepository localAccountRepository,
+      OAuthAccountRepository oauthAccountRepository, long flushIntervalMs) {
+    this.localAccountRepository = localAccountRepository;
+    this.oauthAccountRepository = oauthAccountRepository;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "login-activity-flush");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void recordLocalLogin(String localAccountId, LocalDateTime loginAt) {
+    pendingLocal.merge(localAccountId, loginAt, BufferedLoginActivityRecorder::latest);
+  }
+
+  @Override
+  public void recordOAuthLogin(String oauthAccountId, LocalDateTime loginAt) {
+    pendingOAuth.merge(oauthAccountId, loginAt, BufferedLoginActivityRecorder::latest);
+  }
+
+  /** Logins aguardando gravação. */
+  public int pending() {
+    return pendingLocal.size() + pendingOAuth.size();
+  }
+
+  /**
+   * Grava os logins pendentes. Chamado pelo agendador; público para testes e shutdown.
+   */
+  public void flush() {
+    flushLock.lock();
+    try {
+      flush(pendingLocal, localAccountRepository::updateLastLoginAt, "local");
+      flush(pendingOAuth, oauthAccountRepository::updateLastLoginAt, "OAuth");
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  /**
+   * Para o agendador e grava o que ainda estiver pendente.
+   */
+  @Override
+  public void close() {
+    scheduler.shutdown();
+    try {
+      scheduler.awaitTermination(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    flush();
+  }
+
+  private static void flush(Map<String, LocalDateTime> pending, ToIntFunction<Map<String, LocalDateTime>> update,
+      String kind) {
+    if (pending.isEmpty()) {
+      return;
+    }
+
+    Map<String, LocalDateTime> batch = new HashMap<>(pending);
+    try {
+      update.applyAsInt(batch);
+    } catch (RuntimeException e) {
+      logger.warn("Erro ao gravar último login de {} contas {}; nova tentativa no próximo ciclo: {}",
+          batch.size(), kind, e.getMessage());
+      return;
+    }
+    // Só remove o que foi gravado; um login mais novo que chegou durante o flush fica para o próximo
+    batch.forEach(pending::remove);
+  }
+
+  private static LocalDateTime latest(LocalDateTime current, LocalDateTime candidate) {
+    return candidate.isAfter(current) ? candidate : current;
+  }
+}
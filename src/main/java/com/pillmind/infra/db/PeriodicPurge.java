@@ -0,0 +1,74 @@
+package com.pillmind.infra.db;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Limpeza periódica de tabelas que só crescem, fora do caminho das requisições.
+ * <p>
+ * Cada tarefa apaga o que passou da sua retenção e devolve quantas linhas removeu. Uma falha é
+ * logada e não impede as outras tarefas nem a próxima rodada. Com várias réplicas todas rodam a
+ * limpeza; os DELETEs são idempotentes.
+ */
+public class PeriodicPurge implements AutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(PeriodicPurge.class);
+
+  private final List<Task> tasks = new ArrayList<>();
+  private final ScheduledExecutorService scheduler;
+  private final long intervalMs;
+
+  public PeriodicPurge(long intervalMs) {
+    this.intervalMs = intervalMs;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "data-purge");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Registra uma tarefa; chamado antes do {@link #start()}.
+   */
+  public PeriodicPurge add(String name, IntSupplier purge) {
+    tasks.add(new Task(name, purge));
+    return this;
+  }
+
+  /**
+   * Primeira rodada logo após o start: réplicas reiniciadas com frequência também limpam.
+   */
+  public void start() {
+    scheduler.scheduleWithFixedDelay(this::runOnce, 0, intervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Roda todas as tarefas uma vez. Público para testes.
+   */
+  public void runOnce() {
+    for (Task task : tasks) {
+      try {
+        int removed = task.purge().getAsInt();
+        if (removed > 0) {
+          logger.info("Limpeza de {}: {} linhas removidas", task.name(), removed);
+        }
+      } catch (RuntimeException e) {
+        logger.warn("Erro na limpeza de {}; nova tentativa na próxima rodada: {}", task.name(), e.getMessage());
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  private record Task(String name, IntSupplier purge) {
+  }
+}
@@ -13,6 +13,7 @@ import com.pillmind.data.protocols.db.AddAccountRepository;
 import com.pillmind.data.protocols.db.LoadAccountByEmailRepository;
 import com.pillmind.data.protocols.db.LoadAccountByIdRepository;
 import com.pillmind.domain.models.Account;
+import com.pillmind.infra.db.postgres.helpers.JdbcTransactionManager;
 
 /**
  * Implementação do repositório de Account usando PostgreSQL
@@ -21,8 +22,8 @@ public class AccountPostgresRepository extends PostgresRepository
     implements AddAccountRepository, LoadAccountByEmailRepository, LoadAccountByIdRepository {
   private static final Logger logger = LoggerFactory.getLogger(AccountPostgresRepository.class);
 
-  public AccountPostgresRepository(Connection connection) {
-    super(connection);
+  public AccountPostgresRepository(JdbcTransactionManager transactionManager) {
+    super(transactionManager);
   }
 
   @Override
@@ -30,22 +31,26 @@ public class AccountPostgresRepository extends PostgresRepository
     String sql = "INSERT INTO accounts (id, name, email, password, google_account, google_id, picture_url, last_login_at, auth_provider, email_verified, created_at, updated_at) " +
         "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
-    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-      stmt.setString(1, account.id());
-      stmt.setString(2, account.name());
-      stmt.setString(3, account.email());
-      stmt.setString(4, account.password());
-      stmt.setBoolean(5, account.googleAccount());
-      stmt.setString(6, account.googleId());
-      stmt.setString(7, account.pictureUrl());
-      setTimestamp(stmt, 8, account.lastLoginAt());
-      stmt.setString(9, account.authProvider().getValue());
-      stmt.setBoolean(10, account.emailVerified());
-      setTimestamp(stmt, 11, account.createdAt());
-      setTimestamp(stmt, 12, account.updatedAt());
-
-      stmt.executeUpdate();
-      return account;
+    try {
+      return write(connection -> {
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+          stmt.setString(1, account.id());
+          stmt.setString(2, account.name());
+          stmt.setString(3, account.email());
+          stmt.setString(4, account.password());
+          stmt.setBoolean(5, account.googleAccount());
+          stmt.setString(6, account.googleId());
+          stmt.setString(7, account.pictureUrl());
+          setTimestamp(stmt, 8, account.lastLoginAt());
+          stmt.setString(9, account.authProvider().getValue());
+          stmt.setBoolean(10, account.emailVerified());
+          setTimestamp(stmt, 11, account.createdAt());
+          setTimestamp(stmt, 12, account.updatedAt());
+
+          stmt.executeUpdate();
+          return account;
+        }
+      });
     } catch (SQLException e) {
       logger.error("Error adding account with email {}: {}", account.email(), e.getMessage(), e);
       throw new RuntimeException("Error adding account: " + e.getMessage(), e);
@@ -57,7 +62,8 @@ public class AccountPostgresRepository extends PostgresRepository
     String sql = "SELECT id, name, email, password, google_account, google_id, picture_url, last_login_at, auth_provider, email_verified, created_at, updated_at " +
         "FROM accounts WHERE email = ?";
 
-    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+    try (Connection connection = getConnection();
+            PreparedStatement stmt = connection.prepareStatement(sql)) {
       stmt.setString(1, email);
 
       try (ResultSet rs = stmt.executeQuery()) {
@@ -89,7 +95,8 @@ public class AccountPostgresRepository extends PostgresRepository
     String sql = "SELECT id, name, email, password, google_account, google_id, picture_url, last_login_at, auth_provider, email_verified, created_at, updated_at " +
         "FROM accounts WHERE id = ?";
 
-    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+    try (Connection connection = getConnection();
+            PreparedStatement stmt = connection.prepareStatement(sql)) {
       stmt.setString(1, id);
 
       try (ResultSet rs = stmt.executeQuery()) {
@@ -120,18 +127,22 @@ public class AccountPostgresRepository extends PostgresRepository
   public Account update(Account account) {
     String sql = "UPDATE accounts SET name = ?, google_id = ?, picture_url = ?, last_login_at = ?, auth_provider = ?, email_verified = ?, updated_at = ? WHERE id = ?";
 
-    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-      stmt.setString(1, account.name());
-      stmt.setString(2, account.googleId());
-      stmt.setString(3, account.pictureUrl());
-      setTimestamp(stmt, 4, account.lastLoginAt());
-      stmt.setString(5, account.authProvider().getValue());
-      stmt.setBoolean(6, account.emailVerified());
-      setTimestamp(stmt, 7, account.updatedAt());
-      stmt.setString(8, account.id());
-
-      stmt.executeUpdate();
-      return account;
+    try {
+      return write(connection -> {
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+          stmt.setString(1, account.name());
+          stmt.setString(2, account.googleId());
+          stmt.setString(3, account.pictureUrl());
+          setTimestamp(stmt, 4, account.lastLoginAt());
+          stmt.setString(5, account.authProvider().getValue());
+          stmt.setBoolean(6, account.emailVerified());
+          setTimestamp(stmt, 7, account.updatedAt());
+          stmt.setString(8, account.id());
+
+          stmt.executeUpdate();
+          return account;
+        }
+      });
     } catch (SQLException e) {
       logger.error("Error updating account {}: {}", account.id(), e.getMessage(), e);
       throw new RuntimeException("Error updating account: " + e.getMessage(), e);
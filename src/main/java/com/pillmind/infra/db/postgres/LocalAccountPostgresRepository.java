@@ -4,13 +4,17 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.pillmind.data.protocols.db.LocalAccountRepository;
+import com.pillmind.domain.errors.ConflictException;
 import com.pillmind.domain.models.LocalAccount;
+import com.pillmind.infra.db.postgres.helpers.JdbcTransactionManager;
 
 /**
  * Implementação do repositório de LocalAccount usando PostgreSQL
@@ -18,8 +22,8 @@ import com.pillmind.domain.models.LocalAccount;
 public class LocalAccountPostgresRepository extends PostgresRepository implements LocalAccountRepository {
     private static final Logger logger = LoggerFactory.getLogger(LocalAccountPostgresRepository.class);
 
-    public LocalAccountPostgresRepository(Connection connection) {
-        super(connection);
+    public LocalAccountPostgresRepository(JdbcTransactionManager transactionManager) {
+        super(transactionManager);
     }
 
     @Override
@@ -27,19 +31,26 @@ public class LocalAccountPostgresRepository extends PostgresRepository implement
         String sql = "INSERT INTO local_accounts (id, user_id, email, password_hash, last_login_at, created_at, updated_at) " +
                      "VALUES (?, ?, ?, ?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, localAccount.id());
-            stmt.setString(2, localAccount.userId());
-            stmt.setString(3, localAccount.email());
-            stmt.setString(4, localAccount.passwordHash());
-            setTimestamp(stmt, 5, localAccount.lastLoginAt());
-            setTimestamp(stmt, 6, localAccount.createdAt());
-            setTimestamp(stmt, 7, localAccount.updatedAt());
-
-            stmt.executeUpdate();
-            logger.debug("✓ LocalAccount created with id: {}", localAccount.id());
-            return localAccount;
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, localAccount.id());
+                    stmt.setString(2, localAccount.userId());
+                    stmt.setString(3, localAccount.email());
+                    stmt.setString(4, localAccount.passwordHash());
+                    setTimestamp(stmt, 5, localAccount.lastLoginAt());
+                    setTimestamp(stmt, 6, localAccount.createdAt());
+                    setTimestamp(stmt, 7, localAccount.updatedAt());
+
+                    stmt.executeUpdate();
+                    logger.debug("✓ LocalAccount created with id: {}", localAccount.id());
+                    return localAccount;
+                }
+            });
         } catch (SQLException e) {
+            if (isUniqueViolation(e)) {
+                throw new ConflictException("Email já cadastrado", e);
+            }
             logger.error("Error adding local account with email {}: {}", localAccount.email(), e.getMessage(), e);
             throw new RuntimeException("Erro interno do servidor ao criar conta local", e);
         }
@@ -49,33 +60,89 @@ public class LocalAccountPostgresRepository extends PostgresRepository implement
     public LocalAccount update(LocalAccount localAccount) {
         String sql = "UPDATE local_accounts SET email = ?, password_hash = ?, last_login_at = ?, updated_at = ? WHERE id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, localAccount.email());
-            stmt.setString(2, localAccount.passwordHash());
-            setTimestamp(stmt, 3, localAccount.lastLoginAt());
-            setTimestamp(stmt, 4, localAccount.updatedAt());
-            stmt.setString(5, localAccount.id());
-
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected == 0) {
-                logger.warn("No local account found with id: {}", localAccount.id());
-                throw new RuntimeException("Conta local não encontrada");
-            }
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, localAccount.email());
+                    stmt.setString(2, localAccount.passwordHash());
+                    setTimestamp(stmt, 3, localAccount.lastLoginAt());
+                    setTimestamp(stmt, 4, localAccount.updatedAt());
+                    stmt.setString(5, localAccount.id());
 
-            logger.debug("✓ LocalAccount updated with id: {}", localAccount.id());
-            return localAccount;
+                    int rowsAffected = stmt.executeUpdate();
+                    if (rowsAffected == 0) {
+                        logger.warn("No local account found with id: {}", localAccount.id());
+                        throw new RuntimeException("Conta local não encontrada");
+                    }
+
+                    logger.debug("✓ LocalAccount updated with id: {}", localAccount.id());
+                    return localAccount;
+                }
+            });
         } catch (SQLException e) {
             logger.error("Error updating local account with id {}: {}", localAccount.id(), e.getMessage(), e);
             throw new RuntimeException("Erro interno do servidor ao atualizar conta local", e);
         }
     }
 
+    @Override
+    public boolean updatePasswordHash(String id, String expectedHash, String newHash) {
+        String sql = "UPDATE local_accounts SET password_hash = ?, updated_at = ? WHERE id = ? AND password_hash = ?";
+
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, newHash);
+                    setTimestamp(stmt, 2, LocalDateTime.now());
+                    stmt.setString(3, id);
+                    stmt.setString(4, expectedHash);
+                    return stmt.executeUpdate() > 0;
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Error updating password hash of local account {}: {}", id, e.getMessage(), e);
+            throw new RuntimeException("Erro interno do servidor ao atualizar hash de senha", e);
+        }
+    }
+
+    @Override
+    public int updateLastLoginAt(Map<String, LocalDateTime> lastLoginByAccountId) {
+        if (lastLoginByAccountId.isEmpty()) {
+            return 0;
+        }
+        String sql = "UPDATE local_accounts SET last_login_at = ?, updated_at = ? WHERE id = ?";
+
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    for (var entry : lastLoginByAccountId.entrySet()) {
+                        setTimestamp(stmt, 1, entry.getValue());
+                        setTimestamp(stmt, 2, entry.getValue());
+                        stmt.setString(3, entry.getKey());
+                        stmt.addBatch();
+                    }
+
+                    int updated = 0;
+                    for (int rows : stmt.executeBatch()) {
+                        updated += Math.max(rows, 0);
+                    }
+                    logger.debug("✓ last_login_at updated for {} local accounts", updated);
+                    return updated;
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Error updating last_login_at for {} local accounts: {}", lastLoginByAccountId.size(), e.getMessage(), e);
+            throw new RuntimeException("Erro interno do servidor ao registrar último login", e);
+        }
+    }
+
     @Override
     public Optional<LocalAccount> findById(String id) {
         String sql = "SELECT id, user_id, email, password_hash, last_login_at, created_at, updated_at " +
                      "FROM local_accounts WHERE id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, id);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -95,7 +162,8 @@ public class LocalAccountPostgresRepository extends PostgresRepository implement
         String sql = "SELECT id, user_id, email, password_hash, last_login_at, created_at, updated_at " +
                      "FROM local_accounts WHERE email = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, email);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -115,7 +183,8 @@ public class LocalAccountPostgresRepository extends PostgresRepository implement
         String sql = "SELECT id, user_id, email, password_hash, last_login_at, created_at, updated_at " +
                      "FROM local_accounts WHERE user_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, userId);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -134,7 +203,8 @@ public class LocalAccountPostgresRepository extends PostgresRepository implement
     public boolean emailExists(String email) {
         String sql = "SELECT 1 FROM local_accounts WHERE email = ? LIMIT 1";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, email);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -150,19 +220,23 @@ public class LocalAccountPostgresRepository extends PostgresRepository implement
     public boolean delete(String id) {
         String sql = "DELETE FROM local_accounts WHERE id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, id);
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, id);
 
-            int rowsAffected = stmt.executeUpdate();
-            boolean deleted = rowsAffected > 0;
+                    int rowsAffected = stmt.executeUpdate();
+                    boolean deleted = rowsAffected > 0;
             
-            if (deleted) {
-                logger.debug("✓ LocalAccount deleted with id: {}", id);
-            } else {
-                logger.warn("No local account found for deletion with id: {}", id);
-            }
+                    if (deleted) {
+                        logger.debug("✓ LocalAccount deleted with id: {}", id);
+                    } else {
+                        logger.warn("No local account found for deletion with id: {}", id);
+                    }
             
-            return deleted;
+                    return deleted;
+                }
+            });
         } catch (SQLException e) {
             logger.error("Error deleting local account with id {}: {}", id, e.getMessage(), e);
             throw new RuntimeException("Erro interno do servidor ao deletar conta local", e);
@@ -173,19 +247,23 @@ public class LocalAccountPostgresRepository extends PostgresRepository implement
     public boolean deleteByUserId(String userId) {
         String sql = "DELETE FROM local_accounts WHERE user_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, userId);
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, userId);
 
-            int rowsAffected = stmt.executeUpdate();
-            boolean deleted = rowsAffected > 0;
+                    int rowsAffected = stmt.executeUpdate();
+                    boolean deleted = rowsAffected > 0;
             
-            if (deleted) {
-                logger.debug("✓ LocalAccount(s) deleted for user_id: {}", userId);
-            } else {
-                logger.warn("No local accounts found for deletion with user_id: {}", userId);
-            }
+                    if (deleted) {
+                        logger.debug("✓ LocalAccount(s) deleted for user_id: {}", userId);
+                    } else {
+                        logger.warn("No local accounts found for deletion with user_id: {}", userId);
+                    }
             
-            return deleted;
+                    return deleted;
+                }
+            });
         } catch (SQLException e) {
             logger.error("Error deleting local accounts for user_id {}: {}", userId, e.getMessage(), e);
             throw new RuntimeException("Erro interno do servidor ao deletar contas locais", e);
@@ -10,37 +10,42 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pillmind.data.protocols.db.MedicineRepository;
 import com.pillmind.domain.errors.NotFoundException;
+import com.pillmind.domain.models.DoseTimes;
 import com.pillmind.domain.models.Medicine;
+import com.pillmind.domain.models.MedicineCursor;
+import com.pillmind.infra.db.postgres.helpers.JdbcTransactionManager;
 
 /**
  * JDBC para medicamentos (SQLite/Postgres).
+ * <p>
+ * Horários em {@code times_packed}: minutos do dia, 2 bytes cada ({@link DoseTimes#toPacked()}),
+ * lidos sem parse de JSON por linha.
  */
 public class MedicinePostgresRepository extends PostgresRepository implements MedicineRepository {
 
     private static final Logger logger = LoggerFactory.getLogger(MedicinePostgresRepository.class);
-    private static final ObjectMapper JSON = new ObjectMapper();
 
-    public MedicinePostgresRepository(Connection connection) {
-        super(connection);
+    public MedicinePostgresRepository(JdbcTransactionManager transactionManager) {
+        super(transactionManager);
     }
 
     @Override
     public List<Medicine> findAllByUserId(String userId) {
         String sql = """
-                SELECT id, user_id, name, dosage, frequency, times_json, start_date, end_date, notes, image_url,
+                SELECT id, user_id, name, dosage, frequency, times_packed, start_date, end_date, notes, image_url,
                        medicine_type, prescribed_for, quantity, reminder_on_empty, created_at, updated_at
-                FROM medicines WHERE user_id = ? ORDER BY start_date ASC, name ASC
+                FROM medicines WHERE user_id = ? ORDER BY start_date ASC, name ASC, id ASC
                 """;
         List<Medicine> out = new ArrayList<>();
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, userId);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -54,14 +59,122 @@ public class MedicinePostgresRepository extends PostgresRepository implements Me
         }
     }
 
+    @Override
+    public int streamAllByUserId(String userId, Consumer<Medicine> sink) {
+        String sql = """
+                SELECT id, user_id, name, dosage, frequency, times_packed, start_date, end_date, notes, image_url,
+                       medicine_type, prescribed_for, quantity, reminder_on_empty, created_at, updated_at
+                FROM medicines WHERE user_id = ? ORDER BY start_date ASC, name ASC, id ASC
+                """;
+        int count = 0;
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    sink.accept(mapRow(rs));
+                    count++;
+                }
+            }
+            return count;
+        } catch (SQLException e) {
+            logger.error("streamAllByUserId: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao listar medicamentos", e);
+        }
+    }
+
+    @Override
+    public int streamActive(LocalDate day, Consumer<Medicine> sink) {
+        String sql = """
+                SELECT id, user_id, name, dosage, frequency, times_packed, start_date, end_date, notes, image_url,
+                       medicine_type, prescribed_for, quantity, reminder_on_empty, created_at, updated_at
+                FROM medicines WHERE end_date IS NULL OR end_date >= ?
+                """;
+        int count = 0;
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setDate(1, Date.valueOf(day));
+            // Lê em blocos: a tabela inteira não passa pela memória de uma vez
+            stmt.setFetchSize(1000);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    sink.accept(mapRow(rs));
+                    count++;
+                }
+            }
+            return count;
+        } catch (SQLException e) {
+            logger.error("streamActive: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao listar medicamentos ativos", e);
+        }
+    }
+
+    @Override
+    public int streamUpdatedSince(LocalDateTime since, Consumer<Medicine> sink) {
+        String sql = """
+                SELECT id, user_id, name, dosage, frequency, times_packed, start_date, end_date, notes, image_url,
+                       medicine_type, prescribed_for, quantity, reminder_on_empty, created_at, updated_at
+                FROM medicines WHERE updated_at > ? ORDER BY updated_at ASC, id ASC
+                """;
+        int count = 0;
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            setTimestamp(stmt, 1, since);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    sink.accept(mapRow(rs));
+                    count++;
+                }
+            }
+            return count;
+        } catch (SQLException e) {
+            logger.error("streamUpdatedSince: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao listar alterações de medicamentos", e);
+        }
+    }
+
+    @Override
+    public List<Medicine> findPageByUserId(String userId, MedicineCursor after, int limit) {
+        // Comparação por row value: range scan em idx_medicines_user_page, sem OFFSET
+        String sql = """
+                SELECT id, user_id, name, dosage, frequency, times_packed, start_date, end_date, notes, image_url,
+                       medicine_type, prescribed_for, quantity, reminder_on_empty, created_at, updated_at
+                FROM medicines WHERE user_id = ?%s
+                ORDER BY start_date ASC, name ASC, id ASC
+                LIMIT ?
+                """.formatted(after != null ? " AND (start_date, name, id) > (?, ?, ?)" : "");
+        List<Medicine> out = new ArrayList<>(limit);
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            int index = 1;
+            stmt.setString(index++, userId);
+            if (after != null) {
+                stmt.setDate(index++, Date.valueOf(after.startDate()));
+                stmt.setString(index++, after.name());
+                stmt.setString(index++, after.id());
+            }
+            stmt.setInt(index, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    out.add(mapRow(rs));
+                }
+            }
+            return out;
+        } catch (SQLException e) {
+            logger.error("findPageByUserId: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao listar medicamentos", e);
+        }
+    }
+
     @Override
     public Optional<Medicine> findByIdAndUserId(String id, String userId) {
         String sql = """
-                SELECT id, user_id, name, dosage, frequency, times_json, start_date, end_date, notes, image_url,
+                SELECT id, user_id, name, dosage, frequency, times_packed, start_date, end_date, notes, image_url,
                        medicine_type, prescribed_for, quantity, reminder_on_empty, created_at, updated_at
                 FROM medicines WHERE id = ? AND user_id = ?
                 """;
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, id);
             stmt.setString(2, userId);
             try (ResultSet rs = stmt.executeQuery()) {
@@ -76,32 +189,80 @@ public class MedicinePostgresRepository extends PostgresRepository implements Me
         }
     }
 
+    @Override
+    public List<Medicine> findUpdatedSince(String userId, LocalDateTime since) {
+        String sql = """
+                SELECT id, user_id, name, dosage, frequency, times_packed, start_date, end_date, notes, image_url,
+                       medicine_type, prescribed_for, quantity, reminder_on_empty, created_at, updated_at
+                FROM medicines WHERE user_id = ? AND updated_at > ? ORDER BY updated_at ASC, id ASC
+                """;
+        List<Medicine> out = new ArrayList<>();
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, userId);
+            setTimestamp(stmt, 2, since);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    out.add(mapRow(rs));
+                }
+            }
+            return out;
+        } catch (SQLException e) {
+            logger.error("findUpdatedSince: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao listar alterações de medicamentos", e);
+        }
+    }
+
+    @Override
+    public List<String> findDeletedIdsSince(String userId, LocalDateTime since) {
+        String sql = "SELECT id FROM medicine_tombstones WHERE user_id = ? AND deleted_at > ? ORDER BY deleted_at ASC";
+        List<String> out = new ArrayList<>();
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, userId);
+            setTimestamp(stmt, 2, since);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    out.add(rs.getString("id"));
+                }
+            }
+            return out;
+        } catch (SQLException e) {
+            logger.error("findDeletedIdsSince: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao listar medicamentos removidos", e);
+        }
+    }
+
     @Override
     public Medicine insert(Medicine medicine) {
         String sql = """
-                INSERT INTO medicines (id, user_id, name, dosage, frequency, times_json, start_date, end_date, notes, image_url,
+                INSERT INTO medicines (id, user_id, name, dosage, frequency, times_packed, start_date, end_date, notes, image_url,
                     medicine_type, prescribed_for, quantity, reminder_on_empty, created_at, updated_at)
                 VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
                 """;
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, medicine.id());
-            stmt.setString(2, medicine.userId());
-            stmt.setString(3, medicine.name());
-            stmt.setString(4, medicine.dosage());
-            stmt.setString(5, medicine.frequency());
-            stmt.setString(6, serializeTimes(medicine.times()));
-            stmt.setDate(7, Date.valueOf(medicine.startDate()));
-            stmt.setDate(8, medicine.endDate() != null ? Date.valueOf(medicine.endDate()) : null);
-            stmt.setString(9, medicine.notes());
-            stmt.setString(10, medicine.imageUrl());
-            stmt.setString(11, medicine.medicineType());
-            stmt.setString(12, medicine.prescribedFor());
-            stmt.setInt(13, medicine.quantity());
-            stmt.setInt(14, medicine.reminderOnEmpty() ? 1 : 0);
-            setTimestamp(stmt, 15, medicine.createdAt());
-            setTimestamp(stmt, 16, medicine.updatedAt());
-            stmt.executeUpdate();
-            return medicine;
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, medicine.id());
+                    stmt.setString(2, medicine.userId());
+                    stmt.setString(3, medicine.name());
+                    stmt.setString(4, medicine.dosage());
+                    stmt.setString(5, medicine.frequency());
+                    stmt.setBytes(6, medicine.doseTimes().toPacked());
+                    stmt.setDate(7, Date.valueOf(medicine.startDate()));
+                    stmt.setDate(8, medicine.endDate() != null ? Date.valueOf(medicine.endDate()) : null);
+                    stmt.setString(9, medicine.notes());
+                    stmt.setString(10, medicine.imageUrl());
+                    stmt.setString(11, medicine.medicineType());
+                    stmt.setString(12, medicine.prescribedFor());
+                    stmt.setInt(13, medicine.quantity());
+                    stmt.setInt(14, medicine.reminderOnEmpty() ? 1 : 0);
+                    setTimestamp(stmt, 15, medicine.createdAt());
+                    setTimestamp(stmt, 16, medicine.updatedAt());
+                    stmt.executeUpdate();
+                    return medicine;
+                }
+            });
         } catch (SQLException e) {
             logger.error("insert medicine: {}", e.getMessage(), e);
             throw new RuntimeException("Erro ao criar medicamento", e);
@@ -111,30 +272,35 @@ public class MedicinePostgresRepository extends PostgresRepository implements Me
     @Override
     public void update(Medicine medicine) {
         String sql = """
-                UPDATE medicines SET name = ?, dosage = ?, frequency = ?, times_json = ?, start_date = ?, end_date = ?, notes = ?, image_url = ?,
+                UPDATE medicines SET name = ?, dosage = ?, frequency = ?, times_packed = ?, start_date = ?, end_date = ?, notes = ?, image_url = ?,
                     medicine_type = ?, prescribed_for = ?, quantity = ?, reminder_on_empty = ?, updated_at = ?
                 WHERE id = ? AND user_id = ?
                 """;
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, medicine.name());
-            stmt.setString(2, medicine.dosage());
-            stmt.setString(3, medicine.frequency());
-            stmt.setString(4, serializeTimes(medicine.times()));
-            stmt.setDate(5, Date.valueOf(medicine.startDate()));
-            stmt.setDate(6, medicine.endDate() != null ? Date.valueOf(medicine.endDate()) : null);
-            stmt.setString(7, medicine.notes());
-            stmt.setString(8, medicine.imageUrl());
-            stmt.setString(9, medicine.medicineType());
-            stmt.setString(10, medicine.prescribedFor());
-            stmt.setInt(11, medicine.quantity());
-            stmt.setInt(12, medicine.reminderOnEmpty() ? 1 : 0);
-            setTimestamp(stmt, 13, medicine.updatedAt());
-            stmt.setString(14, medicine.id());
-            stmt.setString(15, medicine.userId());
-            int n = stmt.executeUpdate();
-            if (n == 0) {
-                throw new NotFoundException("Medicamento não encontrado");
-            }
+        try {
+            write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, medicine.name());
+                    stmt.setString(2, medicine.dosage());
+                    stmt.setString(3, medicine.frequency());
+                    stmt.setBytes(4, medicine.doseTimes().toPacked());
+                    stmt.setDate(5, Date.valueOf(medicine.startDate()));
+                    stmt.setDate(6, medicine.endDate() != null ? Date.valueOf(medicine.endDate()) : null);
+                    stmt.setString(7, medicine.notes());
+                    stmt.setString(8, medicine.imageUrl());
+                    stmt.setString(9, medicine.medicineType());
+                    stmt.setString(10, medicine.prescribedFor());
+                    stmt.setInt(11, medicine.quantity());
+                    stmt.setInt(12, medicine.reminderOnEmpty() ? 1 : 0);
+                    setTimestamp(stmt, 13, medicine.updatedAt());
+                    stmt.setString(14, medicine.id());
+                    stmt.setString(15, medicine.userId());
+                    int n = stmt.executeUpdate();
+                    if (n == 0) {
+                        throw new NotFoundException("Medicamento não encontrado");
+                    }
+                }
+                return null;
+            });
         } catch (SQLException e) {
             logger.error("update medicine: {}", e.getMessage(), e);
             throw new RuntimeException("Erro ao atualizar medicamento", e);
@@ -144,13 +310,45 @@ public class MedicinePostgresRepository extends PostgresRepository implements Me
     @Override
     public boolean deleteByIdAndUserId(String id, String userId) {
         String sql = "DELETE FROM medicines WHERE id = ? AND user_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, id);
-            stmt.setString(2, userId);
-            return stmt.executeUpdate() > 0;
+        String tombstoneSql = "INSERT INTO medicine_tombstones (id, user_id, deleted_at) VALUES (?, ?, ?)";
+        return transactionManager.inTransaction(() -> {
+            try {
+                return write(connection -> {
+                    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                        stmt.setString(1, id);
+                        stmt.setString(2, userId);
+                        if (stmt.executeUpdate() == 0) {
+                            return false;
+                        }
+                    }
+                    try (PreparedStatement stmt = connection.prepareStatement(tombstoneSql)) {
+                        stmt.setString(1, id);
+                        stmt.setString(2, userId);
+                        setTimestamp(stmt, 3, LocalDateTime.now());
+                        stmt.executeUpdate();
+                    }
+                    return true;
+                });
+            } catch (SQLException e) {
+                logger.error("delete medicine: {}", e.getMessage(), e);
+                throw new RuntimeException("Erro ao remover medicamento", e);
+            }
+        });
+    }
+
+    @Override
+    public int deleteTombstonesBefore(LocalDateTime cutoff) {
+        String sql = "DELETE FROM medicine_tombstones WHERE deleted_at < ?";
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    setTimestamp(stmt, 1, cutoff);
+                    return stmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
-            logger.error("delete medicine: {}", e.getMessage(), e);
-            throw new RuntimeException("Erro ao remover medicamento", e);
+            logger.error("deleteTombstonesBefore: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao limpar medicamentos removidos", e);
         }
     }
 
@@ -172,7 +370,7 @@ public class MedicinePostgresRepository extends PostgresRepository implements Me
                 rs.getString("name"),
                 rs.getString("dosage"),
                 rs.getString("frequency"),
-                deserializeTimes(rs.getString("times_json")),
+                DoseTimes.fromPacked(rs.getBytes("times_packed")),
                 rs.getDate("start_date").toLocalDate(),
                 end,
                 rs.getString("notes"),
@@ -184,25 +382,4 @@ public class MedicinePostgresRepository extends PostgresRepository implements Me
                 created,
                 updated);
     }
-
-    private static String serializeTimes(List<String> times) {
-        try {
-            return JSON.writeValueAsString(times != null ? times : List.of());
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    private static List<String> deserializeTimes(String json) {
-        if (json == null || json.isBlank()) {
-            return List.of();
-        }
-        try {
-            return JSON.readValue(json, new TypeReference<List<String>>() {
-            });
-        } catch (Exception e) {
-            logger.warn("times_json inválido, usando lista vazia: {}", json);
-            return List.of();
-        }
-    }
 }
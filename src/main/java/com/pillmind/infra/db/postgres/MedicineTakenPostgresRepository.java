@@ -0,0 +1,172 @@
+package com.pillmind.infra.db.postgres;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pillmind.data.protocols.db.MedicineTakenRepository;
+import com.pillmind.domain.models.DoseTimes;
+import com.pillmind.domain.models.MedicineTaken;
+import com.pillmind.infra.db.postgres.helpers.JdbcTransactionManager;
+
+/**
+ * JDBC para o histórico de doses (SQLite/Postgres).
+ * <p>
+ * Lotes viram um único {@code INSERT ... VALUES (...), (...) ON CONFLICT DO UPDATE} por bloco de
+ * {@link #CHUNK_SIZE} doses, todos na mesma transação: uma ida ao banco por bloco em vez de uma por
+ * dose. {@code scheduled_time} é gravado como minuto do dia.
+ */
+public class MedicineTakenPostgresRepository extends PostgresRepository implements MedicineTakenRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(MedicineTakenPostgresRepository.class);
+
+    /** 9 parâmetros por linha: 900 por comando, abaixo do limite antigo de 999 do SQLite. */
+    static final int CHUNK_SIZE = 100;
+
+    private static final String INSERT_PREFIX = """
+            INSERT INTO medicine_taken (user_id, date, medicine_id, scheduled_time, id, taken_at, skipped,
+                created_at, updated_at)
+            VALUES """;
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ON_CONFLICT = """
+
+            ON CONFLICT (medicine_id, date, scheduled_time) DO UPDATE SET
+                taken_at = excluded.taken_at, skipped = excluded.skipped, updated_at = excluded.updated_at
+            """;
+    private static final String COLUMNS = """
+            SELECT user_id, date, medicine_id, scheduled_time, id, taken_at, skipped, created_at, updated_at
+            FROM medicine_taken
+            """;
+
+    public MedicineTakenPostgresRepository(JdbcTransactionManager transactionManager) {
+        super(transactionManager);
+    }
+
+    @Override
+    public int upsertAll(List<MedicineTaken> doses) {
+        if (doses.isEmpty()) {
+            return 0;
+        }
+        return transactionManager.inTransaction(() -> {
+            try {
+                return write(connection -> {
+                    int saved = 0;
+                    String fullChunkSql = doses.size() >= CHUNK_SIZE ? upsertSql(CHUNK_SIZE) : null;
+                    for (int start = 0; start < doses.size(); start += CHUNK_SIZE) {
+                        var chunk = doses.subList(start, Math.min(start + CHUNK_SIZE, doses.size()));
+                        String sql = chunk.size() == CHUNK_SIZE ? fullChunkSql : upsertSql(chunk.size());
+                        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                            int index = 1;
+                            for (MedicineTaken dose : chunk) {
+                                index = bind(stmt, index, dose);
+                            }
+                            saved += stmt.executeUpdate();
+                        }
+                    }
+                    return saved;
+                });
+            } catch (SQLException e) {
+                logger.error("upsertAll medicine_taken: {}", e.getMessage(), e);
+                throw new RuntimeException("Erro ao registrar doses", e);
+            }
+        });
+    }
+
+    @Override
+    public List<MedicineTaken> findByUserAndDateRange(String userId, LocalDate from, LocalDate to) {
+        String sql = COLUMNS + """
+                WHERE user_id = ? AND date >= ? AND date <= ?
+                ORDER BY date ASC, medicine_id ASC, scheduled_time ASC
+                """;
+        List<MedicineTaken> out = new ArrayList<>();
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, userId);
+            stmt.setDate(2, Date.valueOf(from));
+            stmt.setDate(3, Date.valueOf(to));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    out.add(mapRow(rs));
+                }
+            }
+            return out;
+        } catch (SQLException e) {
+            logger.error("findByUserAndDateRange: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao listar doses", e);
+        }
+    }
+
+    @Override
+    public List<MedicineTaken> findByMedicineAndDateRange(String userId, String medicineId, LocalDate from,
+            LocalDate to) {
+        String sql = COLUMNS + """
+                WHERE medicine_id = ? AND date >= ? AND date <= ? AND user_id = ?
+                ORDER BY date ASC, scheduled_time ASC
+                """;
+        List<MedicineTaken> out = new ArrayList<>();
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, medicineId);
+            stmt.setDate(2, Date.valueOf(from));
+            stmt.setDate(3, Date.valueOf(to));
+            stmt.setString(4, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    out.add(mapRow(rs));
+                }
+            }
+            return out;
+        } catch (SQLException e) {
+            logger.error("findByMedicineAndDateRange: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao listar doses do medicamento", e);
+        }
+    }
+
+    private static String upsertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW.length() + 2) + ON_CONFLICT.length());
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+        }
+        return sql.append(ON_CONFLICT).toString();
+    }
+
+    private static int bind(PreparedStatement stmt, int index, MedicineTaken dose) throws SQLException {
+        stmt.setString(index++, dose.userId());
+        stmt.setDate(index++, Date.valueOf(dose.date()));
+        stmt.setString(index++, dose.medicineId());
+        stmt.setInt(index++, DoseTimes.parseMinute(dose.scheduledTime()));
+        stmt.setString(index++, dose.id());
+        setTimestamp(stmt, index++, dose.takenAt());
+        stmt.setInt(index++, dose.skipped() ? 1 : 0);
+        setTimestamp(stmt, index++, dose.createdAt());
+        setTimestamp(stmt, index++, dose.updatedAt());
+        return index;
+    }
+
+    private static MedicineTaken mapRow(ResultSet rs) throws SQLException {
+        Timestamp takenAt = rs.getTimestamp("taken_at");
+        return new MedicineTaken(
+                rs.getString("id"),
+                rs.getString("user_id"),
+                rs.getString("medicine_id"),
+                rs.getDate("date").toLocalDate(),
+                DoseTimes.formatMinute(rs.getInt("scheduled_time")),
+                takenAt != null ? takenAt.toLocalDateTime() : null,
+                rs.getInt("skipped") != 0,
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                rs.getTimestamp("updated_at").toLocalDateTime());
+    }
+}
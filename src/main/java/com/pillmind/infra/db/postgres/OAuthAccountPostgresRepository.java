@@ -4,8 +4,10 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -14,6 +16,7 @@ import org.slf4j.LoggerFactory;
 import com.pillmind.data.protocols.db.OAuthAccountRepository;
 import com.pillmind.domain.models.AuthProvider;
 import com.pillmind.domain.models.OAuthAccount;
+import com.pillmind.infra.db.postgres.helpers.JdbcTransactionManager;
 
 /**
  * Implementação do repositório de OAuthAccount usando PostgreSQL
@@ -21,8 +24,8 @@ import com.pillmind.domain.models.OAuthAccount;
 public class OAuthAccountPostgresRepository extends PostgresRepository implements OAuthAccountRepository {
     private static final Logger logger = LoggerFactory.getLogger(OAuthAccountPostgresRepository.class);
 
-    public OAuthAccountPostgresRepository(Connection connection) {
-        super(connection);
+    public OAuthAccountPostgresRepository(JdbcTransactionManager transactionManager) {
+        super(transactionManager);
     }
 
     @Override
@@ -30,26 +33,30 @@ public class OAuthAccountPostgresRepository extends PostgresRepository implement
         String sql = "INSERT INTO oauth_accounts (id, user_id, provider, provider_user_id, email, provider_name, profile_image_url, access_token, refresh_token, token_expiry, last_login_at, linked_at, is_primary, created_at, updated_at) " +
                      "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, oauthAccount.id());
-            stmt.setString(2, oauthAccount.userId());
-            stmt.setString(3, oauthAccount.provider().getValue());
-            stmt.setString(4, oauthAccount.providerUserId());
-            stmt.setString(5, oauthAccount.email());
-            stmt.setString(6, oauthAccount.providerName());
-            stmt.setString(7, oauthAccount.profileImageUrl());
-            stmt.setString(8, oauthAccount.accessToken());
-            stmt.setString(9, oauthAccount.refreshToken());
-            setTimestamp(stmt, 10, oauthAccount.tokenExpiry());
-            setTimestamp(stmt, 11, oauthAccount.lastLoginAt());
-            setTimestamp(stmt, 12, oauthAccount.linkedAt());
-            stmt.setBoolean(13, oauthAccount.isPrimary());
-            setTimestamp(stmt, 14, oauthAccount.createdAt());
-            setTimestamp(stmt, 15, oauthAccount.updatedAt());
-
-            stmt.executeUpdate();
-            logger.debug("✓ OAuthAccount created with id: {} for provider: {}", oauthAccount.id(), oauthAccount.provider().getValue());
-            return oauthAccount;
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, oauthAccount.id());
+                    stmt.setString(2, oauthAccount.userId());
+                    stmt.setString(3, oauthAccount.provider().getValue());
+                    stmt.setString(4, oauthAccount.providerUserId());
+                    stmt.setString(5, oauthAccount.email());
+                    stmt.setString(6, oauthAccount.providerName());
+                    stmt.setString(7, oauthAccount.profileImageUrl());
+                    stmt.setString(8, oauthAccount.accessToken());
+                    stmt.setString(9, oauthAccount.refreshToken());
+                    setTimestamp(stmt, 10, oauthAccount.tokenExpiry());
+                    setTimestamp(stmt, 11, oauthAccount.lastLoginAt());
+                    setTimestamp(stmt, 12, oauthAccount.linkedAt());
+                    stmt.setBoolean(13, oauthAccount.isPrimary());
+                    setTimestamp(stmt, 14, oauthAccount.createdAt());
+                    setTimestamp(stmt, 15, oauthAccount.updatedAt());
+
+                    stmt.executeUpdate();
+                    logger.debug("✓ OAuthAccount created with id: {} for provider: {}", oauthAccount.id(), oauthAccount.provider().getValue());
+                    return oauthAccount;
+                }
+            });
         } catch (SQLException e) {
             logger.error("Error adding oauth account for provider {} and user {}: {}", oauthAccount.provider().getValue(), oauthAccount.userId(), e.getMessage(), e);
             throw new RuntimeException("Erro interno do servidor ao criar conta OAuth", e);
@@ -60,38 +67,74 @@ public class OAuthAccountPostgresRepository extends PostgresRepository implement
     public OAuthAccount update(OAuthAccount oauthAccount) {
         String sql = "UPDATE oauth_accounts SET email = ?, provider_name = ?, profile_image_url = ?, access_token = ?, refresh_token = ?, token_expiry = ?, last_login_at = ?, is_primary = ?, updated_at = ? WHERE id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, oauthAccount.email());
-            stmt.setString(2, oauthAccount.providerName());
-            stmt.setString(3, oauthAccount.profileImageUrl());
-            stmt.setString(4, oauthAccount.accessToken());
-            stmt.setString(5, oauthAccount.refreshToken());
-            setTimestamp(stmt, 6, oauthAccount.tokenExpiry());
-            setTimestamp(stmt, 7, oauthAccount.lastLoginAt());
-            stmt.setBoolean(8, oauthAccount.isPrimary());
-            setTimestamp(stmt, 9, oauthAccount.updatedAt());
-            stmt.setString(10, oauthAccount.id());
-
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected == 0) {
-                logger.warn("No oauth account found with id: {}", oauthAccount.id());
-                throw new RuntimeException("Conta OAuth não encontrada");
-            }
-
-            logger.debug("✓ OAuthAccount updated with id: {}", oauthAccount.id());
-            return oauthAccount;
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, oauthAccount.email());
+                    stmt.setString(2, oauthAccount.providerName());
+                    stmt.setString(3, oauthAccount.profileImageUrl());
+                    stmt.setString(4, oauthAccount.accessToken());
+                    stmt.setString(5, oauthAccount.refreshToken());
+                    setTimestamp(stmt, 6, oauthAccount.tokenExpiry());
+                    setTimestamp(stmt, 7, oauthAccount.lastLoginAt());
+                    stmt.setBoolean(8, oauthAccount.isPrimary());
+                    setTimestamp(stmt, 9, oauthAccount.updatedAt());
+                    stmt.setString(10, oauthAccount.id());
+
+                    int rowsAffected = stmt.executeUpdate();
+                    if (rowsAffected == 0) {
+                        logger.warn("No oauth account found with id: {}", oauthAccount.id());
+                        throw new RuntimeException("Conta OAuth não encontrada");
+                    }
+
+                    logger.debug("✓ OAuthAccount updated with id: {}", oauthAccount.id());
+                    return oauthAccount;
+                }
+            });
         } catch (SQLException e) {
             logger.error("Error updating oauth account with id {}: {}", oauthAccount.id(), e.getMessage(), e);
             throw new RuntimeException("Erro interno do servidor ao atualizar conta OAuth", e);
         }
     }
 
+    @Override
+    public int updateLastLoginAt(Map<String, LocalDateTime> lastLoginByAccountId) {
+        if (lastLoginByAccountId.isEmpty()) {
+            return 0;
+        }
+        String sql = "UPDATE oauth_accounts SET last_login_at = ?, updated_at = ? WHERE id = ?";
+
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    for (var entry : lastLoginByAccountId.entrySet()) {
+                        setTimestamp(stmt, 1, entry.getValue());
+                        setTimestamp(stmt, 2, entry.getValue());
+                        stmt.setString(3, entry.getKey());
+                        stmt.addBatch();
+                    }
+
+                    int updated = 0;
+                    for (int rows : stmt.executeBatch()) {
+                        updated += Math.max(rows, 0);
+                    }
+                    logger.debug("✓ last_login_at updated for {} oauth accounts", updated);
+                    return updated;
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Error updating last_login_at for {} oauth accounts: {}", lastLoginByAccountId.size(), e.getMessage(), e);
+            throw new RuntimeException("Erro interno do servidor ao registrar último login", e);
+        }
+    }
+
     @Override
     public Optional<OAuthAccount> findById(String id) {
         String sql = "SELECT id, user_id, provider, provider_user_id, email, provider_name, profile_image_url, access_token, refresh_token, token_expiry, last_login_at, linked_at, is_primary, created_at, updated_at " +
                      "FROM oauth_accounts WHERE id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, id);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -111,7 +154,8 @@ public class OAuthAccountPostgresRepository extends PostgresRepository implement
         String sql = "SELECT id, user_id, provider, provider_user_id, email, provider_name, profile_image_url, access_token, refresh_token, token_expiry, last_login_at, linked_at, is_primary, created_at, updated_at " +
                      "FROM oauth_accounts WHERE provider = ? AND provider_user_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, provider.getValue());
             stmt.setString(2, providerUserId);
 
@@ -132,7 +176,8 @@ public class OAuthAccountPostgresRepository extends PostgresRepository implement
         String sql = "SELECT id, user_id, provider, provider_user_id, email, provider_name, profile_image_url, access_token, refresh_token, token_expiry, last_login_at, linked_at, is_primary, created_at, updated_at " +
                      "FROM oauth_accounts WHERE user_id = ? ORDER BY is_primary DESC, linked_at DESC";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, userId);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -153,7 +198,8 @@ public class OAuthAccountPostgresRepository extends PostgresRepository implement
         String sql = "SELECT id, user_id, provider, provider_user_id, email, provider_name, profile_image_url, access_token, refresh_token, token_expiry, last_login_at, linked_at, is_primary, created_at, updated_at " +
                      "FROM oauth_accounts WHERE user_id = ? AND is_primary = 1 LIMIT 1";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, userId);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -173,7 +219,8 @@ public class OAuthAccountPostgresRepository extends PostgresRepository implement
         String sql = "SELECT id, user_id, provider, provider_user_id, email, provider_name, profile_image_url, access_token, refresh_token, token_expiry, last_login_at, linked_at, is_primary, created_at, updated_at " +
                      "FROM oauth_accounts WHERE user_id = ? AND provider = ? ORDER BY is_primary DESC, linked_at DESC";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, userId);
             stmt.setString(2, provider.getValue());
 
@@ -194,11 +241,16 @@ public class OAuthAccountPostgresRepository extends PostgresRepository implement
     public void clearPrimaryByUserId(String userId) {
         String sql = "UPDATE oauth_accounts SET is_primary = 0, updated_at = CURRENT_TIMESTAMP WHERE user_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, userId);
+        try {
+            write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, userId);
 
-            stmt.executeUpdate();
-            logger.debug("✓ Cleared primary status for all oauth accounts of user_id: {}", userId);
+                    stmt.executeUpdate();
+                    logger.debug("✓ Cleared primary status for all oauth accounts of user_id: {}", userId);
+                }
+                return null;
+            });
         } catch (SQLException e) {
             logger.error("Error clearing primary status for user_id {}: {}", userId, e.getMessage(), e);
             throw new RuntimeException("Erro interno do servidor ao limpar status primário", e);
@@ -209,19 +261,23 @@ public class OAuthAccountPostgresRepository extends PostgresRepository implement
     public boolean delete(String id) {
         String sql = "DELETE FROM oauth_accounts WHERE id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, id);
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, id);
 
-            int rowsAffected = stmt.executeUpdate();
-            boolean deleted = rowsAffected > 0;
+                    int rowsAffected = stmt.executeUpdate();
+                    boolean deleted = rowsAffected > 0;
             
-            if (deleted) {
-                logger.debug("✓ OAuthAccount deleted with id: {}", id);
-            } else {
-                logger.warn("No oauth account found for deletion with id: {}", id);
-            }
+                    if (deleted) {
+                        logger.debug("✓ OAuthAccount deleted with id: {}", id);
+                    } else {
+                        logger.warn("No oauth account found for deletion with id: {}", id);
+                    }
             
-            return deleted;
+                    return deleted;
+                }
+            });
         } catch (SQLException e) {
             logger.error("Error deleting oauth account with id {}: {}", id, e.getMessage(), e);
             throw new RuntimeException("Erro interno do servidor ao deletar conta OAuth", e);
@@ -232,19 +288,23 @@ public class OAuthAccountPostgresRepository extends PostgresRepository implement
     public boolean deleteByUserId(String userId) {
         String sql = "DELETE FROM oauth_accounts WHERE user_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, userId);
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, userId);
 
-            int rowsAffected = stmt.executeUpdate();
-            boolean deleted = rowsAffected > 0;
+                    int rowsAffected = stmt.executeUpdate();
+                    boolean deleted = rowsAffected > 0;
             
-            if (deleted) {
-                logger.debug("✓ OAuthAccount(s) deleted for user_id: {}", userId);
-            } else {
-                logger.warn("No oauth accounts found for deletion with user_id: {}", userId);
-            }
+                    if (deleted) {
+                        logger.debug("✓ OAuthAccount(s) deleted for user_id: {}", userId);
+                    } else {
+                        logger.warn("No oauth accounts found for deletion with user_id: {}", userId);
+                    }
             
-            return deleted;
+                    return deleted;
+                }
+            });
         } catch (SQLException e) {
             logger.error("Error deleting oauth accounts for user_id {}: {}", userId, e.getMessage(), e);
             throw new RuntimeException("Erro interno do servidor ao deletar contas OAuth", e);
@@ -255,7 +315,8 @@ public class OAuthAccountPostgresRepository extends PostgresRepository implement
     public long countByUserId(String userId) {
         String sql = "SELECT COUNT(*) FROM oauth_accounts WHERE user_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, userId);
 
             try (ResultSet rs = stmt.executeQuery()) {
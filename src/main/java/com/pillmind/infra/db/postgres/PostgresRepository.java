@@ -7,14 +7,42 @@ import java.sql.Timestamp;
 import java.sql.Types;
 import java.time.LocalDateTime;
 
+import com.pillmind.infra.db.postgres.helpers.JdbcTransactionManager;
+import com.pillmind.infra.db.postgres.helpers.SqlWork;
+
 /**
  * Classe base para repositórios JDBC (SQLite em produção; nomes históricos "postgres").
  */
 public abstract class PostgresRepository {
-  protected final Connection connection;
+  protected final JdbcTransactionManager transactionManager;
+
+  protected PostgresRepository(JdbcTransactionManager transactionManager) {
+    this.transactionManager = transactionManager;
+  }
 
-  protected PostgresRepository(Connection connection) {
-    this.connection = connection;
+  /**
+   * Conexão de leitura emprestada do pool; feche com try-with-resources.
+   * Dentro de uma transação retorna a conexão vinculada à thread.
+   */
+  protected Connection getConnection() throws SQLException {
+    return transactionManager.getConnection();
+  }
+
+  /**
+   * Executa INSERT/UPDATE/DELETE; no SQLite passa pelo writer único.
+   */
+  protected <T> T write(SqlWork<T> work) throws SQLException {
+    return transactionManager.write(work);
+  }
+
+  /**
+   * Violação de UNIQUE: {@code UNIQUE constraint failed} no SQLite, SQLState 23505 no PostgreSQL.
+   */
+  protected static boolean isUniqueViolation(SQLException e) {
+    if ("23505".equals(e.getSQLState())) {
+      return true;
+    }
+    return e.getMessage() != null && e.getMessage().contains("UNIQUE constraint failed");
   }
 
   /** SQLite JDBC grava {@code LocalDateTime} via setObject em ISO-8601; use Timestamp para leitura com getTimestamp. */
@@ -25,10 +53,4 @@ public abstract class PostgresRepository {
       stmt.setTimestamp(index, Timestamp.valueOf(value));
     }
   }
-
-  protected void closeConnection() throws SQLException {
-    if (connection != null && !connection.isClosed()) {
-      connection.close();
-    }
-  }
 }
@@ -0,0 +1,137 @@
+package com.pillmind.infra.db.postgres;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pillmind.data.protocols.db.RefreshTokenRepository;
+import com.pillmind.domain.models.RefreshToken;
+import com.pillmind.infra.db.postgres.helpers.JdbcTransactionManager;
+
+/**
+ * Implementação do repositório de RefreshToken
+ */
+public class RefreshTokenPostgresRepository extends PostgresRepository implements RefreshTokenRepository {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenPostgresRepository.class);
+
+    public RefreshTokenPostgresRepository(JdbcTransactionManager transactionManager) {
+        super(transactionManager);
+    }
+
+    @Override
+    public RefreshToken add(RefreshToken refreshToken) {
+        String sql = "INSERT INTO refresh_tokens (id, user_id, family_id, token_hash, expires_at, created_at, revoked_at) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, refreshToken.id());
+                    stmt.setString(2, refreshToken.userId());
+                    stmt.setString(3, refreshToken.familyId());
+                    stmt.setString(4, refreshToken.tokenHash());
+                    setTimestamp(stmt, 5, refreshToken.expiresAt());
+                    setTimestamp(stmt, 6, refreshToken.createdAt());
+                    setTimestamp(stmt, 7, refreshToken.revokedAt());
+                    stmt.executeUpdate();
+                    return refreshToken;
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Error adding refresh token for user {}: {}", refreshToken.userId(), e.getMessage(), e);
+            throw new RuntimeException("Erro interno do servidor ao criar sessão", e);
+        }
+    }
+
+    @Override
+    public Optional<RefreshToken> findByTokenHash(String tokenHash) {
+        String sql = "SELECT id, user_id, family_id, token_hash, expires_at, created_at, revoked_at " +
+                     "FROM refresh_tokens WHERE token_hash = ?";
+
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, tokenHash);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapResultSetToRefreshToken(rs));
+                }
+                return Optional.empty();
+            }
+        } catch (SQLException e) {
+            logger.error("Error finding refresh token: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro interno do servidor ao buscar sessão", e);
+        }
+    }
+
+    @Override
+    public boolean revoke(String id, LocalDateTime revokedAt) {
+        String sql = "UPDATE refresh_tokens SET revoked_at = ? WHERE id = ? AND revoked_at IS NULL";
+
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    setTimestamp(stmt, 1, revokedAt);
+                    stmt.setString(2, id);
+                    return stmt.executeUpdate() > 0;
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Error revoking refresh token {}: {}", id, e.getMessage(), e);
+            throw new RuntimeException("Erro interno do servidor ao revogar sessão", e);
+        }
+    }
+
+    @Override
+    public int revokeFamily(String familyId, LocalDateTime revokedAt) {
+        String sql = "UPDATE refresh_tokens SET revoked_at = ? WHERE family_id = ? AND revoked_at IS NULL";
+
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    setTimestamp(stmt, 1, revokedAt);
+                    stmt.setString(2, familyId);
+                    return stmt.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Error revoking refresh token family {}: {}", familyId, e.getMessage(), e);
+            throw new RuntimeException("Erro interno do servidor ao revogar sessão", e);
+        }
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        String sql = "DELETE FROM refresh_tokens WHERE expires_at <= ?";
+
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    setTimestamp(stmt, 1, now);
+                    return stmt.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Error deleting expired refresh tokens: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro interno do servidor ao limpar sessões", e);
+        }
+    }
+
+    private RefreshToken mapResultSetToRefreshToken(ResultSet rs) throws SQLException {
+        return new RefreshToken(
+            rs.getString("id"),
+            rs.getString("user_id"),
+            rs.getString("family_id"),
+            rs.getString("token_hash"),
+            rs.getTimestamp("expires_at").toLocalDateTime(),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            rs.getTimestamp("revoked_at") != null ? rs.getTimestamp("revoked_at").toLocalDateTime() : null
+        );
+    }
+}
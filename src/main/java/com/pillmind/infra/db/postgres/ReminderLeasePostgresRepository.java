@@ -0,0 +1,269 @@
+package com.pillmind.infra.db.postgres;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pillmind.data.protocols.db.ReminderLeaseRepository;
+import com.pillmind.infra.db.postgres.helpers.JdbcTransactionManager;
+
+/**
+ * JDBC para os leases de lembretes (SQLite/Postgres). Posse sempre por UPDATE condicional: o
+ * banco serializa as disputas e {@code executeUpdate() == 1} indica o vencedor.
+ */
+public class ReminderLeasePostgresRepository extends PostgresRepository implements ReminderLeaseRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReminderLeasePostgresRepository.class);
+
+    public ReminderLeasePostgresRepository(JdbcTransactionManager transactionManager) {
+        super(transactionManager);
+    }
+
+    @Override
+    public void heartbeat(String nodeId, long now) {
+        String sql = """
+                INSERT INTO reminder_nodes (node_id, heartbeat_at) VALUES (?, ?)
+                ON CONFLICT (node_id) DO UPDATE SET heartbeat_at = excluded.heartbeat_at
+                """;
+        try {
+            write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, nodeId);
+                    stmt.setLong(2, now);
+                    return stmt.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("heartbeat: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao registrar heartbeat", e);
+        }
+    }
+
+    @Override
+    public List<String> findLiveNodes(long since) {
+        String sql = "SELECT node_id FROM reminder_nodes WHERE heartbeat_at >= ? ORDER BY node_id";
+        List<String> out = new ArrayList<>();
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setLong(1, since);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    out.add(rs.getString("node_id"));
+                }
+            }
+            return out;
+        } catch (SQLException e) {
+            logger.error("findLiveNodes: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao listar nós", e);
+        }
+    }
+
+    @Override
+    public int deleteNodesBefore(long before) {
+        String sql = "DELETE FROM reminder_nodes WHERE heartbeat_at < ?";
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setLong(1, before);
+                    return stmt.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("deleteNodesBefore: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao remover nós", e);
+        }
+    }
+
+    @Override
+    public void deleteNode(String nodeId) {
+        String sql = "DELETE FROM reminder_nodes WHERE node_id = ?";
+        try {
+            write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, nodeId);
+                    return stmt.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("deleteNode: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao remover nó", e);
+        }
+    }
+
+    @Override
+    public boolean tryAcquireLeadership(String nodeId, long now, long expiresAt) {
+        String sql = "UPDATE reminder_leader SET owner = ?, expires_at = ? WHERE id = 1 AND (owner = ? OR expires_at < ?)";
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, nodeId);
+                    stmt.setLong(2, expiresAt);
+                    stmt.setString(3, nodeId);
+                    stmt.setLong(4, now);
+                    return stmt.executeUpdate() == 1;
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("tryAcquireLeadership: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao disputar liderança", e);
+        }
+    }
+
+    @Override
+    public void releaseLeadership(String nodeId) {
+        String sql = "UPDATE reminder_leader SET owner = NULL, expires_at = 0 WHERE id = 1 AND owner = ?";
+        try {
+            write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, nodeId);
+                    return stmt.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("releaseLeadership: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao liberar liderança", e);
+        }
+    }
+
+    @Override
+    public void ensureShards(int shardCount) {
+        String insertSql = """
+                INSERT INTO reminder_shard_leases (shard, assigned_to, owner, expires_at) VALUES (?, NULL, NULL, 0)
+                ON CONFLICT (shard) DO NOTHING
+                """;
+        String deleteSql = "DELETE FROM reminder_shard_leases WHERE shard >= ?";
+        transactionManager.inTransaction(() -> {
+            try {
+                return write(connection -> {
+                    try (PreparedStatement stmt = connection.prepareStatement(insertSql)) {
+                        for (int shard = 0; shard < shardCount; shard++) {
+                            stmt.setInt(1, shard);
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+                    }
+                    try (PreparedStatement stmt = connection.prepareStatement(deleteSql)) {
+                        stmt.setInt(1, shardCount);
+                        return stmt.executeUpdate();
+                    }
+                });
+            } catch (SQLException e) {
+                logger.error("ensureShards: {}", e.getMessage(), e);
+                throw new RuntimeException("Erro ao criar shards de lembretes", e);
+            }
+        });
+    }
+
+    @Override
+    public List<ShardLease> findShards() {
+        String sql = "SELECT shard, assigned_to, owner, expires_at FROM reminder_shard_leases ORDER BY shard";
+        List<ShardLease> out = new ArrayList<>();
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    out.add(new ShardLease(rs.getInt("shard"), rs.getString("assigned_to"), rs.getString("owner"),
+                            rs.getLong("expires_at")));
+                }
+            }
+            return out;
+        } catch (SQLException e) {
+            logger.error("findShards: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao listar shards de lembretes", e);
+        }
+    }
+
+    @Override
+    public void assign(Map<Integer, String> assignments) {
+        if (assignments.isEmpty()) {
+            return;
+        }
+        String sql = """
+                UPDATE reminder_shard_leases SET assigned_to = ?
+                WHERE shard = ? AND (assigned_to IS NULL OR assigned_to <> ?)
+                """;
+        transactionManager.inTransaction(() -> {
+            try {
+                return write(connection -> {
+                    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                        for (var assignment : assignments.entrySet()) {
+                            stmt.setString(1, assignment.getValue());
+                            stmt.setInt(2, assignment.getKey());
+                            stmt.setString(3, assignment.getValue());
+                            stmt.addBatch();
+                        }
+                        return stmt.executeBatch().length;
+                    }
+                });
+            } catch (SQLException e) {
+                logger.error("assign shards: {}", e.getMessage(), e);
+                throw new RuntimeException("Erro ao distribuir shards de lembretes", e);
+            }
+        });
+    }
+
+    @Override
+    public int renew(String nodeId, long now, long expiresAt) {
+        String sql = "UPDATE reminder_shard_leases SET expires_at = ? WHERE owner = ? AND expires_at >= ?";
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setLong(1, expiresAt);
+                    stmt.setString(2, nodeId);
+                    stmt.setLong(3, now);
+                    return stmt.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("renew shard leases: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao renovar leases de lembretes", e);
+        }
+    }
+
+    @Override
+    public boolean tryClaim(int shard, String nodeId, long now, long expiresAt) {
+        String sql = """
+                UPDATE reminder_shard_leases SET owner = ?, expires_at = ?
+                WHERE shard = ? AND assigned_to = ? AND (owner IS NULL OR expires_at < ?)
+                """;
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, nodeId);
+                    stmt.setLong(2, expiresAt);
+                    stmt.setInt(3, shard);
+                    stmt.setString(4, nodeId);
+                    stmt.setLong(5, now);
+                    return stmt.executeUpdate() == 1;
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("tryClaim shard {}: {}", shard, e.getMessage(), e);
+            throw new RuntimeException("Erro ao assumir shard de lembretes", e);
+        }
+    }
+
+    @Override
+    public void release(int shard, String nodeId) {
+        String sql = "UPDATE reminder_shard_leases SET owner = NULL, expires_at = 0 WHERE shard = ? AND owner = ?";
+        try {
+            write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setInt(1, shard);
+                    stmt.setString(2, nodeId);
+                    return stmt.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("release shard {}: {}", shard, e.getMessage(), e);
+            throw new RuntimeException("Erro ao liberar shard de lembretes", e);
+        }
+    }
+}
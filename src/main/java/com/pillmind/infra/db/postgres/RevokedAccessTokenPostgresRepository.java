@@ -0,0 +1,82 @@
+package com.pillmind.infra.db.postgres;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pillmind.data.protocols.db.RevokedAccessTokenRepository;
+import com.pillmind.infra.db.postgres.helpers.JdbcTransactionManager;
+
+/**
+ * Implementação do repositório de tokens de acesso revogados
+ */
+public class RevokedAccessTokenPostgresRepository extends PostgresRepository implements RevokedAccessTokenRepository {
+    private static final Logger logger = LoggerFactory.getLogger(RevokedAccessTokenPostgresRepository.class);
+
+    public RevokedAccessTokenPostgresRepository(JdbcTransactionManager transactionManager) {
+        super(transactionManager);
+    }
+
+    @Override
+    public void add(String tokenId, LocalDateTime expiresAt) {
+        String sql = "INSERT INTO revoked_access_tokens (jti, expires_at) VALUES (?, ?) ON CONFLICT (jti) DO NOTHING";
+
+        try {
+            write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, tokenId);
+                    setTimestamp(stmt, 2, expiresAt);
+                    return stmt.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Error revoking access token {}: {}", tokenId, e.getMessage(), e);
+            throw new RuntimeException("Erro interno do servidor ao revogar token", e);
+        }
+    }
+
+    @Override
+    public Map<String, LocalDateTime> findUnexpired(LocalDateTime now) {
+        String sql = "SELECT jti, expires_at FROM revoked_access_tokens WHERE expires_at > ?";
+
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            setTimestamp(stmt, 1, now);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                Map<String, LocalDateTime> revoked = new HashMap<>();
+                while (rs.next()) {
+                    revoked.put(rs.getString("jti"), rs.getTimestamp("expires_at").toLocalDateTime());
+                }
+                return revoked;
+            }
+        } catch (SQLException e) {
+            logger.error("Error loading revoked access tokens: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro interno do servidor ao carregar tokens revogados", e);
+        }
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        String sql = "DELETE FROM revoked_access_tokens WHERE expires_at <= ?";
+
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    setTimestamp(stmt, 1, now);
+                    return stmt.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            logger.error("Error deleting expired revoked access tokens: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro interno do servidor ao limpar tokens revogados", e);
+        }
+    }
+}
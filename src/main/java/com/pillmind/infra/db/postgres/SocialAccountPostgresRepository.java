@@ -15,6 +15,7 @@ import org.slf4j.LoggerFactory;
 
 import com.pillmind.data.protocols.db.SocialAccountRepository;
 import com.pillmind.domain.models.SocialAccount;
+import com.pillmind.infra.db.postgres.helpers.JdbcTransactionManager;
 
 /**
  * Implementação do repositório de SocialAccount usando PostgreSQL
@@ -22,8 +23,8 @@ import com.pillmind.domain.models.SocialAccount;
 public class SocialAccountPostgresRepository extends PostgresRepository implements SocialAccountRepository {
     private static final Logger logger = LoggerFactory.getLogger(SocialAccountPostgresRepository.class);
 
-    public SocialAccountPostgresRepository(Connection connection) {
-        super(connection);
+    public SocialAccountPostgresRepository(JdbcTransactionManager transactionManager) {
+        super(transactionManager);
     }
 
     @Override
@@ -35,29 +36,33 @@ public class SocialAccountPostgresRepository extends PostgresRepository implemen
             VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
             """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            String id = socialAccount.id() != null ? socialAccount.id() : UUID.randomUUID().toString();
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    String id = socialAccount.id() != null ? socialAccount.id() : UUID.randomUUID().toString();
             
-            stmt.setString(1, id);
-            stmt.setString(2, socialAccount.userId());
-            stmt.setString(3, socialAccount.provider());
-            stmt.setString(4, socialAccount.providerUserId());
-            stmt.setString(5, socialAccount.email());
-            stmt.setString(6, socialAccount.name());
-            stmt.setString(7, socialAccount.profileImageUrl());
-            stmt.setString(8, socialAccount.accessToken());
-            stmt.setString(9, socialAccount.refreshToken());
-            setTimestamp(stmt, 10, socialAccount.tokenExpiry());
-            setTimestamp(stmt, 11, socialAccount.linkedAt());
-            stmt.setBoolean(12, socialAccount.isPrimary());
-
-            stmt.executeUpdate();
+                    stmt.setString(1, id);
+                    stmt.setString(2, socialAccount.userId());
+                    stmt.setString(3, socialAccount.provider());
+                    stmt.setString(4, socialAccount.providerUserId());
+                    stmt.setString(5, socialAccount.email());
+                    stmt.setString(6, socialAccount.name());
+                    stmt.setString(7, socialAccount.profileImageUrl());
+                    stmt.setString(8, socialAccount.accessToken());
+                    stmt.setString(9, socialAccount.refreshToken());
+                    setTimestamp(stmt, 10, socialAccount.tokenExpiry());
+                    setTimestamp(stmt, 11, socialAccount.linkedAt());
+                    stmt.setBoolean(12, socialAccount.isPrimary());
+
+                    stmt.executeUpdate();
             
-            return new SocialAccount(id, socialAccount.userId(), socialAccount.provider(),
-                                   socialAccount.providerUserId(), socialAccount.email(), socialAccount.name(),
-                                   socialAccount.profileImageUrl(), socialAccount.accessToken(), 
-                                   socialAccount.refreshToken(), socialAccount.tokenExpiry(),
-                                   socialAccount.linkedAt(), socialAccount.isPrimary());
+                    return new SocialAccount(id, socialAccount.userId(), socialAccount.provider(),
+                                           socialAccount.providerUserId(), socialAccount.email(), socialAccount.name(),
+                                           socialAccount.profileImageUrl(), socialAccount.accessToken(), 
+                                           socialAccount.refreshToken(), socialAccount.tokenExpiry(),
+                                           socialAccount.linkedAt(), socialAccount.isPrimary());
+                }
+            });
         } catch (SQLException e) {
             logger.error("Error adding social account for user {}: {}", socialAccount.userId(), e.getMessage(), e);
             throw new RuntimeException("Error adding social account: " + e.getMessage(), e);
@@ -73,22 +78,26 @@ public class SocialAccountPostgresRepository extends PostgresRepository implemen
             WHERE id = ?
             """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, socialAccount.email());
-            stmt.setString(2, socialAccount.name());
-            stmt.setString(3, socialAccount.profileImageUrl());
-            stmt.setString(4, socialAccount.accessToken());
-            stmt.setString(5, socialAccount.refreshToken());
-            setTimestamp(stmt, 6, socialAccount.tokenExpiry());
-            stmt.setBoolean(7, socialAccount.isPrimary());
-            stmt.setString(8, socialAccount.id());
-
-            int updated = stmt.executeUpdate();
-            if (updated == 0) {
-                throw new RuntimeException("Social account not found: " + socialAccount.id());
-            }
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, socialAccount.email());
+                    stmt.setString(2, socialAccount.name());
+                    stmt.setString(3, socialAccount.profileImageUrl());
+                    stmt.setString(4, socialAccount.accessToken());
+                    stmt.setString(5, socialAccount.refreshToken());
+                    setTimestamp(stmt, 6, socialAccount.tokenExpiry());
+                    stmt.setBoolean(7, socialAccount.isPrimary());
+                    stmt.setString(8, socialAccount.id());
+
+                    int updated = stmt.executeUpdate();
+                    if (updated == 0) {
+                        throw new RuntimeException("Social account not found: " + socialAccount.id());
+                    }
 
-            return socialAccount;
+                    return socialAccount;
+                }
+            });
         } catch (SQLException e) {
             logger.error("Error updating social account {}: {}", socialAccount.id(), e.getMessage(), e);
             throw new RuntimeException("Error updating social account: " + e.getMessage(), e);
@@ -104,7 +113,8 @@ public class SocialAccountPostgresRepository extends PostgresRepository implemen
             FROM social_accounts WHERE id = ?
             """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, id);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -128,7 +138,8 @@ public class SocialAccountPostgresRepository extends PostgresRepository implemen
             FROM social_accounts WHERE user_id = ? AND provider = ?
             """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, userId);
             stmt.setString(2, provider);
 
@@ -154,7 +165,8 @@ public class SocialAccountPostgresRepository extends PostgresRepository implemen
             FROM social_accounts WHERE provider = ? AND provider_user_id = ?
             """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, provider);
             stmt.setString(2, providerUserId);
 
@@ -181,7 +193,8 @@ public class SocialAccountPostgresRepository extends PostgresRepository implemen
             ORDER BY is_primary DESC, linked_at ASC
             """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, userId);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -206,7 +219,8 @@ public class SocialAccountPostgresRepository extends PostgresRepository implemen
             FROM social_accounts WHERE user_id = ? AND is_primary = 1
             """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, userId);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -227,64 +241,57 @@ public class SocialAccountPostgresRepository extends PostgresRepository implemen
         String clearPrimarySql = "UPDATE social_accounts SET is_primary = 0 WHERE user_id = ?";
         String setPrimarySql = "UPDATE social_accounts SET is_primary = 1 WHERE id = ?";
 
-        try {
-            connection.setAutoCommit(false);
-
-            // Get user_id first
-            String userId;
-            try (PreparedStatement stmt = connection.prepareStatement(getUserIdSql)) {
-                stmt.setString(1, socialAccountId);
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (!rs.next()) {
-                        throw new RuntimeException("Social account not found: " + socialAccountId);
+        transactionManager.inTransaction(() -> {
+            try (Connection connection = getConnection()) {
+                // Get user_id first
+                String userId;
+                try (PreparedStatement stmt = connection.prepareStatement(getUserIdSql)) {
+                    stmt.setString(1, socialAccountId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (!rs.next()) {
+                            throw new RuntimeException("Social account not found: " + socialAccountId);
+                        }
+                        userId = rs.getString("user_id");
                     }
-                    userId = rs.getString("user_id");
                 }
-            }
 
-            // Clear all primary flags for this user
-            try (PreparedStatement stmt = connection.prepareStatement(clearPrimarySql)) {
-                stmt.setString(1, userId);
-                stmt.executeUpdate();
-            }
-
-            // Set the specified account as primary
-            try (PreparedStatement stmt = connection.prepareStatement(setPrimarySql)) {
-                stmt.setString(1, socialAccountId);
-                int updated = stmt.executeUpdate();
-                if (updated == 0) {
-                    throw new RuntimeException("Social account not found: " + socialAccountId);
+                // Clear all primary flags for this user
+                try (PreparedStatement stmt = connection.prepareStatement(clearPrimarySql)) {
+                    stmt.setString(1, userId);
+                    stmt.executeUpdate();
                 }
-            }
 
-            connection.commit();
-        } catch (SQLException e) {
-            try {
-                connection.rollback();
-            } catch (SQLException rollbackEx) {
-                logger.error("Error rolling back transaction: {}", rollbackEx.getMessage());
-            }
-            logger.error("Error setting primary social account {}: {}", socialAccountId, e.getMessage(), e);
-            throw new RuntimeException("Error setting primary social account: " + e.getMessage(), e);
-        } finally {
-            try {
-                connection.setAutoCommit(true);
+                // Set the specified account as primary
+                try (PreparedStatement stmt = connection.prepareStatement(setPrimarySql)) {
+                    stmt.setString(1, socialAccountId);
+                    int updated = stmt.executeUpdate();
+                    if (updated == 0) {
+                        throw new RuntimeException("Social account not found: " + socialAccountId);
+                    }
+                }
+                return null;
             } catch (SQLException e) {
-                logger.error("Error resetting auto-commit: {}", e.getMessage());
+                logger.error("Error setting primary social account {}: {}", socialAccountId, e.getMessage(), e);
+                throw new RuntimeException("Error setting primary social account: " + e.getMessage(), e);
             }
-        }
+        });
     }
 
     @Override
     public void delete(String id) {
         String sql = "DELETE FROM social_accounts WHERE id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, id);
-            int deleted = stmt.executeUpdate();
-            if (deleted == 0) {
-                throw new RuntimeException("Social account not found: " + id);
-            }
+        try {
+            write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, id);
+                    int deleted = stmt.executeUpdate();
+                    if (deleted == 0) {
+                        throw new RuntimeException("Social account not found: " + id);
+                    }
+                }
+                return null;
+            });
         } catch (SQLException e) {
             logger.error("Error deleting social account {}: {}", id, e.getMessage(), e);
             throw new RuntimeException("Error deleting social account: " + e.getMessage(), e);
@@ -295,9 +302,14 @@ public class SocialAccountPostgresRepository extends PostgresRepository implemen
     public void deleteByUserId(String userId) {
         String sql = "DELETE FROM social_accounts WHERE user_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, userId);
-            stmt.executeUpdate();
+        try {
+            write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, userId);
+                    stmt.executeUpdate();
+                }
+                return null;
+            });
         } catch (SQLException e) {
             logger.error("Error deleting social accounts for user {}: {}", userId, e.getMessage(), e);
             throw new RuntimeException("Error deleting social accounts: " + e.getMessage(), e);
@@ -308,7 +320,8 @@ public class SocialAccountPostgresRepository extends PostgresRepository implemen
     public boolean existsByUserAndProvider(String userId, String provider) {
         String sql = "SELECT 1 FROM social_accounts WHERE user_id = ? AND provider = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, userId);
             stmt.setString(2, provider);
 
@@ -332,7 +345,8 @@ public class SocialAccountPostgresRepository extends PostgresRepository implemen
             ORDER BY linked_at DESC
             """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, provider);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -12,8 +12,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.pillmind.data.protocols.db.UserRepository;
+import com.pillmind.domain.errors.ConflictException;
 import com.pillmind.domain.models.Gender;
 import com.pillmind.domain.models.User;
+import com.pillmind.infra.db.postgres.helpers.JdbcTransactionManager;
 
 /**
  * Implementação do repositório de User usando PostgreSQL
@@ -21,8 +23,8 @@ import com.pillmind.domain.models.User;
 public class UserPostgresRepository extends PostgresRepository implements UserRepository {
     private static final Logger logger = LoggerFactory.getLogger(UserPostgresRepository.class);
 
-    public UserPostgresRepository(Connection connection) {
-        super(connection);
+    public UserPostgresRepository(JdbcTransactionManager transactionManager) {
+        super(transactionManager);
     }
 
     @Override
@@ -30,21 +32,28 @@ public class UserPostgresRepository extends PostgresRepository implements UserRe
         String sql = "INSERT INTO users (id, name, email, date_of_birth, gender, picture_url, email_verified, created_at, updated_at) " +
                      "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, user.id());
-            stmt.setString(2, user.name());
-            stmt.setString(3, user.email());
-            stmt.setDate(4, user.dateOfBirth() != null ? Date.valueOf(user.dateOfBirth()) : null);
-            stmt.setString(5, user.gender() != null ? user.gender().name() : null);
-            stmt.setString(6, user.pictureUrl());
-            stmt.setBoolean(7, user.emailVerified());
-            setTimestamp(stmt, 8, user.createdAt());
-            setTimestamp(stmt, 9, user.updatedAt());
-
-            stmt.executeUpdate();
-            logger.debug("✓ User created with id: {}", user.id());
-            return user;
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, user.id());
+                    stmt.setString(2, user.name());
+                    stmt.setString(3, user.email());
+                    stmt.setDate(4, user.dateOfBirth() != null ? Date.valueOf(user.dateOfBirth()) : null);
+                    stmt.setString(5, user.gender() != null ? user.gender().name() : null);
+                    stmt.setString(6, user.pictureUrl());
+                    stmt.setBoolean(7, user.emailVerified());
+                    setTimestamp(stmt, 8, user.createdAt());
+                    setTimestamp(stmt, 9, user.updatedAt());
+
+                    stmt.executeUpdate();
+                    logger.debug("✓ User created with id: {}", user.id());
+                    return user;
+                }
+            });
         } catch (SQLException e) {
+            if (isUniqueViolation(e)) {
+                throw new ConflictException("Email já cadastrado", e);
+            }
             logger.error("Error adding user with email {}: {}", user.email(), e.getMessage(), e);
             throw new RuntimeException("Erro interno do servidor ao criar usuário", e);
         }
@@ -54,25 +63,29 @@ public class UserPostgresRepository extends PostgresRepository implements UserRe
     public User update(User user) {
         String sql = "UPDATE users SET name = ?, email = ?, date_of_birth = ?, gender = ?, picture_url = ?, email_verified = ?, updated_at = ? WHERE id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, user.name());
-            stmt.setString(2, user.email());
-            stmt.setDate(3, user.dateOfBirth() != null ? Date.valueOf(user.dateOfBirth()) : null);
-            stmt.setString(4, user.gender() != null ? user.gender().name() : null);
-            stmt.setString(5, user.pictureUrl());
-            stmt.setBoolean(6, user.emailVerified());
-            setTimestamp(stmt, 7, user.updatedAt());
-
-            stmt.setString(8, user.id());
-
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected == 0) {
-                logger.warn("No user found with id: {}", user.id());
-                throw new RuntimeException("Usuário não encontrado");
-            }
-
-            logger.debug("✓ User updated with id: {}", user.id());
-            return user;
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, user.name());
+                    stmt.setString(2, user.email());
+                    stmt.setDate(3, user.dateOfBirth() != null ? Date.valueOf(user.dateOfBirth()) : null);
+                    stmt.setString(4, user.gender() != null ? user.gender().name() : null);
+                    stmt.setString(5, user.pictureUrl());
+                    stmt.setBoolean(6, user.emailVerified());
+                    setTimestamp(stmt, 7, user.updatedAt());
+
+                    stmt.setString(8, user.id());
+
+                    int rowsAffected = stmt.executeUpdate();
+                    if (rowsAffected == 0) {
+                        logger.warn("No user found with id: {}", user.id());
+                        throw new RuntimeException("Usuário não encontrado");
+                    }
+
+                    logger.debug("✓ User updated with id: {}", user.id());
+                    return user;
+                }
+            });
         } catch (SQLException e) {
             logger.error("Error updating user with id {}: {}", user.id(), e.getMessage(), e);
             throw new RuntimeException("Erro interno do servidor ao atualizar usuário", e);
@@ -84,7 +97,8 @@ public class UserPostgresRepository extends PostgresRepository implements UserRe
         String sql = "SELECT id, name, email, date_of_birth, gender, picture_url, email_verified, created_at, updated_at " +
                      "FROM users WHERE id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, id);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -104,7 +118,8 @@ public class UserPostgresRepository extends PostgresRepository implements UserRe
         String sql = "SELECT id, name, email, date_of_birth, gender, picture_url, email_verified, created_at, updated_at " +
                      "FROM users WHERE email = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, email);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -123,7 +138,8 @@ public class UserPostgresRepository extends PostgresRepository implements UserRe
     public boolean emailExists(String email) {
         String sql = "SELECT 1 FROM users WHERE email = ? LIMIT 1";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, email);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -139,19 +155,23 @@ public class UserPostgresRepository extends PostgresRepository implements UserRe
     public boolean delete(String id) {
         String sql = "DELETE FROM users WHERE id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, id);
+        try {
+            return write(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setString(1, id);
 
-            int rowsAffected = stmt.executeUpdate();
-            boolean deleted = rowsAffected > 0;
+                    int rowsAffected = stmt.executeUpdate();
+                    boolean deleted = rowsAffected > 0;
             
-            if (deleted) {
-                logger.debug("✓ User deleted with id: {}", id);
-            } else {
-                logger.warn("No user found for deletion with id: {}", id);
-            }
+                    if (deleted) {
+                        logger.debug("✓ User deleted with id: {}", id);
+                    } else {
+                        logger.warn("No user found for deletion with id: {}", id);
+                    }
             
-            return deleted;
+                    return deleted;
+                }
+            });
         } catch (SQLException e) {
             logger.error("Error deleting user with id {}: {}", id, e.getMessage(), e);
             throw new RuntimeException("Erro interno do servidor ao deletar usuário", e);
@@ -0,0 +1,154 @@
+package com.pillmind.infra.db.postgres.helpers;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pillmind.data.protocols.db.TransactionManager;
+
+/**
+ * Empresta conexões do pool por unidade de trabalho.
+ * <p>
+ * Fora de transação, cada chamada a {@link #getConnection()} pega uma conexão do pool e o
+ * repositório a devolve no {@code close()}. Dentro de {@link #inTransaction(Supplier)} a conexão
+ * fica vinculada à thread da requisição e todos os repositórios a compartilham.
+ * <p>
+ * Com {@link SqliteWriteQueue} (modo SQLite), leituras usam o pool somente leitura e escritas e
+ * transações rodam no writer único, dentro do commit em grupo.
+ */
+public class JdbcTransactionManager implements TransactionManager {
+  private static final Logger logger = LoggerFactory.getLogger(JdbcTransactionManager.class);
+
+  private final DataSource dataSource;
+  private final SqliteWriteQueue writeQueue;
+  private final ThreadLocal<Connection> current = new ThreadLocal<>();
+
+  /** Um único pool para leituras e escritas. */
+  public JdbcTransactionManager(DataSource dataSource) {
+    this(dataSource, null);
+  }
+
+  /**
+   * @param readDataSource pool usado pelas leituras
+   * @param writeQueue     writer único; {@code null} executa escritas no próprio pool
+   */
+  public JdbcTransactionManager(DataSource readDataSource, SqliteWriteQueue writeQueue) {
+    this.dataSource = readDataSource;
+    this.writeQueue = writeQueue;
+  }
+
+  /**
+   * Conexão para uma leitura. Deve ser fechada pelo chamador (try-with-resources);
+   * dentro de transação o {@code close()} não devolve a conexão ao pool.
+   */
+  public Connection getConnection() throws SQLException {
+    Connection bound = current.get();
+    if (bound != null) {
+      return nonClosing(bound);
+    }
+    return dataSource.getConnection();
+  }
+
+  /**
+   * Executa uma escrita: na transação corrente, no writer único ou numa conexão do pool.
+   */
+  public <T> T write(SqlWork<T> work) throws SQLException {
+    Connection bound = current.get();
+    if (bound != null) {
+      return work.apply(bound);
+    }
+    if (writeQueue != null) {
+      return writeQueue.execute(work);
+    }
+    try (Connection connection = dataSource.getConnection()) {
+      return work.apply(connection);
+    }
+  }
+
+  @Override
+  public <T> T inTransaction(Supplier<T> work) {
+    if (current.get() != null) {
+      return work.get();
+    }
+
+    try {
+      if (writeQueue != null) {
+        // O writer já isola cada tarefa num savepoint e confirma o grupo inteiro
+        return writeQueue.execute(connection -> bound(connection, work));
+      }
+      try (Connection connection = dataSource.getConnection()) {
+        return transactional(connection, work);
+      }
+    } catch (SQLException e) {
+      throw new RuntimeException("Erro ao executar transação", e);
+    }
+  }
+
+  public DataSource getDataSource() {
+    return dataSource;
+  }
+
+  private <T> T transactional(Connection connection, Supplier<T> work) throws SQLException {
+    connection.setAutoCommit(false);
+    current.set(connection);
+    try {
+      T result = work.get();
+      connection.commit();
+      return result;
+    } catch (SQLException | RuntimeException | Error e) {
+      rollback(connection);
+      throw e;
+    } finally {
+      current.remove();
+      restoreAutoCommit(connection);
+    }
+  }
+
+  private <T> T bound(Connection connection, Supplier<T> work) {
+    current.set(connection);
+    try {
+      return work.get();
+    } finally {
+      current.remove();
+    }
+  }
+
+  private static void rollback(Connection connection) {
+    try {
+      connection.rollback();
+    } catch (SQLException e) {
+      logger.error("Erro ao desfazer transação: {}", e.getMessage(), e);
+    }
+  }
+
+  private static void restoreAutoCommit(Connection connection) {
+    try {
+      connection.setAutoCommit(true);
+    } catch (SQLException e) {
+      logger.warn("Erro ao restaurar auto-commit: {}", e.getMessage());
+    }
+  }
+
+  private static Connection nonClosing(Connection connection) {
+    return (Connection) Proxy.newProxyInstance(
+        JdbcTransactionManager.class.getClassLoader(),
+        new Class<?>[] { Connection.class },
+        (proxy, method, args) -> {
+          if ("close".equals(method.getName())) {
+            return null;
+          }
+          try {
+            return method.invoke(connection, args);
+          } catch (InvocationTargetException e) {
+            throw e.getCause();
+          }
+        });
+  }
+}
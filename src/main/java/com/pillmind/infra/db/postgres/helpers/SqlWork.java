@@ -0,0 +1,12 @@
+package com.pillmind.infra.db.postgres.helpers;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Trecho JDBC executado com uma conexão emprestada.
+ */
+@FunctionalInterface
+public interface SqlWork<T> {
+  T apply(Connection connection) throws SQLException;
+}
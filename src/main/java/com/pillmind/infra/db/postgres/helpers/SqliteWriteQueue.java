@@ -0,0 +1,259 @@
+package com.pillmind.infra.db.postgres.helpers;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writer único do SQLite com commit em grupo.
+ * <p>
+ * O SQLite aceita um escritor por vez; em vez de várias conexões disputando o lock do arquivo
+ * ("database is locked"), as escritas entram numa fila e uma thread dedicada as executa na
+ * conexão de escrita.
+ * <p>
+ * Cada commit custa um fsync, então o writer junta as escritas que chegam dentro de uma janela
+ * curta (ou até {@code maxBatch}) numa única transação. Cada escrita roda no seu próprio
+ * savepoint: se falhar, só ela é desfeita. Quem chama só é liberado depois do commit do grupo,
+ * mantendo a durabilidade por requisição.
+ */
+public class SqliteWriteQueue implements AutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(SqliteWriteQueue.class);
+
+  private static final long OFFER_TIMEOUT_MS = 30_000;
+  private static final long POLL_INTERVAL_MS = 100;
+  private static final long DEFAULT_WINDOW_MS = 1;
+  private static final int DEFAULT_MAX_BATCH = 64;
+
+  private final DataSource dataSource;
+  private final BlockingQueue<WriteTask<?>> queue;
+  private final long windowNanos;
+  private final int maxBatch;
+  private final Thread writer;
+  private final LongAdder commits = new LongAdder();
+  private final LongAdder statements = new LongAdder();
+  private volatile boolean running = true;
+
+  public SqliteWriteQueue(DataSource dataSource, int capacity) {
+    this(dataSource, capacity, DEFAULT_WINDOW_MS, DEFAULT_MAX_BATCH);
+  }
+
+  /**
+   * @param dataSource pool de escrita (uma conexão)
+   * @param capacity   escritas aguardando na fila antes de bloquear quem chama
+   * @param windowMs   quanto o writer espera por mais escritas antes de confirmar o grupo;
+   *                   0 agrupa apenas o que já está na fila
+   * @param maxBatch   máximo de escritas por commit (1 = um commit por escrita)
+   */
+  public SqliteWriteQueue(DataSource dataSource, int capacity, long windowMs, int maxBatch) {
+    this.dataSource = dataSource;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+    this.maxBatch = Math.max(1, maxBatch);
+    this.writer = new Thread(this::drain, "sqlite-writer");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  /**
+   * Enfileira {@code work} e aguarda o commit do grupo em que ele foi executado.
+   */
+  public <T> T execute(SqlWork<T> work) throws SQLException {
+    if (Thread.currentThread() == writer) {
+      throw new IllegalStateException("Escrita aninhada na thread do writer fora de transação");
+    }
+    if (!running) {
+      throw new SQLException("Fila de escrita do SQLite encerrada");
+    }
+
+    WriteTask<T> task = new WriteTask<>(work);
+    try {
+      if (!queue.offer(task, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+        throw new SQLException("Fila de escrita do SQLite cheia");
+      }
+      // close() pode ter começado depois da verificação acima: o writer talvez já tenha saído
+      if (!running && queue.remove(task)) {
+        throw new SQLException("Fila de escrita do SQLite encerrada");
+      }
+      return task.result.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrompido aguardando escrita no SQLite", e);
+    } catch (ExecutionException e) {
+      throw unwrap(e.getCause());
+    }
+  }
+
+  /** Escritas aguardando o writer. */
+  public int pending() {
+    return queue.size();
+  }
+
+  /** Transações confirmadas pelo writer. */
+  public long commits() {
+    return commits.sum();
+  }
+
+  /** Escritas executadas (confirmadas ou desfeitas) pelo writer. */
+  public long statements() {
+    return statements.sum();
+  }
+
+  /**
+   * Para de aceitar escritas, executa as pendentes e encerra a thread do writer. O que entrar na
+   * fila depois que o writer saiu falha, em vez de deixar quem chama esperando para sempre.
+   */
+  @Override
+  public void close() {
+    running = false;
+    try {
+      writer.join(OFFER_TIMEOUT_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    List<WriteTask<?>> leftover = new ArrayList<>();
+    queue.drainTo(leftover);
+    SQLException closed = new SQLException("Fila de escrita do SQLite encerrada");
+    leftover.forEach(task -> task.fail(closed));
+  }
+
+  private void drain() {
+    List<WriteTask<?>> batch = new ArrayList<>(maxBatch);
+    while (running || !queue.isEmpty()) {
+      try {
+        WriteTask<?> first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        collect(batch);
+        commit(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } finally {
+        batch.clear();
+      }
+    }
+    logger.info("Writer do SQLite encerrado ({} commits, {} escritas)", commits(), statements());
+  }
+
+  /** Junta ao grupo o que já está na fila e o que chegar dentro da janela. */
+  private void collect(List<WriteTask<?>> batch) throws InterruptedException {
+    queue.drainTo(batch, maxBatch - batch.size());
+    long deadline = System.nanoTime() + windowNanos;
+    while (batch.size() < maxBatch) {
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        break;
+      }
+      WriteTask<?> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        break;
+      }
+      batch.add(next);
+      queue.drainTo(batch, maxBatch - batch.size());
+    }
+  }
+
+  private void commit(List<WriteTask<?>> batch) {
+    try (Connection connection = dataSource.getConnection()) {
+      connection.setAutoCommit(false);
+      try {
+        for (WriteTask<?> task : batch) {
+          task.run(connection);
+        }
+        connection.commit();
+      } catch (SQLException | RuntimeException | Error e) {
+        rollback(connection);
+        batch.forEach(task -> task.fail(e));
+        return;
+      } finally {
+        restoreAutoCommit(connection);
+      }
+      commits.increment();
+      statements.add(batch.size());
+      batch.forEach(WriteTask::complete);
+    } catch (SQLException e) {
+      logger.error("Erro na conexão de escrita do SQLite: {}", e.getMessage(), e);
+      batch.forEach(task -> task.fail(e));
+    }
+  }
+
+  private static void rollback(Connection connection) {
+    try {
+      connection.rollback();
+    } catch (SQLException e) {
+      logger.error("Erro ao desfazer commit em grupo: {}", e.getMessage(), e);
+    }
+  }
+
+  private static void restoreAutoCommit(Connection connection) {
+    try {
+      connection.setAutoCommit(true);
+    } catch (SQLException e) {
+      logger.warn("Erro ao restaurar auto-commit: {}", e.getMessage());
+    }
+  }
+
+  private static SQLException unwrap(Throwable cause) {
+    if (cause instanceof SQLException sqlException) {
+      return sqlException;
+    }
+    if (cause instanceof RuntimeException runtimeException) {
+      throw runtimeException;
+    }
+    if (cause instanceof Error error) {
+      throw error;
+    }
+    return new SQLException("Erro na escrita do SQLite", cause);
+  }
+
+  private static final class WriteTask<T> {
+    private final SqlWork<T> work;
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    private T value;
+    private Throwable error;
+
+    private WriteTask(SqlWork<T> work) {
+      this.work = work;
+    }
+
+    /** Executa num savepoint; uma falha desfaz só esta escrita. */
+    private void run(Connection connection) throws SQLException {
+      Savepoint savepoint = connection.setSavepoint();
+      try {
+        value = work.apply(connection);
+      } catch (SQLException | RuntimeException e) {
+        connection.rollback(savepoint);
+        error = e;
+      }
+      connection.releaseSavepoint(savepoint);
+    }
+
+    private void complete() {
+      if (error != null) {
+        result.completeExceptionally(error);
+      } else {
+        result.complete(value);
+      }
+    }
+
+    /** O grupo não foi confirmado: quem já tinha falhado mantém o próprio erro. */
+    private void fail(Throwable commitError) {
+      result.completeExceptionally(error != null ? error : commitError);
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.pillmind.infra.metrics;
+
+import java.util.Map;
+
+/**
+ * Componente que expõe contadores em GET /api/metrics.
+ */
+public interface MetricsSource {
+
+    /**
+     * Nome do grupo de métricas na resposta (ex.: "medicineCache")
+     */
+    String metricsName();
+
+    /**
+     * Valores atuais; lido a cada requisição, deve ser barato
+     */
+    Map<String, Number> metrics();
+}
@@ -0,0 +1,251 @@
+package com.pillmind.infra.oauth;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pillmind.infra.metrics.MetricsSource;
+
+/**
+ * Chaves públicas do Google (JWKS) mantidas em memória.
+ * <p>
+ * A verificação de um ID token só consulta o mapa em memória. As chaves são rebuscadas em
+ * segundo plano antes de vencer o {@code max-age} do Cache-Control; a rede só entra no caminho
+ * do login quando ainda não há chaves ou quando chega um {@code kid} desconhecido (o Google
+ * girou as chaves antes do previsto). Buscas simultâneas são deduplicadas: todos esperam a
+ * mesma requisição. Se uma busca falhar, as chaves anteriores continuam valendo.
+ */
+public class GoogleJwksKeyCache implements MetricsSource, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(GoogleJwksKeyCache.class);
+
+    /** Validade usada quando a resposta não traz {@code max-age}. */
+    static final Duration DEFAULT_MAX_AGE = Duration.ofHours(1);
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(5);
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final URI jwksUri;
+    private final HttpClient httpClient;
+    private final Duration minRefreshInterval;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ScheduledExecutorService scheduler;
+    private final AtomicReference<CompletableFuture<KeySet>> inFlight = new AtomicReference<>();
+    private final LongAdder fetches = new LongAdder();
+    private final LongAdder fetchFailures = new LongAdder();
+    private final LongAdder blockingLookups = new LongAdder();
+    private volatile KeySet keys;
+    private volatile ScheduledFuture<?> nextRefresh;
+
+    public GoogleJwksKeyCache(URI jwksUri) {
+        this(jwksUri, HttpClient.newBuilder().connectTimeout(FETCH_TIMEOUT).build(), Duration.ofSeconds(30));
+    }
+
+    /**
+     * @param minRefreshInterval intervalo mínimo entre buscas disparadas por {@code kid}
+     *                           desconhecido, e espera antes de tentar de novo após falha
+     */
+    GoogleJwksKeyCache(URI jwksUri, HttpClient httpClient, Duration minRefreshInterval) {
+        this.jwksUri = jwksUri;
+        this.httpClient = httpClient;
+        this.minRefreshInterval = minRefreshInterval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "google-jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Busca as chaves em segundo plano, sem bloquear a inicialização.
+     */
+    public void start() {
+        refresh();
+    }
+
+    /**
+     * Chave pública do {@code kid}, ou null se o Google não a publica.
+     */
+    public PublicKey key(String kid) {
+        KeySet current = keys;
+        if (current != null) {
+            PublicKey key = current.keys().get(kid);
+            if (key != null) {
+                return key;
+            }
+            // kid desconhecido logo depois de uma busca: não martela o Google com tokens forjados
+            if (Instant.now().isBefore(current.fetchedAt().plus(minRefreshInterval))) {
+                return null;
+            }
+        }
+
+        blockingLookups.increment();
+        KeySet refreshed = await(refresh());
+        return refreshed == null ? null : refreshed.keys().get(kid);
+    }
+
+    /**
+     * Dispara uma busca ou devolve a que já está em andamento.
+     */
+    CompletableFuture<KeySet> refresh() {
+        CompletableFuture<KeySet> mine = new CompletableFuture<>();
+        CompletableFuture<KeySet> running = inFlight.compareAndExchange(null, mine);
+        if (running != null) {
+            return running;
+        }
+
+        try {
+            scheduler.execute(() -> fetchInto(mine));
+        } catch (RuntimeException e) {
+            // agendador encerrado
+            inFlight.set(null);
+            mine.completeExceptionally(e);
+        }
+        return mine;
+    }
+
+    @Override
+    public String metricsName() {
+        return "googleJwks";
+    }
+
+    @Override
+    public Map<String, Number> metrics() {
+        KeySet current = keys;
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("keys", current == null ? 0 : current.keys().size());
+        metrics.put("fetches", fetches.sum());
+        metrics.put("fetchFailures", fetchFailures.sum());
+        metrics.put("blockingLookups", blockingLookups.sum());
+        metrics.put("ageSeconds", current == null ? -1
+                : Duration.between(current.fetchedAt(), Instant.now()).toSeconds());
+        return metrics;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void fetchInto(CompletableFuture<KeySet> result) {
+        fetches.increment();
+        KeySet fetched;
+        try {
+            fetched = fetch();
+        } catch (Exception e) {
+            fetchFailures.increment();
+            logger.warn("Erro ao buscar chaves do Google em {}; nova tentativa em {} s: {}",
+                    jwksUri, minRefreshInterval.toSeconds(), e.getMessage());
+            scheduleRefresh(minRefreshInterval);
+            inFlight.set(null);
+            result.completeExceptionally(e);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return;
+        }
+
+        keys = fetched;
+        // Renova antes de vencer, com folga de 10% do max-age
+        Duration maxAge = Duration.between(fetched.fetchedAt(), fetched.expiresAt());
+        Duration delay = maxAge.minus(maxAge.dividedBy(10));
+        scheduleRefresh(delay.compareTo(minRefreshInterval) < 0 ? minRefreshInterval : delay);
+        inFlight.set(null);
+        result.complete(fetched);
+        logger.debug("Chaves do Google atualizadas: {} (válidas por {} s)", fetched.keys().keySet(), maxAge.toSeconds());
+    }
+
+    private KeySet fetch() throws IOException, InterruptedException, GeneralSecurityException {
+        HttpRequest request = HttpRequest.newBuilder(jwksUri).timeout(FETCH_TIMEOUT).GET().build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode());
+        }
+
+        Map<String, PublicKey> parsed = new HashMap<>();
+        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+        for (JsonNode jwk : objectMapper.readTree(response.body()).path("keys")) {
+            if (!"RSA".equals(jwk.path("kty").asText()) || !jwk.hasNonNull("kid")) {
+                continue;
+            }
+            var spec = new RSAPublicKeySpec(unsigned(jwk.path("n").asText()), unsigned(jwk.path("e").asText()));
+            parsed.put(jwk.get("kid").asText(), keyFactory.generatePublic(spec));
+        }
+        if (parsed.isEmpty()) {
+            throw new IOException("JWKS sem chaves RSA");
+        }
+
+        Instant now = Instant.now();
+        return new KeySet(Map.copyOf(parsed), now, now.plus(maxAge(response)));
+    }
+
+    private void scheduleRefresh(Duration delay) {
+        ScheduledFuture<?> previous = nextRefresh;
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        if (!scheduler.isShutdown()) {
+            nextRefresh = scheduler.schedule(this::refresh, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private KeySet await(CompletableFuture<KeySet> refresh) {
+        try {
+            return refresh.get(FETCH_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Falha já registrada na busca; segue com as chaves que tiver
+        }
+        return keys;
+    }
+
+    /**
+     * {@code max-age} do Cache-Control descontando o {@code Age} de caches intermediários.
+     */
+    static Duration maxAge(HttpResponse<?> response) {
+        String cacheControl = response.headers().firstValue("Cache-Control").orElse("");
+        Matcher matcher = MAX_AGE.matcher(cacheControl);
+        if (!matcher.find()) {
+            return DEFAULT_MAX_AGE;
+        }
+        long maxAge = Long.parseLong(matcher.group(1));
+        long age = response.headers().firstValueAsLong("Age").orElse(0);
+        return Duration.ofSeconds(Math.max(0, maxAge - age));
+    }
+
+    private static BigInteger unsigned(String base64Url) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode(base64Url));
+    }
+
+    /**
+     * Chaves de uma busca, por {@code kid}.
+     */
+    record KeySet(Map<String, PublicKey> keys, Instant fetchedAt, Instant expiresAt) {
+    }
+}
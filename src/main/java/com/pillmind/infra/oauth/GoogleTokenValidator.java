@@ -1,31 +1,54 @@
 package com.pillmind.infra.oauth;
 
-import java.io.IOException;
-import java.security.GeneralSecurityException;
-import java.util.Collections;
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
 import com.pillmind.domain.errors.UnauthorizedException;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+
 /**
  * Validador de tokens do Google OAuth2
  * Valida idToken e extrai informações do usuário
+ * <p>
+ * A assinatura é verificada localmente com as chaves de {@link GoogleJwksKeyCache}; o login
+ * não faz I/O de rede enquanto as chaves estiverem em memória.
  */
 public class GoogleTokenValidator {
     private static final Logger logger = LoggerFactory.getLogger(GoogleTokenValidator.class);
-    private final GoogleIdTokenVerifier verifier;
 
-    public GoogleTokenValidator(String clientId) {
-        this.verifier = new GoogleIdTokenVerifier.Builder(
-                new NetHttpTransport(),
-                GsonFactory.getDefaultInstance())
-                .setAudience(Collections.singletonList(clientId))
+    private static final Set<String> ISSUERS = Set.of("accounts.google.com", "https://accounts.google.com");
+    /** Mesma tolerância de relógio do GoogleIdTokenVerifier. */
+    private static final long CLOCK_SKEW_SECONDS = 300;
+
+    private final JwtParser parser;
+
+    public GoogleTokenValidator(String clientId, GoogleJwksKeyCache keyCache) {
+        this.parser = Jwts.parserBuilder()
+                .requireAudience(clientId)
+                .setAllowedClockSkewSeconds(CLOCK_SKEW_SECONDS)
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        if (!"RS256".equals(header.getAlgorithm())) {
+                            throw new JwtException("Algoritmo não aceito: " + header.getAlgorithm());
+                        }
+                        PublicKey key = keyCache.key(header.getKeyId());
+                        if (key == null) {
+                            throw new JwtException("Chave do Google desconhecida: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
                 .build();
     }
 
@@ -37,33 +60,35 @@ public class GoogleTokenValidator {
      * @throws UnauthorizedException se o token for inválido
      */
     public GoogleUserInfo validate(String idTokenString) {
+        Claims payload;
         try {
-            GoogleIdToken idToken = verifier.verify(idTokenString);
-
-            if (idToken == null) {
-                throw new UnauthorizedException("Token do Google inválido ou expirado");
-            }
+            payload = parser.parseClaimsJws(idTokenString).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Token do Google rejeitado: {}", e.getMessage());
+            throw new UnauthorizedException("Token do Google inválido ou expirado", e);
+        }
 
-            GoogleIdToken.Payload payload = idToken.getPayload();
+        if (!ISSUERS.contains(payload.getIssuer())) {
+            throw new UnauthorizedException("Token do Google inválido ou expirado");
+        }
 
-            String userId = payload.getSubject();
-            String email = payload.getEmail();
-            String name = (String) payload.get("name");
-            String pictureUrl = (String) payload.get("picture");
-            Boolean emailVerified = payload.getEmailVerified();
+        String userId = payload.getSubject();
+        String email = payload.get("email", String.class);
+        String name = payload.get("name", String.class);
+        String pictureUrl = payload.get("picture", String.class);
 
-            if (!emailVerified) {
-                logger.warn("Tentativa de login com email não verificado: {}", email);
-                throw new UnauthorizedException("Email do Google não verificado");
-            }
+        if (!isEmailVerified(payload.get("email_verified"))) {
+            logger.warn("Tentativa de login com email não verificado: {}", email);
+            throw new UnauthorizedException("Email do Google não verificado");
+        }
 
-            logger.info("Token Google validado com sucesso para: {}", email);
-            return new GoogleUserInfo(userId, email, name, pictureUrl);
+        logger.info("Token Google validado com sucesso para: {}", email);
+        return new GoogleUserInfo(userId, email, name, pictureUrl);
+    }
 
-        } catch (GeneralSecurityException | IOException e) {
-            logger.error("Erro ao validar token do Google: {}", e.getMessage(), e);
-            throw new UnauthorizedException("Erro ao validar token do Google: " + e.getMessage(), e);
-        }
+    /** O Google já enviou {@code email_verified} como booleano e como string. */
+    private static boolean isEmailVerified(Object claim) {
+        return Boolean.TRUE.equals(claim) || "true".equals(claim);
     }
 
     /**
@@ -0,0 +1,91 @@
+package com.pillmind.infra.ratelimit;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pillmind.data.protocols.ratelimit.RateLimiter;
+import com.pillmind.infra.metrics.MetricsSource;
+
+/**
+ * Token bucket em memória, implementado como GCRA: cada chave guarda um único instante (o
+ * "theoretical arrival time") atualizado por CAS, sem locks.
+ * <p>
+ * Equivale a um balde de {@code burst} permissões reabastecido a {@code permitsPerMinute}. As
+ * chaves ficam num Caffeine limitado a {@code maxKeys}; a admissão W-TinyLFU (um sketch de
+ * frequência) faz uma enxurrada de chaves novas — IPs/emails aleatórios — despejar umas às
+ * outras em vez das chaves ativas, então a memória fica limitada.
+ */
+public class InMemoryRateLimiter implements RateLimiter, MetricsSource {
+  private final String name;
+  private final long intervalNanos;
+  private final long burstNanos;
+  private final LongSupplier nanoClock;
+  private final Cache<String, AtomicLong> buckets;
+  private final LongAdder allowed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+
+  /**
+   * @param name nome nas métricas (ex.: "signinIpRateLimit")
+   */
+  public InMemoryRateLimiter(String name, int burst, int permitsPerMinute, long maxKeys) {
+    this(name, burst, permitsPerMinute, maxKeys, System::nanoTime, ForkJoinPool.commonPool());
+  }
+
+  InMemoryRateLimiter(String name, int burst, int permitsPerMinute, long maxKeys, LongSupplier nanoClock,
+      Executor maintenanceExecutor) {
+    this.name = name;
+    this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / permitsPerMinute;
+    this.burstNanos = intervalNanos * burst;
+    this.nanoClock = nanoClock;
+    this.buckets = Caffeine.newBuilder()
+        .maximumSize(maxKeys)
+        // Balde cheio de novo: a entrada não guarda mais nada útil
+        .expireAfterAccess(Duration.ofNanos(burstNanos))
+        .ticker(nanoClock::getAsLong)
+        .executor(maintenanceExecutor)
+        .build();
+  }
+
+  @Override
+  public long tryAcquire(String key) {
+    AtomicLong bucket = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+    while (true) {
+      long now = nanoClock.getAsLong();
+      long tat = bucket.get();
+      long start = tat == Long.MIN_VALUE || tat < now ? now : tat;
+      long next = start + intervalNanos;
+      long waitNanos = next - burstNanos - now;
+      if (waitNanos > 0) {
+        rejected.increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+      }
+      if (bucket.compareAndSet(tat, next)) {
+        allowed.increment();
+        return 0;
+      }
+    }
+  }
+
+  @Override
+  public String metricsName() {
+    return name;
+  }
+
+  @Override
+  public Map<String, Number> metrics() {
+    Map<String, Number> metrics = new LinkedHashMap<>();
+    metrics.put("allowed", allowed.sum());
+    metrics.put("rejected", rejected.sum());
+    metrics.put("keys", buckets.estimatedSize());
+    return metrics;
+  }
+}
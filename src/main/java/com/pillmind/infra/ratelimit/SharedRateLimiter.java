@@ -0,0 +1,90 @@
+package com.pillmind.infra.ratelimit;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.pillmind.data.protocols.ratelimit.RateLimiter;
+import com.pillmind.infra.cache.SharedCacheClient;
+import com.pillmind.infra.cache.SharedCacheUnavailableException;
+import com.pillmind.infra.metrics.MetricsSource;
+
+/**
+ * Token bucket compartilhado entre as réplicas (GCRA num script Lua no Redis).
+ * <p>
+ * O script usa o relógio do próprio Redis ({@code TIME}), então réplicas com relógios
+ * diferentes enxergam o mesmo balde. Enquanto o Redis estiver indisponível, cada réplica
+ * limita localmente com o {@link InMemoryRateLimiter} de fallback.
+ */
+public class SharedRateLimiter implements RateLimiter, MetricsSource {
+  private static final String KEY_PREFIX = "pillmind:ratelimit:";
+
+  /** ARGV: intervalo e burst em microssegundos. Retorna 0 ou a espera em microssegundos. */
+  static final String SCRIPT = """
+      local interval = tonumber(ARGV[1])
+      local burst = tonumber(ARGV[2])
+      local time = redis.call('TIME')
+      local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+      local tat = tonumber(redis.call('GET', KEYS[1]) or now)
+      if tat < now then tat = now end
+      local nextTat = tat + interval
+      local wait = nextTat - burst - now
+      if wait > 0 then return wait end
+      redis.call('SET', KEYS[1], string.format('%d', nextTat), 'PX', math.ceil((nextTat - now) / 1000))
+      return 0
+      """;
+
+  private final String name;
+  private final SharedCacheClient client;
+  private final InMemoryRateLimiter fallback;
+  private final List<String> args;
+  private final LongAdder allowed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder fallbacks = new LongAdder();
+
+  /**
+   * @param fallback limitador local usado enquanto o Redis não responde
+   */
+  public SharedRateLimiter(String name, SharedCacheClient client, int burst, int permitsPerMinute,
+      InMemoryRateLimiter fallback) {
+    this.name = name;
+    this.client = client;
+    this.fallback = fallback;
+    long intervalMicros = TimeUnit.MINUTES.toMicros(1) / permitsPerMinute;
+    this.args = List.of(String.valueOf(intervalMicros), String.valueOf(intervalMicros * burst));
+  }
+
+  @Override
+  public long tryAcquire(String key) {
+    long waitMicros;
+    try {
+      waitMicros = client.eval(SCRIPT, List.of(KEY_PREFIX + name + ":" + key), args);
+    } catch (SharedCacheUnavailableException e) {
+      fallbacks.increment();
+      return fallback.tryAcquire(key);
+    }
+    if (waitMicros > 0) {
+      rejected.increment();
+      return Math.max(1, TimeUnit.MICROSECONDS.toMillis(waitMicros));
+    }
+    allowed.increment();
+    return 0;
+  }
+
+  @Override
+  public String metricsName() {
+    return name;
+  }
+
+  @Override
+  public Map<String, Number> metrics() {
+    Map<String, Number> metrics = new LinkedHashMap<>();
+    metrics.put("allowed", allowed.sum());
+    metrics.put("rejected", rejected.sum());
+    metrics.put("fallbacks", fallbacks.sum());
+    metrics.put("fallbackKeys", fallback.metrics().get("keys"));
+    return metrics;
+  }
+}
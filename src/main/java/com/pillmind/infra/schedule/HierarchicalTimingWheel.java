@@ -0,0 +1,208 @@
+package com.pillmind.infra.schedule;
+
+import java.util.function.Consumer;
+
+/**
+ * Roda de tempo hierárquica (no estilo dos timers do kernel Linux) com 4 níveis de 256 slots.
+ * <p>
+ * O nível 0 tem um slot por tick; cada nível acima cobre 256 vezes mais tempo por slot. Inserir e
+ * cancelar custam O(1) (listas duplamente encadeadas intrusivas em {@link Timer}); quando o nível
+ * 0 dá a volta, o slot atual do nível de cima é redistribuído ("cascata"). Com 4 níveis a roda
+ * alcança 2^32 ticks à frente; prazos mais distantes ficam no último slot e são reposicionados
+ * na cascata. Prazos já vencidos disparam no próximo avanço. Trechos sem timers nos níveis de baixo
+ * são saltados até a próxima cascata, então um avanço longo (pausa da thread, roda quase vazia)
+ * não custa um passo por tick.
+ * <p>
+ * Não é thread-safe: quem usa serializa o acesso.
+ *
+ * @param <T> tipo dos timers guardados
+ */
+final class HierarchicalTimingWheel<T extends HierarchicalTimingWheel.Timer> {
+  private static final int LEVELS = 4;
+  private static final int SLOT_BITS = 8;
+  private static final int SLOTS = 1 << SLOT_BITS;
+  private static final int SLOT_MASK = SLOTS - 1;
+  private static final long MAX_DELTA = (1L << (LEVELS * SLOT_BITS)) - 1;
+
+  /**
+   * Nó de uma lista de slot. Subclasses carregam o que o disparo precisa.
+   */
+  static class Timer {
+    private long deadline;
+    private int level;
+    private Timer prev;
+    private Timer next;
+
+    /** Tick em que o timer dispara (válido enquanto agendado) */
+    final long deadline() {
+      return deadline;
+    }
+
+    final boolean isScheduled() {
+      return next != null;
+    }
+  }
+
+  /** Sentinelas das listas circulares, {@code [nível][slot]} */
+  private final Timer[][] slots = new Timer[LEVELS][SLOTS];
+  private final int[] levelSizes = new int[LEVELS];
+  /** Próximo tick a processar */
+  private long currentTick;
+  private int size;
+
+  HierarchicalTimingWheel(long startTick) {
+    this.currentTick = startTick;
+    for (Timer[] level : slots) {
+      for (int i = 0; i < SLOTS; i++) {
+        Timer sentinel = new Timer();
+        sentinel.prev = sentinel;
+        sentinel.next = sentinel;
+        level[i] = sentinel;
+      }
+    }
+  }
+
+  long currentTick() {
+    return currentTick;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Agenda (ou reagenda) o timer para {@code deadline}.
+   */
+  void schedule(T timer, long deadline) {
+    // Campos privados de Timer não são visíveis pela variável de tipo
+    Timer node = timer;
+    if (node.isScheduled()) {
+      unlink(node);
+      size--;
+    }
+    node.deadline = deadline;
+    place(node);
+    size++;
+  }
+
+  /**
+   * @return false se o timer não estava agendado
+   */
+  boolean cancel(T timer) {
+    if (!timer.isScheduled()) {
+      return false;
+    }
+    unlink(timer);
+    size--;
+    return true;
+  }
+
+  /**
+   * Processa todos os ticks até {@code tick} (inclusive), entregando os timers vencidos em ordem de
+   * prazo (na mesma ordem de inserção dentro de um tick). O timer já está fora da roda quando
+   * chega a {@code expired} e pode ser reagendado ali mesmo.
+   */
+  @SuppressWarnings("unchecked")
+  void advanceTo(long tick, Consumer<? super T> expired) {
+    while (currentTick <= tick) {
+      int lowest = lowestOccupiedLevel();
+      if (lowest == LEVELS) {
+        currentTick = tick + 1;
+        return;
+      }
+      if (lowest > 0) {
+        // Nível 0 vazio: nada dispara antes da próxima cascata do nível ocupado mais baixo
+        long mask = (1L << (lowest * SLOT_BITS)) - 1;
+        long nextCascade = (currentTick + mask) & ~mask;
+        if (nextCascade > tick) {
+          currentTick = tick + 1;
+          return;
+        }
+        currentTick = nextCascade;
+      }
+      int index = (int) (currentTick & SLOT_MASK);
+      if (index == 0) {
+        cascade();
+      }
+      currentTick++;
+      Timer sentinel = slots[0][index];
+      // Desencadeia a lista inteira antes de entregar: reagendar no mesmo slot não entra nesta rodada
+      Timer timer = sentinel.next;
+      sentinel.prev = sentinel;
+      sentinel.next = sentinel;
+      while (timer != sentinel) {
+        Timer next = timer.next;
+        timer.prev = null;
+        timer.next = null;
+        levelSizes[0]--;
+        size--;
+        expired.accept((T) timer);
+        timer = next;
+      }
+    }
+  }
+
+  private void cascade() {
+    for (int level = 1; level < LEVELS; level++) {
+      int index = (int) ((currentTick >>> (level * SLOT_BITS)) & SLOT_MASK);
+      Timer sentinel = slots[level][index];
+      Timer timer = sentinel.next;
+      sentinel.prev = sentinel;
+      sentinel.next = sentinel;
+      while (timer != sentinel) {
+        Timer next = timer.next;
+        levelSizes[level]--;
+        place(timer);
+        timer = next;
+      }
+      // Só desce mais um nível quando este também deu a volta
+      if (index != 0) {
+        return;
+      }
+    }
+  }
+
+  private void place(Timer timer) {
+    long deadline = timer.deadline;
+    long delta = deadline - currentTick;
+    int level;
+    long position;
+    if (delta < 0) {
+      level = 0;
+      position = currentTick;
+    } else {
+      if (delta > MAX_DELTA) {
+        delta = MAX_DELTA;
+        deadline = currentTick + MAX_DELTA;
+      }
+      level = 0;
+      while (level < LEVELS - 1 && delta >= 1L << ((level + 1) * SLOT_BITS)) {
+        level++;
+      }
+      position = deadline >>> (level * SLOT_BITS);
+    }
+    Timer sentinel = slots[level][(int) (position & SLOT_MASK)];
+    timer.level = level;
+    levelSizes[level]++;
+    timer.prev = sentinel.prev;
+    timer.next = sentinel;
+    sentinel.prev.next = timer;
+    sentinel.prev = timer;
+  }
+
+  private int lowestOccupiedLevel() {
+    int level = 0;
+    while (level < LEVELS && levelSizes[level] == 0) {
+      level++;
+    }
+    return level;
+  }
+
+  private void unlink(Timer timer) {
+    levelSizes[timer.level]--;
+    timer.prev.next = timer.next;
+    timer.next.prev = timer.prev;
+    timer.prev = null;
+    timer.next = null;
+  }
+}
@@ -0,0 +1,20 @@
+package com.pillmind.infra.schedule;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pillmind.data.protocols.schedule.ReminderSink;
+import com.pillmind.domain.models.DoseReminder;
+
+/**
+ * Sink padrão enquanto não há integração de push: só registra cada lembrete no log.
+ */
+public class LoggingReminderSink implements ReminderSink {
+  private static final Logger logger = LoggerFactory.getLogger(LoggingReminderSink.class);
+
+  @Override
+  public void deliver(DoseReminder reminder) {
+    logger.info("Lembrete: usuário {} medicamento {} ({} {}) às {}", reminder.userId(), reminder.medicineId(),
+        reminder.medicineName(), reminder.dosage(), reminder.scheduledAt());
+  }
+}
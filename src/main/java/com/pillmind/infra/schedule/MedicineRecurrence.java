@@ -0,0 +1,102 @@
+package com.pillmind.infra.schedule;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+
+import com.pillmind.domain.models.DoseTimes;
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.domain.models.ScheduledDose;
+
+/**
+ * Recorrência compilada de um medicamento: horários do dia num bitset de 1440 minutos, repetidos
+ * todo dia em {@code [startDate, endDate]}.
+ * <p>
+ * {@code frequency} é texto livre na API e não entra na recorrência: as doses saem de
+ * {@code times}, como os apps já calculam.
+ */
+final class MedicineRecurrence {
+  private final String medicineId;
+  private final String name;
+  private final String dosage;
+  private final LocalDate startDate;
+  /** Inclusivo; null = sem fim */
+  private final LocalDate endDate;
+  private final BitSet timesOfDay;
+  /** {@code updated_at} da linha compilada; ordena escritas avisadas fora de ordem */
+  private final LocalDateTime updatedAt;
+
+  private MedicineRecurrence(Medicine medicine) {
+    this.medicineId = medicine.id();
+    this.name = medicine.name();
+    this.dosage = medicine.dosage();
+    this.startDate = medicine.startDate();
+    this.endDate = medicine.endDate();
+    this.updatedAt = medicine.updatedAt();
+    DoseTimes times = medicine.doseTimes();
+    this.timesOfDay = new BitSet(DoseTimes.MINUTES_PER_DAY);
+    for (int i = 0; i < times.size(); i++) {
+      timesOfDay.set(times.minuteAt(i));
+    }
+  }
+
+  static MedicineRecurrence compile(Medicine medicine) {
+    return new MedicineRecurrence(medicine);
+  }
+
+  String medicineId() {
+    return medicineId;
+  }
+
+  String name() {
+    return name;
+  }
+
+  LocalDate startDate() {
+    return startDate;
+  }
+
+  LocalDate endDate() {
+    return endDate;
+  }
+
+  BitSet timesOfDay() {
+    return timesOfDay;
+  }
+
+  LocalDateTime updatedAt() {
+    return updatedAt;
+  }
+
+  boolean activeOn(LocalDate day) {
+    return !day.isBefore(startDate) && (endDate == null || !day.isAfter(endDate));
+  }
+
+  /**
+   * Primeira dose em ou depois de {@code from}, ou null se a recorrência já terminou.
+   */
+  LocalDateTime nextDoseAtOrAfter(LocalDateTime from) {
+    if (timesOfDay.isEmpty()) {
+      return null;
+    }
+    LocalDate day = from.toLocalDate();
+    int minute = ScheduleMinutes.ceil(from);
+    if (day.isBefore(startDate)) {
+      day = startDate;
+      minute = 0;
+    }
+    int next = minute < DoseTimes.MINUTES_PER_DAY ? timesOfDay.nextSetBit(minute) : -1;
+    if (next < 0) {
+      day = day.plusDays(1);
+      next = timesOfDay.nextSetBit(0);
+    }
+    if (!activeOn(day)) {
+      return null;
+    }
+    return ScheduleMinutes.at(day, next);
+  }
+
+  ScheduledDose dose(LocalDate day, int minute) {
+    return new ScheduledDose(medicineId, name, dosage, ScheduleMinutes.at(day, minute));
+  }
+}
@@ -0,0 +1,525 @@
+package com.pillmind.infra.schedule;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntPredicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.data.protocols.schedule.MedicineChangeListener;
+import com.pillmind.data.protocols.schedule.ReminderSink;
+import com.pillmind.domain.models.DoseReminder;
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.infra.metrics.MetricsSource;
+
+/**
+ * Dispara um lembrete no horário de cada dose, em processo.
+ * <p>
+ * Cada medicamento ativo ocupa uma única entrada na {@link HierarchicalTimingWheel}: a próxima
+ * dose dele. A entrada guarda só IDs e o minuto da dose; nome, dosagem e horários são relidos do
+ * repositório no disparo, o que também descarta entradas que ficaram velhas (medicamento alterado
+ * ou removido por outra réplica). Por isso o repositório tem que ler do banco, sem o cache local
+ * de medicamentos, que não vê escritas de outras réplicas. Depois de entregar ao
+ * {@link ReminderSink}, a mesma entrada é reagendada para a dose seguinte.
+ * <p>
+ * Na inicialização o estado é reconstruído numa única varredura dos medicamentos ativos
+ * ({@link MedicineRepository#streamActive}); doses perdidas enquanto o processo estava parado não
+ * são reenviadas. Escritas chegam pelos casos de uso ({@link MedicineChangeListener}). O total de
+ * entradas é limitado por {@code maxEntries}; medicamentos além disso ficam sem lembrete e são
+ * contados em {@code rejected}.
+ * <p>
+ * Com {@code shardCount > 0} o despachante é particionado: os usuários são divididos em shards
+ * ({@link ReminderShards}) e só os shards entregues pelo {@link ShardLeaseCoordinator} são
+ * atendidos, enquanto o lease deles for válido. Escritas feitas em outras réplicas chegam por
+ * {@link #pollChanges(Duration)}.
+ */
+public class ReminderDispatcher implements MedicineChangeListener, MetricsSource, AutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(ReminderDispatcher.class);
+  /** Espera antes de tentar de novo uma dose cujo medicamento não pôde ser lido */
+  private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+  private final MedicineRepository medicineRepository;
+  private final ReminderSink sink;
+  private final Clock clock;
+  private final long tickMs;
+  private final long maxEntries;
+  /** 0 = sem partição: atende todos os usuários */
+  private final int shardCount;
+  private final ReentrantLock lock = new ReentrantLock();
+  /**
+   * Segurado durante as entregas de um tick: liberar shards espera o lote em andamento, então
+   * nenhuma dose de um shard liberado é entregue depois que outro nó pode assumi-lo.
+   */
+  private final ReentrantLock firing = new ReentrantLock();
+  /** Protegida por {@code lock} */
+  private final HierarchicalTimingWheel<Reminder> wheel;
+  /** Alterado só com {@code lock}; concorrente para a leitura das métricas */
+  private final Map<String, Reminder> reminders = new ConcurrentHashMap<>();
+  /** Protegido por {@code lock} */
+  private final BitSet ownedShards = new BitSet();
+  private final ScheduledExecutorService ticker;
+  private final LongAdder delivered = new LongAdder();
+  private final LongAdder skipped = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder leaseLapsed = new LongAdder();
+  private final AtomicLong rejected = new AtomicLong();
+  /** Epoch ms até quando os shards atuais podem ser atendidos */
+  private volatile long leaseValidUntil;
+  private volatile int ownedShardCount;
+  private volatile long lastLagMs;
+  private volatile long lastRebuildMs;
+  /** Início da última leitura de alterações; só a thread do coordenador usa */
+  private LocalDateTime lastPoll;
+
+  /**
+   * Despachante de réplica única: atende todos os usuários.
+   *
+   * @param tickMs     resolução do disparo
+   * @param maxEntries máximo de medicamentos com lembrete agendado
+   */
+  public ReminderDispatcher(MedicineRepository medicineRepository, ReminderSink sink, long tickMs, long maxEntries) {
+    this(medicineRepository, sink, tickMs, maxEntries, 0, Clock.systemDefaultZone());
+  }
+
+  /**
+   * Despachante particionado em {@code shardCount} shards; começa sem nenhum e só atende os que o
+   * {@link ShardLeaseCoordinator} entregar.
+   */
+  public ReminderDispatcher(MedicineRepository medicineRepository, ReminderSink sink, long tickMs, long maxEntries,
+      int shardCount) {
+    this(medicineRepository, sink, tickMs, maxEntries, shardCount, Clock.systemDefaultZone());
+  }
+
+  ReminderDispatcher(MedicineRepository medicineRepository, ReminderSink sink, long tickMs, long maxEntries,
+      int shardCount, Clock clock) {
+    this.medicineRepository = medicineRepository;
+    this.sink = sink;
+    this.tickMs = tickMs;
+    this.maxEntries = maxEntries;
+    this.shardCount = shardCount;
+    this.clock = clock;
+    this.leaseValidUntil = shardCount == 0 ? Long.MAX_VALUE : 0;
+    this.lastPoll = LocalDateTime.now(clock);
+    this.wheel = new HierarchicalTimingWheel<>(Math.floorDiv(clock.millis(), tickMs));
+    this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "reminder-dispatcher");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  int shardCount() {
+    return shardCount;
+  }
+
+  /**
+   * Começa a disparar. Sem partição, reconstrói antes as entradas a partir do banco, na thread do
+   * despachante: o primeiro tick só roda depois da reconstrução.
+   */
+  public void start() {
+    if (shardCount == 0) {
+      ticker.execute(() -> {
+        try {
+          rebuild();
+        } catch (RuntimeException e) {
+          logger.error("Erro ao reconstruir lembretes; só medicamentos alterados a partir de agora serão lembrados",
+              e);
+        }
+      });
+    }
+    ticker.scheduleAtFixedRate(() -> {
+      try {
+        runDue();
+      } catch (RuntimeException e) {
+        logger.error("Erro ao disparar lembretes: {}", e.getMessage(), e);
+      }
+    }, tickMs, tickMs, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Agenda a próxima dose de cada medicamento ativo dos shards atendidos.
+   *
+   * @return medicamentos agendados
+   */
+  int rebuild() {
+    return load(shard -> true);
+  }
+
+  /**
+   * Passa a atender os shards, agendando os medicamentos deles numa varredura.
+   *
+   * @param validUntil epoch ms em que o lease expira
+   */
+  void acquireShards(Set<Integer> shards, long validUntil) {
+    lock.lock();
+    try {
+      shards.forEach(ownedShards::set);
+      ownedShardCount = ownedShards.cardinality();
+      leaseValidUntil = validUntil;
+    } finally {
+      lock.unlock();
+    }
+    load(shards::contains);
+  }
+
+  /**
+   * Deixa de atender os shards e descarta as entradas deles. Espera as entregas em andamento.
+   */
+  void releaseShards(Set<Integer> shards) {
+    firing.lock();
+    lock.lock();
+    try {
+      shards.forEach(ownedShards::clear);
+      ownedShardCount = ownedShards.cardinality();
+      reminders.values().removeIf(reminder -> {
+        if (!shards.contains(reminder.shard)) {
+          return false;
+        }
+        wheel.cancel(reminder);
+        return true;
+      });
+    } finally {
+      lock.unlock();
+      firing.unlock();
+    }
+  }
+
+  /**
+   * Estende o prazo dos shards atuais depois de renovar os leases.
+   */
+  void renewLease(long validUntil) {
+    leaseValidUntil = validUntil;
+  }
+
+  /**
+   * Aplica medicamentos alterados desde a leitura anterior (menos {@code overlap}, para tolerar
+   * relógios e commits atrasados). Entradas que já viram a mesma alteração não mudam.
+   *
+   * @return medicamentos lidos
+   */
+  int pollChanges(Duration overlap) {
+    LocalDateTime started = LocalDateTime.now(clock);
+    int count = medicineRepository.streamUpdatedSince(lastPoll.minus(overlap), medicine -> save(medicine, true));
+    lastPoll = started;
+    return count;
+  }
+
+  @Override
+  public void medicineSaved(Medicine medicine) {
+    save(medicine, false);
+  }
+
+  @Override
+  public void medicineDeleted(String userId, String medicineId) {
+    lock.lock();
+    try {
+      Reminder reminder = reminders.get(medicineId);
+      if (reminder != null) {
+        remove(reminder);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Dispara as doses vencidas até agora. Chamado a cada tick; package-private para testes.
+   */
+  void runDue() {
+    firing.lock();
+    try {
+      long now = Math.floorDiv(clock.millis(), tickMs);
+      List<Due> due = new ArrayList<>();
+      lock.lock();
+      try {
+        wheel.advanceTo(now, reminder -> due.add(new Due(reminder, reminder.doseMinute)));
+      } finally {
+        lock.unlock();
+      }
+      // Repositório e sink fora do lock: escritas concorrentes não esperam a entrega
+      for (Due dose : due) {
+        fire(dose);
+      }
+    } finally {
+      firing.unlock();
+    }
+  }
+
+  /**
+   * Próxima dose agendada do medicamento (teste).
+   */
+  Optional<LocalDateTime> nextReminder(String medicineId) {
+    lock.lock();
+    try {
+      Reminder reminder = reminders.get(medicineId);
+      return reminder == null || !reminder.isScheduled() ? Optional.empty()
+          : Optional.of(toDateTime(reminder.doseMinute));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Agenda os medicamentos ativos dos shards aceitos por {@code shards} e atendidos agora.
+   * Medicamentos que os casos de uso já agendaram durante a varredura não são sobrescritos: a
+   * escrita é mais nova que a linha lida.
+   */
+  private int load(IntPredicate shards) {
+    long started = System.nanoTime();
+    LocalDateTime now = LocalDateTime.now(clock);
+    int[] scheduled = { 0 };
+    int scanned = medicineRepository.streamActive(now.toLocalDate(), medicine -> {
+      int shard = shardOf(medicine.userId());
+      if (!shards.test(shard)) {
+        return;
+      }
+      LocalDateTime next = MedicineRecurrence.compile(medicine).nextDoseAtOrAfter(now);
+      if (next == null) {
+        return;
+      }
+      lock.lock();
+      try {
+        if (owns(shard) && !reminders.containsKey(medicine.id()) && add(medicine, shard, next) != null) {
+          scheduled[0]++;
+        }
+      } finally {
+        lock.unlock();
+      }
+    });
+    lastRebuildMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    logger.info("Lembretes reconstruídos: {} agendados de {} medicamentos ativos em {} ms", scheduled[0], scanned,
+        lastRebuildMs);
+    return scheduled[0];
+  }
+
+  /**
+   * @param onlyIfNewer ignora a escrita se a entrada já reflete este {@code updatedAt}
+   */
+  private void save(Medicine medicine, boolean onlyIfNewer) {
+    int shard = shardOf(medicine.userId());
+    LocalDateTime next = MedicineRecurrence.compile(medicine).nextDoseAtOrAfter(LocalDateTime.now(clock));
+    lock.lock();
+    try {
+      if (!owns(shard)) {
+        return;
+      }
+      Reminder reminder = reminders.get(medicine.id());
+      if (onlyIfNewer && reminder != null && reminder.updatedAt >= toSecond(medicine.updatedAt())) {
+        return;
+      }
+      if (next == null) {
+        if (reminder != null) {
+          remove(reminder);
+        }
+      } else if (reminder == null) {
+        add(medicine, shard, next);
+      } else {
+        reminder.updatedAt = toSecond(medicine.updatedAt());
+        schedule(reminder, next);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void fire(Due dose) {
+    Reminder reminder = dose.reminder();
+    LocalDateTime doseAt = toDateTime(dose.doseMinute());
+    if (clock.millis() >= leaseValidUntil) {
+      // Lease não renovado a tempo: outro nó pode assumir o shard; o coordenador decide
+      leaseLapsed.increment();
+      reschedule(dose, doseAt, tickOf(LocalDateTime.now(clock).plus(RETRY_DELAY)));
+      return;
+    }
+    Optional<Medicine> medicine;
+    try {
+      medicine = medicineRepository.findByIdAndUserId(reminder.medicineId, reminder.userId);
+    } catch (RuntimeException e) {
+      failures.increment();
+      logger.warn("Erro ao ler medicamento {} para lembrete; nova tentativa em {}: {}", reminder.medicineId,
+          RETRY_DELAY, e.getMessage());
+      reschedule(dose, doseAt, tickOf(LocalDateTime.now(clock).plus(RETRY_DELAY)));
+      return;
+    }
+    if (medicine.isEmpty()) {
+      reschedule(dose, null, 0);
+      return;
+    }
+
+    var recurrence = MedicineRecurrence.compile(medicine.get());
+    LocalDateTime next = recurrence.nextDoseAtOrAfter(doseAt);
+    if (doseAt.equals(next)) {
+      deliver(medicine.get(), doseAt);
+      next = recurrence.nextDoseAtOrAfter(doseAt.plusMinutes(1));
+    } else {
+      // Horários mudaram sem passar por esta réplica: segue para a dose que vale agora
+      skipped.increment();
+    }
+    reschedule(dose, next, next == null ? 0 : tickOf(next));
+  }
+
+  private void deliver(Medicine medicine, LocalDateTime doseAt) {
+    try {
+      sink.deliver(new DoseReminder(medicine.userId(), medicine.id(), medicine.name(), medicine.dosage(), doseAt));
+      delivered.increment();
+      lastLagMs = clock.millis() - doseAt.atZone(clock.getZone()).toInstant().toEpochMilli();
+    } catch (RuntimeException e) {
+      failures.increment();
+      logger.warn("Erro ao entregar lembrete do medicamento {}: {}", medicine.id(), e.getMessage());
+    }
+  }
+
+  /**
+   * Reagenda a entrada depois do disparo, a menos que uma escrita já a tenha reagendado ou
+   * removido enquanto o lock estava livre.
+   *
+   * @param next null remove a entrada
+   */
+  private void reschedule(Due dose, LocalDateTime next, long deadline) {
+    Reminder reminder = dose.reminder();
+    lock.lock();
+    try {
+      if (reminder.isScheduled() || reminders.get(reminder.medicineId) != reminder) {
+        return;
+      }
+      if (next == null) {
+        reminders.remove(reminder.medicineId);
+        return;
+      }
+      reminder.doseMinute = toMinute(next);
+      wheel.schedule(reminder, deadline);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Com {@code lock} */
+  private Reminder add(Medicine medicine, int shard, LocalDateTime doseAt) {
+    if (reminders.size() >= maxEntries) {
+      if (rejected.getAndIncrement() == 0) {
+        logger.warn("Limite de {} lembretes atingido; novos medicamentos ficam sem lembrete", maxEntries);
+      }
+      return null;
+    }
+    Reminder reminder = new Reminder(medicine.userId(), medicine.id(), shard);
+    reminder.updatedAt = toSecond(medicine.updatedAt());
+    reminders.put(medicine.id(), reminder);
+    schedule(reminder, doseAt);
+    return reminder;
+  }
+
+  /** Com {@code lock} */
+  private void schedule(Reminder reminder, LocalDateTime doseAt) {
+    reminder.doseMinute = toMinute(doseAt);
+    wheel.schedule(reminder, tickOf(doseAt));
+  }
+
+  /** Com {@code lock} */
+  private void remove(Reminder reminder) {
+    wheel.cancel(reminder);
+    reminders.remove(reminder.medicineId);
+  }
+
+  /** Com {@code lock} */
+  private boolean owns(int shard) {
+    return shardCount == 0 || ownedShards.get(shard);
+  }
+
+  private int shardOf(String userId) {
+    return shardCount == 0 ? 0 : ReminderShards.shardOf(userId, shardCount);
+  }
+
+  /** Primeiro tick em que a dose já chegou */
+  private long tickOf(LocalDateTime doseAt) {
+    return Math.ceilDiv(doseAt.atZone(clock.getZone()).toInstant().toEpochMilli(), tickMs);
+  }
+
+  private static long toSecond(LocalDateTime time) {
+    return time.toEpochSecond(ZoneOffset.UTC);
+  }
+
+  private static long toMinute(LocalDateTime time) {
+    return toSecond(time) / 60;
+  }
+
+  private static LocalDateTime toDateTime(long minute) {
+    return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+  }
+
+  @Override
+  public String metricsName() {
+    return "reminders";
+  }
+
+  @Override
+  public Map<String, Number> metrics() {
+    Map<String, Number> metrics = new LinkedHashMap<>();
+    metrics.put("scheduled", reminders.size());
+    metrics.put("delivered", delivered.sum());
+    metrics.put("skipped", skipped.sum());
+    metrics.put("failures", failures.sum());
+    metrics.put("rejected", rejected.get());
+    metrics.put("lastLagMs", lastLagMs);
+    metrics.put("lastRebuildMs", lastRebuildMs);
+    if (shardCount > 0) {
+      metrics.put("shards", ownedShardCount);
+      metrics.put("leaseLapsed", leaseLapsed.sum());
+    }
+    return metrics;
+  }
+
+  /**
+   * Para os disparos; lembretes pendentes são reconstruídos na próxima inicialização.
+   */
+  @Override
+  public void close() {
+    ticker.shutdown();
+    try {
+      ticker.awaitTermination(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Próxima dose de um medicamento. Só IDs e o minuto local da dose: o resto vem do repositório no
+   * disparo.
+   */
+  private static final class Reminder extends HierarchicalTimingWheel.Timer {
+    private final String userId;
+    private final String medicineId;
+    private final int shard;
+    /** Minutos desde a época, horário local; protegido por {@code lock} */
+    private long doseMinute;
+    /** {@code updated_at} (segundos) da versão agendada; protegido por {@code lock} */
+    private long updatedAt;
+
+    private Reminder(String userId, String medicineId, int shard) {
+      this.userId = userId;
+      this.medicineId = medicineId;
+      this.shard = shard;
+    }
+  }
+
+  /** Entrada vencida, com o minuto da dose copiado sob o lock */
+  private record Due(Reminder reminder, long doseMinute) {
+  }
+}
@@ -0,0 +1,22 @@
+package com.pillmind.infra.schedule;
+
+/**
+ * Shard de lembretes de cada usuário. Estável entre JVMs ({@link String#hashCode()} é definido
+ * pela especificação), com o finalizador do MurmurHash3 para espalhar IDs parecidos.
+ */
+final class ReminderShards {
+
+  private ReminderShards() {
+    // Utility class
+  }
+
+  static int shardOf(String userId, int shardCount) {
+    int h = userId.hashCode();
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return Math.floorMod(h, shardCount);
+  }
+}
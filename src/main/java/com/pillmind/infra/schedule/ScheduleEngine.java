@@ -0,0 +1,127 @@
+package com.pillmind.infra.schedule;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pillmind.data.protocols.cache.VersionTracker;
+import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.data.protocols.schedule.DoseSchedule;
+import com.pillmind.data.protocols.schedule.MedicineChangeListener;
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.domain.models.ScheduledDose;
+import com.pillmind.infra.metrics.MetricsSource;
+
+/**
+ * Agenda de doses de cada usuário compilada em memória ({@link UserSchedule}).
+ * <p>
+ * A primeira consulta de um usuário compila os medicamentos dele; depois, os casos de uso de
+ * escrita avisam o motor ({@link MedicineChangeListener}) e só o medicamento alterado é
+ * recompilado. Como em {@code CachingMedicineRepository}, cada agenda guarda a versão de
+ * {@link VersionTracker} e é recompilada do banco quando outra réplica altera os medicamentos do
+ * usuário. O peso de cada entrada é o número de medicamentos.
+ * <p>
+ * Avisos de escritas concorrentes do mesmo medicamento podem chegar fora de ordem; o que chega
+ * depois de uma escrita mais nova (pelo {@code updatedAt}) ou da remoção é ignorado, em vez de
+ * deixar a linha antiga na agenda sob a versão atual.
+ */
+public class ScheduleEngine implements DoseSchedule, MedicineChangeListener, MetricsSource {
+  private final MedicineRepository medicineRepository;
+  private final VersionTracker versionTracker;
+  private final Cache<String, UserSchedule> schedules;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder compilations = new LongAdder();
+  private final LongAdder incrementalUpdates = new LongAdder();
+  private final LongAdder staleUpdates = new LongAdder();
+
+  /**
+   * @param maxWeight total de medicamentos compilados em memória, somando todos os usuários
+   */
+  public ScheduleEngine(MedicineRepository medicineRepository, VersionTracker versionTracker, long maxWeight) {
+    this(medicineRepository, versionTracker, maxWeight, ForkJoinPool.commonPool());
+  }
+
+  ScheduleEngine(MedicineRepository medicineRepository, VersionTracker versionTracker, long maxWeight,
+      Executor maintenanceExecutor) {
+    this.medicineRepository = medicineRepository;
+    this.versionTracker = versionTracker;
+    this.schedules = Caffeine.newBuilder()
+        .maximumWeight(maxWeight)
+        .weigher((String userId, UserSchedule schedule) -> 1 + schedule.size())
+        .executor(maintenanceExecutor)
+        .recordStats()
+        .build();
+  }
+
+  @Override
+  public List<ScheduledDose> dosesBetween(String userId, LocalDateTime from, LocalDateTime to) {
+    return scheduleOf(userId).dosesBetween(from, to);
+  }
+
+  @Override
+  public void medicineSaved(Medicine medicine) {
+    String version = currentVersion(medicine.userId());
+    // Só atualiza agendas já compiladas; as outras serão compiladas do banco quando consultadas
+    schedules.asMap().computeIfPresent(medicine.userId(), (userId, schedule) -> {
+      if (schedule.hasNewerThan(medicine)) {
+        staleUpdates.increment();
+        return schedule;
+      }
+      incrementalUpdates.increment();
+      return schedule.with(version, medicine);
+    });
+  }
+
+  @Override
+  public void medicineDeleted(String userId, String medicineId) {
+    String version = currentVersion(userId);
+    if (schedules.asMap().computeIfPresent(userId,
+        (key, schedule) -> schedule.without(version, medicineId)) != null) {
+      incrementalUpdates.increment();
+    }
+  }
+
+  /**
+   * Agenda atual do usuário; compila do banco se não estiver em memória ou estiver desatualizada.
+   */
+  UserSchedule scheduleOf(String userId) {
+    // Versão lida antes da consulta: uma escrita concorrente deixa a agenda marcada como antiga
+    String version = currentVersion(userId);
+    UserSchedule cached = schedules.getIfPresent(userId);
+    if (cached != null && cached.version().equals(version)) {
+      hits.increment();
+      return cached;
+    }
+    UserSchedule compiled = UserSchedule.compile(version, medicineRepository.findAllByUserId(userId));
+    schedules.put(userId, compiled);
+    compilations.increment();
+    return compiled;
+  }
+
+  @Override
+  public String metricsName() {
+    return "schedule";
+  }
+
+  @Override
+  public Map<String, Number> metrics() {
+    Map<String, Number> metrics = new LinkedHashMap<>();
+    metrics.put("hits", hits.sum());
+    metrics.put("compilations", compilations.sum());
+    metrics.put("incrementalUpdates", incrementalUpdates.sum());
+    metrics.put("staleUpdates", staleUpdates.sum());
+    metrics.put("evictions", schedules.stats().evictionCount());
+    metrics.put("users", schedules.estimatedSize());
+    return metrics;
+  }
+
+  private String currentVersion(String userId) {
+    return versionTracker.current(VersionTracker.Scope.MEDICINES, userId);
+  }
+}
@@ -0,0 +1,26 @@
+package com.pillmind.infra.schedule;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Conversões entre horários e minutos do dia usadas pela agenda.
+ */
+final class ScheduleMinutes {
+
+  private ScheduleMinutes() {
+    // Utility class
+  }
+
+  /**
+   * Menor minuto do dia cujo horário não é anterior a {@code time} (pode ser 1440).
+   */
+  static int ceil(LocalDateTime time) {
+    int minute = time.getHour() * 60 + time.getMinute();
+    return time.getSecond() > 0 || time.getNano() > 0 ? minute + 1 : minute;
+  }
+
+  static LocalDateTime at(LocalDate day, int minute) {
+    return day.atTime(minute / 60, minute % 60);
+  }
+}
@@ -0,0 +1,281 @@
+package com.pillmind.infra.schedule;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pillmind.data.protocols.db.ReminderLeaseRepository;
+import com.pillmind.data.protocols.db.ReminderLeaseRepository.ShardLease;
+import com.pillmind.infra.metrics.MetricsSource;
+
+/**
+ * Divide os shards de lembretes entre as réplicas por leases no banco
+ * ({@link ReminderLeaseRepository}), para cada dose ser lembrada por um único nó.
+ * <p>
+ * A cada heartbeat o nó: registra que está vivo; disputa ou renova a liderança e, se for o líder,
+ * distribui os shards entre os nós vivos ({@code assigned_to}, mexendo no mínimo de shards); renova
+ * os próprios leases; libera os que foram atribuídos a outro nó e assume os atribuídos a ele que
+ * estejam livres ou expirados. O {@link ReminderDispatcher} só atende os shards com lease e para de
+ * entregar se o lease não for renovado a tempo. Um nó que sai em ordem libera tudo no
+ * {@link #close()}; um nó que cai perde os shards quando o lease expira.
+ */
+public class ShardLeaseCoordinator implements MetricsSource, AutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(ShardLeaseCoordinator.class);
+
+  private final ReminderLeaseRepository leases;
+  private final ReminderDispatcher dispatcher;
+  private final String nodeId;
+  private final long leaseTtlMs;
+  private final long heartbeatMs;
+  private final Clock clock;
+  private final ScheduledExecutorService scheduler;
+  /** Shards atendidos por este nó; só a thread do coordenador usa */
+  private final Set<Integer> owned = new TreeSet<>();
+  private final LongAdder acquired = new LongAdder();
+  private final LongAdder released = new LongAdder();
+  private final LongAdder lost = new LongAdder();
+  private volatile boolean leader;
+  private volatile int ownedCount;
+  private volatile int liveNodes;
+  /** Epoch ms até quando os shards atuais valem (lease menos um heartbeat de folga) */
+  private long validUntil;
+
+  /**
+   * @param leaseTtlMs  validade de cada lease; deve cobrir alguns heartbeats
+   * @param heartbeatMs intervalo entre ciclos
+   */
+  public ShardLeaseCoordinator(ReminderLeaseRepository leases, ReminderDispatcher dispatcher, String nodeId,
+      long leaseTtlMs, long heartbeatMs) {
+    this(leases, dispatcher, nodeId, leaseTtlMs, heartbeatMs, Clock.systemUTC());
+  }
+
+  ShardLeaseCoordinator(ReminderLeaseRepository leases, ReminderDispatcher dispatcher, String nodeId,
+      long leaseTtlMs, long heartbeatMs, Clock clock) {
+    if (dispatcher.shardCount() <= 0) {
+      throw new IllegalArgumentException("ReminderDispatcher sem shards");
+    }
+    if (leaseTtlMs <= heartbeatMs) {
+      throw new IllegalArgumentException("Lease precisa durar mais que o heartbeat");
+    }
+    this.leases = leases;
+    this.dispatcher = dispatcher;
+    this.nodeId = nodeId;
+    this.leaseTtlMs = leaseTtlMs;
+    this.heartbeatMs = heartbeatMs;
+    this.clock = clock;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "reminder-shard-leases");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public void start() {
+    scheduler.scheduleWithFixedDelay(() -> {
+      try {
+        runCycle();
+      } catch (RuntimeException e) {
+        logger.warn("Erro no ciclo de leases de lembretes: {}", e.getMessage(), e);
+        dropIfLapsed();
+      }
+    }, 0, heartbeatMs, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Um heartbeat completo. Package-private para testes.
+   */
+  void runCycle() {
+    long now = clock.millis();
+    long expiresAt = now + leaseTtlMs;
+    leases.heartbeat(nodeId, now);
+
+    boolean wasLeader = leader;
+    leader = leases.tryAcquireLeadership(nodeId, now, expiresAt);
+    if (leader) {
+      if (!wasLeader) {
+        logger.info("Nó {} assumiu a liderança dos lembretes", nodeId);
+        leases.ensureShards(dispatcher.shardCount());
+      }
+      rebalance(now);
+    }
+
+    leases.renew(nodeId, now, expiresAt);
+    Set<Integer> mine = new HashSet<>();
+    Set<Integer> toRelease = new TreeSet<>();
+    Set<Integer> toAcquire = new TreeSet<>();
+    for (ShardLease lease : leases.findShards()) {
+      boolean held = nodeId.equals(lease.owner()) && lease.expiresAt() >= now;
+      boolean assigned = lease.assignedTo() == null || nodeId.equals(lease.assignedTo());
+      if (held && assigned) {
+        mine.add(lease.shard());
+        if (!owned.contains(lease.shard())) {
+          // Lease de uma execução anterior deste mesmo nó
+          toAcquire.add(lease.shard());
+        }
+      } else if (held) {
+        toRelease.add(lease.shard());
+      } else if (nodeId.equals(lease.assignedTo()) && (lease.owner() == null || lease.expiresAt() < now)
+          && leases.tryClaim(lease.shard(), nodeId, now, expiresAt)) {
+        mine.add(lease.shard());
+        toAcquire.add(lease.shard());
+      }
+    }
+
+    // Perdidos: o lease expirou e outro nó pode já ter assumido
+    Set<Integer> lostShards = new TreeSet<>(owned);
+    lostShards.removeAll(mine);
+    lostShards.removeAll(toRelease);
+    if (!lostShards.isEmpty()) {
+      logger.warn("Nó {} perdeu os shards de lembrete {}", nodeId, lostShards);
+      dispatcher.releaseShards(lostShards);
+      owned.removeAll(lostShards);
+      lost.add(lostShards.size());
+    }
+    // Liberados: para de atender antes de soltar o lease (também os que ficaram no banco de um
+    // ciclo anterior que falhou no meio)
+    if (!toRelease.isEmpty()) {
+      dispatcher.releaseShards(toRelease);
+      owned.removeAll(toRelease);
+      for (int shard : toRelease) {
+        leases.release(shard, nodeId);
+      }
+      released.add(toRelease.size());
+    }
+
+    validUntil = expiresAt - heartbeatMs;
+    dispatcher.renewLease(validUntil);
+    if (!toAcquire.isEmpty()) {
+      dispatcher.acquireShards(toAcquire, validUntil);
+      owned.addAll(toAcquire);
+      acquired.add(toAcquire.size());
+      logger.info("Nó {} assumiu os shards de lembrete {}", nodeId, toAcquire);
+    }
+    ownedCount = owned.size();
+
+    if (!owned.isEmpty()) {
+      dispatcher.pollChanges(Duration.ofMillis(leaseTtlMs));
+    }
+  }
+
+  /**
+   * Shards atendidos agora (teste).
+   */
+  Set<Integer> ownedShards() {
+    return Set.copyOf(owned);
+  }
+
+  boolean isLeader() {
+    return leader;
+  }
+
+  /**
+   * Distribui os shards entre os nós vivos: cada um fica com {@code shards / nós} (os primeiros na
+   * ordem dos IDs com um a mais) e só saem de um nó os shards que passam da cota dele.
+   */
+  private void rebalance(long now) {
+    List<String> nodes = leases.findLiveNodes(now - leaseTtlMs);
+    leases.deleteNodesBefore(now - leaseTtlMs);
+    liveNodes = nodes.size();
+    if (nodes.isEmpty()) {
+      return;
+    }
+    int shardCount = dispatcher.shardCount();
+    Map<String, Integer> quota = new HashMap<>();
+    Map<String, Integer> load = new HashMap<>();
+    for (int i = 0; i < nodes.size(); i++) {
+      quota.put(nodes.get(i), shardCount / nodes.size() + (i < shardCount % nodes.size() ? 1 : 0));
+      load.put(nodes.get(i), 0);
+    }
+
+    Map<Integer, String> target = new LinkedHashMap<>();
+    List<ShardLease> current = leases.findShards();
+    for (ShardLease lease : current) {
+      String assignee = lease.assignedTo();
+      if (assignee != null && load.containsKey(assignee) && load.get(assignee) < quota.get(assignee)) {
+        target.put(lease.shard(), assignee);
+        load.merge(assignee, 1, Integer::sum);
+      }
+    }
+    int next = 0;
+    for (ShardLease lease : current) {
+      if (target.containsKey(lease.shard())) {
+        continue;
+      }
+      while (load.get(nodes.get(next)) >= quota.get(nodes.get(next))) {
+        next = (next + 1) % nodes.size();
+      }
+      target.put(lease.shard(), nodes.get(next));
+      load.merge(nodes.get(next), 1, Integer::sum);
+    }
+    leases.assign(target);
+  }
+
+  /**
+   * Depois de uma falha: se o prazo acabou sem renovação, para de atender tudo.
+   */
+  private void dropIfLapsed() {
+    if (!owned.isEmpty() && clock.millis() >= validUntil) {
+      logger.warn("Nó {} sem renovar leases; largando os shards de lembrete {}", nodeId, owned);
+      dispatcher.releaseShards(Set.copyOf(owned));
+      lost.add(owned.size());
+      owned.clear();
+      ownedCount = 0;
+    }
+  }
+
+  @Override
+  public String metricsName() {
+    return "reminderShards";
+  }
+
+  @Override
+  public Map<String, Number> metrics() {
+    Map<String, Number> metrics = new LinkedHashMap<>();
+    metrics.put("leader", leader ? 1 : 0);
+    metrics.put("owned", ownedCount);
+    metrics.put("liveNodes", liveNodes);
+    metrics.put("acquired", acquired.sum());
+    metrics.put("released", released.sum());
+    metrics.put("lost", lost.sum());
+    return metrics;
+  }
+
+  /**
+   * Para os heartbeats e devolve shards e liderança para os outros nós assumirem logo.
+   */
+  @Override
+  public void close() {
+    scheduler.shutdown();
+    try {
+      scheduler.awaitTermination(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    try {
+      dispatcher.releaseShards(Set.copyOf(owned));
+      for (int shard : owned) {
+        leases.release(shard, nodeId);
+      }
+      leases.releaseLeadership(nodeId);
+      leases.deleteNode(nodeId);
+    } catch (RuntimeException e) {
+      logger.warn("Erro ao liberar leases de lembretes; expiram sozinhos: {}", e.getMessage());
+    }
+    owned.clear();
+    ownedCount = 0;
+    leader = false;
+  }
+}
@@ -0,0 +1,202 @@
+package com.pillmind.infra.schedule;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.domain.models.ScheduledDose;
+
+/**
+ * Agenda compilada de um usuário, imutável.
+ * <p>
+ * {@code slots} junta os horários de todos os medicamentos num único array ordenado por minuto do
+ * dia ({@code minuto << 32 | índice do medicamento}). Uma consulta separa uma vez os slots dos
+ * medicamentos ativos em algum dia do intervalo e percorre só esses a cada dia, a partir de uma
+ * busca binária no primeiro dia: medicamentos já encerrados não pesam em cada dia consultado.
+ */
+final class UserSchedule {
+  private static final Comparator<MedicineRecurrence> ORDER = Comparator
+      .comparing(MedicineRecurrence::name)
+      .thenComparing(MedicineRecurrence::medicineId);
+  /**
+   * Remoções lembradas entre compilações; avisos atrasados chegam logo depois da escrita, e a
+   * recompilação do banco (nova versão) zera a lista.
+   */
+  private static final int MAX_REMOVED = 64;
+
+  private final String version;
+  private final MedicineRecurrence[] medicines;
+  private final long[] slots;
+  private final LocalDate firstDay;
+  /** null se algum medicamento não tem data de fim */
+  private final LocalDate lastDay;
+  /** Últimos removidos desde a compilação, mais antigo primeiro: um aviso atrasado não os traz de volta */
+  private final String[] removedIds;
+
+  private UserSchedule(String version, MedicineRecurrence[] medicines, String[] removedIds) {
+    Arrays.sort(medicines, ORDER);
+    this.version = version;
+    this.medicines = medicines;
+    this.removedIds = removedIds;
+
+    int count = 0;
+    for (MedicineRecurrence medicine : medicines) {
+      count += medicine.timesOfDay().cardinality();
+    }
+    long[] compiled = new long[count];
+    int n = 0;
+    LocalDate first = null;
+    LocalDate last = LocalDate.MIN;
+    for (int i = 0; i < medicines.length; i++) {
+      var times = medicines[i].timesOfDay();
+      for (int minute = times.nextSetBit(0); minute >= 0; minute = times.nextSetBit(minute + 1)) {
+        compiled[n++] = ((long) minute << 32) | i;
+      }
+      if (first == null || medicines[i].startDate().isBefore(first)) {
+        first = medicines[i].startDate();
+      }
+      if (last != null) {
+        last = medicines[i].endDate() == null ? null
+            : medicines[i].endDate().isAfter(last) ? medicines[i].endDate() : last;
+      }
+    }
+    Arrays.sort(compiled);
+    this.slots = compiled;
+    this.firstDay = first;
+    this.lastDay = last;
+  }
+
+  static UserSchedule compile(String version, List<Medicine> medicines) {
+    var compiled = new MedicineRecurrence[medicines.size()];
+    for (int i = 0; i < compiled.length; i++) {
+      compiled[i] = MedicineRecurrence.compile(medicines.get(i));
+    }
+    return new UserSchedule(version, compiled, new String[0]);
+  }
+
+  String version() {
+    return version;
+  }
+
+  int size() {
+    return medicines.length;
+  }
+
+  /**
+   * Se a agenda já reflete uma escrita mais nova do medicamento (outra versão dele ou a remoção)
+   * que {@code medicine}: avisos de escritas concorrentes podem chegar fora de ordem.
+   */
+  boolean hasNewerThan(Medicine medicine) {
+    for (String removedId : removedIds) {
+      if (removedId.equals(medicine.id())) {
+        return true;
+      }
+    }
+    for (MedicineRecurrence current : medicines) {
+      if (current.medicineId().equals(medicine.id())) {
+        return current.updatedAt() != null && medicine.updatedAt() != null
+            && current.updatedAt().isAfter(medicine.updatedAt());
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Nova agenda com o medicamento inserido ou substituído (pelo ID).
+   */
+  UserSchedule with(String newVersion, Medicine medicine) {
+    var compiled = MedicineRecurrence.compile(medicine);
+    List<MedicineRecurrence> next = new ArrayList<>(medicines.length + 1);
+    for (MedicineRecurrence current : medicines) {
+      if (!current.medicineId().equals(medicine.id())) {
+        next.add(current);
+      }
+    }
+    next.add(compiled);
+    return new UserSchedule(newVersion, next.toArray(MedicineRecurrence[]::new), removedIds);
+  }
+
+  /**
+   * Nova agenda sem o medicamento; sem alteração se ele não estava na agenda.
+   */
+  UserSchedule without(String newVersion, String medicineId) {
+    List<MedicineRecurrence> next = new ArrayList<>(medicines.length);
+    for (MedicineRecurrence current : medicines) {
+      if (!current.medicineId().equals(medicineId)) {
+        next.add(current);
+      }
+    }
+    int kept = Math.min(removedIds.length, MAX_REMOVED - 1);
+    String[] removed = Arrays.copyOfRange(removedIds, removedIds.length - kept, removedIds.length + 1);
+    removed[kept] = medicineId;
+    return new UserSchedule(newVersion, next.toArray(MedicineRecurrence[]::new), removed);
+  }
+
+  /**
+   * Doses em {@code [from, to)} em ordem de horário (empates pela ordem nome/ID).
+   */
+  List<ScheduledDose> dosesBetween(LocalDateTime from, LocalDateTime to) {
+    List<ScheduledDose> out = new ArrayList<>();
+    if (slots.length == 0 || !from.isBefore(to)) {
+      return out;
+    }
+    LocalDate fromDay = from.toLocalDate();
+    LocalDate toDay = to.toLocalDate();
+    LocalDate day = fromDay.isBefore(firstDay) ? firstDay : fromDay;
+    LocalDate endDay = lastDay != null && lastDay.isBefore(toDay) ? lastDay : toDay;
+    long[] active = slotsActiveBetween(day, endDay);
+
+    for (; active.length > 0 && !day.isAfter(endDay); day = day.plusDays(1)) {
+      int startMinute = day.equals(fromDay) ? ScheduleMinutes.ceil(from) : 0;
+      int endMinute = day.equals(toDay) ? ScheduleMinutes.ceil(to) : Integer.MAX_VALUE;
+      for (int i = firstSlotAtOrAfter(active, startMinute); i < active.length; i++) {
+        int minute = (int) (active[i] >>> 32);
+        if (minute >= endMinute) {
+          break;
+        }
+        MedicineRecurrence medicine = medicines[(int) active[i]];
+        if (medicine.activeOn(day)) {
+          out.add(medicine.dose(day, minute));
+        }
+      }
+    }
+    return out;
+  }
+
+  /**
+   * Slots dos medicamentos ativos em algum dia de {@code [fromDay, toDay]}, na mesma ordem.
+   */
+  private long[] slotsActiveBetween(LocalDate fromDay, LocalDate toDay) {
+    boolean[] overlaps = new boolean[medicines.length];
+    boolean all = true;
+    for (int i = 0; i < medicines.length; i++) {
+      MedicineRecurrence medicine = medicines[i];
+      overlaps[i] = !medicine.startDate().isAfter(toDay)
+          && (medicine.endDate() == null || !medicine.endDate().isBefore(fromDay));
+      all &= overlaps[i];
+    }
+    if (all) {
+      return slots;
+    }
+    long[] active = new long[slots.length];
+    int n = 0;
+    for (long slot : slots) {
+      if (overlaps[(int) slot]) {
+        active[n++] = slot;
+      }
+    }
+    return Arrays.copyOf(active, n);
+  }
+
+  private static int firstSlotAtOrAfter(long[] slots, int minute) {
+    if (minute == 0) {
+      return 0;
+    }
+    int index = Arrays.binarySearch(slots, (long) minute << 32);
+    return index >= 0 ? index : -index - 1;
+  }
+}
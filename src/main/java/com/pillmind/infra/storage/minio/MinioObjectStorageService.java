@@ -3,6 +3,7 @@ package com.pillmind.infra.storage.minio;
 import java.io.InputStream;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +30,8 @@ public class MinioObjectStorageService implements ObjectStorageService {
   private final String bucket;
   private final String publicBaseUrl;
   private volatile boolean bucketPrepared;
+  // Lock em vez de synchronized: as chamadas ao MinIO não prendem a carrier de uma virtual thread
+  private final ReentrantLock bucketLock = new ReentrantLock();
 
   public MinioObjectStorageService() {
     if (!Env.MINIO_ENABLED) {
@@ -159,7 +162,8 @@ public class MinioObjectStorageService implements ObjectStorageService {
     if (bucketPrepared) {
       return;
     }
-    synchronized (this) {
+    bucketLock.lock();
+    try {
       if (bucketPrepared) {
         return;
       }
@@ -179,6 +183,8 @@ public class MinioObjectStorageService implements ObjectStorageService {
         throw new ServiceUnavailableException("Não foi possível preparar o bucket MinIO.", e);
       }
       bucketPrepared = true;
+    } finally {
+      bucketLock.unlock();
     }
   }
 
@@ -10,46 +10,79 @@ import com.zaxxer.hikari.HikariDataSource;
 
 /**
  * Configuração do pool JDBC (SQLite ou outro driver via {@code DATABASE_URL}).
+ * <p>
+ * SQLite usa dois pools: uma conexão de escrita (o SQLite serializa escritas) e
+ * {@link Env#SQLITE_READ_POOL_SIZE} conexões somente leitura, que no modo WAL
+ * leem em paralelo sem esperar pelo writer.
  */
 public class DatabaseConfig {
   private DatabaseConfig() {
     // Utility class
   }
 
-  private static final String SQLITE_PRAGMAS = "PRAGMA foreign_keys = ON; PRAGMA journal_mode = WAL;";
+  private static final String SQLITE_QUERY_ONLY = "PRAGMA query_only = ON";
+  private static final String SQLITE_BUSY_TIMEOUT_MS = "5000";
 
   private static HikariDataSource dataSource;
+  private static HikariDataSource readDataSource;
 
   static {
+    if (Env.isSqlite()) {
+      dataSource = new HikariDataSource(sqliteConfig("pillmind-writer", 1));
+
+      HikariConfig readConfig = sqliteConfig("pillmind-reader", Env.SQLITE_READ_POOL_SIZE);
+      readConfig.setConnectionInitSql(SQLITE_QUERY_ONLY);
+      readDataSource = new HikariDataSource(readConfig);
+    } else {
+      HikariConfig config = baseConfig("pillmind");
+      config.setMaximumPoolSize(Env.DATABASE_POOL_SIZE);
+      config.setMinimumIdle(Math.min(5, Env.DATABASE_POOL_SIZE));
+      dataSource = new HikariDataSource(config);
+      readDataSource = dataSource;
+    }
+  }
+
+  private static HikariConfig sqliteConfig(String poolName, int poolSize) {
+    HikariConfig config = baseConfig(poolName);
+    // Aplicados pelo driver em cada conexão nova
+    config.addDataSourceProperty("foreign_keys", "true");
+    config.addDataSourceProperty("journal_mode", "WAL");
+    config.addDataSourceProperty("busy_timeout", SQLITE_BUSY_TIMEOUT_MS);
+    config.setMaximumPoolSize(poolSize);
+    config.setMinimumIdle(poolSize);
+    return config;
+  }
+
+  private static HikariConfig baseConfig(String poolName) {
     HikariConfig config = new HikariConfig();
+    config.setPoolName(poolName);
     config.setJdbcUrl(Env.DATABASE_URL);
     config.setUsername(Env.DATABASE_USER);
     config.setPassword(Env.DATABASE_PASSWORD);
-    if (Env.isSqlite()) {
-      config.setConnectionInitSql(SQLITE_PRAGMAS);
-      // SQLite: um writer por vez; várias conexões aumentam "database is locked"
-      config.setMaximumPoolSize(1);
-      config.setMinimumIdle(1);
-    } else {
-      config.setMaximumPoolSize(10);
-      config.setMinimumIdle(5);
-    }
     config.setConnectionTimeout(30000);
     config.setIdleTimeout(600000);
     config.setMaxLifetime(1800000);
-
-    dataSource = new HikariDataSource(config);
+    return config;
   }
 
+  /** Pool de escrita (também usado pelo Flyway). */
   public static DataSource getDataSource() {
     return dataSource;
   }
 
+  /** Pool de leitura; fora do SQLite é o mesmo pool de escrita. */
+  public static DataSource getReadDataSource() {
+    return readDataSource;
+  }
+
   public static Connection getConnection() throws SQLException {
     return dataSource.getConnection();
   }
 
   public static void close() {
+    if (readDataSource != null && readDataSource != dataSource) {
+      readDataSource.close();
+    }
     if (dataSource != null) {
       dataSource.close();
     }
@@ -27,6 +27,10 @@ public class Env {
   public static final int PORT = Integer.parseInt(
     getEnvOrProperty("PORT", "8080"));
 
+  /** Atende cada requisição HTTP numa virtual thread em vez do pool de threads do Jetty. */
+  public static final boolean HTTP_VIRTUAL_THREADS = Boolean.parseBoolean(
+    getEnvOrProperty("HTTP_VIRTUAL_THREADS", "false"));
+
   public static final String DATABASE_URL = getEnvOrProperty(
     "DATABASE_URL",
     "jdbc:sqlite:pillmind.db");
@@ -39,6 +43,119 @@ public class Env {
     "DATABASE_PASSWORD",
     "");
 
+  /** Tamanho do pool JDBC quando o banco não é SQLite. */
+  public static final int DATABASE_POOL_SIZE = Integer.parseInt(
+    getEnvOrProperty("DATABASE_POOL_SIZE", "10"));
+
+  /** SQLite: conexões somente leitura ({@code PRAGMA query_only}) que atendem consultas em paralelo (WAL). */
+  public static final int SQLITE_READ_POOL_SIZE = Integer.parseInt(
+    getEnvOrProperty("SQLITE_READ_POOL_SIZE", "4"));
+
+  /** SQLite: escritas aguardando o writer único antes de bloquear as requisições. */
+  public static final int SQLITE_WRITE_QUEUE_CAPACITY = Integer.parseInt(
+    getEnvOrProperty("SQLITE_WRITE_QUEUE_CAPACITY", "1024"));
+
+  /** SQLite: quanto o writer espera (ms) por mais escritas antes do commit em grupo; 0 agrupa só o que já está na fila. */
+  public static final long SQLITE_GROUP_COMMIT_WINDOW_MS = Long.parseLong(
+    getEnvOrProperty("SQLITE_GROUP_COMMIT_WINDOW_MS", "1"));
+
+  /** SQLite: máximo de escritas confirmadas num único commit. */
+  public static final int SQLITE_GROUP_COMMIT_MAX_BATCH = Integer.parseInt(
+    getEnvOrProperty("SQLITE_GROUP_COMMIT_MAX_BATCH", "64"));
+
+  /** Intervalo (ms) entre gravações em lote do último login das contas. */
+  public static final long LOGIN_ACTIVITY_FLUSH_INTERVAL_MS = Long.parseLong(
+    getEnvOrProperty("LOGIN_ACTIVITY_FLUSH_INTERVAL_MS", "5000"));
+
+  /** Máximo de medicamentos no cache em memória, somando todos os usuários; 0 desliga o cache. */
+  public static final long MEDICINE_CACHE_MAX_WEIGHT = Long.parseLong(
+    getEnvOrProperty("MEDICINE_CACHE_MAX_WEIGHT", "20000"));
+
+  /**
+   * Sem Redis: idade máxima (ms) das versões em memória, que limita quanto tempo o cache local e os
+   * ETags ignoram escritas de outras réplicas; 0 = réplica única, versões só mudam nas escritas.
+   */
+  public static final long LOCAL_VERSION_MAX_AGE_MS = Long.parseLong(
+    getEnvOrProperty("LOCAL_VERSION_MAX_AGE_MS", "30000"));
+
+  /** Máximo de medicamentos compilados na agenda em memória (GET /api/schedule), somando todos os usuários. */
+  public static final long SCHEDULE_CACHE_MAX_WEIGHT = Long.parseLong(
+    getEnvOrProperty("SCHEDULE_CACHE_MAX_WEIGHT", "20000"));
+
+  /** Liga o despachante de lembretes de dose em processo. */
+  public static final boolean REMINDERS_ENABLED = Boolean.parseBoolean(
+    getEnvOrProperty("REMINDERS_ENABLED", "false"));
+
+  /** Resolução (ms) do disparo dos lembretes. */
+  public static final long REMINDER_TICK_MS = Long.parseLong(
+    getEnvOrProperty("REMINDER_TICK_MS", "100"));
+
+  /**
+   * Máximo de medicamentos com lembrete agendado em memória. Cada entrada custa ~300 B (dois IDs em
+   * String, os links da timing wheel e o nó do mapa): o padrão ocupa ~60 MB do heap de 768 MiB do pod.
+   */
+  public static final long REMINDER_MAX_ENTRIES = Long.parseLong(
+    getEnvOrProperty("REMINDER_MAX_ENTRIES", "200000"));
+
+  /** Shards (por hash do user_id) divididos entre as réplicas por leases no banco; 0 = nó único, sem coordenação. */
+  public static final int REMINDER_SHARDS = Integer.parseInt(
+    getEnvOrProperty("REMINDER_SHARDS", "64"));
+
+  /** Validade (ms) do lease de cada shard de lembretes e da liderança. */
+  public static final long REMINDER_LEASE_TTL_MS = Long.parseLong(
+    getEnvOrProperty("REMINDER_LEASE_TTL_MS", "15000"));
+
+  /** Intervalo (ms) entre heartbeats/renovações dos leases de lembretes. */
+  public static final long REMINDER_HEARTBEAT_MS = Long.parseLong(
+    getEnvOrProperty("REMINDER_HEARTBEAT_MS", "5000"));
+
+  /** Identificador desta réplica nos leases; por padrão o hostname (nome do pod). */
+  public static final String REMINDER_NODE_ID = getEnvOrProperty("REMINDER_NODE_ID",
+    getEnvOrProperty("HOSTNAME", ""));
+
+  /** Máximo de tokens de acesso já verificados mantidos em memória; 0 desliga o cache. */
+  public static final long AUTH_TOKEN_CACHE_MAX_ENTRIES = Long.parseLong(
+    getEnvOrProperty("AUTH_TOKEN_CACHE_MAX_ENTRIES", "10000"));
+
+  /** Validade (dias) do refresh token; cada uso gera um novo e invalida o anterior. */
+  public static final long REFRESH_TOKEN_TTL_DAYS = Long.parseLong(
+    getEnvOrProperty("REFRESH_TOKEN_TTL_DAYS", "30"));
+
+  /** Intervalo (ms) entre recargas da lista de access tokens revogados (revogações de outras réplicas). */
+  public static final long TOKEN_REVOCATION_SYNC_INTERVAL_MS = Long.parseLong(
+    getEnvOrProperty("TOKEN_REVOCATION_SYNC_INTERVAL_MS", "10000"));
+
+  /** Intervalo (ms) entre limpezas de linhas vencidas (tombstones de medicamentos, refresh tokens). */
+  public static final long DATA_PURGE_INTERVAL_MS = Long.parseLong(
+    getEnvOrProperty("DATA_PURGE_INTERVAL_MS", "3600000"));
+
+  /**
+   * Dias que um medicamento removido fica nos tombstones; sincronizações com since mais antigo
+   * recebem a lista completa.
+   */
+  public static final int MEDICINE_TOMBSTONE_RETENTION_DAYS = Integer.parseInt(
+    getEnvOrProperty("MEDICINE_TOMBSTONE_RETENTION_DAYS", "30"));
+
+  /** URL do Redis (ex.: redis://redis:6379); vazio desliga o cache compartilhado entre réplicas. */
+  public static final String REDIS_URL = getEnvOrProperty("REDIS_URL", "");
+
+  /** Timeout (ms) de conexão e comandos do Redis; acima disso a requisição segue só com o banco. */
+  public static final int REDIS_TIMEOUT_MS = Integer.parseInt(
+    getEnvOrProperty("REDIS_TIMEOUT_MS", "200"));
+
+  /** Tempo de vida (s) das entradas de medicamentos e usuários no Redis. */
+  public static final long REDIS_CACHE_TTL_SECONDS = Long.parseLong(
+    getEnvOrProperty("REDIS_CACHE_TTL_SECONDS", "600"));
+
+  /** Quanto tempo (ms) cada réplica reaproveita uma versão lida do Redis se perder a invalidação. */
+  public static final long REDIS_LOCAL_VERSION_TTL_MS = Long.parseLong(
+    getEnvOrProperty("REDIS_LOCAL_VERSION_TTL_MS", "30000"));
+
+  /** Cache compartilhado ligado quando {@code REDIS_URL} está definido. */
+  public static boolean isRedisEnabled() {
+    return REDIS_URL != null && !REDIS_URL.isBlank();
+  }
+
   /** SQLite exige {@code PRAGMA foreign_keys = ON} por conexão para aplicar FKs. */
   public static boolean isSqlite() {
     return DATABASE_URL != null && DATABASE_URL.startsWith("jdbc:sqlite:");
@@ -49,16 +166,86 @@ public class Env {
     "pillmind-secret-key-change-in-production-min-256-bits");
 
   public static final long JWT_EXPIRATION_IN_MS = Long.parseLong(
-    getEnvOrProperty("JWT_EXPIRATION_IN_MS", "86400000") // 24 horas
+    getEnvOrProperty("JWT_EXPIRATION_IN_MS", "900000") // 15 minutos
   );
 
+  /** Arquivo com as chaves do JWT por kid (rotação sem restart); vazio usa só {@code JWT_SECRET}. */
+  public static final String JWT_KEYS_FILE = getEnvOrProperty("JWT_KEYS_FILE", "");
+
+  /** Intervalo (ms) entre verificações de mudança no arquivo de chaves do JWT. */
+  public static final long JWT_KEYS_RELOAD_INTERVAL_MS = Long.parseLong(
+    getEnvOrProperty("JWT_KEYS_RELOAD_INTERVAL_MS", "30000"));
+
   public static final int BCRYPT_SALT_ROUNDS = Integer.parseInt(
     getEnvOrProperty("BCRYPT_SALT_ROUNDS", "12"));
 
+  /** Algoritmo dos novos hashes de senha: bcrypt, pbkdf2-sha256 ou argon2id; hashes antigos são regravados no login. */
+  public static final String PASSWORD_HASH_ALGORITHM = getEnvOrProperty("PASSWORD_HASH_ALGORITHM", "bcrypt");
+
+  /** Iterações do PBKDF2-HMAC-SHA256. */
+  public static final int PBKDF2_ITERATIONS = Integer.parseInt(
+    getEnvOrProperty("PBKDF2_ITERATIONS", "600000"));
+
+  /** Memória (KiB) por hash Argon2id. */
+  public static final int ARGON2_MEMORY_KB = Integer.parseInt(
+    getEnvOrProperty("ARGON2_MEMORY_KB", "19456"));
+
+  /** Iterações do Argon2id. */
+  public static final int ARGON2_ITERATIONS = Integer.parseInt(
+    getEnvOrProperty("ARGON2_ITERATIONS", "2"));
+
+  /** Paralelismo (lanes) do Argon2id. */
+  public static final int ARGON2_PARALLELISM = Integer.parseInt(
+    getEnvOrProperty("ARGON2_PARALLELISM", "1"));
+
+  /** Threads dedicadas a hash/comparação de senha; padrão é o número de CPUs. */
+  public static final int PASSWORD_HASH_THREADS = Integer.parseInt(
+    getEnvOrProperty("PASSWORD_HASH_THREADS", String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+  /** Operações de senha aguardando thread; acima disso sign-in/sign-up respondem 503. */
+  public static final int PASSWORD_HASH_QUEUE_CAPACITY = Integer.parseInt(
+    getEnvOrProperty("PASSWORD_HASH_QUEUE_CAPACITY", "32"));
+
+  /** Limite de tentativas em sign-in, sign-up e login Google (429 com Retry-After). */
+  public static final boolean AUTH_RATE_LIMIT_ENABLED = Boolean.parseBoolean(
+    getEnvOrProperty("AUTH_RATE_LIMIT_ENABLED", "true"));
+
+  /** Tentativas seguidas permitidas por IP antes de passar a valer a taxa por minuto. */
+  public static final int AUTH_RATE_LIMIT_IP_BURST = Integer.parseInt(
+    getEnvOrProperty("AUTH_RATE_LIMIT_IP_BURST", "20"));
+
+  /** Tentativas por minuto por IP depois do burst. */
+  public static final int AUTH_RATE_LIMIT_IP_PER_MINUTE = Integer.parseInt(
+    getEnvOrProperty("AUTH_RATE_LIMIT_IP_PER_MINUTE", "10"));
+
+  /** Tentativas seguidas permitidas por conta (email) antes de passar a valer a taxa por minuto. */
+  public static final int AUTH_RATE_LIMIT_ACCOUNT_BURST = Integer.parseInt(
+    getEnvOrProperty("AUTH_RATE_LIMIT_ACCOUNT_BURST", "5"));
+
+  /** Tentativas por minuto por conta depois do burst. */
+  public static final int AUTH_RATE_LIMIT_ACCOUNT_PER_MINUTE = Integer.parseInt(
+    getEnvOrProperty("AUTH_RATE_LIMIT_ACCOUNT_PER_MINUTE", "5"));
+
+  /** Máximo de IPs/contas acompanhados em memória por limitador. */
+  public static final long AUTH_RATE_LIMIT_MAX_KEYS = Long.parseLong(
+    getEnvOrProperty("AUTH_RATE_LIMIT_MAX_KEYS", "100000"));
+
+  /** Usa X-Forwarded-For como IP do cliente; ligar só atrás de um proxy confiável. */
+  public static final boolean AUTH_RATE_LIMIT_TRUST_PROXY = Boolean.parseBoolean(
+    getEnvOrProperty("AUTH_RATE_LIMIT_TRUST_PROXY", "false"));
+
   public static final String GOOGLE_CLIENT_ID = getEnvOrProperty(
     "GOOGLE_CLIENT_ID",
     "1047433217870-r49q3eau6pq952hsrv8kc0o0f8anie7p.apps.googleusercontent.com");
 
+  /** Chaves públicas do Google (JWKS), mantidas em memória para validar ID tokens. */
+  public static final String GOOGLE_JWKS_URL = getEnvOrProperty(
+    "GOOGLE_JWKS_URL", "https://www.googleapis.com/oauth2/v3/certs");
+
+  /** Busca as chaves do Google já na inicialização; desligado, a primeira validação as busca. */
+  public static final boolean GOOGLE_JWKS_PREFETCH = Boolean.parseBoolean(
+    getEnvOrProperty("GOOGLE_JWKS_PREFETCH", "true"));
+
   /** Quando false, upload de imagens retorna 503 até configurar MinIO. */
   public static final boolean MINIO_ENABLED = Boolean.parseBoolean(
     getEnvOrProperty("MINIO_ENABLED", "false"));
@@ -0,0 +1,29 @@
+package com.pillmind.main.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * ObjectMapper único da aplicação: Javalin ({@code ctx.json}), controllers e caches usam a mesma
+ * instância, que é thread-safe e mantém os serializadores já construídos de cada tipo.
+ */
+public class JsonConfig {
+
+    private JsonConfig() {
+        // Utility class
+    }
+
+    /**
+     * Cria o mapper configurado
+     * <p>
+     * Datas via {@link JavaTimeModule} (o formato de cada campo vem do {@code @JsonFormat} dos
+     * records). O {@link BlackbirdModule} troca a reflexão dos getters, construtores e
+     * componentes de record por acessores gerados com {@code LambdaMetafactory}.
+     */
+    public static ObjectMapper createObjectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new BlackbirdModule());
+    }
+}
@@ -1,49 +1,130 @@
 package com.pillmind.main.di;
 
-import java.sql.Connection;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pillmind.data.protocols.cache.VersionTracker;
+import com.pillmind.data.protocols.cryptography.HashComparer;
+import com.pillmind.data.protocols.cryptography.Hasher;
+import com.pillmind.data.protocols.cryptography.PasswordHashUpgrader;
+import com.pillmind.data.protocols.cryptography.RefreshTokenGenerator;
+import com.pillmind.data.protocols.cryptography.TokenRevocationStore;
+import com.pillmind.data.protocols.cryptography.TokenVerifier;
+import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.data.protocols.db.MedicineTakenRepository;
+import com.pillmind.data.protocols.db.RefreshTokenRepository;
+import com.pillmind.data.protocols.db.TransactionManager;
+import com.pillmind.data.protocols.db.UserRepository;
+import com.pillmind.data.protocols.ratelimit.RateLimiter;
+import com.pillmind.data.protocols.schedule.MedicineChangeListener;
 import com.pillmind.data.usecases.DbCreateLocalAccount;
 import com.pillmind.data.usecases.DbCreateMedicineForUser;
+import com.pillmind.data.usecases.DbCreateSession;
 import com.pillmind.data.usecases.DbDeleteMedicineForUser;
 import com.pillmind.data.usecases.DbGetMedicineForUser;
 import com.pillmind.data.usecases.DbLinkOAuthAccount;
+import com.pillmind.data.usecases.DbListDosesForUser;
+import com.pillmind.data.usecases.DbListMedicineChangesForUser;
 import com.pillmind.data.usecases.DbListMedicinesForUser;
+import com.pillmind.data.usecases.DbListMedicinesPageForUser;
+import com.pillmind.data.usecases.DbListScheduleForUser;
 import com.pillmind.data.usecases.DbLoadUserById;
 import com.pillmind.data.usecases.DbLocalAuthentication;
+import com.pillmind.data.usecases.DbLogout;
+import com.pillmind.data.usecases.DbRecordDosesForUser;
+import com.pillmind.data.usecases.DbRefreshAccessToken;
+import com.pillmind.data.usecases.DbStreamMedicinesForUser;
 import com.pillmind.data.usecases.DbUpdateMedicineForUser;
 import com.pillmind.data.usecases.DbUpdateUserProfile;
 import com.pillmind.domain.usecases.CreateLocalAccount;
 import com.pillmind.domain.usecases.CreateMedicineForUser;
+import com.pillmind.domain.usecases.CreateSession;
 import com.pillmind.domain.usecases.DeleteMedicineForUser;
 import com.pillmind.domain.usecases.GetMedicineForUser;
 import com.pillmind.domain.usecases.LinkOAuthAccount;
-import com.pillmind.domain.usecases.ListMedicinesForUser;
+import com.pillmind.domain.usecases.ListDosesForUser;
+import com.pillmind.domain.usecases.ListMedicineChangesForUser;
+import com.pillmind.domain.usecases.ListMedicinesPageForUser;
+import com.pillmind.domain.usecases.ListScheduleForUser;
 import com.pillmind.domain.usecases.LoadUserById;
 import com.pillmind.domain.usecases.LocalAuthentication;
+import com.pillmind.domain.usecases.Logout;
+import com.pillmind.domain.usecases.RecordDosesForUser;
+import com.pillmind.domain.usecases.RefreshAccessToken;
+import com.pillmind.domain.usecases.StreamMedicinesForUser;
 import com.pillmind.domain.usecases.UpdateMedicineForUser;
 import com.pillmind.domain.usecases.UpdateUserProfile;
+import com.pillmind.infra.cache.CachingMedicineRepository;
+import com.pillmind.infra.cache.InMemoryVersionTracker;
+import com.pillmind.infra.cache.SharedCacheClient;
+import com.pillmind.infra.cache.SharedCachingMedicineRepository;
+import com.pillmind.infra.cache.SharedCachingUserRepository;
+import com.pillmind.infra.cache.SharedVersionTracker;
+import com.pillmind.infra.cache.redis.JedisSharedCacheClient;
+import com.pillmind.infra.cryptography.Argon2idAdapter;
+import com.pillmind.infra.cryptography.AsyncPasswordHashUpgrader;
 import com.pillmind.infra.cryptography.BcryptAdapter;
+import com.pillmind.infra.cryptography.BloomFilterTokenRevocationStore;
+import com.pillmind.infra.cryptography.BoundedPasswordHasher;
+import com.pillmind.infra.cryptography.CachingDecrypter;
 import com.pillmind.infra.cryptography.JwtAdapter;
+import com.pillmind.infra.cryptography.JwtKeyFileWatcher;
+import com.pillmind.infra.cryptography.MultiAlgorithmPasswordHasher;
+import com.pillmind.infra.cryptography.Pbkdf2Adapter;
+import com.pillmind.infra.cryptography.SecureRefreshTokenGenerator;
+import com.pillmind.infra.db.BufferedLoginActivityRecorder;
+import com.pillmind.infra.db.PeriodicPurge;
 import com.pillmind.infra.db.postgres.LocalAccountPostgresRepository;
 import com.pillmind.infra.db.postgres.MedicinePostgresRepository;
+import com.pillmind.infra.db.postgres.MedicineTakenPostgresRepository;
 import com.pillmind.infra.db.postgres.OAuthAccountPostgresRepository;
+import com.pillmind.infra.db.postgres.RefreshTokenPostgresRepository;
+import com.pillmind.infra.db.postgres.ReminderLeasePostgresRepository;
+import com.pillmind.infra.db.postgres.RevokedAccessTokenPostgresRepository;
 import com.pillmind.infra.db.postgres.UserPostgresRepository;
+import com.pillmind.infra.db.postgres.helpers.JdbcTransactionManager;
+import com.pillmind.infra.db.postgres.helpers.SqliteWriteQueue;
 import com.pillmind.data.protocols.storage.ObjectStorageService;
+import com.pillmind.infra.metrics.MetricsSource;
+import com.pillmind.infra.oauth.GoogleJwksKeyCache;
 import com.pillmind.infra.oauth.GoogleTokenValidator;
+import com.pillmind.infra.ratelimit.InMemoryRateLimiter;
+import com.pillmind.infra.ratelimit.SharedRateLimiter;
+import com.pillmind.infra.schedule.LoggingReminderSink;
+import com.pillmind.infra.schedule.ReminderDispatcher;
+import com.pillmind.infra.schedule.ScheduleEngine;
+import com.pillmind.infra.schedule.ShardLeaseCoordinator;
 import com.pillmind.infra.storage.minio.MinioObjectStorageService;
 import com.pillmind.main.config.DatabaseConfig;
 import com.pillmind.main.config.Env;
+import com.pillmind.main.config.JsonConfig;
 import com.pillmind.main.routes.AuthRoutes;
+import com.pillmind.main.routes.DoseRoutes;
 import com.pillmind.main.routes.HealthRoutes;
 import com.pillmind.main.routes.MediaRoutes;
 import com.pillmind.main.routes.MedicineRoutes;
+import com.pillmind.main.routes.ScheduleRoutes;
+import com.pillmind.main.routes.MetricsRoutes;
 import com.pillmind.main.routes.SwaggerRoutes;
 import com.pillmind.presentation.controllers.GoogleAuthController;
 import com.pillmind.presentation.controllers.UploadMedicineImageController;
 import com.pillmind.presentation.controllers.UploadProfilePictureController;
+import com.pillmind.presentation.handlers.AuthRateLimitHandler;
+import com.pillmind.presentation.handlers.AuthenticationHandler;
 import com.pillmind.presentation.validators.SignInValidation;
 import com.pillmind.presentation.validators.SignUpValidation;
 
@@ -55,6 +136,8 @@ import com.pillmind.presentation.validators.SignUpValidation;
 public class ApplicationBootstrap {
     private static final Logger logger = LoggerFactory.getLogger(ApplicationBootstrap.class);
     private final Container container;
+    private final Deque<AutoCloseable> closeables = new ArrayDeque<>();
+    private final List<MetricsSource> metricsSources = new ArrayList<>();
 
     public ApplicationBootstrap() {
         this.container = new Container();
@@ -82,13 +165,13 @@ public class ApplicationBootstrap {
     }
 
     /**
-     * Inicializa com conexão customizada (para testes)
+     * Inicializa com pool de conexões customizado (para testes)
      */
-    public void bootstrap(Connection customConnection) throws Exception {
-        logger.info("Iniciando bootstrap da aplicação com conexão customizada...");
+    public void bootstrap(DataSource customDataSource) throws Exception {
+        logger.info("Iniciando bootstrap da aplicação com DataSource customizado...");
 
-        // Registra componentes de infraestrutura com conexão customizada
-        registerInfrastructure(customConnection);
+        // Registra componentes de infraestrutura com DataSource customizado
+        registerInfrastructure(customDataSource);
 
         // Registra casos de uso (use cases)
         registerUseCases();
@@ -105,41 +188,229 @@ public class ApplicationBootstrap {
     /**
      * Registra componentes de infraestrutura
      */
-    private void registerInfrastructure(Connection customConnection) throws Exception {
+    private void registerInfrastructure(DataSource customDataSource) throws Exception {
         logger.debug("Registrando componentes de infraestrutura...");
 
-        // Database Connection (Singleton) - usa customConnection se fornecida
-        Connection connection = customConnection != null ? customConnection : DatabaseConfig.getConnection();
-        container.registerSingleton("database.connection", connection);
+        // JSON: um único ObjectMapper (thread-safe) para Javalin, controllers e caches
+        var objectMapper = JsonConfig.createObjectMapper();
+        container.registerSingleton("json.mapper", objectMapper);
+
+        // Pool de conexões - cada operação empresta uma conexão (usa customDataSource se fornecido)
+        JdbcTransactionManager transactionManager;
+        if (customDataSource != null) {
+            transactionManager = new JdbcTransactionManager(customDataSource);
+        } else if (Env.isSqlite()) {
+            // SQLite: leituras no pool somente leitura, escritas enfileiradas no writer único
+            closeables.push(DatabaseConfig::close);
+            var writeQueue = new SqliteWriteQueue(DatabaseConfig.getDataSource(), Env.SQLITE_WRITE_QUEUE_CAPACITY,
+                    Env.SQLITE_GROUP_COMMIT_WINDOW_MS, Env.SQLITE_GROUP_COMMIT_MAX_BATCH);
+            closeables.push(writeQueue);
+            container.registerSingleton("database.write-queue", writeQueue);
+            transactionManager = new JdbcTransactionManager(DatabaseConfig.getReadDataSource(), writeQueue);
+        } else {
+            closeables.push(DatabaseConfig::close);
+            transactionManager = new JdbcTransactionManager(DatabaseConfig.getDataSource());
+        }
+        container.registerSingleton("database.datasource", transactionManager.getDataSource());
+        container.registerSingleton("database.transaction-manager", transactionManager);
 
         // Cryptography
-        container.registerSingleton("crypto.hasher",
-                new BcryptAdapter(Env.BCRYPT_SALT_ROUNDS));
-
-        container.registerSingleton("crypto.jwt",
-                new JwtAdapter(Env.JWT_SECRET, Env.JWT_EXPIRATION_IN_MS));
+        // Novos hashes com o algoritmo configurado; hashes de qualquer algoritmo conhecido continuam válidos
+        var passwordHashes = new MultiAlgorithmPasswordHasher(Env.PASSWORD_HASH_ALGORITHM, List.of(
+                new BcryptAdapter(Env.BCRYPT_SALT_ROUNDS),
+                new Pbkdf2Adapter(Env.PBKDF2_ITERATIONS),
+                new Argon2idAdapter(Env.ARGON2_MEMORY_KB, Env.ARGON2_ITERATIONS, Env.ARGON2_PARALLELISM)));
+        container.registerSingleton("crypto.password-hashes", passwordHashes);
+
+        // Hashing num pool próprio e limitado: rajadas de login não ocupam as threads do servidor
+        var passwordHasher = new BoundedPasswordHasher(passwordHashes,
+                Env.PASSWORD_HASH_THREADS, Env.PASSWORD_HASH_QUEUE_CAPACITY);
+        closeables.push(passwordHasher);
+        metricsSources.add(passwordHasher);
+        container.registerSingleton("crypto.hasher", passwordHasher);
+
+        var jwtAdapter = new JwtAdapter(Env.JWT_SECRET, Env.JWT_EXPIRATION_IN_MS);
+        container.registerSingleton("crypto.jwt", jwtAdapter);
+
+        // Verificação de token das rotas autenticadas, com cache até o exp de cada token
+        CachingDecrypter cachingDecrypter = null;
+        TokenVerifier tokenVerifier = jwtAdapter;
+        if (Env.AUTH_TOKEN_CACHE_MAX_ENTRIES > 0) {
+            cachingDecrypter = new CachingDecrypter(jwtAdapter, Env.AUTH_TOKEN_CACHE_MAX_ENTRIES);
+            metricsSources.add(cachingDecrypter);
+            tokenVerifier = cachingDecrypter;
+        }
+        container.registerSingleton("crypto.token-verifier", tokenVerifier);
+
+        // Rotação de chaves do JWT: o arquivo é relido quando muda; tokens já verificados são descartados
+        if (!Env.JWT_KEYS_FILE.isBlank()) {
+            var verifiedTokens = cachingDecrypter;
+            closeables.push(new JwtKeyFileWatcher(Path.of(Env.JWT_KEYS_FILE), Env.JWT_SECRET,
+                    Env.JWT_KEYS_RELOAD_INTERVAL_MS, keyRing -> {
+                        jwtAdapter.rotate(keyRing);
+                        if (verifiedTokens != null) {
+                            verifiedTokens.invalidateAll();
+                        }
+                    }));
+        }
+
+        // Redis (opcional): versões e segundo nível de cache compartilhados entre as réplicas
+        SharedCacheClient sharedCache = null;
+        VersionTracker versionTracker;
+        if (Env.isRedisEnabled()) {
+            sharedCache = new JedisSharedCacheClient(Env.REDIS_URL, Env.REDIS_TIMEOUT_MS);
+            closeables.push(sharedCache);
+            var sharedVersionTracker = new SharedVersionTracker(sharedCache, Env.REDIS_LOCAL_VERSION_TTL_MS);
+            closeables.push(sharedVersionTracker);
+            versionTracker = sharedVersionTracker;
+        } else {
+            // Sem invalidação entre réplicas: versões vencem sozinhas, limitando o tempo de dados velhos
+            versionTracker = new InMemoryVersionTracker(Env.LOCAL_VERSION_MAX_AGE_MS);
+        }
+        // Versões por usuário: ETags (GET condicional) e validação dos caches
+        container.registerSingleton("cache.versions", versionTracker);
+        // Cache tolera campos que versões anteriores gravaram e não existem mais
+        var cacheMapper = objectMapper.copy()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
         // Repositories - Nova estrutura
-        container.registerSingleton("repository.user",
-                new UserPostgresRepository(connection));
+        UserRepository userRepository = new UserPostgresRepository(transactionManager);
+        if (sharedCache != null) {
+            var sharedUsers = new SharedCachingUserRepository(userRepository, versionTracker, sharedCache,
+                    Env.REDIS_CACHE_TTL_SECONDS, cacheMapper);
+            metricsSources.add(sharedUsers);
+            userRepository = sharedUsers;
+        }
+        container.registerSingleton("repository.user", userRepository);
         
         container.registerSingleton("repository.local-account", 
-                new LocalAccountPostgresRepository(connection));
+                new LocalAccountPostgresRepository(transactionManager));
         
         container.registerSingleton("repository.oauth-account", 
-                new OAuthAccountPostgresRepository(connection));
-
-        container.registerSingleton("repository.medicine",
-                new MedicinePostgresRepository(connection));
-
-        // OAuth2
+                new OAuthAccountPostgresRepository(transactionManager));
+
+        // Medicamentos: cache local (L1) -> Redis (L2, opcional) -> banco
+        var medicineStore = new MedicinePostgresRepository(transactionManager);
+        MedicineRepository medicineRepository = medicineStore;
+        if (sharedCache != null) {
+            var sharedMedicines = new SharedCachingMedicineRepository(medicineRepository, versionTracker,
+                    sharedCache, Env.REDIS_CACHE_TTL_SECONDS, cacheMapper);
+            metricsSources.add(sharedMedicines);
+            medicineRepository = sharedMedicines;
+        }
+        if (Env.MEDICINE_CACHE_MAX_WEIGHT > 0) {
+            var cachingRepository = new CachingMedicineRepository(medicineRepository, versionTracker,
+                    Env.MEDICINE_CACHE_MAX_WEIGHT);
+            metricsSources.add(cachingRepository);
+            medicineRepository = cachingRepository;
+        }
+        container.registerSingleton("repository.medicine", medicineRepository);
+        container.registerSingleton("repository.medicine-taken", new MedicineTakenPostgresRepository(transactionManager));
+
+        // Limpeza periódica do que só cresce; sincronizações mais antigas que a retenção recebem a lista completa
+        var purge = new PeriodicPurge(Env.DATA_PURGE_INTERVAL_MS)
+                .add("medicine_tombstones", () -> medicineStore.deleteTombstonesBefore(
+                        LocalDateTime.now().minusDays(Env.MEDICINE_TOMBSTONE_RETENTION_DAYS)));
+        closeables.push(purge);
+
+        // Agenda de doses compilada por usuário, atualizada pelos casos de uso de escrita
+        var scheduleEngine = new ScheduleEngine(medicineRepository, versionTracker, Env.SCHEDULE_CACHE_MAX_WEIGHT);
+        metricsSources.add(scheduleEngine);
+        container.registerSingleton("schedule.engine", scheduleEngine);
+
+        // Lembretes no horário de cada dose (opcional): uma entrada por medicamento numa timing wheel;
+        // com réplicas, cada shard de usuários é atendido só pelo nó que tem o lease dele. Lê direto do
+        // banco: escritas de outras réplicas não invalidam o cache local, e o disparo precisa da linha atual
+        MedicineChangeListener medicineListener = scheduleEngine;
+        if (Env.REMINDERS_ENABLED) {
+            var reminderDispatcher = new ReminderDispatcher(medicineStore, new LoggingReminderSink(),
+                    Env.REMINDER_TICK_MS, Env.REMINDER_MAX_ENTRIES, Env.REMINDER_SHARDS);
+            reminderDispatcher.start();
+            closeables.push(reminderDispatcher);
+            metricsSources.add(reminderDispatcher);
+            if (Env.REMINDER_SHARDS > 0) {
+                String nodeId = Env.REMINDER_NODE_ID.isBlank() ? UUID.randomUUID().toString() : Env.REMINDER_NODE_ID;
+                var shardCoordinator = new ShardLeaseCoordinator(
+                        new ReminderLeasePostgresRepository(transactionManager), reminderDispatcher, nodeId,
+                        Env.REMINDER_LEASE_TTL_MS, Env.REMINDER_HEARTBEAT_MS);
+                shardCoordinator.start();
+                // Fechado antes do despachante: devolve os shards enquanto ele ainda existe
+                closeables.push(shardCoordinator);
+                metricsSources.add(shardCoordinator);
+            }
+            medicineListener = MedicineChangeListener.all(scheduleEngine, reminderDispatcher);
+        }
+        container.registerSingleton("schedule.medicine-listener", medicineListener);
+
+        // Último login gravado em lote fora do caminho do sign-in
+        var loginActivityRecorder = new BufferedLoginActivityRecorder(
+                container.resolve("repository.local-account", LocalAccountPostgresRepository.class),
+                container.resolve("repository.oauth-account", OAuthAccountPostgresRepository.class),
+                Env.LOGIN_ACTIVITY_FLUSH_INTERVAL_MS);
+        closeables.push(loginActivityRecorder);
+        container.registerSingleton("repository.login-activity", loginActivityRecorder);
+
+        // Sessões: refresh tokens rotativos (só o hash fica no banco) e revogação de access tokens
+        var refreshTokenStore = new RefreshTokenPostgresRepository(transactionManager);
+        container.registerSingleton("repository.refresh-token", refreshTokenStore);
+        // Tokens vencidos saem na limpeza periódica: o sign-in só insere
+        purge.add("refresh_tokens", () -> refreshTokenStore.deleteExpired(LocalDateTime.now()));
+        purge.start();
+        container.registerSingleton("crypto.refresh-token-generator", new SecureRefreshTokenGenerator());
+        var tokenRevocationStore = new BloomFilterTokenRevocationStore(
+                new RevokedAccessTokenPostgresRepository(transactionManager), Env.TOKEN_REVOCATION_SYNC_INTERVAL_MS);
+        closeables.push(tokenRevocationStore);
+        metricsSources.add(tokenRevocationStore);
+        container.registerSingleton("crypto.token-revocation", tokenRevocationStore);
+        container.registerSingleton("handler.authentication",
+                new AuthenticationHandler(tokenVerifier, tokenRevocationStore));
+
+        // Hash de senha desatualizado regravado depois do login, com o pool de hashing
+        var passwordHashUpgrader = new AsyncPasswordHashUpgrader(passwordHashes, passwordHasher,
+                container.resolve("repository.local-account", LocalAccountPostgresRepository.class),
+                Env.PASSWORD_HASH_QUEUE_CAPACITY);
+        closeables.push(passwordHashUpgrader);
+        metricsSources.add(passwordHashUpgrader);
+        container.registerSingleton("crypto.password-hash-upgrader", passwordHashUpgrader);
+
+        // Limite de tentativas de autenticação por IP e por conta, antes de qualquer hash
+        if (Env.AUTH_RATE_LIMIT_ENABLED) {
+            var ipLimiter = rateLimiter("authIpRateLimit", sharedCache,
+                    Env.AUTH_RATE_LIMIT_IP_BURST, Env.AUTH_RATE_LIMIT_IP_PER_MINUTE);
+            var accountLimiter = rateLimiter("authAccountRateLimit", sharedCache,
+                    Env.AUTH_RATE_LIMIT_ACCOUNT_BURST, Env.AUTH_RATE_LIMIT_ACCOUNT_PER_MINUTE);
+            container.registerSingleton("ratelimit.auth",
+                    new AuthRateLimitHandler(ipLimiter, accountLimiter, Env.AUTH_RATE_LIMIT_TRUST_PROXY));
+        }
+
+        // OAuth2: chaves do Google em memória, renovadas em segundo plano
+        var googleKeys = new GoogleJwksKeyCache(URI.create(Env.GOOGLE_JWKS_URL));
+        if (Env.GOOGLE_JWKS_PREFETCH) {
+            googleKeys.start();
+        }
+        closeables.push(googleKeys);
+        metricsSources.add(googleKeys);
         container.registerSingleton("oauth.google-validator",
-                new GoogleTokenValidator(Env.GOOGLE_CLIENT_ID));
+                new GoogleTokenValidator(Env.GOOGLE_CLIENT_ID, googleKeys));
 
         // Object storage (MinIO)
         container.registerSingleton("storage.object", new MinioObjectStorageService());
     }
 
+    /**
+     * Token bucket local ou, com Redis, compartilhado entre as réplicas (com o local de fallback)
+     */
+    private RateLimiter rateLimiter(String name, SharedCacheClient sharedCache, int burst, int permitsPerMinute) {
+        var local = new InMemoryRateLimiter(name, burst, permitsPerMinute, Env.AUTH_RATE_LIMIT_MAX_KEYS);
+        if (sharedCache == null) {
+            metricsSources.add(local);
+            return local;
+        }
+        var shared = new SharedRateLimiter(name, sharedCache, burst, permitsPerMinute, local);
+        metricsSources.add(shared);
+        return shared;
+    }
+
     /**
      * Registra casos de uso - Nova estrutura
      */
@@ -148,63 +419,136 @@ public class ApplicationBootstrap {
 
         // CreateLocalAccount use case
         container.registerFactory("usecase.create-local-account", () -> {
-            var hasher = container.resolve("crypto.hasher", BcryptAdapter.class);
-            var userRepository = container.resolve("repository.user", UserPostgresRepository.class);
+            var hasher = container.resolve("crypto.hasher", Hasher.class);
+            var userRepository = container.resolve("repository.user", UserRepository.class);
             var localAccountRepository = container.resolve("repository.local-account", LocalAccountPostgresRepository.class);
-            return new DbCreateLocalAccount(hasher, userRepository, localAccountRepository);
+            var transactionManager = container.resolve("database.transaction-manager", TransactionManager.class);
+            return new DbCreateLocalAccount(hasher, userRepository, localAccountRepository, transactionManager);
+        });
+
+        // CreateSession use case
+        container.registerFactory("usecase.create-session", () -> {
+            var encrypter = container.resolve("crypto.jwt", JwtAdapter.class);
+            var refreshTokenRepository = container.resolve("repository.refresh-token", RefreshTokenRepository.class);
+            var refreshTokenGenerator = container.resolve("crypto.refresh-token-generator", RefreshTokenGenerator.class);
+            return new DbCreateSession(encrypter, refreshTokenRepository, refreshTokenGenerator,
+                    Duration.ofDays(Env.REFRESH_TOKEN_TTL_DAYS));
+        });
+
+        // RefreshAccessToken use case
+        container.registerFactory("usecase.refresh-access-token", () -> {
+            var refreshTokenRepository = container.resolve("repository.refresh-token", RefreshTokenRepository.class);
+            var refreshTokenGenerator = container.resolve("crypto.refresh-token-generator", RefreshTokenGenerator.class);
+            var encrypter = container.resolve("crypto.jwt", JwtAdapter.class);
+            var transactionManager = container.resolve("database.transaction-manager", TransactionManager.class);
+            return new DbRefreshAccessToken(refreshTokenRepository, refreshTokenGenerator, encrypter,
+                    transactionManager, Duration.ofDays(Env.REFRESH_TOKEN_TTL_DAYS));
+        });
+
+        // Logout use case
+        container.registerFactory("usecase.logout", () -> {
+            var tokenRevocationStore = container.resolve("crypto.token-revocation", TokenRevocationStore.class);
+            var refreshTokenRepository = container.resolve("repository.refresh-token", RefreshTokenRepository.class);
+            var refreshTokenGenerator = container.resolve("crypto.refresh-token-generator", RefreshTokenGenerator.class);
+            return new DbLogout(tokenRevocationStore, refreshTokenRepository, refreshTokenGenerator);
         });
 
         // LocalAuthentication use case
         container.registerFactory("usecase.local-authentication", () -> {
             var localAccountRepository = container.resolve("repository.local-account", LocalAccountPostgresRepository.class);
-            var userRepository = container.resolve("repository.user", UserPostgresRepository.class);
-            var hashComparer = container.resolve("crypto.hasher", BcryptAdapter.class);
-            var encrypter = container.resolve("crypto.jwt", JwtAdapter.class);
-            return new DbLocalAuthentication(localAccountRepository, userRepository, hashComparer, encrypter);
+            var userRepository = container.resolve("repository.user", UserRepository.class);
+            var hashComparer = container.resolve("crypto.hasher", HashComparer.class);
+            var createSession = container.resolve("usecase.create-session", CreateSession.class);
+            var loginActivityRecorder = container.resolve("repository.login-activity", BufferedLoginActivityRecorder.class);
+            var passwordHashUpgrader = container.resolve("crypto.password-hash-upgrader", PasswordHashUpgrader.class);
+            return new DbLocalAuthentication(localAccountRepository, userRepository, hashComparer, createSession,
+                    loginActivityRecorder, passwordHashUpgrader);
         });
 
         // LoadUserById use case
         container.registerFactory("usecase.load-user-by-id", () -> {
-            var userRepository = container.resolve("repository.user", UserPostgresRepository.class);
+            var userRepository = container.resolve("repository.user", UserRepository.class);
             return new DbLoadUserById(userRepository);
         });
 
         // UpdateUserProfile use case
         container.registerFactory("usecase.update-user-profile", () -> {
-            var userRepository = container.resolve("repository.user", UserPostgresRepository.class);
-            return new DbUpdateUserProfile(userRepository);
+            var userRepository = container.resolve("repository.user", UserRepository.class);
+            var versionTracker = container.resolve("cache.versions", VersionTracker.class);
+            return new DbUpdateUserProfile(userRepository, versionTracker);
         });
 
         // LinkOAuthAccount use case
         container.registerFactory("usecase.link-oauth-account", () -> {
-            var userRepository = container.resolve("repository.user", UserPostgresRepository.class);
+            var userRepository = container.resolve("repository.user", UserRepository.class);
             var oauthAccountRepository = container.resolve("repository.oauth-account", OAuthAccountPostgresRepository.class);
-            return new DbLinkOAuthAccount(userRepository, oauthAccountRepository);
+            var versionTracker = container.resolve("cache.versions", VersionTracker.class);
+            var loginActivityRecorder = container.resolve("repository.login-activity", BufferedLoginActivityRecorder.class);
+            return new DbLinkOAuthAccount(userRepository, oauthAccountRepository, versionTracker,
+                    loginActivityRecorder);
         });
 
         container.registerFactory("usecase.list-medicines-for-user", () -> {
-            var medicineRepository = container.resolve("repository.medicine", MedicinePostgresRepository.class);
+            var medicineRepository = container.resolve("repository.medicine", MedicineRepository.class);
             return new DbListMedicinesForUser(medicineRepository);
         });
 
+        container.registerFactory("usecase.stream-medicines-for-user", () -> {
+            var medicineRepository = container.resolve("repository.medicine", MedicineRepository.class);
+            return new DbStreamMedicinesForUser(medicineRepository);
+        });
+
+        container.registerFactory("usecase.list-medicines-page-for-user", () -> {
+            var medicineRepository = container.resolve("repository.medicine", MedicineRepository.class);
+            return new DbListMedicinesPageForUser(medicineRepository);
+        });
+
+        container.registerFactory("usecase.list-medicine-changes-for-user", () -> {
+            var medicineRepository = container.resolve("repository.medicine", MedicineRepository.class);
+            return new DbListMedicineChangesForUser(medicineRepository,
+                    Duration.ofDays(Env.MEDICINE_TOMBSTONE_RETENTION_DAYS).toMillis());
+        });
+
         container.registerFactory("usecase.get-medicine-for-user", () -> {
-            var medicineRepository = container.resolve("repository.medicine", MedicinePostgresRepository.class);
+            var medicineRepository = container.resolve("repository.medicine", MedicineRepository.class);
             return new DbGetMedicineForUser(medicineRepository);
         });
 
         container.registerFactory("usecase.create-medicine-for-user", () -> {
-            var medicineRepository = container.resolve("repository.medicine", MedicinePostgresRepository.class);
-            return new DbCreateMedicineForUser(medicineRepository);
+            var medicineRepository = container.resolve("repository.medicine", MedicineRepository.class);
+            var versionTracker = container.resolve("cache.versions", VersionTracker.class);
+            var medicineListener = container.resolve("schedule.medicine-listener", MedicineChangeListener.class);
+            return new DbCreateMedicineForUser(medicineRepository, versionTracker, medicineListener);
         });
 
         container.registerFactory("usecase.update-medicine-for-user", () -> {
-            var medicineRepository = container.resolve("repository.medicine", MedicinePostgresRepository.class);
-            return new DbUpdateMedicineForUser(medicineRepository);
+            var medicineRepository = container.resolve("repository.medicine", MedicineRepository.class);
+            var versionTracker = container.resolve("cache.versions", VersionTracker.class);
+            var medicineListener = container.resolve("schedule.medicine-listener", MedicineChangeListener.class);
+            return new DbUpdateMedicineForUser(medicineRepository, versionTracker, medicineListener);
         });
 
         container.registerFactory("usecase.delete-medicine-for-user", () -> {
-            var medicineRepository = container.resolve("repository.medicine", MedicinePostgresRepository.class);
-            return new DbDeleteMedicineForUser(medicineRepository);
+            var medicineRepository = container.resolve("repository.medicine", MedicineRepository.class);
+            var versionTracker = container.resolve("cache.versions", VersionTracker.class);
+            var medicineListener = container.resolve("schedule.medicine-listener", MedicineChangeListener.class);
+            return new DbDeleteMedicineForUser(medicineRepository, versionTracker, medicineListener);
+        });
+
+        container.registerFactory("usecase.list-schedule-for-user", () -> {
+            var scheduleEngine = container.resolve("schedule.engine", ScheduleEngine.class);
+            return new DbListScheduleForUser(scheduleEngine);
+        });
+
+        container.registerFactory("usecase.record-doses-for-user", () -> {
+            var medicineRepository = container.resolve("repository.medicine", MedicineRepository.class);
+            var medicineTakenRepository = container.resolve("repository.medicine-taken", MedicineTakenRepository.class);
+            return new DbRecordDosesForUser(medicineRepository, medicineTakenRepository);
+        });
+
+        container.registerFactory("usecase.list-doses-for-user", () -> {
+            var medicineTakenRepository = container.resolve("repository.medicine-taken", MedicineTakenRepository.class);
+            return new DbListDosesForUser(medicineTakenRepository);
         });
     }
 
@@ -226,6 +570,7 @@ public class ApplicationBootstrap {
 
         container.registerSingleton("route.health", new HealthRoutes());
         container.registerSingleton("route.swagger", new SwaggerRoutes());
+        container.registerFactory("route.metrics", () -> new MetricsRoutes(List.copyOf(metricsSources)));
 
         container.registerFactory("route.media", () -> {
             var objectStorage = container.resolve("storage.object", ObjectStorageService.class);
@@ -242,15 +587,22 @@ public class ApplicationBootstrap {
             var signUpValidation = container.resolve("validator.signup", SignUpValidation.class);
             var signInValidation = container.resolve("validator.signin", SignInValidation.class);
             var googleTokenValidator = container.resolve("oauth.google-validator", GoogleTokenValidator.class);
-            var decrypter = container.resolve("crypto.jwt", JwtAdapter.class);
-            var encrypter = container.resolve("crypto.jwt", JwtAdapter.class);
-            var googleAuthController = new GoogleAuthController(linkOAuthAccount, encrypter, googleTokenValidator);
+            var refreshAccessToken = container.resolve("usecase.refresh-access-token", RefreshAccessToken.class);
+            var logout = container.resolve("usecase.logout", Logout.class);
+            var createSession = container.resolve("usecase.create-session", CreateSession.class);
+            var authentication = container.resolve("handler.authentication", AuthenticationHandler.class);
+            var versionTracker = container.resolve("cache.versions", VersionTracker.class);
+            var authRateLimit = Env.AUTH_RATE_LIMIT_ENABLED
+                    ? container.resolve("ratelimit.auth", AuthRateLimitHandler.class)
+                    : null;
+            var objectMapper = container.resolve("json.mapper", ObjectMapper.class);
+            var googleAuthController = new GoogleAuthController(linkOAuthAccount, createSession, googleTokenValidator,
+                    objectMapper);
             var objectStorage = container.resolve("storage.object", ObjectStorageService.class);
             var uploadProfilePictureController = new UploadProfilePictureController(
                     objectStorage,
                     updateUserProfile,
-                    loadUserById,
-                    decrypter);
+                    loadUserById);
 
             return new AuthRoutes(
                     createLocalAccount,
@@ -260,23 +612,61 @@ public class ApplicationBootstrap {
                     googleAuthController,
                     loadUserById,
                     updateUserProfile,
-                    decrypter,
-                    uploadProfilePictureController);
+                    refreshAccessToken,
+                    logout,
+                    authentication,
+                    versionTracker,
+                    uploadProfilePictureController,
+                    authRateLimit,
+                    objectMapper);
         });
 
         container.registerFactory("route.medicines", () -> {
-            var decrypter = container.resolve("crypto.jwt", JwtAdapter.class);
+            var authentication = container.resolve("handler.authentication", AuthenticationHandler.class);
+            var versionTracker = container.resolve("cache.versions", VersionTracker.class);
             var objectStorage = container.resolve("storage.object", ObjectStorageService.class);
-            var list = container.resolve("usecase.list-medicines-for-user", ListMedicinesForUser.class);
+            var stream = container.resolve("usecase.stream-medicines-for-user", StreamMedicinesForUser.class);
+            var listPage = container.resolve("usecase.list-medicines-page-for-user", ListMedicinesPageForUser.class);
+            var changes = container.resolve("usecase.list-medicine-changes-for-user", ListMedicineChangesForUser.class);
             var get = container.resolve("usecase.get-medicine-for-user", GetMedicineForUser.class);
             var create = container.resolve("usecase.create-medicine-for-user", CreateMedicineForUser.class);
             var update = container.resolve("usecase.update-medicine-for-user", UpdateMedicineForUser.class);
             var delete = container.resolve("usecase.delete-medicine-for-user", DeleteMedicineForUser.class);
-            var uploadMedicineImage = new UploadMedicineImageController(objectStorage, decrypter);
-            return new MedicineRoutes(decrypter, list, get, create, update, delete, uploadMedicineImage);
+            var uploadMedicineImage = new UploadMedicineImageController(objectStorage);
+            var objectMapper = container.resolve("json.mapper", ObjectMapper.class);
+            return new MedicineRoutes(authentication, versionTracker, stream, listPage, changes, get, create, update,
+                    delete, uploadMedicineImage, objectMapper);
+        });
+
+        container.registerFactory("route.schedule", () -> {
+            var authentication = container.resolve("handler.authentication", AuthenticationHandler.class);
+            var listSchedule = container.resolve("usecase.list-schedule-for-user", ListScheduleForUser.class);
+            return new ScheduleRoutes(authentication, listSchedule);
+        });
+
+        container.registerFactory("route.doses", () -> {
+            var authentication = container.resolve("handler.authentication", AuthenticationHandler.class);
+            var recordDoses = container.resolve("usecase.record-doses-for-user", RecordDosesForUser.class);
+            var listDoses = container.resolve("usecase.list-doses-for-user", ListDosesForUser.class);
+            var objectMapper = container.resolve("json.mapper", ObjectMapper.class);
+            return new DoseRoutes(authentication, recordDoses, listDoses, objectMapper);
         });
     }
 
+    /**
+     * Libera recursos de infraestrutura na ordem inversa da criação
+     */
+    public void shutdown() {
+        logger.info("Encerrando recursos da aplicação...");
+        while (!closeables.isEmpty()) {
+            try {
+                closeables.pop().close();
+            } catch (Exception e) {
+                logger.warn("Erro ao encerrar recurso: {}", e.getMessage(), e);
+            }
+        }
+    }
+
     /**
      * Retorna o container configurado
      */
@@ -3,19 +3,26 @@ package com.pillmind.main.routes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.pillmind.data.protocols.cryptography.Decrypter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pillmind.data.protocols.cache.VersionTracker;
 import com.pillmind.domain.usecases.CreateLocalAccount;
 import com.pillmind.domain.usecases.LinkOAuthAccount;
 import com.pillmind.domain.usecases.LoadUserById;
 import com.pillmind.domain.usecases.LocalAuthentication;
+import com.pillmind.domain.usecases.Logout;
+import com.pillmind.domain.usecases.RefreshAccessToken;
 import com.pillmind.domain.usecases.UpdateUserProfile;
 import com.pillmind.presentation.controllers.GoogleAuthController;
+import com.pillmind.presentation.controllers.LogoutController;
 import com.pillmind.presentation.controllers.ProfileController;
+import com.pillmind.presentation.controllers.RefreshTokenController;
 import com.pillmind.presentation.controllers.SignInController;
 import com.pillmind.presentation.controllers.SignUpController;
 import com.pillmind.presentation.controllers.UpdateProfileController;
 import com.pillmind.presentation.controllers.DeleteProfilePictureController;
 import com.pillmind.presentation.controllers.UploadProfilePictureController;
+import com.pillmind.presentation.handlers.AuthRateLimitHandler;
+import com.pillmind.presentation.handlers.AuthenticationHandler;
 import com.pillmind.presentation.helpers.LogSanitizer;
 import com.pillmind.presentation.protocols.Validation;
 
@@ -34,8 +41,13 @@ public class AuthRoutes implements Routes {
   private final GoogleAuthController googleAuthController;
   private final LoadUserById loadUserById;
   private final UpdateUserProfile updateUserProfile;
-  private final Decrypter decrypter;
+  private final RefreshAccessToken refreshAccessToken;
+  private final Logout logout;
+  private final AuthenticationHandler authentication;
+  private final VersionTracker versionTracker;
   private final UploadProfilePictureController uploadProfilePictureController;
+  private final AuthRateLimitHandler authRateLimit;
+  private final ObjectMapper objectMapper;
 
   // Constructor com injeção de dependências
   public AuthRoutes(
@@ -46,8 +58,13 @@ public class AuthRoutes implements Routes {
       GoogleAuthController googleAuthController,
       LoadUserById loadUserById,
       UpdateUserProfile updateUserProfile,
-      Decrypter decrypter,
-      UploadProfilePictureController uploadProfilePictureController) {
+      RefreshAccessToken refreshAccessToken,
+      Logout logout,
+      AuthenticationHandler authentication,
+      VersionTracker versionTracker,
+      UploadProfilePictureController uploadProfilePictureController,
+      AuthRateLimitHandler authRateLimit,
+      ObjectMapper objectMapper) {
     this.createLocalAccount = createLocalAccount;
     this.localAuthentication = localAuthentication;
     this.signUpValidation = signUpValidation;
@@ -55,18 +72,36 @@ public class AuthRoutes implements Routes {
     this.googleAuthController = googleAuthController;
     this.loadUserById = loadUserById;
     this.updateUserProfile = updateUserProfile;
-    this.decrypter = decrypter;
+    this.refreshAccessToken = refreshAccessToken;
+    this.logout = logout;
+    this.authentication = authentication;
+    this.versionTracker = versionTracker;
     this.uploadProfilePictureController = uploadProfilePictureController;
+    this.authRateLimit = authRateLimit;
+    this.objectMapper = objectMapper;
   }
 
   @Override
   public void setup(Javalin app) {
-    var signUpController = new SignUpController(createLocalAccount, signUpValidation);
-    var signInController = new SignInController(localAuthentication, signInValidation);
-    var profileController = new ProfileController(loadUserById, decrypter);
-    var updateProfileController = new UpdateProfileController(updateUserProfile, loadUserById, decrypter);
-    var deleteProfilePictureController = new DeleteProfilePictureController(
-        updateUserProfile, loadUserById, decrypter);
+    var signUpController = new SignUpController(createLocalAccount, signUpValidation, objectMapper);
+    var signInController = new SignInController(localAuthentication, signInValidation, objectMapper);
+    var profileController = new ProfileController(loadUserById, versionTracker);
+    var updateProfileController = new UpdateProfileController(updateUserProfile, loadUserById, objectMapper);
+    var deleteProfilePictureController = new DeleteProfilePictureController(updateUserProfile, loadUserById);
+    var refreshTokenController = new RefreshTokenController(refreshAccessToken, objectMapper);
+    var logoutController = new LogoutController(logout, objectMapper);
+
+    // /api/profile e logout exigem token: autentica uma vez e os controllers leem o usuário do contexto
+    app.before("/api/profile", authentication);
+    app.before("/api/profile/*", authentication);
+    app.before("/api/auth/logout", authentication);
+
+    // Limite de tentativas antes do controller: requisição recusada não calcula hash (null = desligado)
+    if (authRateLimit != null) {
+      app.before("/api/signup", authRateLimit);
+      app.before("/api/signin", authRateLimit);
+      app.before("/api/auth/google", authRateLimit);
+    }
 
     // Route: POST /api/profile/picture (multipart)
     app.post("/api/profile/picture", ctx -> {
@@ -96,6 +131,19 @@ public class AuthRoutes implements Routes {
       logger.info("✓ Google auth concluído com sucesso");
     });
 
+    // Route: POST /api/auth/refresh
+    app.post("/api/auth/refresh", ctx -> {
+      logger.info("→ POST /api/auth/refresh - Rotate refresh token");
+      refreshTokenController.handle(ctx);
+    });
+
+    // Route: POST /api/auth/logout
+    app.post("/api/auth/logout", ctx -> {
+      logger.info("→ POST /api/auth/logout - Revoke session");
+      logoutController.handle(ctx);
+      logger.info("✓ Logout concluído");
+    });
+
     // Route: GET /api/profile
     app.get("/api/profile", ctx -> {
       logger.info("→ GET /api/profile - User profile");
@@ -0,0 +1,39 @@
+package com.pillmind.main.routes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pillmind.domain.usecases.ListDosesForUser;
+import com.pillmind.domain.usecases.RecordDosesForUser;
+import com.pillmind.presentation.controllers.DoseHttpController;
+import com.pillmind.presentation.handlers.AuthenticationHandler;
+
+import io.javalin.Javalin;
+
+/**
+ * Rotas /api/doses (histórico de doses autenticado).
+ */
+public class DoseRoutes implements Routes {
+
+    private final AuthenticationHandler authentication;
+    private final RecordDosesForUser recordDosesForUser;
+    private final ListDosesForUser listDosesForUser;
+    private final ObjectMapper objectMapper;
+
+    public DoseRoutes(AuthenticationHandler authentication, RecordDosesForUser recordDosesForUser,
+            ListDosesForUser listDosesForUser, ObjectMapper objectMapper) {
+        this.authentication = authentication;
+        this.recordDosesForUser = recordDosesForUser;
+        this.listDosesForUser = listDosesForUser;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void setup(Javalin app) {
+        var controller = new DoseHttpController(recordDosesForUser, listDosesForUser, objectMapper);
+
+        app.before("/api/doses", authentication);
+        app.before("/api/doses/*", authentication);
+
+        app.get("/api/doses", controller::list);
+        app.post("/api/doses/batch", controller::batch);
+    }
+}
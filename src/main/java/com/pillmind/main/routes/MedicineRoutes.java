@@ -1,13 +1,17 @@
 package com.pillmind.main.routes;
 
-import com.pillmind.data.protocols.cryptography.Decrypter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pillmind.data.protocols.cache.VersionTracker;
 import com.pillmind.domain.usecases.CreateMedicineForUser;
 import com.pillmind.domain.usecases.DeleteMedicineForUser;
 import com.pillmind.domain.usecases.GetMedicineForUser;
-import com.pillmind.domain.usecases.ListMedicinesForUser;
+import com.pillmind.domain.usecases.ListMedicineChangesForUser;
+import com.pillmind.domain.usecases.ListMedicinesPageForUser;
+import com.pillmind.domain.usecases.StreamMedicinesForUser;
 import com.pillmind.domain.usecases.UpdateMedicineForUser;
 import com.pillmind.presentation.controllers.MedicineHttpController;
 import com.pillmind.presentation.controllers.UploadMedicineImageController;
+import com.pillmind.presentation.handlers.AuthenticationHandler;
 
 import io.javalin.Javalin;
 
@@ -16,44 +20,64 @@ import io.javalin.Javalin;
  */
 public class MedicineRoutes implements Routes {
 
-    private final Decrypter decrypter;
-    private final ListMedicinesForUser listMedicinesForUser;
+    private final AuthenticationHandler authentication;
+    private final VersionTracker versionTracker;
+    private final StreamMedicinesForUser streamMedicinesForUser;
+    private final ListMedicinesPageForUser listMedicinesPageForUser;
+    private final ListMedicineChangesForUser listMedicineChangesForUser;
     private final GetMedicineForUser getMedicineForUser;
     private final CreateMedicineForUser createMedicineForUser;
     private final UpdateMedicineForUser updateMedicineForUser;
     private final DeleteMedicineForUser deleteMedicineForUser;
     private final UploadMedicineImageController uploadMedicineImageController;
+    private final ObjectMapper objectMapper;
 
     public MedicineRoutes(
-            Decrypter decrypter,
-            ListMedicinesForUser listMedicinesForUser,
+            AuthenticationHandler authentication,
+            VersionTracker versionTracker,
+            StreamMedicinesForUser streamMedicinesForUser,
+            ListMedicinesPageForUser listMedicinesPageForUser,
+            ListMedicineChangesForUser listMedicineChangesForUser,
             GetMedicineForUser getMedicineForUser,
             CreateMedicineForUser createMedicineForUser,
             UpdateMedicineForUser updateMedicineForUser,
             DeleteMedicineForUser deleteMedicineForUser,
-            UploadMedicineImageController uploadMedicineImageController) {
-        this.decrypter = decrypter;
-        this.listMedicinesForUser = listMedicinesForUser;
+            UploadMedicineImageController uploadMedicineImageController,
+            ObjectMapper objectMapper) {
+        this.authentication = authentication;
+        this.versionTracker = versionTracker;
+        this.streamMedicinesForUser = streamMedicinesForUser;
+        this.listMedicinesPageForUser = listMedicinesPageForUser;
+        this.listMedicineChangesForUser = listMedicineChangesForUser;
         this.getMedicineForUser = getMedicineForUser;
         this.createMedicineForUser = createMedicineForUser;
         this.updateMedicineForUser = updateMedicineForUser;
         this.deleteMedicineForUser = deleteMedicineForUser;
         this.uploadMedicineImageController = uploadMedicineImageController;
+        this.objectMapper = objectMapper;
     }
 
     @Override
     public void setup(Javalin app) {
         var controller = new MedicineHttpController(
-                decrypter,
-                listMedicinesForUser,
+                versionTracker,
+                streamMedicinesForUser,
+                listMedicinesPageForUser,
+                listMedicineChangesForUser,
                 getMedicineForUser,
                 createMedicineForUser,
                 updateMedicineForUser,
-                deleteMedicineForUser);
+                deleteMedicineForUser,
+                objectMapper);
+
+        app.before("/api/medicines", authentication);
+        app.before("/api/medicines/*", authentication);
 
         app.get("/api/medicines", controller::list);
         app.post("/api/medicines", controller::create);
         app.post("/api/medicines/picture", uploadMedicineImageController::handle);
+        // Antes de /{id}: "changes" não é um ID
+        app.get("/api/medicines/changes", controller::changes);
         app.get("/api/medicines/{id}", controller::getOne);
         app.put("/api/medicines/{id}", controller::update);
         app.delete("/api/medicines/{id}", controller::delete);
@@ -0,0 +1,42 @@
+package com.pillmind.main.routes;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.pillmind.infra.metrics.MetricsSource;
+
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+import io.javalin.openapi.HttpMethod;
+import io.javalin.openapi.OpenApi;
+import io.javalin.openapi.OpenApiResponse;
+
+/**
+ * Contadores internos (cache, filas) para observação operacional
+ */
+public class MetricsRoutes implements Routes {
+
+    private final List<MetricsSource> sources;
+
+    public MetricsRoutes(List<MetricsSource> sources) {
+        this.sources = sources;
+    }
+
+    @OpenApi(path = "/api/metrics", methods = HttpMethod.GET, summary = "Métricas internas", description = "Contadores por componente (ex.: medicineCache.hits)", tags = {
+            "Health" }, responses = {
+                    @OpenApiResponse(status = "200")
+            })
+    public void metrics(Context ctx) {
+        Map<String, Map<String, Number>> body = new LinkedHashMap<>();
+        for (MetricsSource source : sources) {
+            body.put(source.metricsName(), source.metrics());
+        }
+        ctx.json(body);
+    }
+
+    @Override
+    public void setup(Javalin app) {
+        app.get("/api/metrics", this::metrics);
+    }
+}
@@ -0,0 +1,29 @@
+package com.pillmind.main.routes;
+
+import com.pillmind.domain.usecases.ListScheduleForUser;
+import com.pillmind.presentation.controllers.ScheduleHttpController;
+import com.pillmind.presentation.handlers.AuthenticationHandler;
+
+import io.javalin.Javalin;
+
+/**
+ * Rota /api/schedule (agenda de doses autenticada).
+ */
+public class ScheduleRoutes implements Routes {
+
+    private final AuthenticationHandler authentication;
+    private final ListScheduleForUser listScheduleForUser;
+
+    public ScheduleRoutes(AuthenticationHandler authentication, ListScheduleForUser listScheduleForUser) {
+        this.authentication = authentication;
+        this.listScheduleForUser = listScheduleForUser;
+    }
+
+    @Override
+    public void setup(Javalin app) {
+        var controller = new ScheduleHttpController(listScheduleForUser);
+
+        app.before("/api/schedule", authentication);
+        app.get("/api/schedule", controller::list);
+    }
+}
@@ -1,9 +1,8 @@
 package com.pillmind.presentation.controllers;
 
-import com.pillmind.data.protocols.cryptography.Decrypter;
-import com.pillmind.domain.errors.UnauthorizedException;
 import com.pillmind.domain.usecases.LoadUserById;
 import com.pillmind.domain.usecases.UpdateUserProfile;
+import com.pillmind.presentation.handlers.AuthenticationHandler;
 import com.pillmind.presentation.helpers.HttpHelper;
 import com.pillmind.presentation.protocols.Controller;
 
@@ -16,29 +15,17 @@ public class DeleteProfilePictureController implements Controller {
 
   private final UpdateUserProfile updateUserProfile;
   private final LoadUserById loadUserById;
-  private final Decrypter decrypter;
 
   public DeleteProfilePictureController(
       UpdateUserProfile updateUserProfile,
-      LoadUserById loadUserById,
-      Decrypter decrypter) {
+      LoadUserById loadUserById) {
     this.updateUserProfile = updateUserProfile;
     this.loadUserById = loadUserById;
-    this.decrypter = decrypter;
   }
 
   @Override
   public void handle(Context ctx) {
-    String token = extractAccessToken(ctx);
-    if (token == null || token.isBlank()) {
-      throw new UnauthorizedException("Token de acesso ausente");
-    }
-    final String userId;
-    try {
-      userId = decrypter.decrypt(token);
-    } catch (Exception e) {
-      throw new UnauthorizedException("Token inválido", e);
-    }
+    String userId = AuthenticationHandler.userId(ctx);
 
     var existingUser = loadUserById.execute(new LoadUserById.Params(userId));
 
@@ -65,14 +52,4 @@ public class DeleteProfilePictureController implements Controller {
             updated.updatedAt()));
   }
 
-  private String extractAccessToken(Context ctx) {
-    var authHeader = ctx.header("Authorization");
-    if (authHeader != null) {
-      if (authHeader.regionMatches(true, 0, "Bearer ", 0, 7)) {
-        return authHeader.substring(7).trim();
-      }
-    }
-    return ctx.header("x-access-token");
-  }
-
 }
@@ -0,0 +1,202 @@
+package com.pillmind.presentation.controllers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pillmind.domain.errors.ValidationException;
+import com.pillmind.domain.models.DoseTimes;
+import com.pillmind.domain.models.MedicineTaken;
+import com.pillmind.domain.usecases.ListDosesForUser;
+import com.pillmind.domain.usecases.RecordDosesForUser;
+import com.pillmind.presentation.handlers.AuthenticationHandler;
+import com.pillmind.presentation.helpers.HttpHelper;
+
+import io.javalin.http.Context;
+import io.javalin.openapi.HttpMethod;
+import io.javalin.openapi.OpenApi;
+import io.javalin.openapi.OpenApiContent;
+import io.javalin.openapi.OpenApiParam;
+import io.javalin.openapi.OpenApiRequestBody;
+import io.javalin.openapi.OpenApiResponse;
+import io.javalin.openapi.OpenApiSecurity;
+
+/**
+ * Histórico de doses tomadas/puladas do usuário autenticado.
+ */
+public class DoseHttpController {
+    /** Máximo de doses por POST /api/doses/batch. */
+    static final int MAX_BATCH = 500;
+    /** Máximo de dias de uma consulta; limita o tamanho da resposta. */
+    static final long MAX_RANGE_DAYS = 366;
+
+    private final RecordDosesForUser recordDosesForUser;
+    private final ListDosesForUser listDosesForUser;
+    private final ObjectMapper objectMapper;
+
+    public DoseHttpController(RecordDosesForUser recordDosesForUser, ListDosesForUser listDosesForUser,
+            ObjectMapper objectMapper) {
+        this.recordDosesForUser = recordDosesForUser;
+        this.listDosesForUser = listDosesForUser;
+        this.objectMapper = objectMapper;
+    }
+
+    @OpenApi(
+            path = "/api/doses/batch",
+            methods = HttpMethod.POST,
+            summary = "Registrar doses em lote",
+            description = "Marca até 500 doses como tomadas ou puladas numa única gravação. Cada dose é "
+                    + "identificada por medicineId, date e scheduledTime; registrar de novo a mesma dose "
+                    + "substitui o registro anterior. Sem takenAt, uma dose tomada usa o horário do registro.",
+            tags = { "Doses" },
+            operationId = "recordDosesBatch",
+            security = { @OpenApiSecurity(name = "bearerAuth") },
+            requestBody = @OpenApiRequestBody(
+                    required = true,
+                    content = { @OpenApiContent(from = DoseBatchRequest.class) }),
+            responses = {
+                    @OpenApiResponse(status = "200", content = {
+                            @OpenApiContent(from = DoseBatchJsonResponse.class) }),
+                    @OpenApiResponse(status = "400"),
+                    @OpenApiResponse(status = "401"),
+                    @OpenApiResponse(status = "404")
+            })
+    public void batch(Context ctx) {
+        String userId = AuthenticationHandler.userId(ctx);
+        DoseBatchRequest body = readBody(ctx);
+        if (body == null || body.doses() == null || body.doses().isEmpty()) {
+            throw new ValidationException("doses é obrigatório");
+        }
+        if (body.doses().size() > MAX_BATCH) {
+            throw new ValidationException("Máximo de " + MAX_BATCH + " doses por lote");
+        }
+        List<RecordDosesForUser.Dose> doses = new ArrayList<>(body.doses().size());
+        for (DoseWriteRequest dose : body.doses()) {
+            doses.add(validateDose(dose));
+        }
+        int saved = recordDosesForUser.execute(new RecordDosesForUser.Params(userId, doses));
+        HttpHelper.ok(ctx, new DoseBatchJsonResponse(saved));
+    }
+
+    @OpenApi(
+            path = "/api/doses",
+            methods = HttpMethod.GET,
+            summary = "Doses registradas",
+            description = "Doses tomadas/puladas do usuário entre from e to (inclusivos), por dia. Sem from, "
+                    + "hoje; sem to, o mesmo dia de from (máximo 366 dias).",
+            tags = { "Doses" },
+            operationId = "listDoses",
+            queryParams = {
+                    @OpenApiParam(name = "from", description = "Primeiro dia (yyyy-MM-dd)"),
+                    @OpenApiParam(name = "to", description = "Último dia (yyyy-MM-dd)"),
+                    @OpenApiParam(name = "medicineId", description = "Só as doses deste medicamento")
+            },
+            security = { @OpenApiSecurity(name = "bearerAuth") },
+            responses = {
+                    @OpenApiResponse(status = "200", content = {
+                            @OpenApiContent(from = DoseJsonResponse[].class) }),
+                    @OpenApiResponse(status = "400"),
+                    @OpenApiResponse(status = "401")
+            })
+    public void list(Context ctx) {
+        String userId = AuthenticationHandler.userId(ctx);
+        LocalDate from = parseDate("from", ctx.queryParam("from"));
+        if (from == null) {
+            from = LocalDate.now();
+        }
+        LocalDate to = parseDate("to", ctx.queryParam("to"));
+        if (to == null) {
+            to = from;
+        }
+        if (to.isBefore(from)) {
+            throw new ValidationException("to deve ser igual ou depois de from");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new ValidationException("Intervalo máximo de " + MAX_RANGE_DAYS + " dias");
+        }
+        String medicineId = ctx.queryParam("medicineId");
+        if (medicineId != null && medicineId.isBlank()) {
+            medicineId = null;
+        }
+
+        var doses = listDosesForUser.execute(new ListDosesForUser.Params(userId, medicineId, from, to));
+        HttpHelper.ok(ctx, doses.stream().map(DoseJsonResponse::from).toList());
+    }
+
+    private DoseBatchRequest readBody(Context ctx) {
+        try {
+            return objectMapper.readValue(ctx.body(), DoseBatchRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new ValidationException("Formato JSON inválido na requisição", e);
+        }
+    }
+
+    private static RecordDosesForUser.Dose validateDose(DoseWriteRequest dose) {
+        if (dose == null || dose.medicineId() == null || dose.medicineId().isBlank()) {
+            throw new ValidationException("medicineId é obrigatório em cada dose");
+        }
+        if (dose.date() == null) {
+            throw new ValidationException("date é obrigatório em cada dose");
+        }
+        if (DoseTimes.parseMinute(dose.scheduledTime()) < 0) {
+            throw new ValidationException("Horário inválido: " + dose.scheduledTime() + " (use HH:mm)");
+        }
+        boolean skipped = Boolean.TRUE.equals(dose.skipped());
+        if (skipped && dose.takenAt() != null) {
+            throw new ValidationException("Dose pulada não tem takenAt");
+        }
+        return new RecordDosesForUser.Dose(dose.medicineId().trim(), dose.date(), dose.scheduledTime(), skipped,
+                dose.takenAt());
+    }
+
+    private static LocalDate parseDate(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new ValidationException(name + " deve ser uma data (yyyy-MM-dd)", e);
+        }
+    }
+
+    public record DoseBatchRequest(List<DoseWriteRequest> doses) {
+    }
+
+    public record DoseWriteRequest(
+            String medicineId,
+            @JsonFormat(pattern = "yyyy-MM-dd")
+            LocalDate date,
+            String scheduledTime,
+            Boolean skipped,
+            @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+            LocalDateTime takenAt) {
+    }
+
+    public record DoseBatchJsonResponse(int saved) {
+    }
+
+    public record DoseJsonResponse(
+            String id,
+            String medicineId,
+            @JsonFormat(pattern = "yyyy-MM-dd")
+            LocalDate date,
+            String scheduledTime,
+            @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+            LocalDateTime takenAt,
+            boolean skipped,
+            @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+            LocalDateTime updatedAt) {
+
+        public static DoseJsonResponse from(MedicineTaken dose) {
+            return new DoseJsonResponse(dose.id(), dose.medicineId(), dose.date(), dose.scheduledTime(),
+                    dose.takenAt(), dose.skipped(), dose.updatedAt());
+        }
+    }
+}
@@ -8,10 +8,9 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.pillmind.data.protocols.cryptography.Encrypter;
 import com.pillmind.domain.errors.ValidationException;
 import com.pillmind.domain.models.AuthProvider;
+import com.pillmind.domain.usecases.CreateSession;
 import com.pillmind.domain.usecases.LinkOAuthAccount;
 import com.pillmind.infra.oauth.GoogleTokenValidator;
 import com.pillmind.presentation.protocols.Controller;
@@ -25,19 +24,19 @@ import io.javalin.http.Context;
 public class GoogleAuthController implements Controller {
     private static final Logger logger = LoggerFactory.getLogger(GoogleAuthController.class);
     private final LinkOAuthAccount linkOAuthAccount;
-    private final Encrypter encrypter;
+    private final CreateSession createSession;
     private final GoogleTokenValidator googleTokenValidator;
     private final ObjectMapper objectMapper;
 
     public GoogleAuthController(
             LinkOAuthAccount linkOAuthAccount,
-            Encrypter encrypter,
-            GoogleTokenValidator googleTokenValidator) {
+            CreateSession createSession,
+            GoogleTokenValidator googleTokenValidator,
+            ObjectMapper objectMapper) {
         this.linkOAuthAccount = linkOAuthAccount;
-        this.encrypter = encrypter;
+        this.createSession = createSession;
         this.googleTokenValidator = googleTokenValidator;
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
+        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -63,11 +62,12 @@ public class GoogleAuthController implements Controller {
 
             var result = linkOAuthAccount.execute(params);
             
-            // Gerar token de acesso
-            var accessToken = encrypter.encrypt(result.user().id());
+            // Abrir sessão: token de acesso curto + refresh token
+            var session = createSession.execute(new CreateSession.Params(result.user().id()));
 
             var response = new GoogleAuthResponse(
-                    accessToken,
+                    session.accessToken(),
+                    session.refreshToken(),
                     result.user().id(),
                     result.user().name(),
                     result.user().email(),
@@ -88,6 +88,7 @@ public class GoogleAuthController implements Controller {
 
     public record GoogleAuthResponse(
             String accessToken,
+            String refreshToken,
             String userId,
             String name,
             String email,
@@ -0,0 +1,45 @@
+package com.pillmind.presentation.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pillmind.domain.errors.ValidationException;
+import com.pillmind.domain.usecases.Logout;
+import com.pillmind.presentation.handlers.AuthenticationHandler;
+import com.pillmind.presentation.helpers.HttpHelper;
+import com.pillmind.presentation.protocols.Controller;
+
+import io.javalin.http.Context;
+
+/**
+ * Controller para POST /api/auth/logout: revoga o token de acesso atual e, se enviado no corpo,
+ * a sessão do refresh token
+ */
+public class LogoutController implements Controller {
+  private final Logout logout;
+  private final ObjectMapper objectMapper;
+
+  public LogoutController(Logout logout, ObjectMapper objectMapper) {
+    this.logout = logout;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public void handle(Context ctx) {
+    var token = AuthenticationHandler.token(ctx);
+    String refreshToken = null;
+    if (!ctx.body().isBlank()) {
+      try {
+        refreshToken = objectMapper.readValue(ctx.body(), LogoutRequest.class).refreshToken();
+      } catch (JsonProcessingException e) {
+        throw new ValidationException("Formato JSON inválido na requisição", e);
+      }
+    }
+
+    logout.execute(new Logout.Params(token.subject(), token.tokenId(), token.expiresAt(), refreshToken));
+
+    HttpHelper.noContent(ctx);
+  }
+
+  public record LogoutRequest(String refreshToken) {
+  }
+}
@@ -1,5 +1,6 @@
 package com.pillmind.presentation.controllers;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -7,19 +8,23 @@ import java.util.List;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.pillmind.data.protocols.cryptography.Decrypter;
-import com.pillmind.domain.errors.UnauthorizedException;
+import com.pillmind.data.protocols.cache.VersionTracker;
 import com.pillmind.domain.errors.ValidationException;
+import com.pillmind.domain.models.DoseTimes;
 import com.pillmind.domain.models.Medicine;
 import com.pillmind.domain.usecases.CreateMedicineForUser;
 import com.pillmind.domain.usecases.DeleteMedicineForUser;
 import com.pillmind.domain.usecases.GetMedicineForUser;
-import com.pillmind.domain.usecases.ListMedicinesForUser;
+import com.pillmind.domain.usecases.ListMedicineChangesForUser;
+import com.pillmind.domain.usecases.ListMedicinesPageForUser;
+import com.pillmind.domain.usecases.StreamMedicinesForUser;
 import com.pillmind.domain.usecases.UpdateMedicineForUser;
-import com.pillmind.presentation.helpers.AccessTokenExtractor;
+import com.pillmind.presentation.handlers.AuthenticationHandler;
+import com.pillmind.presentation.helpers.ConditionalGet;
 import com.pillmind.presentation.helpers.HttpHelper;
+import com.pillmind.presentation.helpers.JsonArrayStream;
 
+import io.javalin.http.ContentType;
 import io.javalin.http.Context;
 import io.javalin.openapi.HttpMethod;
 import io.javalin.openapi.OpenApi;
@@ -34,48 +39,120 @@ import io.javalin.openapi.OpenApiSecurity;
  */
 public class MedicineHttpController {
 
-    private final Decrypter decrypter;
+    private final VersionTracker versionTracker;
     private final ObjectMapper objectMapper;
-    private final ListMedicinesForUser listMedicinesForUser;
+    private final StreamMedicinesForUser streamMedicinesForUser;
+    private final ListMedicinesPageForUser listMedicinesPageForUser;
+    private final ListMedicineChangesForUser listMedicineChangesForUser;
     private final GetMedicineForUser getMedicineForUser;
     private final CreateMedicineForUser createMedicineForUser;
     private final UpdateMedicineForUser updateMedicineForUser;
     private final DeleteMedicineForUser deleteMedicineForUser;
 
     public MedicineHttpController(
-            Decrypter decrypter,
-            ListMedicinesForUser listMedicinesForUser,
+            VersionTracker versionTracker,
+            StreamMedicinesForUser streamMedicinesForUser,
+            ListMedicinesPageForUser listMedicinesPageForUser,
+            ListMedicineChangesForUser listMedicineChangesForUser,
             GetMedicineForUser getMedicineForUser,
             CreateMedicineForUser createMedicineForUser,
             UpdateMedicineForUser updateMedicineForUser,
-            DeleteMedicineForUser deleteMedicineForUser) {
-        this.decrypter = decrypter;
-        this.listMedicinesForUser = listMedicinesForUser;
+            DeleteMedicineForUser deleteMedicineForUser,
+            ObjectMapper objectMapper) {
+        this.versionTracker = versionTracker;
+        this.streamMedicinesForUser = streamMedicinesForUser;
+        this.listMedicinesPageForUser = listMedicinesPageForUser;
+        this.listMedicineChangesForUser = listMedicineChangesForUser;
         this.getMedicineForUser = getMedicineForUser;
         this.createMedicineForUser = createMedicineForUser;
         this.updateMedicineForUser = updateMedicineForUser;
         this.deleteMedicineForUser = deleteMedicineForUser;
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
+        this.objectMapper = objectMapper;
     }
 
     @OpenApi(
             path = "/api/medicines",
             methods = HttpMethod.GET,
             summary = "Listar medicamentos",
-            description = "Lista medicamentos do usuário autenticado (Bearer ou x-access-token).",
+            description = "Lista medicamentos do usuário autenticado (Bearer ou x-access-token). "
+                    + "Sem parâmetros retorna a lista completa; com limit/cursor retorna uma página "
+                    + "{ items, nextCursor } (nextCursor null na última). Responde 304 se If-None-Match "
+                    + "casar com o ETag atual.",
             tags = { "Medicines" },
             operationId = "listMedicines",
+            queryParams = {
+                    @OpenApiParam(name = "limit", type = Integer.class,
+                            description = "Itens por página (padrão 50, máximo 100)"),
+                    @OpenApiParam(name = "cursor", description = "nextCursor da página anterior")
+            },
             security = { @OpenApiSecurity(name = "bearerAuth") },
             responses = {
                     @OpenApiResponse(status = "200", content = {
                             @OpenApiContent(from = MedicineJsonResponse[].class) }),
+                    @OpenApiResponse(status = "304"),
+                    @OpenApiResponse(status = "400"),
+                    @OpenApiResponse(status = "401")
+            })
+    public void list(Context ctx) throws IOException {
+        String userId = resolveUserId(ctx);
+        if (notModified(ctx, userId)) {
+            return;
+        }
+        String cursor = ctx.queryParam("cursor");
+        String limit = ctx.queryParam("limit");
+        if (cursor == null && limit == null) {
+            streamAll(ctx, userId);
+            return;
+        }
+
+        var page = listMedicinesPageForUser.execute(
+                new ListMedicinesPageForUser.Params(userId, cursor, parseLimit(limit)));
+        HttpHelper.ok(ctx, new MedicinePageJsonResponse(
+                page.items().stream().map(MedicineJsonResponse::from).toList(),
+                page.nextCursor()));
+    }
+
+    /**
+     * Lista completa escrita direto no corpo da resposta, linha a linha conforme sai do banco.
+     */
+    private void streamAll(Context ctx, String userId) throws IOException {
+        ctx.status(200).contentType(ContentType.APPLICATION_JSON);
+        var out = new JsonArrayStream(objectMapper, ctx.outputStream());
+        streamMedicinesForUser.execute(new StreamMedicinesForUser.Params(
+                userId, m -> out.write(MedicineJsonResponse.from(m))));
+        out.finish();
+    }
+
+    @OpenApi(
+            path = "/api/medicines/changes",
+            methods = HttpMethod.GET,
+            summary = "Alterações de medicamentos desde um watermark",
+            description = "Sincronização incremental: medicamentos criados/alterados e IDs removidos desde "
+                    + "o watermark anterior. Sem since, ou com since mais antigo que a retenção das "
+                    + "remoções, retorna a lista completa com full=true: o app descarta o que não estiver "
+                    + "nela. Itens podem se repetir entre sincronizações; o app deve aplicá-los como upsert.",
+            tags = { "Medicines" },
+            operationId = "listMedicineChanges",
+            queryParams = {
+                    @OpenApiParam(name = "since", type = Long.class,
+                            description = "watermark da resposta anterior (epoch ms)")
+            },
+            security = { @OpenApiSecurity(name = "bearerAuth") },
+            responses = {
+                    @OpenApiResponse(status = "200", content = {
+                            @OpenApiContent(from = MedicineChangesJsonResponse.class) }),
+                    @OpenApiResponse(status = "400"),
                     @OpenApiResponse(status = "401")
             })
-    public void list(Context ctx) {
+    public void changes(Context ctx) {
         String userId = resolveUserId(ctx);
-        var items = listMedicinesForUser.execute(new ListMedicinesForUser.Params(userId));
-        HttpHelper.ok(ctx, items.stream().map(MedicineJsonResponse::from).toList());
+        var result = listMedicineChangesForUser.execute(
+                new ListMedicineChangesForUser.Params(userId, parseSince(ctx.queryParam("since"))));
+        HttpHelper.ok(ctx, new MedicineChangesJsonResponse(
+                result.changed().stream().map(MedicineJsonResponse::from).toList(),
+                result.deletedIds(),
+                result.watermark(),
+                result.full()));
     }
 
     @OpenApi(
@@ -89,11 +166,15 @@ public class MedicineHttpController {
             responses = {
                     @OpenApiResponse(status = "200", content = {
                             @OpenApiContent(from = MedicineJsonResponse.class) }),
+                    @OpenApiResponse(status = "304"),
                     @OpenApiResponse(status = "401"),
                     @OpenApiResponse(status = "404")
             })
     public void getOne(Context ctx) {
         String userId = resolveUserId(ctx);
+        if (notModified(ctx, userId)) {
+            return;
+        }
         String id = ctx.pathParam("id");
         var m = getMedicineForUser.execute(new GetMedicineForUser.Params(userId, id));
         HttpHelper.ok(ctx, MedicineJsonResponse.from(m));
@@ -200,12 +281,15 @@ public class MedicineHttpController {
     }
 
     private String resolveUserId(Context ctx) {
-        String token = AccessTokenExtractor.requireAccessToken(ctx);
-        try {
-            return decrypter.decrypt(token);
-        } catch (Exception e) {
-            throw new UnauthorizedException("Token inválido", e);
-        }
+        return AuthenticationHandler.userId(ctx);
+    }
+
+    /**
+     * ETag pela versão dos medicamentos do usuário, obtida antes da consulta: o 304 não toca o banco.
+     */
+    private boolean notModified(Context ctx, String userId) {
+        String version = versionTracker.current(VersionTracker.Scope.MEDICINES, userId);
+        return ConditionalGet.notModified(ctx, ConditionalGet.etag(version));
     }
 
     private MedicineWriteRequest readBody(Context ctx) {
@@ -229,6 +313,39 @@ public class MedicineHttpController {
         if (body.startDate() == null) {
             throw new ValidationException("Data de início é obrigatória");
         }
+        if (body.times() != null) {
+            for (String time : body.times()) {
+                if (DoseTimes.parseMinute(time) < 0) {
+                    throw new ValidationException("Horário inválido: " + time + " (use HH:mm)");
+                }
+            }
+        }
+    }
+
+    private static Integer parseLimit(String limit) {
+        if (limit == null || limit.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(limit.trim());
+        } catch (NumberFormatException e) {
+            throw new ValidationException("limit deve ser um número inteiro", e);
+        }
+    }
+
+    private static Long parseSince(String since) {
+        if (since == null || since.isBlank()) {
+            return null;
+        }
+        try {
+            long value = Long.parseLong(since.trim());
+            if (value < 0) {
+                throw new ValidationException("since deve ser um watermark válido");
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new ValidationException("since deve ser um watermark válido", e);
+        }
     }
 
     private static String blankToNull(String s) {
@@ -271,6 +388,18 @@ public class MedicineHttpController {
             Boolean reminderOnEmpty) {
     }
 
+    public record MedicinePageJsonResponse(
+            List<MedicineJsonResponse> items,
+            String nextCursor) {
+    }
+
+    public record MedicineChangesJsonResponse(
+            List<MedicineJsonResponse> changed,
+            List<String> deleted,
+            long watermark,
+            boolean full) {
+    }
+
     public record MedicineJsonResponse(
             String id,
             String userId,
@@ -293,7 +422,7 @@ public class MedicineHttpController {
             @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
             LocalDateTime updatedAt) {
 
-        static MedicineJsonResponse from(Medicine m) {
+        public static MedicineJsonResponse from(Medicine m) {
             return new MedicineJsonResponse(
                     m.id(),
                     m.userId(),
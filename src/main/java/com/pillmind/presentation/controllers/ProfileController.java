@@ -4,9 +4,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
-import com.pillmind.data.protocols.cryptography.Decrypter;
-import com.pillmind.domain.errors.UnauthorizedException;
+import com.pillmind.data.protocols.cache.VersionTracker;
 import com.pillmind.domain.usecases.LoadUserById;
+import com.pillmind.presentation.handlers.AuthenticationHandler;
+import com.pillmind.presentation.helpers.ConditionalGet;
 import com.pillmind.presentation.helpers.HttpHelper;
 import com.pillmind.presentation.protocols.Controller;
 
@@ -17,25 +18,21 @@ import io.javalin.http.Context;
  */
 public class ProfileController implements Controller {
   private final LoadUserById loadUserById;
-  private final Decrypter decrypter;
+  private final VersionTracker versionTracker;
 
-  public ProfileController(LoadUserById loadUserById, Decrypter decrypter) {
+  public ProfileController(LoadUserById loadUserById, VersionTracker versionTracker) {
     this.loadUserById = loadUserById;
-    this.decrypter = decrypter;
+    this.versionTracker = versionTracker;
   }
 
   @Override
   public void handle(Context ctx) {
-    String token = extractAccessToken(ctx);
-    if (token == null || token.isBlank()) {
-      throw new UnauthorizedException("Token de acesso ausente");
-    }
+    String userId = AuthenticationHandler.userId(ctx);
 
-    final String userId;
-    try {
-      userId = decrypter.decrypt(token);
-    } catch (Exception e) {
-      throw new UnauthorizedException("Token inválido", e);
+    // Versão lida antes da consulta: perfil inalterado responde 304 sem ir ao banco
+    String etag = ConditionalGet.etag(versionTracker.current(VersionTracker.Scope.PROFILE, userId));
+    if (ConditionalGet.notModified(ctx, etag)) {
+      return;
     }
 
     var user = loadUserById.execute(new LoadUserById.Params(userId));
@@ -51,18 +48,6 @@ public class ProfileController implements Controller {
         user.updatedAt()));
   }
 
-  private String extractAccessToken(Context ctx) {
-    var authHeader = ctx.header("Authorization");
-    if (authHeader != null) {
-      // Accept "Bearer <token>" with case-insensitive scheme.
-      if (authHeader.regionMatches(true, 0, "Bearer ", 0, 7)) {
-        return authHeader.substring(7).trim();
-      }
-    }
-
-    return ctx.header("x-access-token");
-  }
-
   public record ProfileResponse(
       String id,
       String name,
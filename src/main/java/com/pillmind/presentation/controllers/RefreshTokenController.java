@@ -0,0 +1,45 @@
+package com.pillmind.presentation.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pillmind.domain.errors.ValidationException;
+import com.pillmind.domain.usecases.RefreshAccessToken;
+import com.pillmind.presentation.helpers.HttpHelper;
+import com.pillmind.presentation.protocols.Controller;
+
+import io.javalin.http.Context;
+
+/**
+ * Controller para POST /api/auth/refresh: troca o refresh token por um novo par de tokens
+ */
+public class RefreshTokenController implements Controller {
+  private final RefreshAccessToken refreshAccessToken;
+  private final ObjectMapper objectMapper;
+
+  public RefreshTokenController(RefreshAccessToken refreshAccessToken, ObjectMapper objectMapper) {
+    this.refreshAccessToken = refreshAccessToken;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public void handle(Context ctx) {
+    try {
+      var request = objectMapper.readValue(ctx.body(), RefreshRequest.class);
+      if (request.refreshToken() == null || request.refreshToken().isBlank()) {
+        throw new ValidationException("O campo 'refreshToken' é obrigatório");
+      }
+
+      var result = refreshAccessToken.execute(new RefreshAccessToken.Params(request.refreshToken()));
+
+      HttpHelper.ok(ctx, new RefreshResponse(result.accessToken(), result.refreshToken()));
+    } catch (JsonProcessingException e) {
+      throw new ValidationException("Formato JSON inválido na requisição", e);
+    }
+  }
+
+  public record RefreshRequest(String refreshToken) {
+  }
+
+  public record RefreshResponse(String accessToken, String refreshToken) {
+  }
+}
@@ -0,0 +1,113 @@
+package com.pillmind.presentation.controllers;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.pillmind.domain.errors.ValidationException;
+import com.pillmind.domain.models.ScheduledDose;
+import com.pillmind.domain.usecases.ListScheduleForUser;
+import com.pillmind.presentation.handlers.AuthenticationHandler;
+import com.pillmind.presentation.helpers.HttpHelper;
+
+import io.javalin.http.Context;
+import io.javalin.openapi.HttpMethod;
+import io.javalin.openapi.OpenApi;
+import io.javalin.openapi.OpenApiContent;
+import io.javalin.openapi.OpenApiParam;
+import io.javalin.openapi.OpenApiResponse;
+import io.javalin.openapi.OpenApiSecurity;
+
+/**
+ * Agenda de doses do usuário autenticado.
+ */
+public class ScheduleHttpController {
+    /** Intervalo máximo de uma consulta; limita o tamanho da resposta. */
+    static final Duration MAX_RANGE = Duration.ofDays(31);
+    private static final Duration DEFAULT_RANGE = Duration.ofDays(1);
+
+    private final ListScheduleForUser listScheduleForUser;
+
+    public ScheduleHttpController(ListScheduleForUser listScheduleForUser) {
+        this.listScheduleForUser = listScheduleForUser;
+    }
+
+    @OpenApi(
+            path = "/api/schedule",
+            methods = HttpMethod.GET,
+            summary = "Doses previstas",
+            description = "Doses dos medicamentos do usuário em [from, to), em ordem de horário. Cada "
+                    + "medicamento se repete todo dia nos horários de times, entre startDate e endDate. "
+                    + "Sem from, começa agora; sem to, vai até 24h depois de from (máximo 31 dias).",
+            tags = { "Schedule" },
+            operationId = "listSchedule",
+            queryParams = {
+                    @OpenApiParam(name = "from", description = "Início (yyyy-MM-dd ou yyyy-MM-ddTHH:mm[:ss])"),
+                    @OpenApiParam(name = "to", description = "Fim exclusivo (yyyy-MM-dd ou yyyy-MM-ddTHH:mm[:ss])")
+            },
+            security = { @OpenApiSecurity(name = "bearerAuth") },
+            responses = {
+                    @OpenApiResponse(status = "200", content = {
+                            @OpenApiContent(from = ScheduleJsonResponse.class) }),
+                    @OpenApiResponse(status = "400"),
+                    @OpenApiResponse(status = "401")
+            })
+    public void list(Context ctx) {
+        String userId = AuthenticationHandler.userId(ctx);
+        LocalDateTime from = parseDateTime("from", ctx.queryParam("from"));
+        if (from == null) {
+            from = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        }
+        LocalDateTime to = parseDateTime("to", ctx.queryParam("to"));
+        if (to == null) {
+            to = from.plus(DEFAULT_RANGE);
+        }
+        if (!to.isAfter(from)) {
+            throw new ValidationException("to deve ser depois de from");
+        }
+        if (from.plus(MAX_RANGE).isBefore(to)) {
+            throw new ValidationException("Intervalo máximo de " + MAX_RANGE.toDays() + " dias");
+        }
+
+        var doses = listScheduleForUser.execute(new ListScheduleForUser.Params(userId, from, to));
+        HttpHelper.ok(ctx, new ScheduleJsonResponse(from, to,
+                doses.stream().map(ScheduledDoseJsonResponse::from).toList()));
+    }
+
+    private static LocalDateTime parseDateTime(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String text = value.trim();
+        try {
+            return text.length() == 10 ? LocalDate.parse(text).atStartOfDay() : LocalDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException(name + " deve ser uma data (yyyy-MM-dd) ou data e hora (yyyy-MM-ddTHH:mm)", e);
+        }
+    }
+
+    public record ScheduleJsonResponse(
+            @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+            LocalDateTime from,
+            @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+            LocalDateTime to,
+            List<ScheduledDoseJsonResponse> doses) {
+    }
+
+    public record ScheduledDoseJsonResponse(
+            String medicineId,
+            String medicineName,
+            String dosage,
+            @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+            LocalDateTime scheduledAt) {
+
+        public static ScheduledDoseJsonResponse from(ScheduledDose dose) {
+            return new ScheduledDoseJsonResponse(dose.medicineId(), dose.medicineName(), dose.dosage(),
+                    dose.scheduledAt());
+        }
+    }
+}
@@ -5,7 +5,6 @@ import java.time.LocalDate;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.pillmind.domain.errors.ValidationException;
 import com.pillmind.domain.usecases.LocalAuthentication;
 import com.pillmind.presentation.helpers.HttpHelper;
@@ -22,11 +21,11 @@ public class SignInController implements Controller {
   private final ObjectMapper objectMapper;
   private final Validation<SignInRequest> validator;
 
-  public SignInController(LocalAuthentication localAuthentication, Validation<SignInRequest> validator) {
+  public SignInController(LocalAuthentication localAuthentication, Validation<SignInRequest> validator,
+      ObjectMapper objectMapper) {
     this.localAuthentication = localAuthentication;
     this.validator = validator;
-    this.objectMapper = new ObjectMapper();
-    this.objectMapper.registerModule(new JavaTimeModule());
+    this.objectMapper = objectMapper;
   }
 
   @Override
@@ -41,6 +40,7 @@ public class SignInController implements Controller {
 
       var response = new SignInResponse(
           result.accessToken(), 
+          result.refreshToken(),
           result.user().id(),
           result.user().name(),
           result.user().email(),
@@ -60,6 +60,7 @@ public class SignInController implements Controller {
 
   public record SignInResponse(
       String accessToken, 
+      String refreshToken,
       String userId,
       String name,
       String email,
@@ -8,7 +8,6 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.pillmind.domain.errors.ValidationException;
 import com.pillmind.domain.models.Gender;
 import com.pillmind.domain.usecases.CreateLocalAccount;
@@ -29,11 +28,11 @@ public class SignUpController implements Controller {
   private final Validation<SignUpRequest> validation;
   private final ObjectMapper objectMapper;
 
-  public SignUpController(CreateLocalAccount createLocalAccount, Validation<SignUpRequest> validation) {
+  public SignUpController(CreateLocalAccount createLocalAccount, Validation<SignUpRequest> validation,
+      ObjectMapper objectMapper) {
     this.createLocalAccount = createLocalAccount;
     this.validation = validation;
-    this.objectMapper = new ObjectMapper();
-    this.objectMapper.registerModule(new JavaTimeModule());
+    this.objectMapper = objectMapper;
   }
 
   @Override
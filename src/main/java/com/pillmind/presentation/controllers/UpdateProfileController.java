@@ -5,13 +5,11 @@ import java.time.LocalDate;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.pillmind.data.protocols.cryptography.Decrypter;
-import com.pillmind.domain.errors.UnauthorizedException;
 import com.pillmind.domain.errors.ValidationException;
 import com.pillmind.domain.models.Gender;
 import com.pillmind.domain.usecases.LoadUserById;
 import com.pillmind.domain.usecases.UpdateUserProfile;
+import com.pillmind.presentation.handlers.AuthenticationHandler;
 import com.pillmind.presentation.helpers.HttpHelper;
 import com.pillmind.presentation.protocols.Controller;
 
@@ -23,32 +21,19 @@ import io.javalin.http.Context;
 public class UpdateProfileController implements Controller {
     private final UpdateUserProfile updateUserProfile;
     private final LoadUserById loadUserById;
-    private final Decrypter decrypter;
     private final ObjectMapper objectMapper;
 
-    public UpdateProfileController(UpdateUserProfile updateUserProfile, LoadUserById loadUserById, Decrypter decrypter) {
+    public UpdateProfileController(UpdateUserProfile updateUserProfile, LoadUserById loadUserById,
+            ObjectMapper objectMapper) {
         this.updateUserProfile = updateUserProfile;
         this.loadUserById = loadUserById;
-        this.decrypter = decrypter;
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
+        this.objectMapper = objectMapper;
     }
 
     @Override
     public void handle(Context ctx) {
-        // 1. Extrair e validar token
-        String token = extractAccessToken(ctx);
-        if (token == null || token.isBlank()) {
-            throw new UnauthorizedException("Token de acesso ausente");
-        }
-
-        // 2. Decriptar token para obter ID do usuário
-        final String userId;
-        try {
-            userId = decrypter.decrypt(token);
-        } catch (Exception e) {
-            throw new UnauthorizedException("Token inválido", e);
-        }
+        // 1-2. Usuário já autenticado pelo before-handler
+        String userId = AuthenticationHandler.userId(ctx);
 
         // 3. Verificar se usuário existe
         var existingUser = loadUserById.execute(new LoadUserById.Params(userId));
@@ -119,16 +104,6 @@ public class UpdateProfileController implements Controller {
         return email.matches("^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$");
     }
 
-    private String extractAccessToken(Context ctx) {
-        var authHeader = ctx.header("Authorization");
-        if (authHeader != null) {
-            if (authHeader.regionMatches(true, 0, "Bearer ", 0, 7)) {
-                return authHeader.substring(7).trim();
-            }
-        }
-        return ctx.header("x-access-token");
-    }
-
     public record UpdateProfileRequest(
         String name,
         String email,
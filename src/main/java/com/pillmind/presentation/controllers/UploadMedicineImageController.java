@@ -4,11 +4,9 @@ import java.io.InputStream;
 import java.util.Map;
 import java.util.Set;
 
-import com.pillmind.data.protocols.cryptography.Decrypter;
 import com.pillmind.data.protocols.storage.ObjectStorageService;
-import com.pillmind.domain.errors.UnauthorizedException;
 import com.pillmind.domain.errors.ValidationException;
-import com.pillmind.presentation.helpers.AccessTokenExtractor;
+import com.pillmind.presentation.handlers.AuthenticationHandler;
 import com.pillmind.presentation.helpers.HttpHelper;
 import com.pillmind.presentation.protocols.Controller;
 
@@ -28,24 +26,14 @@ public class UploadMedicineImageController implements Controller {
             "image/webp");
 
     private final ObjectStorageService objectStorage;
-    private final Decrypter decrypter;
 
-    public UploadMedicineImageController(
-            ObjectStorageService objectStorage,
-            Decrypter decrypter) {
+    public UploadMedicineImageController(ObjectStorageService objectStorage) {
         this.objectStorage = objectStorage;
-        this.decrypter = decrypter;
     }
 
     @Override
     public void handle(Context ctx) {
-        String token = AccessTokenExtractor.requireAccessToken(ctx);
-        final String userId;
-        try {
-            userId = decrypter.decrypt(token);
-        } catch (Exception e) {
-            throw new UnauthorizedException("Token inválido", e);
-        }
+        String userId = AuthenticationHandler.userId(ctx);
 
         UploadedFile file = ctx.uploadedFile("file");
         if (file == null) {
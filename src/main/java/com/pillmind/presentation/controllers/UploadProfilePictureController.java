@@ -3,12 +3,11 @@ package com.pillmind.presentation.controllers;
 import java.io.InputStream;
 import java.util.Set;
 
-import com.pillmind.data.protocols.cryptography.Decrypter;
 import com.pillmind.data.protocols.storage.ObjectStorageService;
-import com.pillmind.domain.errors.UnauthorizedException;
 import com.pillmind.domain.errors.ValidationException;
 import com.pillmind.domain.usecases.LoadUserById;
 import com.pillmind.domain.usecases.UpdateUserProfile;
+import com.pillmind.presentation.handlers.AuthenticationHandler;
 import com.pillmind.presentation.helpers.HttpHelper;
 import com.pillmind.presentation.protocols.Controller;
 
@@ -31,31 +30,19 @@ public class UploadProfilePictureController implements Controller {
   private final ObjectStorageService objectStorage;
   private final UpdateUserProfile updateUserProfile;
   private final LoadUserById loadUserById;
-  private final Decrypter decrypter;
 
   public UploadProfilePictureController(
       ObjectStorageService objectStorage,
       UpdateUserProfile updateUserProfile,
-      LoadUserById loadUserById,
-      Decrypter decrypter) {
+      LoadUserById loadUserById) {
     this.objectStorage = objectStorage;
     this.updateUserProfile = updateUserProfile;
     this.loadUserById = loadUserById;
-    this.decrypter = decrypter;
   }
 
   @Override
   public void handle(Context ctx) {
-    String token = extractAccessToken(ctx);
-    if (token == null || token.isBlank()) {
-      throw new UnauthorizedException("Token de acesso ausente");
-    }
-    final String userId;
-    try {
-      userId = decrypter.decrypt(token);
-    } catch (Exception e) {
-      throw new UnauthorizedException("Token inválido", e);
-    }
+    String userId = AuthenticationHandler.userId(ctx);
 
     UploadedFile file = ctx.uploadedFile("file");
     if (file == null) {
@@ -110,13 +97,4 @@ public class UploadProfilePictureController implements Controller {
             updated.updatedAt()));
   }
 
-  private String extractAccessToken(Context ctx) {
-    var authHeader = ctx.header("Authorization");
-    if (authHeader != null && authHeader.regionMatches(true, 0, "Bearer ", 0, 7)) {
-      return authHeader.substring(7).trim();
-
-    }
-    return ctx.header("x-access-token");
-  }
-
 }
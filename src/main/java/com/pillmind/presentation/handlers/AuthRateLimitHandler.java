@@ -0,0 +1,87 @@
+package com.pillmind.presentation.handlers;
+
+import java.util.Locale;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pillmind.data.protocols.ratelimit.RateLimiter;
+import com.pillmind.domain.errors.TooManyRequestsException;
+
+import io.javalin.http.Context;
+import io.javalin.http.Handler;
+import io.javalin.http.HandlerType;
+
+/**
+ * Before-handler que limita tentativas de autenticação por IP e por conta (email).
+ * <p>
+ * Roda antes do controller, então uma requisição recusada não chega a calcular hash de senha
+ * nem a consultar o banco. O limite por conta usa o email normalizado do corpo; requisições sem
+ * email (ex.: login Google) só passam pelo limite por IP.
+ */
+public class AuthRateLimitHandler implements Handler {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final RateLimiter ipLimiter;
+    private final RateLimiter accountLimiter;
+    private final boolean trustProxy;
+
+    /**
+     * @param trustProxy usa o primeiro IP de X-Forwarded-For (só atrás de um proxy confiável)
+     */
+    public AuthRateLimitHandler(RateLimiter ipLimiter, RateLimiter accountLimiter, boolean trustProxy) {
+        this.ipLimiter = ipLimiter;
+        this.accountLimiter = accountLimiter;
+        this.trustProxy = trustProxy;
+    }
+
+    @Override
+    public void handle(Context ctx) {
+        if (ctx.method() == HandlerType.OPTIONS) {
+            return;
+        }
+
+        reject(ipLimiter.tryAcquire(clientIp(ctx)));
+
+        String email = normalizedEmail(ctx.body());
+        if (email != null) {
+            reject(accountLimiter.tryAcquire(email));
+        }
+    }
+
+    private String clientIp(Context ctx) {
+        if (trustProxy) {
+            String forwardedFor = ctx.header("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                return forwardedFor.split(",", 2)[0].trim();
+            }
+        }
+        return ctx.ip();
+    }
+
+    /**
+     * Email em minúsculas e sem espaços, para que variações não ganhem baldes próprios.
+     */
+    static String normalizedEmail(String body) {
+        if (body == null || body.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            if (email == null || !email.isTextual() || email.asText().isBlank()) {
+                return null;
+            }
+            return email.asText().trim().toLowerCase(Locale.ROOT);
+        } catch (Exception e) {
+            // Corpo inválido: o controller responde 400; aqui vale só o limite por IP
+            return null;
+        }
+    }
+
+    private static void reject(long waitMs) {
+        if (waitMs > 0) {
+            long retryAfterSeconds = Math.max(1, (waitMs + 999) / 1000);
+            throw new TooManyRequestsException(
+                    "Muitas tentativas. Tente novamente em " + retryAfterSeconds + " segundos", retryAfterSeconds);
+        }
+    }
+}
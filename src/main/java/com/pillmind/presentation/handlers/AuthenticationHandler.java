@@ -0,0 +1,68 @@
+package com.pillmind.presentation.handlers;
+
+import com.pillmind.data.protocols.cryptography.TokenRevocationStore;
+import com.pillmind.data.protocols.cryptography.TokenVerifier;
+import com.pillmind.data.protocols.cryptography.TokenVerifier.VerifiedToken;
+import com.pillmind.domain.errors.UnauthorizedException;
+import com.pillmind.presentation.helpers.AccessTokenExtractor;
+
+import io.javalin.http.Context;
+import io.javalin.http.Handler;
+import io.javalin.http.HandlerType;
+
+/**
+ * Before-handler que autentica a requisição uma única vez e guarda o usuário no contexto.
+ * <p>
+ * Os controllers das rotas protegidas leem o usuário com {@link #userId(Context)} em vez de
+ * decodificar o token de novo. Falhas viram {@link UnauthorizedException} e o endpoint não roda.
+ * Tokens revogados no logout são recusados pela consulta em memória ao {@link TokenRevocationStore}.
+ */
+public class AuthenticationHandler implements Handler {
+    private static final String TOKEN_ATTRIBUTE = "pillmind.auth.token";
+
+    private final TokenVerifier tokenVerifier;
+    private final TokenRevocationStore tokenRevocationStore;
+
+    public AuthenticationHandler(TokenVerifier tokenVerifier, TokenRevocationStore tokenRevocationStore) {
+        this.tokenVerifier = tokenVerifier;
+        this.tokenRevocationStore = tokenRevocationStore;
+    }
+
+    @Override
+    public void handle(Context ctx) {
+        // Preflight de CORS não leva token
+        if (ctx.method() == HandlerType.OPTIONS) {
+            return;
+        }
+
+        String token = AccessTokenExtractor.requireAccessToken(ctx);
+        final VerifiedToken verified;
+        try {
+            verified = tokenVerifier.verify(token);
+        } catch (Exception e) {
+            throw new UnauthorizedException("Token inválido", e);
+        }
+        if (tokenRevocationStore.isRevoked(verified.tokenId())) {
+            throw new UnauthorizedException("Token revogado");
+        }
+        ctx.attribute(TOKEN_ATTRIBUTE, verified);
+    }
+
+    /**
+     * Usuário autenticado pelo before-handler desta requisição.
+     */
+    public static String userId(Context ctx) {
+        return token(ctx).subject();
+    }
+
+    /**
+     * Token de acesso verificado desta requisição (id e expiração, usados no logout).
+     */
+    public static VerifiedToken token(Context ctx) {
+        VerifiedToken token = ctx.attribute(TOKEN_ATTRIBUTE);
+        if (token == null) {
+            throw new UnauthorizedException("Token de acesso ausente");
+        }
+        return token;
+    }
+}
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import com.pillmind.domain.errors.ConflictException;
 import com.pillmind.domain.errors.NotFoundException;
 import com.pillmind.domain.errors.ServiceUnavailableException;
+import com.pillmind.domain.errors.TooManyRequestsException;
 import com.pillmind.domain.errors.UnauthorizedException;
 import com.pillmind.domain.errors.ValidationException;
 import com.pillmind.presentation.helpers.HttpHelper;
@@ -42,8 +43,17 @@ public final class ErrorHandlers {
             HttpHelper.notFound(ctx, e.getMessage());
         });
 
+        app.exception(TooManyRequestsException.class, (e, ctx) -> {
+            logger.debug("Too many requests: {} {}", ctx.path(), e.getMessage());
+            ctx.header("Retry-After", String.valueOf(e.retryAfterSeconds()));
+            HttpHelper.tooManyRequests(ctx, e.getMessage());
+        });
+
         app.exception(ServiceUnavailableException.class, (e, ctx) -> {
             logger.warn("Service unavailable: {}", e.getMessage());
+            if (e.retryAfterSeconds() > 0) {
+                ctx.header("Retry-After", String.valueOf(e.retryAfterSeconds()));
+            }
             HttpHelper.serviceUnavailable(ctx, e.getMessage());
         });
 
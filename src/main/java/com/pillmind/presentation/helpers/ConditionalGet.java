@@ -0,0 +1,54 @@
+package com.pillmind.presentation.helpers;
+
+import io.javalin.http.Context;
+import io.javalin.http.Header;
+import io.javalin.http.HttpStatus;
+
+/**
+ * ETag e GET condicional (If-None-Match / 304).
+ */
+public final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * ETag forte para a versão informada.
+     */
+    public static String etag(String version) {
+        return '"' + version + '"';
+    }
+
+    /**
+     * Define ETag e Cache-Control e responde 304 se o If-None-Match da requisição casar.
+     *
+     * @return {@code true} se a resposta já é 304 e o handler deve retornar sem corpo
+     */
+    public static boolean notModified(Context ctx, String etag) {
+        ctx.header(Header.ETAG, etag);
+        // O app pode guardar a resposta, mas precisa revalidar sempre
+        ctx.header(Header.CACHE_CONTROL, "private, no-cache");
+        if (matches(ctx.header(Header.IF_NONE_MATCH), etag)) {
+            ctx.status(HttpStatus.NOT_MODIFIED);
+            return true;
+        }
+        return false;
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // If-None-Match usa comparação fraca (RFC 9110, 13.1.2)
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
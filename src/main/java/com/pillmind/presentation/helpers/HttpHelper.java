@@ -49,6 +49,10 @@ public class HttpHelper {
         ctx.status(500).json(Map.of(ERROR_KEY, message));
     }
 
+    public static void tooManyRequests(Context ctx, String message) {
+        ctx.status(429).json(Map.of(ERROR_KEY, message));
+    }
+
     public static void serviceUnavailable(Context ctx, String message) {
         ctx.status(503).json(Map.of(ERROR_KEY, message));
     }
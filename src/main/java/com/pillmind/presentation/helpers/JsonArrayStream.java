@@ -0,0 +1,44 @@
+package com.pillmind.presentation.helpers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Escreve um array JSON item a item num {@link OutputStream}, sem materializar a lista.
+ * <p>
+ * O gerador acumula em buffer próprio e só repassa ao stream quando ele enche ou em
+ * {@link #finish()}; se a produção dos itens falhar antes disso, basta não chamar
+ * {@code finish()} e o handler de erro ainda responde normalmente.
+ */
+public final class JsonArrayStream {
+    private final ObjectWriter writer;
+    private final JsonGenerator generator;
+
+    public JsonArrayStream(ObjectMapper mapper, OutputStream out) throws IOException {
+        // Sem flush por item: o buffer do gerador define o tamanho das escritas no socket
+        this.writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = mapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.writeStartArray();
+    }
+
+    public void write(Object item) {
+        try {
+            writer.writeValue(generator, item);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Fecha o array e envia o restante do buffer. */
+    public void finish() throws IOException {
+        generator.writeEndArray();
+        generator.close();
+    }
+}
@@ -0,0 +1,125 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pillmind.domain.models.DoseTimes;
+
+/**
+ * Troca {@code medicines.times_json} (array JSON de "HH:mm") por {@code times_packed}: minutos do
+ * dia, 2 bytes cada, no formato de {@link DoseTimes#toPacked()}.
+ * <p>
+ * Em Java porque SQLite e Postgres não têm como converter o JSON para binário com o mesmo SQL.
+ * Horários que não são "HH:mm" válidos são descartados (e logados): a API nunca os validou. O
+ * {@code times_json} original dessas linhas fica em {@code medicine_times_json_backup} antes do
+ * DROP COLUMN, para poder ser corrigido à mão depois.
+ */
+public class V7__Pack_medicine_times extends BaseJavaMigration {
+    private static final Logger logger = LoggerFactory.getLogger(V7__Pack_medicine_times.class);
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        String binaryType = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())
+                ? "BYTEA"
+                : "BLOB";
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("ALTER TABLE medicines ADD COLUMN times_packed " + binaryType);
+            stmt.execute("""
+                    CREATE TABLE medicine_times_json_backup (
+                        medicine_id VARCHAR(36) NOT NULL PRIMARY KEY,
+                        times_json TEXT NOT NULL
+                    )
+                    """);
+        }
+
+        int converted = 0;
+        int backedUp = 0;
+        try (Statement select = connection.createStatement();
+                ResultSet rs = select.executeQuery("SELECT id, times_json FROM medicines");
+                PreparedStatement update = connection.prepareStatement(
+                        "UPDATE medicines SET times_packed = ? WHERE id = ?");
+                PreparedStatement backup = connection.prepareStatement(
+                        "INSERT INTO medicine_times_json_backup (medicine_id, times_json) VALUES (?, ?)")) {
+            int pending = 0;
+            while (rs.next()) {
+                String id = rs.getString("id");
+                String json = rs.getString("times_json");
+                Packed packed = pack(id, json);
+                update.setBytes(1, packed.times().toPacked());
+                update.setString(2, id);
+                update.addBatch();
+                if (packed.lossy()) {
+                    backup.setString(1, id);
+                    backup.setString(2, json);
+                    backup.addBatch();
+                    backedUp++;
+                }
+                converted++;
+                if (++pending == BATCH_SIZE) {
+                    update.executeBatch();
+                    backup.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+                backup.executeBatch();
+            }
+        }
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("ALTER TABLE medicines DROP COLUMN times_json");
+        }
+        logger.info("times_json convertido para times_packed em {} medicamentos", converted);
+        if (backedUp > 0) {
+            logger.warn("{} medicamentos perderam horários na conversão; originais em medicine_times_json_backup",
+                    backedUp);
+        }
+    }
+
+    /**
+     * @param lossy se algo do JSON original foi descartado
+     */
+    private record Packed(DoseTimes times, boolean lossy) {
+    }
+
+    private static Packed pack(String id, String json) {
+        if (json == null || json.isBlank()) {
+            return new Packed(DoseTimes.empty(), false);
+        }
+        List<String> times;
+        try {
+            times = JSON.readValue(json, new TypeReference<List<String>>() {
+            });
+        } catch (Exception e) {
+            logger.warn("times_json inválido no medicamento {}, usando lista vazia: {}", id, json);
+            return new Packed(DoseTimes.empty(), true);
+        }
+        int[] minutes = new int[times.size()];
+        int count = 0;
+        for (String time : times) {
+            int minute = DoseTimes.parseMinute(time);
+            if (minute < 0) {
+                logger.warn("Horário inválido descartado no medicamento {}: {}", id, time);
+                continue;
+            }
+            minutes[count++] = minute;
+        }
+        return new Packed(DoseTimes.ofMinutes(Arrays.copyOf(minutes, count)), count < times.size());
+    }
+}
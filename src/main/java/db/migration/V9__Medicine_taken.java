@@ -0,0 +1,49 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Cria {@code medicine_taken}: uma linha por dose tomada ou pulada.
+ * <p>
+ * A chave primária começa por (user_id, date), na ordem das consultas por dia e por intervalo. No
+ * SQLite a tabela é {@code WITHOUT ROWID}: as linhas ficam gravadas na ordem da chave, então o
+ * histórico de um usuário num intervalo é um trecho contíguo da árvore, por mais anos que a tabela
+ * acumule. O PostgreSQL não tem esse modo; lá a chave é um índice B-tree comum, o que basta para
+ * o mesmo range scan. Em Java só por causa dessa diferença de SQL.
+ * <p>
+ * {@code scheduled_time} é o minuto do dia (0..1439), como em {@code medicines.times_packed}.
+ */
+public class V9__Medicine_taken extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean postgres = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("""
+                    CREATE TABLE medicine_taken (
+                        user_id VARCHAR(36) NOT NULL,
+                        date DATE NOT NULL,
+                        medicine_id VARCHAR(36) NOT NULL,
+                        scheduled_time SMALLINT NOT NULL,
+                        id VARCHAR(36) NOT NULL,
+                        taken_at TIMESTAMP,
+                        skipped INTEGER NOT NULL DEFAULT 0,
+                        created_at TIMESTAMP NOT NULL,
+                        updated_at TIMESTAMP NOT NULL,
+                        PRIMARY KEY (user_id, date, medicine_id, scheduled_time),
+                        FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+                        FOREIGN KEY (medicine_id) REFERENCES medicines(id) ON DELETE CASCADE
+                    )""" + (postgres ? "" : " WITHOUT ROWID"));
+            // Alvo do upsert de POST /api/doses/batch e histórico de um medicamento
+            stmt.execute("""
+                    CREATE UNIQUE INDEX idx_medicine_taken_dose
+                        ON medicine_taken(medicine_id, date, scheduled_time)""");
+        }
+    }
+}
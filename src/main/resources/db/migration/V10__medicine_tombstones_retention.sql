@@ -0,0 +1,4 @@
+-- Retenção de tombstones (PeriodicPurge): a limpeza apaga por deleted_at de todos os usuários,
+-- o que o índice (user_id, deleted_at) não cobre.
+
+CREATE INDEX idx_medicine_tombstones_deleted ON medicine_tombstones(deleted_at);
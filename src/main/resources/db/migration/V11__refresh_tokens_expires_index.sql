@@ -0,0 +1,4 @@
+-- Refresh tokens vencidos apagados em segundo plano (PeriodicPurge) de todos os usuários de uma vez,
+-- o que o índice (user_id, expires_at) não cobre.
+
+CREATE INDEX idx_refresh_tokens_expires ON refresh_tokens(expires_at);
@@ -0,0 +1,7 @@
+-- Paginação keyset de GET /api/medicines: cada página é um range scan em
+-- (user_id, start_date, name, id), na mesma ordem do ORDER BY.
+-- O índice antigo só por user_id vira prefixo redundante.
+
+CREATE INDEX idx_medicines_user_page ON medicines(user_id, start_date, name, id);
+
+DROP INDEX IF EXISTS idx_medicines_user_id;
@@ -0,0 +1,14 @@
+-- Sincronização incremental (GET /api/medicines/changes?since=)
+-- Remoções viram tombstones para o app descobrir o que apagar localmente;
+-- alterações saem de medicines.updated_at.
+
+CREATE TABLE medicine_tombstones (
+    id VARCHAR(36) NOT NULL PRIMARY KEY,
+    user_id VARCHAR(36) NOT NULL,
+    deleted_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_medicine_tombstones_user_deleted ON medicine_tombstones(user_id, deleted_at);
+
+CREATE INDEX idx_medicines_user_updated ON medicines(user_id, updated_at);
@@ -0,0 +1,25 @@
+-- Sessões: refresh tokens rotativos (POST /api/auth/refresh) e tokens de acesso revogados (logout).
+-- Só o SHA-256 do refresh token é gravado. Cada rotação revoga o token usado e cria outro na
+-- mesma família; reapresentar um token já revogado revoga a família inteira.
+
+CREATE TABLE refresh_tokens (
+    id VARCHAR(36) NOT NULL PRIMARY KEY,
+    user_id VARCHAR(36) NOT NULL,
+    family_id VARCHAR(36) NOT NULL,
+    token_hash VARCHAR(64) NOT NULL UNIQUE,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens(family_id);
+CREATE INDEX idx_refresh_tokens_user_expires ON refresh_tokens(user_id, expires_at);
+
+-- jti dos tokens de acesso revogados, mantidos até o exp; cada réplica carrega a tabela em memória
+CREATE TABLE revoked_access_tokens (
+    jti VARCHAR(36) NOT NULL PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_revoked_access_tokens_expires ON revoked_access_tokens(expires_at);
@@ -0,0 +1,28 @@
+-- Lembretes distribuídos entre réplicas (ShardLeaseCoordinator).
+-- Os usuários são divididos em shards por hash de user_id; cada shard tem um lease com dono e
+-- validade, renovado a cada heartbeat. O líder (lease próprio) distribui os shards entre os nós
+-- vivos em assigned_to; cada nó só assume um shard atribuído a ele depois que o lease anterior foi
+-- liberado ou expirou. Horários em epoch ms, comparados com o relógio de cada nó.
+
+CREATE TABLE reminder_nodes (
+    node_id VARCHAR(64) NOT NULL PRIMARY KEY,
+    heartbeat_at BIGINT NOT NULL
+);
+
+CREATE TABLE reminder_leader (
+    id INTEGER NOT NULL PRIMARY KEY,
+    owner VARCHAR(64),
+    expires_at BIGINT NOT NULL
+);
+
+INSERT INTO reminder_leader (id, owner, expires_at) VALUES (1, NULL, 0);
+
+CREATE TABLE reminder_shard_leases (
+    shard INTEGER NOT NULL PRIMARY KEY,
+    assigned_to VARCHAR(64),
+    owner VARCHAR(64),
+    expires_at BIGINT NOT NULL
+);
+
+-- Cada nó relê periodicamente os medicamentos alterados em outras réplicas
+CREATE INDEX idx_medicines_updated_at ON medicines(updated_at);
@@ -0,0 +1,131 @@
+package com.pillmind.data.usecases;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.pillmind.domain.errors.ConflictException;
+import com.pillmind.domain.usecases.CreateLocalAccount;
+import com.pillmind.infra.db.postgres.LocalAccountPostgresRepository;
+import com.pillmind.infra.db.postgres.UserPostgresRepository;
+import com.pillmind.infra.db.postgres.helpers.JdbcTransactionManager;
+import com.pillmind.infra.db.postgres.helpers.SqliteWriteQueue;
+import com.pillmind.test.config.TestDatabaseConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Cadastros simultâneos do mesmo email contra o SQLite real: só o UNIQUE(email) decide o vencedor.
+ */
+@DisplayName("DbCreateLocalAccount (concorrência)")
+class DbCreateLocalAccountConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final String EMAIL = "race@example.com";
+
+    @TempDir
+    Path tempDir;
+
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private HikariDataSource writeDataSource;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (int i = resources.size() - 1; i >= 0; i--) {
+            resources.get(i).close();
+        }
+    }
+
+    @Test
+    @DisplayName("Com o writer único, exatamente um cadastro vence")
+    void exactlyOneWinnerWithWriteQueue() throws Exception {
+        writeDataSource = open(TestDatabaseConfig.createFileDataSource(tempDir.resolve("queue.db"), 1));
+        var readDataSource = open(TestDatabaseConfig.createFileReadOnlyDataSource(tempDir.resolve("queue.db"), 2));
+        var writeQueue = open(new SqliteWriteQueue(writeDataSource, 1024, 1, 64));
+
+        assertExactlyOneWinner(new JdbcTransactionManager(readDataSource, writeQueue));
+    }
+
+    @Test
+    @DisplayName("Com um pool de conexões, exatamente um cadastro vence")
+    void exactlyOneWinnerWithPool() throws Exception {
+        writeDataSource = open(TestDatabaseConfig.createFileDataSource(tempDir.resolve("pool.db"), 4));
+
+        assertExactlyOneWinner(new JdbcTransactionManager(writeDataSource));
+    }
+
+    private void assertExactlyOneWinner(JdbcTransactionManager transactionManager) throws Exception {
+        var sut = new DbCreateLocalAccount(password -> "hashed:" + password,
+                new UserPostgresRepository(transactionManager),
+                new LocalAccountPostgresRepository(transactionManager),
+                transactionManager);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CreateLocalAccount.Result>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                var params = new CreateLocalAccount.Params("Racer " + i, EMAIL, "password" + i, null, null, null);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return sut.execute(params);
+                }));
+            }
+            start.countDown();
+
+            int winners = 0;
+            int conflicts = 0;
+            for (Future<CreateLocalAccount.Result> future : futures) {
+                try {
+                    future.get();
+                    winners++;
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof ConflictException,
+                            "esperava ConflictException, mas foi " + e.getCause());
+                    conflicts++;
+                }
+            }
+
+            assertEquals(1, winners);
+            assertEquals(THREADS - 1, conflicts);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // nenhum perfil órfão: quem perdeu desfez o próprio INSERT em users
+        assertEquals(1, count("users"));
+        assertEquals(1, count("local_accounts"));
+    }
+
+    private int count(String table) throws SQLException {
+        try (Connection connection = writeDataSource.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(
+                        "SELECT COUNT(*) FROM " + table + " WHERE email = ?")) {
+            stmt.setString(1, EMAIL);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    private <T extends AutoCloseable> T open(T resource) {
+        resources.add(resource);
+        return resource;
+    }
+}
@@ -5,12 +5,14 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,6 +20,7 @@ import org.junit.jupiter.api.Test;
 
 import com.pillmind.data.protocols.cryptography.Hasher;
 import com.pillmind.data.protocols.db.LocalAccountRepository;
+import com.pillmind.data.protocols.db.TransactionManager;
 import com.pillmind.data.protocols.db.UserRepository;
 import com.pillmind.domain.errors.ConflictException;
 import com.pillmind.domain.models.Gender;
@@ -31,14 +34,19 @@ class DbCreateLocalAccountTest {
     private Hasher hasher;
     private UserRepository userRepository;
     private LocalAccountRepository localAccountRepository;
+    private TransactionManager transactionManager;
     private DbCreateLocalAccount sut;
 
     @BeforeEach
+    @SuppressWarnings("unchecked")
     void setUp() {
         hasher = mock(Hasher.class);
         userRepository = mock(UserRepository.class);
         localAccountRepository = mock(LocalAccountRepository.class);
-        sut = new DbCreateLocalAccount(hasher, userRepository, localAccountRepository);
+        transactionManager = mock(TransactionManager.class);
+        when(transactionManager.inTransaction(any())).thenAnswer(invocation ->
+                ((Supplier<Object>) invocation.getArgument(0)).get());
+        sut = new DbCreateLocalAccount(hasher, userRepository, localAccountRepository, transactionManager);
     }
 
     private User makeUser(String id, String name, String email) {
@@ -52,8 +60,6 @@ class DbCreateLocalAccountTest {
     @Test
     @DisplayName("Should hash the password before persisting")
     void shouldHashPassword() {
-        when(userRepository.emailExists(anyString())).thenReturn(false);
-        when(localAccountRepository.emailExists(anyString())).thenReturn(false);
         when(hasher.hash("password123")).thenReturn("hashed-password");
         var savedUser = makeUser("user-id", "John Doe", "john@example.com");
         when(userRepository.add(any(User.class))).thenReturn(savedUser);
@@ -68,39 +74,55 @@ class DbCreateLocalAccountTest {
     }
 
     @Test
-    @DisplayName("Should throw ConflictException when email already exists in UserRepository")
+    @DisplayName("Should throw ConflictException when the users email constraint is violated")
     void shouldThrowWhenEmailExistsInUserRepository() {
-        when(userRepository.emailExists("existing@example.com")).thenReturn(true);
+        when(hasher.hash(anyString())).thenReturn("hashed-password");
+        when(userRepository.add(any(User.class))).thenThrow(new ConflictException("Email já cadastrado"));
 
         var params = new CreateLocalAccount.Params("Name", "existing@example.com", "password",
                 null, null, null);
 
-        assertThrows(ConflictException.class, () -> sut.execute(params));
-        verify(hasher, never()).hash(anyString());
-        verify(userRepository, never()).add(any());
+        var exception = assertThrows(ConflictException.class, () -> sut.execute(params));
+        assertEquals("Este email já está em uso. Use outro email ou faça login.", exception.getMessage());
         verify(localAccountRepository, never()).add(any());
     }
 
     @Test
-    @DisplayName("Should throw ConflictException when email already exists in LocalAccountRepository")
+    @DisplayName("Should throw ConflictException when the local_accounts email constraint is violated")
     void shouldThrowWhenEmailExistsInLocalAccountRepository() {
-        when(userRepository.emailExists("existing@example.com")).thenReturn(false);
-        when(localAccountRepository.emailExists("existing@example.com")).thenReturn(true);
+        when(hasher.hash(anyString())).thenReturn("hashed-password");
+        when(userRepository.add(any(User.class))).thenReturn(makeUser("user-id", "Name", "existing@example.com"));
+        when(localAccountRepository.add(any(LocalAccount.class)))
+                .thenThrow(new ConflictException("Email já cadastrado"));
 
         var params = new CreateLocalAccount.Params("Name", "existing@example.com", "password",
                 null, null, null);
 
         assertThrows(ConflictException.class, () -> sut.execute(params));
-        verify(hasher, never()).hash(anyString());
-        verify(userRepository, never()).add(any());
-        verify(localAccountRepository, never()).add(any());
+    }
+
+    @Test
+    @DisplayName("Should hash the password before opening the transaction")
+    void shouldHashBeforeTransaction() {
+        when(hasher.hash(anyString())).thenReturn("hashed-password");
+        when(userRepository.add(any(User.class))).thenReturn(makeUser("user-id", "Name", "john@example.com"));
+
+        var params = new CreateLocalAccount.Params("Name", "john@example.com", "password",
+                null, null, null);
+        sut.execute(params);
+
+        var order = inOrder(hasher, transactionManager, userRepository, localAccountRepository);
+        order.verify(hasher).hash("password");
+        order.verify(transactionManager).inTransaction(any());
+        order.verify(userRepository).add(any(User.class));
+        order.verify(localAccountRepository).add(any(LocalAccount.class));
+        verify(userRepository, never()).emailExists(anyString());
+        verify(localAccountRepository, never()).emailExists(anyString());
     }
 
     @Test
     @DisplayName("Should persist user and local account on success")
     void shouldPersistUserAndLocalAccountOnSuccess() {
-        when(userRepository.emailExists(anyString())).thenReturn(false);
-        when(localAccountRepository.emailExists(anyString())).thenReturn(false);
         when(hasher.hash(anyString())).thenReturn("hashed-password");
         var savedUser = makeUser("user-id", "John Doe", "john@example.com");
         when(userRepository.add(any(User.class))).thenReturn(savedUser);
@@ -122,8 +144,6 @@ class DbCreateLocalAccountTest {
     @Test
     @DisplayName("Should return result with user and localAccountId")
     void shouldReturnResultWithUserAndLocalAccountId() {
-        when(userRepository.emailExists(anyString())).thenReturn(false);
-        when(localAccountRepository.emailExists(anyString())).thenReturn(false);
         when(hasher.hash(anyString())).thenReturn("hashed-password");
         var savedUser = makeUser("user-id", "Jane", "jane@example.com");
         when(userRepository.add(any(User.class))).thenReturn(savedUser);
@@ -16,7 +16,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import com.pillmind.data.protocols.cache.VersionTracker;
 import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.data.protocols.schedule.MedicineChangeListener;
 import com.pillmind.domain.models.Medicine;
 import com.pillmind.domain.usecases.CreateMedicineForUser;
 
@@ -24,12 +26,16 @@ import com.pillmind.domain.usecases.CreateMedicineForUser;
 class DbCreateMedicineForUserTest {
 
     private MedicineRepository medicineRepository;
+    private VersionTracker versionTracker;
+    private MedicineChangeListener changeListener;
     private DbCreateMedicineForUser sut;
 
     @BeforeEach
     void setUp() {
         medicineRepository = mock(MedicineRepository.class);
-        sut = new DbCreateMedicineForUser(medicineRepository);
+        versionTracker = mock(VersionTracker.class);
+        changeListener = mock(MedicineChangeListener.class);
+        sut = new DbCreateMedicineForUser(medicineRepository, versionTracker, changeListener);
     }
 
     private Medicine makeMedicine(String id, String userId, String name) {
@@ -55,6 +61,8 @@ class DbCreateMedicineForUserTest {
         assertEquals("user-id", result.userId());
         assertEquals("Aspirin", result.name());
         verify(medicineRepository).insert(any(Medicine.class));
+        verify(versionTracker).bump(VersionTracker.Scope.MEDICINES, "user-id");
+        verify(changeListener).medicineSaved(saved);
     }
 
     @Test
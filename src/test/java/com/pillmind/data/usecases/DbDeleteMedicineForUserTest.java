@@ -2,7 +2,9 @@ package com.pillmind.data.usecases;
 
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -10,7 +12,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import com.pillmind.data.protocols.cache.VersionTracker;
 import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.data.protocols.schedule.MedicineChangeListener;
 import com.pillmind.domain.errors.NotFoundException;
 import com.pillmind.domain.usecases.DeleteMedicineForUser;
 
@@ -18,12 +22,16 @@ import com.pillmind.domain.usecases.DeleteMedicineForUser;
 class DbDeleteMedicineForUserTest {
 
     private MedicineRepository medicineRepository;
+    private VersionTracker versionTracker;
+    private MedicineChangeListener changeListener;
     private DbDeleteMedicineForUser sut;
 
     @BeforeEach
     void setUp() {
         medicineRepository = mock(MedicineRepository.class);
-        sut = new DbDeleteMedicineForUser(medicineRepository);
+        versionTracker = mock(VersionTracker.class);
+        changeListener = mock(MedicineChangeListener.class);
+        sut = new DbDeleteMedicineForUser(medicineRepository, versionTracker, changeListener);
     }
 
     @Test
@@ -35,6 +43,8 @@ class DbDeleteMedicineForUserTest {
 
         assertNull(result);
         verify(medicineRepository).deleteByIdAndUserId("med-1", "user-id");
+        verify(versionTracker).bump(VersionTracker.Scope.MEDICINES, "user-id");
+        verify(changeListener).medicineDeleted("user-id", "med-1");
     }
 
     @Test
@@ -44,6 +54,8 @@ class DbDeleteMedicineForUserTest {
 
         assertThrows(NotFoundException.class,
                 () -> sut.execute(new DeleteMedicineForUser.Params("user-id", "nonexistent")));
+        verify(versionTracker, never()).bump(any(), any());
+        verify(changeListener, never()).medicineDeleted(any(), any());
     }
 
     @Test
@@ -0,0 +1,86 @@
+package com.pillmind.data.usecases;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.pillmind.data.protocols.cache.VersionTracker;
+import com.pillmind.data.protocols.db.LoginActivityRecorder;
+import com.pillmind.data.protocols.db.OAuthAccountRepository;
+import com.pillmind.data.protocols.db.UserRepository;
+import com.pillmind.domain.models.AuthProvider;
+import com.pillmind.domain.models.Gender;
+import com.pillmind.domain.models.OAuthAccount;
+import com.pillmind.domain.models.User;
+import com.pillmind.domain.usecases.LinkOAuthAccount;
+
+@DisplayName("DbLinkOAuthAccount")
+class DbLinkOAuthAccountTest {
+
+    private UserRepository userRepository;
+    private OAuthAccountRepository oauthAccountRepository;
+    private VersionTracker versionTracker;
+    private LoginActivityRecorder loginActivityRecorder;
+    private DbLinkOAuthAccount sut;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        oauthAccountRepository = mock(OAuthAccountRepository.class);
+        versionTracker = mock(VersionTracker.class);
+        loginActivityRecorder = mock(LoginActivityRecorder.class);
+        sut = new DbLinkOAuthAccount(userRepository, oauthAccountRepository, versionTracker, loginActivityRecorder);
+
+        when(oauthAccountRepository.findByProviderAndProviderUserId(AuthProvider.GOOGLE, "google-sub"))
+                .thenReturn(Optional.of(new OAuthAccount("oauth-id", "user-id", AuthProvider.GOOGLE, "google-sub",
+                        "john@example.com", "John Doe", "https://example.com/john.png")));
+        when(userRepository.findById("user-id")).thenReturn(Optional.of(new User("user-id", "John Doe",
+                "john@example.com", LocalDate.of(1990, 1, 1), Gender.MALE, "https://example.com/john.png")));
+    }
+
+    private static LinkOAuthAccount.Params params(String name, String picture) {
+        return new LinkOAuthAccount.Params(AuthProvider.GOOGLE, "google-sub", "john@example.com", name, picture);
+    }
+
+    @Test
+    @DisplayName("Should only record the login for a returning user whose data did not change")
+    void shouldNotWriteForUnchangedReturningUser() {
+        var result = sut.execute(params("John Doe", "https://example.com/john.png"));
+
+        assertEquals("oauth-id", result.oauthAccountId());
+        assertFalse(result.isNewUser());
+        verify(oauthAccountRepository, never()).update(any(OAuthAccount.class));
+        verify(userRepository, never()).update(any(User.class));
+        verify(versionTracker, never()).bump(any(), anyString());
+        verify(loginActivityRecorder).recordOAuthLogin(eq("oauth-id"), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should update account and profile when the provider data changed")
+    void shouldUpdateChangedProviderData() {
+        var result = sut.execute(params("John D.", "https://example.com/new.png"));
+
+        ArgumentCaptor<OAuthAccount> account = ArgumentCaptor.forClass(OAuthAccount.class);
+        verify(oauthAccountRepository).update(account.capture());
+        assertEquals("John D.", account.getValue().providerName());
+        verify(userRepository).update(any(User.class));
+        verify(versionTracker).bump(VersionTracker.Scope.PROFILE, "user-id");
+        assertEquals("https://example.com/new.png", result.user().pictureUrl());
+        verify(loginActivityRecorder).recordOAuthLogin(eq("oauth-id"), any(LocalDateTime.class));
+    }
+}
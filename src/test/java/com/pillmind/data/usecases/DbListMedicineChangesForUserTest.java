@@ -0,0 +1,95 @@
+package com.pillmind.data.usecases;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.domain.usecases.ListMedicineChangesForUser;
+
+@DisplayName("DbListMedicineChangesForUser")
+class DbListMedicineChangesForUserTest {
+
+    private static final long RETENTION_MS = Duration.ofDays(30).toMillis();
+
+    private MedicineRepository medicineRepository;
+    private DbListMedicineChangesForUser sut;
+
+    @BeforeEach
+    void setUp() {
+        medicineRepository = mock(MedicineRepository.class);
+        sut = new DbListMedicineChangesForUser(medicineRepository, RETENTION_MS);
+    }
+
+    private Medicine makeMedicine(String id) {
+        return new Medicine(id, "user-id", "Aspirin", "500mg", "daily", List.of("08:00"),
+                LocalDate.now(), null, null, null, "capsule", null, 30, true,
+                LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Should return the full list without tombstones when since is absent")
+    void shouldReturnFullListWithoutSince() {
+        when(medicineRepository.findAllByUserId("user-id")).thenReturn(List.of(makeMedicine("med-1")));
+        long before = System.currentTimeMillis();
+
+        var result = sut.execute(new ListMedicineChangesForUser.Params("user-id", null));
+
+        assertEquals(1, result.changed().size());
+        assertTrue(result.deletedIds().isEmpty());
+        assertTrue(result.watermark() >= before);
+        assertTrue(result.full());
+        verify(medicineRepository, never()).findDeletedIdsSince(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the full list when since is older than the tombstone retention")
+    void shouldReturnFullListForExpiredSince() {
+        when(medicineRepository.findAllByUserId("user-id")).thenReturn(List.of(makeMedicine("med-1")));
+        long since = System.currentTimeMillis() - RETENTION_MS - 60_000;
+
+        var result = sut.execute(new ListMedicineChangesForUser.Params("user-id", since));
+
+        assertTrue(result.full());
+        assertEquals(1, result.changed().size());
+        assertTrue(result.deletedIds().isEmpty());
+        verify(medicineRepository, never()).findUpdatedSince(anyString(), any());
+        verify(medicineRepository, never()).findDeletedIdsSince(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should query changes and tombstones from the watermark minus the safety window")
+    void shouldQueryChangesSinceWatermark() {
+        long since = System.currentTimeMillis() - 60_000;
+        LocalDateTime expected = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(since - DbListMedicineChangesForUser.SAFETY_WINDOW_MS), ZoneId.systemDefault());
+        when(medicineRepository.findUpdatedSince("user-id", expected)).thenReturn(List.of(makeMedicine("med-1")));
+        when(medicineRepository.findDeletedIdsSince("user-id", expected)).thenReturn(List.of("med-2"));
+
+        var result = sut.execute(new ListMedicineChangesForUser.Params("user-id", since));
+
+        assertEquals("med-1", result.changed().get(0).id());
+        assertEquals(List.of("med-2"), result.deletedIds());
+        assertTrue(result.watermark() > since);
+        assertFalse(result.full());
+        verify(medicineRepository, never()).findAllByUserId(anyString());
+    }
+}
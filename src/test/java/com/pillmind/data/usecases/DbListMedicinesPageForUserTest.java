@@ -0,0 +1,109 @@
+package com.pillmind.data.usecases;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.domain.errors.ValidationException;
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.domain.models.MedicineCursor;
+import com.pillmind.domain.usecases.ListMedicinesPageForUser;
+
+@DisplayName("DbListMedicinesPageForUser")
+class DbListMedicinesPageForUserTest {
+
+    private MedicineRepository medicineRepository;
+    private DbListMedicinesPageForUser sut;
+
+    @BeforeEach
+    void setUp() {
+        medicineRepository = mock(MedicineRepository.class);
+        sut = new DbListMedicinesPageForUser(medicineRepository);
+    }
+
+    private Medicine makeMedicine(String id, String name) {
+        return new Medicine(id, "user-id", name, "500mg", "daily", List.of("08:00"),
+                LocalDate.of(2024, 1, 1), null, null, null, "capsule", null, 30, true,
+                LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    private List<Medicine> makeMedicines(int count) {
+        return IntStream.range(0, count).mapToObj(i -> makeMedicine("med-" + i, "Medicine " + i)).toList();
+    }
+
+    @Test
+    @DisplayName("Should fetch one extra row and return a cursor pointing at the last item")
+    void shouldReturnNextCursorWhenMoreRowsExist() {
+        when(medicineRepository.findPageByUserId("user-id", null, 3)).thenReturn(makeMedicines(3));
+
+        var result = sut.execute(new ListMedicinesPageForUser.Params("user-id", null, 2));
+
+        assertEquals(2, result.items().size());
+        var cursor = MedicineCursor.decode(result.nextCursor());
+        assertEquals("med-1", cursor.id());
+        assertEquals("Medicine 1", cursor.name());
+        assertEquals(LocalDate.of(2024, 1, 1), cursor.startDate());
+    }
+
+    @Test
+    @DisplayName("Should return null cursor on the last page")
+    void shouldReturnNullCursorOnLastPage() {
+        when(medicineRepository.findPageByUserId("user-id", null, 3)).thenReturn(makeMedicines(2));
+
+        var result = sut.execute(new ListMedicinesPageForUser.Params("user-id", null, 2));
+
+        assertEquals(2, result.items().size());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should decode the cursor and continue after it")
+    void shouldContinueAfterCursor() {
+        var after = new MedicineCursor(LocalDate.of(2024, 1, 1), "Nome | com \n quebra", "med-9");
+        when(medicineRepository.findPageByUserId(eq("user-id"), eq(after), anyInt())).thenReturn(List.of());
+
+        sut.execute(new ListMedicinesPageForUser.Params("user-id", after.encode(), 10));
+
+        verify(medicineRepository).findPageByUserId("user-id", after, 11);
+    }
+
+    @Test
+    @DisplayName("Should use default limit and cap it at the maximum")
+    void shouldApplyDefaultAndMaxLimit() {
+        when(medicineRepository.findPageByUserId(eq("user-id"), isNull(), anyInt())).thenReturn(List.of());
+
+        sut.execute(new ListMedicinesPageForUser.Params("user-id", null, null));
+        sut.execute(new ListMedicinesPageForUser.Params("user-id", null, 10_000));
+
+        verify(medicineRepository).findPageByUserId("user-id", null, ListMedicinesPageForUser.DEFAULT_LIMIT + 1);
+        verify(medicineRepository).findPageByUserId("user-id", null, ListMedicinesPageForUser.MAX_LIMIT + 1);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid cursor and non-positive limit")
+    void shouldRejectInvalidInput() {
+        assertThrows(ValidationException.class,
+                () -> sut.execute(new ListMedicinesPageForUser.Params("user-id", "@@invalido@@", 10)));
+        assertThrows(ValidationException.class,
+                () -> sut.execute(new ListMedicinesPageForUser.Params("user-id", null, 0)));
+        verify(medicineRepository, never()).findPageByUserId(any(), any(), anyInt());
+    }
+}
@@ -5,26 +5,30 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import com.pillmind.data.protocols.cryptography.Encrypter;
 import com.pillmind.data.protocols.cryptography.HashComparer;
+import com.pillmind.data.protocols.cryptography.PasswordHashUpgrader;
 import com.pillmind.data.protocols.db.LocalAccountRepository;
+import com.pillmind.data.protocols.db.LoginActivityRecorder;
 import com.pillmind.data.protocols.db.UserRepository;
 import com.pillmind.domain.errors.UnauthorizedException;
 import com.pillmind.domain.models.Gender;
 import com.pillmind.domain.models.LocalAccount;
 import com.pillmind.domain.models.User;
+import com.pillmind.domain.usecases.CreateSession;
 import com.pillmind.domain.usecases.LocalAuthentication;
 
 @DisplayName("DbLocalAuthentication")
@@ -33,7 +37,9 @@ class DbLocalAuthenticationTest {
     private LocalAccountRepository localAccountRepository;
     private UserRepository userRepository;
     private HashComparer hashComparer;
-    private Encrypter encrypter;
+    private CreateSession createSession;
+    private LoginActivityRecorder loginActivityRecorder;
+    private PasswordHashUpgrader passwordHashUpgrader;
     private DbLocalAuthentication sut;
 
     @BeforeEach
@@ -41,8 +47,11 @@ class DbLocalAuthenticationTest {
         localAccountRepository = mock(LocalAccountRepository.class);
         userRepository = mock(UserRepository.class);
         hashComparer = mock(HashComparer.class);
-        encrypter = mock(Encrypter.class);
-        sut = new DbLocalAuthentication(localAccountRepository, userRepository, hashComparer, encrypter);
+        createSession = mock(CreateSession.class);
+        loginActivityRecorder = mock(LoginActivityRecorder.class);
+        passwordHashUpgrader = mock(PasswordHashUpgrader.class);
+        sut = new DbLocalAuthentication(localAccountRepository, userRepository, hashComparer, createSession,
+                loginActivityRecorder, passwordHashUpgrader);
     }
 
     private LocalAccount makeLocalAccount(String id, String userId, String email) {
@@ -62,16 +71,17 @@ class DbLocalAuthenticationTest {
         when(localAccountRepository.findByEmail("john@example.com")).thenReturn(Optional.of(localAccount));
         when(hashComparer.compare("password123", "hashed-password")).thenReturn(true);
         when(userRepository.findById("user-id")).thenReturn(Optional.of(user));
-        when(localAccountRepository.update(any(LocalAccount.class))).thenReturn(localAccount);
-        when(encrypter.encrypt("user-id")).thenReturn("access-token-xyz");
+        when(createSession.execute(new CreateSession.Params("user-id")))
+                .thenReturn(new CreateSession.Result("access-token-xyz", "refresh-token-xyz"));
 
         var params = new LocalAuthentication.Params("john@example.com", "password123");
         var result = sut.execute(params);
 
         assertNotNull(result);
         assertEquals("access-token-xyz", result.accessToken());
+        assertEquals("refresh-token-xyz", result.refreshToken());
         assertEquals("user-id", result.user().id());
-        verify(encrypter).encrypt("user-id");
+        verify(createSession).execute(new CreateSession.Params("user-id"));
     }
 
     @Test
@@ -83,7 +93,7 @@ class DbLocalAuthenticationTest {
 
         assertThrows(UnauthorizedException.class, () -> sut.execute(params));
         verify(hashComparer, never()).compare(anyString(), anyString());
-        verify(encrypter, never()).encrypt(anyString());
+        verify(createSession, never()).execute(any(CreateSession.Params.class));
     }
 
     @Test
@@ -97,7 +107,7 @@ class DbLocalAuthenticationTest {
         var params = new LocalAuthentication.Params("john@example.com", "wrong-password");
 
         assertThrows(UnauthorizedException.class, () -> sut.execute(params));
-        verify(encrypter, never()).encrypt(anyString());
+        verify(createSession, never()).execute(any(CreateSession.Params.class));
     }
 
     @Test
@@ -108,29 +118,61 @@ class DbLocalAuthenticationTest {
         when(localAccountRepository.findByEmail("john@example.com")).thenReturn(Optional.of(localAccount));
         when(hashComparer.compare("password123", "hashed-password")).thenReturn(true);
         when(userRepository.findById("user-id")).thenReturn(Optional.empty());
-        when(localAccountRepository.update(any(LocalAccount.class))).thenReturn(localAccount);
 
         var params = new LocalAuthentication.Params("john@example.com", "password123");
 
         assertThrows(UnauthorizedException.class, () -> sut.execute(params));
-        verify(encrypter, never()).encrypt(anyString());
+        verify(createSession, never()).execute(any(CreateSession.Params.class));
     }
 
     @Test
-    @DisplayName("Should update lastLoginAt after successful authentication")
-    void shouldUpdateLastLoginAtOnSuccess() {
+    @DisplayName("Should record lastLoginAt without writing to the repository on the request path")
+    void shouldRecordLastLoginAtOnSuccess() {
         var localAccount = makeLocalAccount("local-id", "user-id", "john@example.com");
         var user = makeUser("user-id", "John Doe", "john@example.com");
 
         when(localAccountRepository.findByEmail("john@example.com")).thenReturn(Optional.of(localAccount));
         when(hashComparer.compare("password123", "hashed-password")).thenReturn(true);
         when(userRepository.findById("user-id")).thenReturn(Optional.of(user));
-        when(localAccountRepository.update(any(LocalAccount.class))).thenReturn(localAccount);
-        when(encrypter.encrypt("user-id")).thenReturn("token");
+        when(createSession.execute(any(CreateSession.Params.class)))
+                .thenReturn(new CreateSession.Result("token", "refresh"));
 
         var params = new LocalAuthentication.Params("john@example.com", "password123");
         sut.execute(params);
 
-        verify(localAccountRepository).update(any(LocalAccount.class));
+        verify(loginActivityRecorder).recordLocalLogin(eq("local-id"), any(LocalDateTime.class));
+        verify(localAccountRepository, never()).update(any(LocalAccount.class));
+    }
+
+    @Test
+    @DisplayName("Should not record login when password is incorrect")
+    void shouldNotRecordLoginOnFailure() {
+        var localAccount = makeLocalAccount("local-id", "user-id", "john@example.com");
+
+        when(localAccountRepository.findByEmail("john@example.com")).thenReturn(Optional.of(localAccount));
+        when(hashComparer.compare("wrong-password", "hashed-password")).thenReturn(false);
+
+        var params = new LocalAuthentication.Params("john@example.com", "wrong-password");
+
+        assertThrows(UnauthorizedException.class, () -> sut.execute(params));
+        verify(loginActivityRecorder, never()).recordLocalLogin(anyString(), any(LocalDateTime.class));
+        verify(passwordHashUpgrader, never()).upgradeIfNeeded(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should hand the verified password to the hash upgrader on success")
+    void shouldOfferHashUpgradeOnSuccess() {
+        var localAccount = makeLocalAccount("local-id", "user-id", "john@example.com");
+        var user = makeUser("user-id", "John Doe", "john@example.com");
+
+        when(localAccountRepository.findByEmail("john@example.com")).thenReturn(Optional.of(localAccount));
+        when(hashComparer.compare("password123", "hashed-password")).thenReturn(true);
+        when(userRepository.findById("user-id")).thenReturn(Optional.of(user));
+        when(createSession.execute(any(CreateSession.Params.class)))
+                .thenReturn(new CreateSession.Result("token", "refresh"));
+
+        sut.execute(new LocalAuthentication.Params("john@example.com", "password123"));
+
+        verify(passwordHashUpgrader).upgradeIfNeeded("local-id", "hashed-password", "password123");
     }
 }
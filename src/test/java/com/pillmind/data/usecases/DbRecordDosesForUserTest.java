@@ -0,0 +1,105 @@
+package com.pillmind.data.usecases;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.data.protocols.db.MedicineTakenRepository;
+import com.pillmind.domain.errors.NotFoundException;
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.domain.models.MedicineTaken;
+import com.pillmind.domain.usecases.RecordDosesForUser;
+
+@DisplayName("DbRecordDosesForUser")
+class DbRecordDosesForUserTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 10);
+
+    private MedicineRepository medicineRepository;
+    private MedicineTakenRepository medicineTakenRepository;
+    private DbRecordDosesForUser sut;
+
+    @BeforeEach
+    void setUp() {
+        medicineRepository = mock(MedicineRepository.class);
+        medicineTakenRepository = mock(MedicineTakenRepository.class);
+        when(medicineRepository.findAllByUserId("user-id")).thenReturn(List.of(makeMedicine("med-1")));
+        when(medicineTakenRepository.upsertAll(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+        sut = new DbRecordDosesForUser(medicineRepository, medicineTakenRepository);
+    }
+
+    private Medicine makeMedicine(String id) {
+        return new Medicine(id, "user-id", "Aspirin", "500mg", "daily", List.of("08:00", "20:00"),
+                DAY, null, null, null, "capsule", null, 30, true,
+                LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Should upsert each dose once, keeping the last occurrence in the batch")
+    @SuppressWarnings("unchecked")
+    void shouldDeduplicateAndNormalize() {
+        var takenAt = DAY.atTime(20, 3);
+        var params = new RecordDosesForUser.Params("user-id", List.of(
+                new RecordDosesForUser.Dose("med-1", DAY, "8:00", false, null),
+                new RecordDosesForUser.Dose("med-1", DAY, "20:00", false, takenAt),
+                new RecordDosesForUser.Dose("med-1", DAY, "08:00", true, null)));
+
+        assertEquals(2, sut.execute(params));
+
+        ArgumentCaptor<List<MedicineTaken>> captor = ArgumentCaptor.forClass(List.class);
+        verify(medicineTakenRepository).upsertAll(captor.capture());
+        List<MedicineTaken> saved = captor.getValue();
+        assertEquals(2, saved.size());
+        assertEquals("08:00", saved.get(0).scheduledTime());
+        assertTrue(saved.get(0).skipped());
+        assertNull(saved.get(0).takenAt());
+        assertEquals("20:00", saved.get(1).scheduledTime());
+        assertFalse(saved.get(1).skipped());
+        assertEquals(takenAt, saved.get(1).takenAt());
+        assertEquals("user-id", saved.get(1).userId());
+        assertNotNull(saved.get(1).id());
+    }
+
+    @Test
+    @DisplayName("Should default takenAt to now for taken doses without it")
+    @SuppressWarnings("unchecked")
+    void shouldDefaultTakenAt() {
+        var before = LocalDateTime.now();
+        sut.execute(new RecordDosesForUser.Params("user-id", List.of(
+                new RecordDosesForUser.Dose("med-1", DAY, "08:00", false, null))));
+
+        ArgumentCaptor<List<MedicineTaken>> captor = ArgumentCaptor.forClass(List.class);
+        verify(medicineTakenRepository).upsertAll(captor.capture());
+        assertFalse(captor.getValue().get(0).takenAt().isBefore(before));
+    }
+
+    @Test
+    @DisplayName("Should reject the whole batch when a medicine is not the user's")
+    void shouldRejectForeignMedicine() {
+        var params = new RecordDosesForUser.Params("user-id", List.of(
+                new RecordDosesForUser.Dose("med-1", DAY, "08:00", false, null),
+                new RecordDosesForUser.Dose("med-other", DAY, "08:00", false, null)));
+
+        assertThrows(NotFoundException.class, () -> sut.execute(params));
+        verify(medicineTakenRepository, never()).upsertAll(any());
+    }
+}
@@ -0,0 +1,136 @@
+package com.pillmind.data.usecases;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.pillmind.data.protocols.cryptography.Encrypter;
+import com.pillmind.data.protocols.cryptography.RefreshTokenGenerator;
+import com.pillmind.data.protocols.db.RefreshTokenRepository;
+import com.pillmind.data.protocols.db.TransactionManager;
+import com.pillmind.domain.errors.UnauthorizedException;
+import com.pillmind.domain.models.RefreshToken;
+import com.pillmind.domain.usecases.RefreshAccessToken;
+
+@DisplayName("DbRefreshAccessToken")
+class DbRefreshAccessTokenTest {
+
+    private RefreshTokenRepository refreshTokenRepository;
+    private RefreshTokenGenerator refreshTokenGenerator;
+    private Encrypter encrypter;
+    private DbRefreshAccessToken sut;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        refreshTokenGenerator = mock(RefreshTokenGenerator.class);
+        encrypter = mock(Encrypter.class);
+        var transactionManager = mock(TransactionManager.class);
+        when(transactionManager.inTransaction(any())).thenAnswer(invocation ->
+                ((Supplier<Object>) invocation.getArgument(0)).get());
+
+        when(refreshTokenGenerator.hash(anyString())).thenAnswer(invocation -> "hash:" + invocation.getArgument(0));
+        when(refreshTokenGenerator.generate()).thenReturn("next-token");
+        when(encrypter.encrypt("user-id")).thenReturn("access-token");
+
+        sut = new DbRefreshAccessToken(refreshTokenRepository, refreshTokenGenerator, encrypter,
+                transactionManager, Duration.ofDays(30));
+    }
+
+    private RefreshToken makeToken(LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        return new RefreshToken("token-id", "user-id", "family-id", "hash:current-token", expiresAt,
+                LocalDateTime.now().minusDays(1), revokedAt);
+    }
+
+    @Test
+    @DisplayName("Should rotate the refresh token within the same family")
+    void shouldRotateRefreshToken() {
+        when(refreshTokenRepository.findByTokenHash("hash:current-token"))
+                .thenReturn(Optional.of(makeToken(LocalDateTime.now().plusDays(1), null)));
+        when(refreshTokenRepository.revoke(eq("token-id"), any())).thenReturn(true);
+
+        var result = sut.execute(new RefreshAccessToken.Params("current-token"));
+
+        assertEquals("access-token", result.accessToken());
+        assertEquals("next-token", result.refreshToken());
+
+        var captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).add(captor.capture());
+        var next = captor.getValue();
+        assertEquals("user-id", next.userId());
+        assertEquals("family-id", next.familyId());
+        assertEquals("hash:next-token", next.tokenHash());
+        assertNull(next.revokedAt());
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should revoke the whole family when a revoked token is reused")
+    void shouldRevokeFamilyOnReuse() {
+        when(refreshTokenRepository.findByTokenHash("hash:current-token"))
+                .thenReturn(Optional.of(makeToken(LocalDateTime.now().plusDays(1), LocalDateTime.now().minusMinutes(1))));
+
+        assertThrows(UnauthorizedException.class,
+                () -> sut.execute(new RefreshAccessToken.Params("current-token")));
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-id"), any());
+        verify(refreshTokenRepository, never()).add(any());
+        verify(encrypter, never()).encrypt(anyString());
+    }
+
+    @Test
+    @DisplayName("Should treat a lost concurrent rotation as reuse")
+    void shouldRevokeFamilyWhenRotationRaceIsLost() {
+        when(refreshTokenRepository.findByTokenHash("hash:current-token"))
+                .thenReturn(Optional.of(makeToken(LocalDateTime.now().plusDays(1), null)));
+        when(refreshTokenRepository.revoke(eq("token-id"), any())).thenReturn(false);
+
+        assertThrows(UnauthorizedException.class,
+                () -> sut.execute(new RefreshAccessToken.Params("current-token")));
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-id"), any());
+        verify(refreshTokenRepository, never()).add(any());
+    }
+
+    @Test
+    @DisplayName("Should reject an expired refresh token")
+    void shouldRejectExpiredToken() {
+        when(refreshTokenRepository.findByTokenHash("hash:current-token"))
+                .thenReturn(Optional.of(makeToken(LocalDateTime.now().minusMinutes(1), null)));
+
+        var exception = assertThrows(UnauthorizedException.class,
+                () -> sut.execute(new RefreshAccessToken.Params("current-token")));
+
+        assertEquals("Refresh token expirado", exception.getMessage());
+        verify(refreshTokenRepository, never()).revoke(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown refresh token")
+    void shouldRejectUnknownToken() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        assertThrows(UnauthorizedException.class,
+                () -> sut.execute(new RefreshAccessToken.Params("unknown-token")));
+
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+    }
+}
@@ -0,0 +1,58 @@
+package com.pillmind.data.usecases;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.domain.usecases.StreamMedicinesForUser;
+
+@DisplayName("DbStreamMedicinesForUser")
+class DbStreamMedicinesForUserTest {
+
+    private MedicineRepository medicineRepository;
+    private DbStreamMedicinesForUser sut;
+
+    @BeforeEach
+    void setUp() {
+        medicineRepository = mock(MedicineRepository.class);
+        sut = new DbStreamMedicinesForUser(medicineRepository);
+    }
+
+    private Medicine makeMedicine(String id, String name) {
+        return new Medicine(id, "user-id", name, "500mg", "daily", List.of("08:00"),
+                LocalDate.now(), null, null, null, "capsule", null, 30, true,
+                LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Should hand every row to the sink in repository order and return the count")
+    @SuppressWarnings("unchecked")
+    void shouldForwardRowsToSink() {
+        var rows = List.of(makeMedicine("med-1", "Aspirin"), makeMedicine("med-2", "Ibuprofen"));
+        doAnswer(invocation -> {
+            Consumer<Medicine> sink = invocation.getArgument(1);
+            rows.forEach(sink);
+            return rows.size();
+        }).when(medicineRepository).streamAllByUserId(eq("user-id"), any(Consumer.class));
+
+        List<String> received = new ArrayList<>();
+        int count = sut.execute(new StreamMedicinesForUser.Params("user-id", m -> received.add(m.id())));
+
+        assertEquals(2, count);
+        assertEquals(List.of("med-1", "med-2"), received);
+    }
+}
@@ -18,7 +18,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import com.pillmind.data.protocols.cache.VersionTracker;
 import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.data.protocols.schedule.MedicineChangeListener;
 import com.pillmind.domain.errors.NotFoundException;
 import com.pillmind.domain.models.Medicine;
 import com.pillmind.domain.usecases.UpdateMedicineForUser;
@@ -27,12 +29,16 @@ import com.pillmind.domain.usecases.UpdateMedicineForUser;
 class DbUpdateMedicineForUserTest {
 
     private MedicineRepository medicineRepository;
+    private VersionTracker versionTracker;
+    private MedicineChangeListener changeListener;
     private DbUpdateMedicineForUser sut;
 
     @BeforeEach
     void setUp() {
         medicineRepository = mock(MedicineRepository.class);
-        sut = new DbUpdateMedicineForUser(medicineRepository);
+        versionTracker = mock(VersionTracker.class);
+        changeListener = mock(MedicineChangeListener.class);
+        sut = new DbUpdateMedicineForUser(medicineRepository, versionTracker, changeListener);
     }
 
     private Medicine makeMedicine(String id, String userId, String name) {
@@ -59,6 +65,8 @@ class DbUpdateMedicineForUserTest {
         assertEquals("1000mg", result.dosage());
         assertEquals("twice daily", result.frequency());
         verify(medicineRepository).update(any(Medicine.class));
+        verify(versionTracker).bump(VersionTracker.Scope.MEDICINES, "user-id");
+        verify(changeListener).medicineSaved(result);
     }
 
     @Test
@@ -72,6 +80,8 @@ class DbUpdateMedicineForUserTest {
 
         assertThrows(NotFoundException.class, () -> sut.execute(params));
         verify(medicineRepository, never()).update(any());
+        verify(versionTracker, never()).bump(any(), any());
+        verify(changeListener, never()).medicineSaved(any());
     }
 
     @Test
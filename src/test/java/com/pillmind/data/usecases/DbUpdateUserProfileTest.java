@@ -16,6 +16,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import com.pillmind.data.protocols.cache.VersionTracker;
 import com.pillmind.data.protocols.db.UserRepository;
 import com.pillmind.domain.errors.ConflictException;
 import com.pillmind.domain.errors.NotFoundException;
@@ -27,12 +28,14 @@ import com.pillmind.domain.usecases.UpdateUserProfile;
 class DbUpdateUserProfileTest {
 
     private UserRepository userRepository;
+    private VersionTracker versionTracker;
     private DbUpdateUserProfile sut;
 
     @BeforeEach
     void setUp() {
         userRepository = mock(UserRepository.class);
-        sut = new DbUpdateUserProfile(userRepository);
+        versionTracker = mock(VersionTracker.class);
+        sut = new DbUpdateUserProfile(userRepository, versionTracker);
     }
 
     private User makeUser(String id, String name, String email) {
@@ -57,6 +60,7 @@ class DbUpdateUserProfileTest {
         assertNotNull(result);
         assertEquals("New Name", result.name());
         verify(userRepository).update(any(User.class));
+        verify(versionTracker).bump(VersionTracker.Scope.PROFILE, "user-id");
     }
 
     @Test
@@ -69,6 +73,7 @@ class DbUpdateUserProfileTest {
 
         assertThrows(NotFoundException.class, () -> sut.execute(params));
         verify(userRepository, never()).update(any());
+        verify(versionTracker, never()).bump(any(), any());
     }
 
     @Test
@@ -0,0 +1,80 @@
+package com.pillmind.domain.models;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("DoseTimes")
+class DoseTimesTest {
+
+    @Test
+    @DisplayName("Converte HH:mm em minutos do dia mantendo a ordem")
+    void parsesInOrder() {
+        var times = DoseTimes.of(List.of("20:00", "08:30", "0:05"));
+
+        assertEquals(3, times.size());
+        assertEquals(20 * 60, times.minuteAt(0));
+        assertEquals(8 * 60 + 30, times.minuteAt(1));
+        assertEquals(5, times.minuteAt(2));
+        assertEquals(LocalTime.of(8, 30), times.timeAt(1));
+        assertEquals(List.of("20:00", "08:30", "00:05"), times);
+    }
+
+    @Test
+    @DisplayName("Igual e com o mesmo hashCode de uma List<String> equivalente")
+    void behavesAsStringList() {
+        var times = DoseTimes.of(List.of("08:00", "23:59"));
+
+        assertEquals(List.of("08:00", "23:59"), times);
+        assertEquals(List.of("08:00", "23:59").hashCode(), times.hashCode());
+    }
+
+    @Test
+    @DisplayName("Formato compactado usa 2 bytes por horário e faz round-trip")
+    void packedRoundTrip() {
+        var times = DoseTimes.of(List.of("00:00", "12:34", "23:59"));
+
+        byte[] packed = times.toPacked();
+
+        assertEquals(6, packed.length);
+        assertEquals(times, DoseTimes.fromPacked(packed));
+        assertArrayEquals(new byte[0], DoseTimes.empty().toPacked());
+        assertTrue(DoseTimes.fromPacked(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Lista nula ou vazia vira a instância vazia")
+    void emptyInput() {
+        assertSame(DoseTimes.empty(), DoseTimes.of(null));
+        assertSame(DoseTimes.empty(), DoseTimes.of(List.of()));
+    }
+
+    @Test
+    @DisplayName("Rejeita horários inválidos")
+    void rejectsInvalidTimes() {
+        assertEquals(-1, DoseTimes.parseMinute("24:00"));
+        assertEquals(-1, DoseTimes.parseMinute("08:60"));
+        assertEquals(-1, DoseTimes.parseMinute("8h00"));
+        assertEquals(-1, DoseTimes.parseMinute("morning"));
+        assertEquals(-1, DoseTimes.parseMinute(null));
+        assertThrows(IllegalArgumentException.class, () -> DoseTimes.of(List.of("08:00", "25:00")));
+        assertThrows(IllegalArgumentException.class, () -> DoseTimes.fromPacked(new byte[] { 0x05, (byte) 0xA0 }));
+        assertThrows(IllegalArgumentException.class, () -> DoseTimes.fromPacked(new byte[] { 0x01 }));
+    }
+
+    @Test
+    @DisplayName("É imutável")
+    void isImmutable() {
+        var times = DoseTimes.of(List.of("08:00"));
+
+        assertThrows(UnsupportedOperationException.class, () -> times.add("09:00"));
+    }
+}
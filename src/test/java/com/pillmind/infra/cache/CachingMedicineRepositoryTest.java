@@ -0,0 +1,121 @@
+package com.pillmind.infra.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pillmind.data.protocols.cache.VersionTracker.Scope;
+import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.domain.models.Medicine;
+
+@DisplayName("CachingMedicineRepository")
+class CachingMedicineRepositoryTest {
+
+    private MedicineRepository delegate;
+    private InMemoryVersionTracker versionTracker;
+    private CachingMedicineRepository sut;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(MedicineRepository.class);
+        versionTracker = new InMemoryVersionTracker();
+        // manutenção síncrona: despejos visíveis logo após o put
+        sut = new CachingMedicineRepository(delegate, versionTracker, 100, Runnable::run);
+    }
+
+    private static Medicine makeMedicine(String id, String userId) {
+        return new Medicine(id, userId, "Aspirin", "500mg", "daily", List.of("08:00"),
+                LocalDate.now(), null, null, null, "capsule", null, 30, true,
+                LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads from the cache until the version changes")
+    void shouldServeFromCacheUntilBump() {
+        when(delegate.findAllByUserId("user-1")).thenReturn(List.of(makeMedicine("med-1", "user-1")));
+
+        sut.findAllByUserId("user-1");
+        sut.findAllByUserId("user-1");
+        assertTrue(sut.findByIdAndUserId("med-1", "user-1").isPresent());
+        verify(delegate, times(1)).findAllByUserId("user-1");
+        verify(delegate, never()).findByIdAndUserId(any(), any());
+
+        versionTracker.bump(Scope.MEDICINES, "user-1");
+        sut.findAllByUserId("user-1");
+
+        verify(delegate, times(2)).findAllByUserId("user-1");
+        assertEquals(2L, sut.metrics().get("hits"));
+        assertEquals(2L, sut.metrics().get("misses"));
+    }
+
+    @Test
+    @DisplayName("Should not resurrect a medicine deleted while its list was loading")
+    void shouldNotResurrectAfterConcurrentDelete() {
+        var deleted = makeMedicine("med-1", "user-1");
+        // A carga lê a linha e, antes de terminar, o delete confirma e incrementa a versão
+        when(delegate.findAllByUserId("user-1"))
+                .thenAnswer(invocation -> {
+                    versionTracker.bump(Scope.MEDICINES, "user-1");
+                    return List.of(deleted);
+                })
+                .thenReturn(List.of());
+
+        assertEquals(1, sut.findAllByUserId("user-1").size());
+
+        assertTrue(sut.findAllByUserId("user-1").isEmpty());
+        assertTrue(sut.findByIdAndUserId("med-1", "user-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should cache a streamed list and replay it on the next stream")
+    void shouldCacheStreamedList() {
+        when(delegate.streamAllByUserId(eq("user-1"), any())).thenAnswer(invocation -> {
+            Consumer<Medicine> sink = invocation.getArgument(1);
+            sink.accept(makeMedicine("med-1", "user-1"));
+            sink.accept(makeMedicine("med-2", "user-1"));
+            return 2;
+        });
+
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        sut.streamAllByUserId("user-1", m -> first.add(m.id()));
+        int count = sut.streamAllByUserId("user-1", m -> second.add(m.id()));
+
+        assertEquals(2, count);
+        assertEquals(first, second);
+        verify(delegate, times(1)).streamAllByUserId(eq("user-1"), any());
+    }
+
+    @Test
+    @DisplayName("Should evict users once the total weight exceeds the limit")
+    void shouldEvictByWeight() {
+        List<Medicine> many = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            many.add(makeMedicine("med-" + i, "user"));
+        }
+        when(delegate.findAllByUserId(any())).thenReturn(many);
+
+        for (int i = 0; i < 5; i++) {
+            sut.findAllByUserId("user-" + i);
+        }
+
+        assertTrue(sut.metrics().get("evictions").longValue() > 0);
+        assertTrue(sut.metrics().get("weight").longValue() <= 100);
+    }
+}
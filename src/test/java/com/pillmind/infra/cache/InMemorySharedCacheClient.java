@@ -0,0 +1,87 @@
+package com.pillmind.infra.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Substituto do Redis para testes: mesmo contrato, em memória, com pub/sub síncrono e uma chave
+ * para simular queda ({@link #setAvailable(boolean)}). TTLs são ignorados.
+ */
+class InMemorySharedCacheClient implements SharedCacheClient {
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private volatile boolean available = true;
+
+    /**
+     * Derruba ou religa o "servidor"; ao religar, os assinantes recebem {@code onSubscribed}.
+     */
+    void setAvailable(boolean available) {
+        this.available = available;
+        if (available) {
+            subscribers.values().forEach(list -> list.forEach(Subscriber::onSubscribed));
+        }
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        ensureAvailable();
+        return Optional.ofNullable(values.get(key));
+    }
+
+    @Override
+    public void set(String key, String value, long ttlSeconds) {
+        ensureAvailable();
+        values.put(key, value);
+    }
+
+    @Override
+    public boolean setIfAbsent(String key, String value, long ttlSeconds) {
+        ensureAvailable();
+        return values.putIfAbsent(key, value) == null;
+    }
+
+    @Override
+    public long increment(String key) {
+        ensureAvailable();
+        return counters.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Override
+    public long eval(String script, List<String> keys, List<String> args) {
+        ensureAvailable();
+        throw new UnsupportedOperationException("Scripts Lua não são suportados em memória");
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        ensureAvailable();
+        subscribers.getOrDefault(channel, List.of()).forEach(s -> s.onMessage(message));
+    }
+
+    @Override
+    public AutoCloseable subscribe(String channel, Subscriber subscriber) {
+        subscribers.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(subscriber);
+        subscriber.onSubscribed();
+        return () -> subscribers.get(channel).remove(subscriber);
+    }
+
+    @Override
+    public void close() {
+        subscribers.clear();
+    }
+
+    private void ensureAvailable() {
+        if (!available) {
+            throw new SharedCacheUnavailableException("Redis indisponível (simulado)");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.pillmind.infra.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pillmind.data.protocols.cache.VersionTracker.Scope;
+
+@DisplayName("InMemoryVersionTracker")
+class InMemoryVersionTrackerTest {
+
+    private final InMemoryVersionTracker sut = new InMemoryVersionTracker();
+
+    @Test
+    @DisplayName("Should keep the version stable until the resource is bumped")
+    void shouldChangeOnlyOnBump() {
+        String first = sut.current(Scope.MEDICINES, "user-1");
+        assertEquals(first, sut.current(Scope.MEDICINES, "user-1"));
+
+        sut.bump(Scope.MEDICINES, "user-1");
+
+        assertNotEquals(first, sut.current(Scope.MEDICINES, "user-1"));
+    }
+
+    @Test
+    @DisplayName("Should never share a version between users or scopes")
+    void shouldIsolateUsersAndScopes() {
+        String medicines = sut.current(Scope.MEDICINES, "user-1");
+
+        assertNotEquals(medicines, sut.current(Scope.MEDICINES, "user-2"));
+        assertNotEquals(medicines, sut.current(Scope.PROFILE, "user-1"));
+    }
+
+    @Test
+    @DisplayName("Should replace versions older than the max age, so writes from other replicas show up")
+    void shouldExpireVersions() {
+        AtomicLong nanos = new AtomicLong();
+        var expiring = new InMemoryVersionTracker(30_000, nanos::get);
+        String first = expiring.current(Scope.MEDICINES, "user-1");
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(29));
+        assertEquals(first, expiring.current(Scope.MEDICINES, "user-1"));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        String second = expiring.current(Scope.MEDICINES, "user-1");
+        assertNotEquals(first, second);
+        assertEquals(second, expiring.current(Scope.MEDICINES, "user-1"));
+    }
+
+    @Test
+    @DisplayName("Should not bump other users")
+    void shouldBumpOnlyTheGivenUser() {
+        String other = sut.current(Scope.MEDICINES, "user-2");
+
+        sut.bump(Scope.MEDICINES, "user-1");
+
+        assertEquals(other, sut.current(Scope.MEDICINES, "user-2"));
+    }
+}
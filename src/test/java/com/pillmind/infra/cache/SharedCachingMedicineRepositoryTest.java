@@ -0,0 +1,103 @@
+package com.pillmind.infra.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pillmind.data.protocols.cache.VersionTracker.Scope;
+import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.domain.models.Medicine;
+
+/**
+ * Duas réplicas, cada uma com o seu decorator, na frente do mesmo banco e do mesmo "Redis".
+ */
+@DisplayName("SharedCachingMedicineRepository")
+class SharedCachingMedicineRepositoryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private InMemorySharedCacheClient redis;
+    private MedicineRepository database;
+    private SharedVersionTracker versionsA;
+    private SharedVersionTracker versionsB;
+    private SharedCachingMedicineRepository nodeA;
+    private SharedCachingMedicineRepository nodeB;
+
+    @BeforeEach
+    void setUp() {
+        redis = new InMemorySharedCacheClient();
+        database = mock(MedicineRepository.class);
+        versionsA = new SharedVersionTracker(redis, 60_000);
+        versionsB = new SharedVersionTracker(redis, 60_000);
+        nodeA = new SharedCachingMedicineRepository(database, versionsA, redis, 600, objectMapper);
+        nodeB = new SharedCachingMedicineRepository(database, versionsB, redis, 600, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        versionsA.close();
+        versionsB.close();
+    }
+
+    private static Medicine makeMedicine(String id, String name) {
+        return new Medicine(id, "user-1", name, "500mg", "daily", List.of("08:00", "20:00"),
+                LocalDate.of(2024, 1, 1), null, "Com alimento", null, "capsule", null, 30, true,
+                LocalDateTime.of(2024, 1, 1, 8, 0), LocalDateTime.of(2024, 1, 2, 8, 0));
+    }
+
+    @Test
+    @DisplayName("Should serve a list loaded on one node to the other node")
+    void shouldShareListsAcrossNodes() {
+        var medicine = makeMedicine("med-1", "Aspirin");
+        when(database.findAllByUserId("user-1")).thenReturn(List.of(medicine));
+
+        nodeA.findAllByUserId("user-1");
+        List<Medicine> fromB = nodeB.findAllByUserId("user-1");
+
+        assertEquals(List.of(medicine), fromB);
+        verify(database, times(1)).findAllByUserId("user-1");
+    }
+
+    @Test
+    @DisplayName("Should reload on every node after a write on one of them")
+    void shouldMissAfterRemoteWrite() {
+        when(database.findAllByUserId("user-1"))
+                .thenReturn(List.of(makeMedicine("med-1", "Aspirin")))
+                .thenReturn(List.of(makeMedicine("med-1", "Aspirina")));
+        nodeB.findAllByUserId("user-1");
+
+        versionsA.bump(Scope.MEDICINES, "user-1");
+
+        assertEquals("Aspirina", nodeB.findAllByUserId("user-1").get(0).name());
+        verify(database, times(2)).findAllByUserId("user-1");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database while the shared cache is down")
+    void shouldDegradeToDatabase() {
+        when(database.findAllByUserId("user-1")).thenReturn(List.of(makeMedicine("med-1", "Aspirin")));
+        redis.setAvailable(false);
+
+        assertEquals(1, nodeA.findAllByUserId("user-1").size());
+        assertEquals(1, nodeA.findAllByUserId("user-1").size());
+
+        verify(database, times(2)).findAllByUserId("user-1");
+        assertEquals(0, redis.size());
+    }
+}
@@ -0,0 +1,81 @@
+package com.pillmind.infra.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pillmind.data.protocols.cache.VersionTracker.Scope;
+
+/**
+ * Duas réplicas compartilhando o mesmo "Redis".
+ */
+@DisplayName("SharedVersionTracker")
+class SharedVersionTrackerTest {
+
+    private InMemorySharedCacheClient redis;
+    private SharedVersionTracker nodeA;
+    private SharedVersionTracker nodeB;
+
+    @BeforeEach
+    void setUp() {
+        redis = new InMemorySharedCacheClient();
+        // TTL local longo: só a mensagem de invalidação pode atualizar a cópia local
+        nodeA = new SharedVersionTracker(redis, 60_000);
+        nodeB = new SharedVersionTracker(redis, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    @DisplayName("Should agree on the version across nodes")
+    void shouldShareVersions() {
+        assertEquals(nodeA.current(Scope.MEDICINES, "user-1"), nodeB.current(Scope.MEDICINES, "user-1"));
+        assertNotEquals(nodeA.current(Scope.MEDICINES, "user-1"), nodeA.current(Scope.MEDICINES, "user-2"));
+    }
+
+    @Test
+    @DisplayName("Should see a bump made on another node")
+    void shouldInvalidateOtherNodes() {
+        String before = nodeB.current(Scope.MEDICINES, "user-1");
+
+        nodeA.bump(Scope.MEDICINES, "user-1");
+
+        String after = nodeB.current(Scope.MEDICINES, "user-1");
+        assertNotEquals(before, after);
+        assertEquals(nodeA.current(Scope.MEDICINES, "user-1"), after);
+    }
+
+    @Test
+    @DisplayName("Should hand out throwaway versions while the shared cache is down")
+    void shouldDegradeWhenUnavailable() {
+        redis.setAvailable(false);
+
+        String first = nodeA.current(Scope.MEDICINES, "user-1");
+        String second = nodeA.current(Scope.MEDICINES, "user-1");
+
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("Should replay bumps that failed once the shared cache is back")
+    void shouldReplayPendingBumps() {
+        String before = nodeB.current(Scope.PROFILE, "user-1");
+        redis.setAvailable(false);
+
+        nodeA.bump(Scope.PROFILE, "user-1");
+        assertEquals(1, nodeA.pendingBumps());
+
+        redis.setAvailable(true);
+
+        assertEquals(0, nodeA.pendingBumps());
+        assertNotEquals(before, nodeB.current(Scope.PROFILE, "user-1"));
+    }
+}
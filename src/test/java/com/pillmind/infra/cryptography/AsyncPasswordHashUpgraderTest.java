@@ -0,0 +1,81 @@
+package com.pillmind.infra.cryptography;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.pillmind.data.protocols.db.LocalAccountRepository;
+
+@DisplayName("AsyncPasswordHashUpgrader")
+class AsyncPasswordHashUpgraderTest {
+
+    private final BcryptAdapter bcrypt = new BcryptAdapter(4);
+    private final Pbkdf2Adapter pbkdf2 = new Pbkdf2Adapter(1_000);
+
+    private LocalAccountRepository localAccountRepository;
+    private MultiAlgorithmPasswordHasher passwordHashes;
+    private AsyncPasswordHashUpgrader sut;
+
+    @BeforeEach
+    void setUp() {
+        localAccountRepository = mock(LocalAccountRepository.class);
+        passwordHashes = new MultiAlgorithmPasswordHasher("pbkdf2-sha256", List.of(bcrypt, pbkdf2));
+        sut = new AsyncPasswordHashUpgrader(passwordHashes, passwordHashes, localAccountRepository, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.close();
+    }
+
+    @Test
+    @DisplayName("Should re-hash an outdated hash with the current algorithm in the background")
+    void shouldUpgradeOutdatedHash() {
+        String legacy = bcrypt.hash("s3cret!");
+        when(localAccountRepository.updatePasswordHash(anyString(), anyString(), anyString())).thenReturn(true);
+
+        sut.upgradeIfNeeded("local-1", legacy, "s3cret!");
+
+        ArgumentCaptor<String> newHash = ArgumentCaptor.forClass(String.class);
+        verify(localAccountRepository, timeout(5_000))
+                .updatePasswordHash(eq("local-1"), eq(legacy), newHash.capture());
+        assertTrue(pbkdf2.compare("s3cret!", newHash.getValue()));
+        sut.close();
+        assertEquals(1L, sut.metrics().get("upgraded"));
+    }
+
+    @Test
+    @DisplayName("Should leave hashes with the current parameters alone")
+    void shouldSkipCurrentHash() {
+        sut.upgradeIfNeeded("local-1", pbkdf2.hash("s3cret!"), "s3cret!");
+        sut.close();
+
+        verify(localAccountRepository, never()).updatePasswordHash(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should count failures and keep going")
+    void shouldSurviveRepositoryFailure() {
+        when(localAccountRepository.updatePasswordHash(anyString(), anyString(), anyString()))
+                .thenThrow(new RuntimeException("database is locked"));
+
+        sut.upgradeIfNeeded("local-1", bcrypt.hash("s3cret!"), "s3cret!");
+        sut.close();
+
+        assertEquals(1L, sut.metrics().get("failed"));
+    }
+}
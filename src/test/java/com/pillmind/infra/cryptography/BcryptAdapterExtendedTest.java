@@ -81,4 +81,13 @@ class BcryptAdapterExtendedTest {
         // BCrypt hash encodes the cost factor, e.g. "$2a$10$..."
         assertTrue(hashed.contains("$10$"));
     }
+
+    @Test
+    @DisplayName("Should ask for a rehash only when the cost differs")
+    void shouldDetectCostChange() {
+        var hashed = sut.hash("password");
+
+        assertFalse(sut.needsRehash(hashed));
+        assertTrue(new BcryptAdapter(11).needsRehash(hashed));
+    }
 }
@@ -0,0 +1,110 @@
+package com.pillmind.infra.cryptography;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pillmind.data.protocols.db.RevokedAccessTokenRepository;
+
+@DisplayName("BloomFilterTokenRevocationStore")
+class BloomFilterTokenRevocationStoreTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T08:00:00Z");
+    private static final LocalDateTime NOW_UTC = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+
+    private RevokedAccessTokenRepository repository;
+    private BloomFilterTokenRevocationStore sut;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedAccessTokenRepository.class);
+        when(repository.findUnexpired(any())).thenReturn(Map.of());
+        sut = new BloomFilterTokenRevocationStore(repository, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.close();
+    }
+
+    @Test
+    @DisplayName("Should persist a revocation and answer from memory")
+    void shouldRevokeToken() {
+        sut.revoke("jti-1", NOW.plusSeconds(900));
+
+        verify(repository).add("jti-1", NOW_UTC.plusSeconds(900));
+        assertTrue(sut.isRevoked("jti-1"));
+        assertFalse(sut.isRevoked("jti-2"));
+    }
+
+    @Test
+    @DisplayName("Should ignore tokens that are already expired")
+    void shouldSkipExpiredToken() {
+        sut.revoke("jti-1", NOW.minusSeconds(1));
+
+        verify(repository, never()).add(anyString(), any());
+        assertFalse(sut.isRevoked("jti-1"));
+    }
+
+    @Test
+    @DisplayName("Should not treat tokens without jti as revoked")
+    void shouldAcceptTokenWithoutId() {
+        assertFalse(sut.isRevoked(null));
+    }
+
+    @Test
+    @DisplayName("Should load revocations made by other replicas on sync")
+    void shouldLoadRevocationsOnSync() {
+        when(repository.findUnexpired(NOW_UTC)).thenReturn(Map.of("remote-jti", NOW_UTC.plusMinutes(10)));
+
+        assertFalse(sut.isRevoked("remote-jti"));
+        sut.sync();
+
+        verify(repository).deleteExpired(NOW_UTC);
+        assertTrue(sut.isRevoked("remote-jti"));
+        assertEquals(1, sut.metrics().get("revoked"));
+    }
+
+    @Test
+    @DisplayName("Should keep the current list when sync fails")
+    void shouldKeepListWhenSyncFails() {
+        sut.revoke("jti-1", NOW.plusSeconds(900));
+        when(repository.findUnexpired(any())).thenThrow(new RuntimeException("database is locked"));
+
+        sut.sync();
+
+        assertTrue(sut.isRevoked("jti-1"));
+    }
+
+    @Test
+    @DisplayName("Should stop reporting a token once it expires")
+    void shouldExpireRevocation() {
+        var expiring = new BloomFilterTokenRevocationStore(repository,
+                Clock.fixed(NOW.plusSeconds(901), ZoneOffset.UTC));
+        when(repository.findUnexpired(any())).thenReturn(Map.of("jti-1", NOW_UTC.plusSeconds(900)));
+        try {
+            // a consulta ao banco já filtra; aqui o registro chegou vencido por diferença de relógio
+            expiring.sync();
+            assertFalse(expiring.isRevoked("jti-1"));
+        } finally {
+            expiring.close();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.pillmind.infra.cryptography;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pillmind.data.protocols.cryptography.HashComparer;
+import com.pillmind.data.protocols.cryptography.Hasher;
+import com.pillmind.domain.errors.ServiceUnavailableException;
+
+@DisplayName("BoundedPasswordHasher")
+class BoundedPasswordHasherTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile String hashThread;
+    private BoundedPasswordHasher sut;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        sut.close();
+    }
+
+    @Test
+    @DisplayName("Should run hash and compare on the pool and return their results")
+    void shouldDelegate() {
+        sut = new BoundedPasswordHasher(new FakeHasher(false), 2, 4);
+
+        assertEquals("hashed:secret", sut.hash("secret"));
+        assertTrue(sut.compare("secret", "hashed:secret"));
+        assertTrue(hashThread.startsWith("password-hash-"), hashThread);
+        assertEquals(2L, sut.metrics().get("completed"));
+    }
+
+    @Test
+    @DisplayName("Should reject with Retry-After when threads and queue are full")
+    void shouldRejectWhenSaturated() throws Exception {
+        sut = new BoundedPasswordHasher(new FakeHasher(true), 1, 1);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> sut.hash("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> sut.hash("b"));
+        waitUntilQueued();
+
+        var error = assertThrows(ServiceUnavailableException.class, () -> sut.hash("c"));
+        assertEquals(BoundedPasswordHasher.RETRY_AFTER_SECONDS, error.retryAfterSeconds());
+        assertEquals(1L, sut.metrics().get("rejected"));
+
+        release.countDown();
+        assertEquals("hashed:a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed:b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should propagate failures of the delegate unchanged")
+    void shouldPropagateFailures() {
+        sut = new BoundedPasswordHasher(new FakeHasher(false), 1, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> sut.compare("secret", "not-a-hash"));
+    }
+
+    private void waitUntilQueued() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sut.metrics().get("queued").intValue() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, sut.metrics().get("queued").intValue());
+    }
+
+    private final class FakeHasher implements Hasher, HashComparer {
+        private final boolean blocking;
+
+        FakeHasher(boolean blocking) {
+            this.blocking = blocking;
+        }
+
+        @Override
+        public String hash(String plaintext) {
+            hashThread = Thread.currentThread().getName();
+            if (blocking) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "hashed:" + plaintext;
+        }
+
+        @Override
+        public boolean compare(String plaintext, String hashedValue) {
+            if (!hashedValue.startsWith("hashed:")) {
+                throw new IllegalArgumentException("Invalid salt version");
+            }
+            return hashedValue.equals(hash(plaintext));
+        }
+    }
+}
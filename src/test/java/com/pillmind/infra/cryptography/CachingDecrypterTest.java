@@ -0,0 +1,131 @@
+package com.pillmind.infra.cryptography;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pillmind.data.protocols.cryptography.TokenVerifier;
+import com.pillmind.data.protocols.cryptography.TokenVerifier.VerifiedToken;
+
+@DisplayName("CachingDecrypter")
+class CachingDecrypterTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T08:00:00Z");
+
+    private TokenVerifier verifier;
+    private MutableClock clock;
+    private CachingDecrypter sut;
+
+    @BeforeEach
+    void setUp() {
+        verifier = mock(TokenVerifier.class);
+        clock = new MutableClock(NOW);
+        // manutenção síncrona: expirações visíveis logo após avançar o relógio
+        sut = new CachingDecrypter(verifier, 100, clock, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Should verify a token once and serve repeated calls from the cache")
+    void shouldCacheVerifiedToken() {
+        when(verifier.verify("token-1")).thenReturn(new VerifiedToken("user-1", NOW.plusSeconds(3600)));
+
+        assertEquals("user-1", sut.decrypt("token-1"));
+        assertEquals("user-1", sut.decrypt("token-1"));
+        assertEquals("user-1", sut.decrypt("token-1"));
+
+        verify(verifier, times(1)).verify("token-1");
+        assertEquals(2L, sut.metrics().get("hits"));
+        assertEquals(1L, sut.metrics().get("misses"));
+    }
+
+    @Test
+    @DisplayName("Should verify again once the token reaches its exp")
+    void shouldExpireAtTokenExpiry() {
+        when(verifier.verify("token-1"))
+                .thenReturn(new VerifiedToken("user-1", NOW.plusSeconds(60)))
+                .thenThrow(new IllegalStateException("expired"));
+
+        sut.decrypt("token-1");
+        clock.advance(Duration.ofSeconds(59));
+        sut.decrypt("token-1");
+        clock.advance(Duration.ofSeconds(1));
+
+        assertThrows(IllegalStateException.class, () -> sut.decrypt("token-1"));
+        verify(verifier, times(2)).verify("token-1");
+    }
+
+    @Test
+    @DisplayName("Should not cache invalid tokens")
+    void shouldNotCacheFailures() {
+        when(verifier.verify("bad")).thenThrow(new IllegalArgumentException("signature"));
+
+        assertThrows(IllegalArgumentException.class, () -> sut.decrypt("bad"));
+        assertThrows(IllegalArgumentException.class, () -> sut.decrypt("bad"));
+
+        verify(verifier, times(2)).verify("bad");
+        assertEquals(0L, sut.metrics().get("entries"));
+    }
+
+    @Test
+    @DisplayName("Should not cache tokens without exp")
+    void shouldNotCacheTokensWithoutExpiry() {
+        when(verifier.verify("no-exp")).thenReturn(new VerifiedToken("user-1", null));
+
+        sut.decrypt("no-exp");
+        sut.decrypt("no-exp");
+
+        verify(verifier, times(2)).verify("no-exp");
+    }
+
+    @Test
+    @DisplayName("Should keep real JWTs per token, not per subject")
+    void shouldWorkWithJwtAdapter() {
+        var jwt = new JwtAdapter("test-secret-key-min-256-bits-for-hmac-sha-256-algorithm", 3_600_000L);
+        var real = new CachingDecrypter(jwt, 100);
+        String token = jwt.encrypt("user-42");
+
+        assertEquals("user-42", real.decrypt(token));
+        assertEquals("user-42", real.decrypt(token));
+        assertThrows(Exception.class, () -> real.decrypt(token + "x"));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
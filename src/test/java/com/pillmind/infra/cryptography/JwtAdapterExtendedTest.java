@@ -4,6 +4,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +16,7 @@ import org.junit.jupiter.api.Test;
 class JwtAdapterExtendedTest {
 
     private static final String SECRET = "test-secret-key-min-256-bits-for-hmac-sha-256-algorithm";
+    private static final String OTHER_SECRET = "rotated-secret-key-min-256-bits-for-hmac-sha-256-algorithm";
     private JwtAdapter sut;
 
     @BeforeEach
@@ -60,6 +64,55 @@ class JwtAdapterExtendedTest {
         assertThrows(Exception.class, () -> sut.decrypt(token));
     }
 
+    @Test
+    @DisplayName("Should expose subject and expiration of a verified token")
+    void shouldVerifyTokenWithExpiration() {
+        long before = System.currentTimeMillis();
+        var verified = sut.verify(sut.encrypt("user-id"));
+
+        assertEquals("user-id", verified.subject());
+        assertNotNull(verified.expiresAt());
+        // exp do JWT tem resolução de segundos
+        long expiresAt = verified.expiresAt().toEpochMilli();
+        assertTrue(expiresAt >= before + 3_600_000L - 1_000L && expiresAt <= System.currentTimeMillis() + 3_600_000L);
+    }
+
+    @Test
+    @DisplayName("Should give every token its own id (jti) for revocation")
+    void shouldAssignUniqueTokenId() {
+        var first = sut.verify(sut.encrypt("user-id"));
+        var second = sut.verify(sut.encrypt("user-id"));
+
+        assertNotNull(first.tokenId());
+        assertNotEquals(first.tokenId(), second.tokenId());
+    }
+
+    @Test
+    @DisplayName("Should keep validating old tokens after the active key rotates")
+    void shouldValidateTokensSignedWithPreviousKey() {
+        var oldToken = sut.encrypt("user-id");
+
+        sut.rotate(new JwtKeyRing("2024-06", Map.of(
+                JwtKeyRing.DEFAULT_KID, SECRET,
+                "2024-06", OTHER_SECRET)));
+        var newToken = sut.encrypt("user-id");
+
+        assertEquals("user-id", sut.decrypt(oldToken));
+        assertEquals("user-id", sut.decrypt(newToken));
+        // assinado com a chave nova: outro adaptador só com a chave antiga não valida
+        assertThrows(Exception.class, () -> new JwtAdapter(SECRET, 3_600_000L).decrypt(newToken));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens whose key was removed from the ring")
+    void shouldRejectTokensOfRemovedKey() {
+        var oldToken = sut.encrypt("user-id");
+
+        sut.rotate(new JwtKeyRing("2024-06", Map.of("2024-06", OTHER_SECRET)));
+
+        assertThrows(Exception.class, () -> sut.decrypt(oldToken));
+    }
+
     @Test
     @DisplayName("Should throw when token is expired")
     void shouldThrowWhenTokenIsExpired() throws InterruptedException {
@@ -0,0 +1,90 @@
+package com.pillmind.infra.cryptography;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("JwtKeyFileWatcher")
+class JwtKeyFileWatcherTest {
+
+    private static final String SECRET = "test-secret-key-min-256-bits-for-hmac-sha-256-algorithm";
+    private static final String KEY_A = "key-a-secret-min-256-bits-for-hmac-sha-256-algorithm-aaaa";
+    private static final String KEY_B = "key-b-secret-min-256-bits-for-hmac-sha-256-algorithm-bbbb";
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicReference<JwtKeyRing> current = new AtomicReference<>();
+    private JwtKeyFileWatcher sut;
+
+    @AfterEach
+    void tearDown() {
+        if (sut != null) {
+            sut.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load the active key and keep JWT_SECRET as the default kid")
+    void shouldLoadKeysOnStart() throws IOException {
+        Path file = write("active=a\nkey.a=" + KEY_A + "\n");
+
+        sut = new JwtKeyFileWatcher(file, SECRET, 60_000, current::set);
+
+        assertEquals("a", current.get().activeKid());
+        assertEquals(Set.of("a", JwtKeyRing.DEFAULT_KID), current.get().kids());
+    }
+
+    @Test
+    @DisplayName("Should pick up a new active key when the file changes")
+    void shouldReloadOnChange() throws IOException {
+        Path file = write("active=a\nkey.a=" + KEY_A + "\n");
+        sut = new JwtKeyFileWatcher(file, SECRET, 60_000, current::set);
+
+        write("active=b\nkey.a=" + KEY_A + "\nkey.b=" + KEY_B + "\n");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(5)));
+        sut.reloadIfChanged();
+
+        assertEquals("b", current.get().activeKid());
+        assertEquals(Set.of("a", "b", JwtKeyRing.DEFAULT_KID), current.get().kids());
+    }
+
+    @Test
+    @DisplayName("Should keep the current keys when the new file is invalid")
+    void shouldKeepKeysOnInvalidFile() throws IOException {
+        Path file = write("active=a\nkey.a=" + KEY_A + "\n");
+        sut = new JwtKeyFileWatcher(file, SECRET, 60_000, current::set);
+        JwtKeyRing loaded = current.get();
+
+        write("active=missing\nkey.a=" + KEY_A + "\n");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(5)));
+        sut.reloadIfChanged();
+
+        assertEquals(loaded, current.get());
+    }
+
+    @Test
+    @DisplayName("Should fail on start when the file cannot be loaded")
+    void shouldFailOnInvalidFileAtStart() throws IOException {
+        Path file = write("key.a=" + KEY_A + "\n");
+
+        assertThrows(IllegalStateException.class,
+                () -> new JwtKeyFileWatcher(file, SECRET, 60_000, current::set));
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(tempDir.resolve("jwt-keys.properties"), content);
+    }
+}
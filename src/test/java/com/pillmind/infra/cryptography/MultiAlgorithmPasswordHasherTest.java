@@ -0,0 +1,66 @@
+package com.pillmind.infra.cryptography;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("MultiAlgorithmPasswordHasher")
+class MultiAlgorithmPasswordHasherTest {
+
+    // Parâmetros baixos só para o teste ser rápido
+    private static final BcryptAdapter BCRYPT_4 = new BcryptAdapter(4);
+    private static final Pbkdf2Adapter PBKDF2_1000 = new Pbkdf2Adapter(1_000);
+    private static final Argon2idAdapter ARGON2_SMALL = new Argon2idAdapter(1_024, 1, 1);
+
+    private static MultiAlgorithmPasswordHasher hasher(String current, PasswordHashAlgorithm... algorithms) {
+        return new MultiAlgorithmPasswordHasher(current, List.of(algorithms));
+    }
+
+    @Test
+    @DisplayName("Should hash and verify with every algorithm in PHC form")
+    void shouldRoundTripEveryAlgorithm() {
+        for (PasswordHashAlgorithm algorithm : List.of(BCRYPT_4, PBKDF2_1000, ARGON2_SMALL)) {
+            var sut = hasher(algorithm.id(), BCRYPT_4, PBKDF2_1000, ARGON2_SMALL);
+            String hash = sut.hash("s3cret!");
+
+            assertTrue(algorithm.supports(hash), algorithm.id() + ": " + hash);
+            assertTrue(sut.compare("s3cret!", hash), algorithm.id());
+            assertFalse(sut.compare("wrong", hash), algorithm.id());
+            assertFalse(sut.needsRehash(hash), algorithm.id());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep validating old bcrypt hashes after switching to argon2id")
+    void shouldValidateHashesOfPreviousAlgorithm() {
+        String legacy = BCRYPT_4.hash("s3cret!");
+        var sut = hasher("argon2id", BCRYPT_4, PBKDF2_1000, ARGON2_SMALL);
+
+        assertTrue(sut.compare("s3cret!", legacy));
+        assertTrue(sut.needsRehash(legacy));
+        assertTrue(sut.hash("s3cret!").startsWith("$argon2id$v=19$m=1024,t=1,p=1$"));
+    }
+
+    @Test
+    @DisplayName("Should flag hashes whose cost differs from the configured one")
+    void shouldFlagCostChanges() {
+        assertTrue(hasher("bcrypt", new BcryptAdapter(5)).needsRehash(BCRYPT_4.hash("x")));
+        assertTrue(hasher("pbkdf2-sha256", new Pbkdf2Adapter(2_000)).needsRehash(PBKDF2_1000.hash("x")));
+        assertTrue(hasher("argon2id", new Argon2idAdapter(2_048, 1, 1)).needsRehash(ARGON2_SMALL.hash("x")));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown hash formats and unknown algorithm ids")
+    void shouldRejectUnknown() {
+        var sut = hasher("bcrypt", BCRYPT_4, PBKDF2_1000);
+
+        assertFalse(sut.compare("s3cret!", "$scrypt$ln=16,r=8,p=1$abc$def"));
+        assertTrue(sut.needsRehash("$scrypt$ln=16,r=8,p=1$abc$def"));
+        assertThrows(IllegalArgumentException.class, () -> hasher("md5", BCRYPT_4));
+    }
+}
@@ -0,0 +1,95 @@
+package com.pillmind.infra.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pillmind.data.protocols.db.LocalAccountRepository;
+import com.pillmind.data.protocols.db.OAuthAccountRepository;
+
+@DisplayName("BufferedLoginActivityRecorder")
+class BufferedLoginActivityRecorderTest {
+
+    private static final LocalDateTime T1 = LocalDateTime.of(2024, 1, 1, 8, 0);
+    private static final LocalDateTime T2 = T1.plusMinutes(5);
+
+    private LocalAccountRepository localAccountRepository;
+    private OAuthAccountRepository oauthAccountRepository;
+    private BufferedLoginActivityRecorder sut;
+
+    @BeforeEach
+    void setUp() {
+        localAccountRepository = mock(LocalAccountRepository.class);
+        oauthAccountRepository = mock(OAuthAccountRepository.class);
+        // intervalo longo: os testes disparam o flush manualmente
+        sut = new BufferedLoginActivityRecorder(localAccountRepository, oauthAccountRepository, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.close();
+    }
+
+    @Test
+    @DisplayName("Should keep only the latest login per account and flush in one batch")
+    void shouldCoalesceLoginsPerAccount() {
+        sut.recordLocalLogin("local-1", T2);
+        sut.recordLocalLogin("local-1", T1);
+        sut.recordLocalLogin("local-2", T1);
+
+        sut.flush();
+
+        verify(localAccountRepository).updateLastLoginAt(Map.of("local-1", T2, "local-2", T1));
+        verify(oauthAccountRepository, never()).updateLastLoginAt(anyMap());
+        assertEquals(0, sut.pending());
+    }
+
+    @Test
+    @DisplayName("Should not touch the repositories when nothing is pending")
+    void shouldSkipEmptyFlush() {
+        sut.flush();
+
+        verify(localAccountRepository, never()).updateLastLoginAt(anyMap());
+        verify(oauthAccountRepository, never()).updateLastLoginAt(anyMap());
+    }
+
+    @Test
+    @DisplayName("Should keep pending logins when the batch update fails")
+    void shouldRetryAfterFailure() {
+        sut.recordOAuthLogin("oauth-1", T1);
+        doThrow(new RuntimeException("database is locked"))
+                .doReturn(1)
+                .when(oauthAccountRepository).updateLastLoginAt(anyMap());
+
+        sut.flush();
+        assertEquals(1, sut.pending());
+
+        sut.flush();
+        verify(oauthAccountRepository, times(2)).updateLastLoginAt(Map.of("oauth-1", T1));
+        assertEquals(0, sut.pending());
+    }
+
+    @Test
+    @DisplayName("Should flush pending logins on close")
+    void shouldFlushOnClose() {
+        sut.recordLocalLogin("local-1", T1);
+        sut.recordOAuthLogin("oauth-1", T2);
+
+        sut.close();
+
+        verify(localAccountRepository).updateLastLoginAt(Map.of("local-1", T1));
+        verify(oauthAccountRepository).updateLastLoginAt(Map.of("oauth-1", T2));
+    }
+}
@@ -0,0 +1,105 @@
+package com.pillmind.infra.db.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.infra.db.postgres.helpers.JdbcTransactionManager;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * V7: {@code times_json} de medicamentos já gravados vira {@code times_packed} e continua legível.
+ */
+@DisplayName("Migration V7 (times_packed)")
+class MedicineTimesMigrationTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Converte times_json existente, descarta horários inválidos e guarda os originais afetados")
+    void convertsExistingTimes() throws Exception {
+        String url = "jdbc:sqlite:" + tempDir.resolve("v7.db").toAbsolutePath();
+        flyway(url, "6").migrate();
+
+        try (Connection connection = DriverManager.getConnection(url)) {
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "INSERT INTO users (id, name, email) VALUES ('u-1', 'User', 'u1@example.com')")) {
+                stmt.executeUpdate();
+            }
+            insertLegacy(connection, "m-1", "[\"08:00\",\"20:30\"]");
+            insertLegacy(connection, "m-2", "[\"manhã\",\"7:15\"]");
+            insertLegacy(connection, "m-3", "[]");
+            insertLegacy(connection, "m-4", "não é json");
+        }
+
+        flyway(url, "7").migrate();
+
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setJdbcUrl(url);
+            var repository = new MedicinePostgresRepository(new JdbcTransactionManager(dataSource));
+
+            assertEquals(List.of("08:00", "20:30"), times(repository, "m-1"));
+            assertEquals(List.of("07:15"), times(repository, "m-2"));
+            assertEquals(List.of(), times(repository, "m-3"));
+            assertEquals(List.of(), times(repository, "m-4"));
+        }
+
+        try (Connection connection = DriverManager.getConnection(url);
+                Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT medicine_id, times_json FROM medicine_times_json_backup")) {
+            Map<String, String> backup = new HashMap<>();
+            while (rs.next()) {
+                backup.put(rs.getString("medicine_id"), rs.getString("times_json"));
+            }
+            assertEquals(Map.of("m-2", "[\"manhã\",\"7:15\"]", "m-4", "não é json"), backup);
+        }
+    }
+
+    private static List<String> times(MedicinePostgresRepository repository, String id) {
+        Medicine medicine = repository.findByIdAndUserId(id, "u-1").orElseThrow();
+        return medicine.times();
+    }
+
+    private static void insertLegacy(Connection connection, String id, String timesJson) throws Exception {
+        try (PreparedStatement stmt = connection.prepareStatement("""
+                INSERT INTO medicines (id, user_id, name, dosage, frequency, times_json, start_date, created_at, updated_at)
+                VALUES (?, 'u-1', 'Medicine', '1mg', 'daily', ?, ?, ?, ?)
+                """)) {
+            // Mesma codificação de datas que o repositório usa (setDate/setTimestamp)
+            var now = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 8, 0));
+            stmt.setString(1, id);
+            stmt.setString(2, timesJson);
+            stmt.setDate(3, Date.valueOf(LocalDate.of(2024, 1, 1)));
+            stmt.setTimestamp(4, now);
+            stmt.setTimestamp(5, now);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static Flyway flyway(String url, String target) {
+        return Flyway.configure()
+                .dataSource(url, "", "")
+                .locations("classpath:db/migration")
+                .target(target)
+                .load();
+    }
+}
@@ -0,0 +1,146 @@
+package com.pillmind.infra.db.postgres.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.infra.db.postgres.MedicinePostgresRepository;
+import com.pillmind.test.config.TestDatabaseConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Modo SQLite com pool de leitura ({@code query_only}) e writer único enfileirado.
+ */
+@DisplayName("JdbcTransactionManager (SQLite read/write split)")
+class JdbcTransactionManagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private HikariDataSource writeDataSource;
+    private HikariDataSource readDataSource;
+    private SqliteWriteQueue writeQueue;
+    private JdbcTransactionManager sut;
+    private MedicinePostgresRepository medicines;
+    private String userId;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Path file = tempDir.resolve("split.db");
+        writeDataSource = TestDatabaseConfig.createFileDataSource(file, 1);
+        readDataSource = TestDatabaseConfig.createFileReadOnlyDataSource(file, 4);
+        writeQueue = new SqliteWriteQueue(writeDataSource, 64);
+        sut = new JdbcTransactionManager(readDataSource, writeQueue);
+        medicines = new MedicinePostgresRepository(sut);
+
+        userId = UUID.randomUUID().toString();
+        sut.write(connection -> {
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "INSERT INTO users (id, name, email) VALUES (?, ?, ?)")) {
+                stmt.setString(1, userId);
+                stmt.setString(2, "Split User");
+                stmt.setString(3, "split@example.com");
+                return stmt.executeUpdate();
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeQueue.close();
+        readDataSource.close();
+        writeDataSource.close();
+    }
+
+    @Test
+    @DisplayName("Conexões de leitura recusam escrita")
+    void readConnectionsAreQueryOnly() throws SQLException {
+        try (Connection connection = sut.getConnection();
+                Statement stmt = connection.createStatement()) {
+            assertThrows(SQLException.class,
+                    () -> stmt.executeUpdate("DELETE FROM users"));
+        }
+        assertEquals(1, count("SELECT COUNT(*) FROM users"));
+    }
+
+    @Test
+    @DisplayName("Escritas concorrentes são serializadas pelo writer e todas persistem")
+    void concurrentWritesAreSerialized() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Medicine>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                final int n = i;
+                futures.add(pool.submit(() -> medicines.insert(medicine("Med " + n))));
+            }
+            for (Future<Medicine> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(200, medicines.findAllByUserId(userId).size());
+    }
+
+    @Test
+    @DisplayName("inTransaction desfaz todas as escritas quando a unidade de trabalho falha")
+    void transactionRollsBackOnFailure() throws SQLException {
+        assertThrows(IllegalStateException.class, () -> sut.inTransaction(() -> {
+            medicines.insert(medicine("Primeiro"));
+            medicines.insert(medicine("Segundo"));
+            throw new IllegalStateException("falha no meio da unidade de trabalho");
+        }));
+
+        assertEquals(0, count("SELECT COUNT(*) FROM medicines"));
+    }
+
+    @Test
+    @DisplayName("inTransaction confirma escritas e leituras enxergam a própria transação")
+    void transactionCommitsAndReadsOwnWrites() throws SQLException {
+        int seen = sut.inTransaction(() -> {
+            medicines.insert(medicine("Primeiro"));
+            medicines.insert(medicine("Segundo"));
+            return medicines.findAllByUserId(userId).size();
+        });
+
+        assertEquals(2, seen);
+        assertEquals(2, count("SELECT COUNT(*) FROM medicines"));
+        assertTrue(writeQueue.pending() == 0);
+    }
+
+    private Medicine medicine(String name) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Medicine(UUID.randomUUID().toString(), userId, name, "500mg", "daily",
+                List.of("08:00"), LocalDate.of(2024, 1, 1), null, null, null, "capsule", null, 1, true, now, now);
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Connection connection = readDataSource.getConnection();
+                Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
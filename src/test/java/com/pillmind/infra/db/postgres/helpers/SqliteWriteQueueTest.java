@@ -0,0 +1,206 @@
+package com.pillmind.infra.db.postgres.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.pillmind.test.config.TestDatabaseConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Commit em grupo do writer único: várias escritas por transação, falhas isoladas por savepoint.
+ */
+@DisplayName("SqliteWriteQueue (group commit)")
+class SqliteWriteQueueTest {
+
+    private static final int THREADS = 16;
+
+    @TempDir
+    Path tempDir;
+
+    private HikariDataSource writeDataSource;
+    private HikariDataSource readDataSource;
+    private SqliteWriteQueue sut;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Path file = tempDir.resolve("group-commit.db");
+        writeDataSource = TestDatabaseConfig.createFileDataSource(file, 1);
+        readDataSource = TestDatabaseConfig.createFileReadOnlyDataSource(file, 2);
+        sut = new SqliteWriteQueue(writeDataSource, 1024, 20, 64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.close();
+        readDataSource.close();
+        writeDataSource.close();
+    }
+
+    @Test
+    @DisplayName("Escritas concorrentes são confirmadas em menos commits que escritas")
+    void concurrentWritesShareCommits() throws Exception {
+        List<Future<Integer>> futures = submitConcurrently(200, n -> insertUser("user-" + n));
+        for (Future<Integer> future : futures) {
+            assertEquals(1, future.get());
+        }
+
+        assertEquals(200, countUsers());
+        assertEquals(200, sut.statements());
+        assertTrue(sut.commits() < sut.statements(),
+                "esperava commits em grupo, mas foram " + sut.commits() + " commits");
+    }
+
+    @Test
+    @DisplayName("Falha numa escrita desfaz só ela; as demais do grupo são confirmadas")
+    void failingWriteIsIsolated() throws Exception {
+        List<Future<Integer>> futures = submitConcurrently(20, n -> n == 7
+                ? connection -> {
+                    insertUser("broken").apply(connection);
+                    throw new IllegalStateException("falha depois do insert");
+                }
+                : insertUser("user-" + n));
+
+        int failures = 0;
+        for (Future<Integer> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+                failures++;
+            }
+        }
+
+        assertEquals(1, failures);
+        assertEquals(19, countUsers());
+        assertEquals(0, countUsers("broken@example.com"));
+    }
+
+    @Test
+    @DisplayName("Quem chama só é liberado depois do commit")
+    void callerSeesCommittedWrite() throws SQLException {
+        sut.execute(insertUser("visible"));
+
+        assertEquals(1, countUsers("visible@example.com"));
+    }
+
+    @Test
+    @DisplayName("SQLException da escrita chega intacta a quem chama")
+    void sqlExceptionIsPropagated() throws SQLException {
+        sut.execute(insertUser("duplicate"));
+
+        assertThrows(SQLException.class, () -> sut.execute(insertUser("duplicate")));
+        assertEquals(1, countUsers());
+    }
+
+    @Test
+    @DisplayName("Escritas que disputam o close() terminam ou falham, nenhuma fica esperando")
+    void writesRacingCloseNeverHang() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 500; i++) {
+                SqlWork<Integer> task = insertUser("user-" + i);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return sut.execute(task);
+                }));
+            }
+            start.countDown();
+            sut.close();
+
+            int committed = 0;
+            for (Future<Integer> future : futures) {
+                try {
+                    committed += future.get(5, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof SQLException, String.valueOf(e.getCause()));
+                }
+            }
+            assertEquals(committed, countUsers());
+            assertThrows(SQLException.class, () -> sut.execute(insertUser("late")));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<Future<Integer>> submitConcurrently(int writes, IntFunction<SqlWork<Integer>> work)
+            throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < writes; i++) {
+                SqlWork<Integer> task = work.apply(i);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return sut.execute(task);
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ignored) {
+                    // verificado por quem chama
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return futures;
+    }
+
+    private static SqlWork<Integer> insertUser(String name) {
+        return connection -> {
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "INSERT INTO users (id, name, email) VALUES (?, ?, ?)")) {
+                stmt.setString(1, name);
+                stmt.setString(2, name);
+                stmt.setString(3, name + "@example.com");
+                return stmt.executeUpdate();
+            }
+        };
+    }
+
+    private int countUsers() throws SQLException {
+        try (Connection connection = readDataSource.getConnection();
+                Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM users")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private int countUsers(String email) throws SQLException {
+        try (Connection connection = readDataSource.getConnection();
+                PreparedStatement stmt = connection.prepareStatement("SELECT COUNT(*) FROM users WHERE email = ?")) {
+            stmt.setString(1, email);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.pillmind.infra.oauth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("GoogleJwksKeyCache")
+class GoogleJwksKeyCacheTest {
+
+    private static final KeyPair KEY_1 = JwksTestServer.newKeyPair();
+    private static final KeyPair KEY_2 = JwksTestServer.newKeyPair();
+
+    private JwksTestServer server;
+    private GoogleJwksKeyCache sut;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new JwksTestServer();
+        server.publish(Map.of("kid-1", KEY_1));
+        sut = new GoogleJwksKeyCache(server.uri(), HttpClient.newHttpClient(), Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Busca uma vez e responde da memória depois")
+    void servesKeysFromMemory() {
+        assertEquals(KEY_1.getPublic(), sut.key("kid-1"));
+        for (int i = 0; i < 100; i++) {
+            sut.key("kid-1");
+        }
+
+        assertEquals(1, server.requests());
+        assertEquals(1L, sut.metrics().get("blockingLookups"));
+    }
+
+    @Test
+    @DisplayName("Buscas simultâneas com o cache frio viram uma única requisição")
+    void coldLookupsAreSingleFlight() throws Exception {
+        server.delayMs(300);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<PublicKey>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 16; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return sut.key("kid-1");
+                }));
+            }
+            start.countDown();
+            for (Future<PublicKey> result : results) {
+                assertEquals(KEY_1.getPublic(), result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, server.requests());
+    }
+
+    @Test
+    @DisplayName("kid novo força uma busca; repetido logo em seguida, não")
+    void unknownKidRefreshesAtMostOncePerInterval() throws Exception {
+        sut.key("kid-1");
+        server.publish(Map.of("kid-1", KEY_1, "kid-2", KEY_2));
+
+        assertNull(sut.key("kid-2"), "busca recente: não deveria consultar o servidor de novo");
+        assertEquals(1, server.requests());
+
+        Thread.sleep(250);
+        assertEquals(KEY_2.getPublic(), sut.key("kid-2"));
+        assertNull(sut.key("forged"));
+        assertEquals(2, server.requests());
+    }
+
+    @Test
+    @DisplayName("Renova em segundo plano conforme o max-age")
+    void refreshesInBackgroundFromCacheControl() throws Exception {
+        server.cacheControl("public, max-age=1");
+        sut.start();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (server.requests() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertTrue(server.requests() >= 2, "esperava uma renovação em segundo plano");
+    }
+
+    @Test
+    @DisplayName("Falha ao renovar mantém as chaves anteriores")
+    void keepsKeysWhenRefreshFails() throws Exception {
+        sut.key("kid-1");
+        server.status(500);
+
+        sut.refresh().exceptionally(e -> null).get();
+
+        assertNotNull(sut.key("kid-1"));
+        assertEquals(1L, sut.metrics().get("fetchFailures"));
+    }
+
+    @Test
+    @DisplayName("max-age desconta o Age de caches intermediários")
+    void maxAgeDiscountsAge() throws Exception {
+        server.cacheControl("public, max-age=100, must-revalidate, no-transform");
+        server.age(40);
+
+        assertEquals(Duration.ofSeconds(60), GoogleJwksKeyCache.maxAge(get()));
+    }
+
+    @Test
+    @DisplayName("Sem max-age usa a validade padrão")
+    void maxAgeDefaultsWithoutCacheControl() throws Exception {
+        server.cacheControl("no-transform");
+
+        assertEquals(GoogleJwksKeyCache.DEFAULT_MAX_AGE, GoogleJwksKeyCache.maxAge(get()));
+    }
+
+    private HttpResponse<Void> get() throws Exception {
+        return HttpClient.newHttpClient().send(HttpRequest.newBuilder(server.uri()).build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+}
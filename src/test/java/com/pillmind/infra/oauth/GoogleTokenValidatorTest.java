@@ -0,0 +1,154 @@
+package com.pillmind.infra.oauth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.http.HttpClient;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pillmind.domain.errors.UnauthorizedException;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+@DisplayName("GoogleTokenValidator")
+class GoogleTokenValidatorTest {
+
+    private static final String CLIENT_ID = "client-id.apps.googleusercontent.com";
+    private static final KeyPair KEY_1 = JwksTestServer.newKeyPair();
+    private static final KeyPair KEY_2 = JwksTestServer.newKeyPair();
+
+    private JwksTestServer server;
+    private GoogleJwksKeyCache keyCache;
+    private GoogleTokenValidator sut;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new JwksTestServer();
+        server.publish(Map.of("kid-1", KEY_1));
+        keyCache = new GoogleJwksKeyCache(server.uri(), HttpClient.newHttpClient(), Duration.ZERO);
+        sut = new GoogleTokenValidator(CLIENT_ID, keyCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        keyCache.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Token válido devolve os dados do usuário")
+    void validTokenReturnsUserInfo() {
+        var info = sut.validate(token("kid-1", KEY_1).compact());
+
+        assertEquals("google-123", info.googleId());
+        assertEquals("john@example.com", info.email());
+        assertEquals("John Doe", info.name());
+        assertEquals("https://example.com/john.png", info.pictureUrl());
+    }
+
+    @Test
+    @DisplayName("Rejeita token emitido para outro client id")
+    void rejectsWrongAudience() {
+        String token = token("kid-1", KEY_1).setAudience("other-client").compact();
+
+        assertThrows(UnauthorizedException.class, () -> sut.validate(token));
+    }
+
+    @Test
+    @DisplayName("Rejeita token de outro emissor")
+    void rejectsWrongIssuer() {
+        String token = token("kid-1", KEY_1).setIssuer("https://evil.example.com").compact();
+
+        assertThrows(UnauthorizedException.class, () -> sut.validate(token));
+    }
+
+    @Test
+    @DisplayName("Rejeita token expirado além da tolerância de relógio")
+    void rejectsExpiredToken() {
+        String token = token("kid-1", KEY_1)
+                .setExpiration(Date.from(Instant.now().minus(Duration.ofHours(1))))
+                .compact();
+
+        assertThrows(UnauthorizedException.class, () -> sut.validate(token));
+    }
+
+    @Test
+    @DisplayName("Rejeita assinatura que não confere com a chave publicada")
+    void rejectsForgedSignature() {
+        String token = token("kid-1", KEY_2).compact();
+
+        assertThrows(UnauthorizedException.class, () -> sut.validate(token));
+    }
+
+    @Test
+    @DisplayName("Rejeita email não verificado")
+    void rejectsUnverifiedEmail() {
+        String token = token("kid-1", KEY_1).claim("email_verified", false).compact();
+
+        var error = assertThrows(UnauthorizedException.class, () -> sut.validate(token));
+        assertEquals("Email do Google não verificado", error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Aceita token assinado com chave nova depois da rotação")
+    void acceptsRotatedKey() {
+        sut.validate(token("kid-1", KEY_1).compact());
+        server.publish(Map.of("kid-1", KEY_1, "kid-2", KEY_2));
+
+        var info = sut.validate(token("kid-2", KEY_2).compact());
+
+        assertEquals("google-123", info.googleId());
+        assertEquals(2, server.requests());
+    }
+
+    @Test
+    @DisplayName("Com as chaves em memória, a verificação não espera a rede")
+    void warmCacheVerifiesWithoutNetwork() {
+        server.delayMs(300);
+        String token = token("kid-1", KEY_1).compact();
+
+        long coldNanos = timed(() -> sut.validate(token));
+        long warmNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 50; i++) {
+            warmNanos = Math.min(warmNanos, timed(() -> sut.validate(token)));
+        }
+
+        assertEquals(1, server.requests());
+        assertTrue(coldNanos >= Duration.ofMillis(300).toNanos(), "cold: " + coldNanos + " ns");
+        assertTrue(warmNanos < Duration.ofMillis(50).toNanos(), "warm: " + warmNanos + " ns");
+    }
+
+    private static JwtBuilder token(String kid, KeyPair signer) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setHeaderParam("kid", kid)
+                .setIssuer("https://accounts.google.com")
+                .setAudience(CLIENT_ID)
+                .setSubject("google-123")
+                .claim("email", "john@example.com")
+                .claim("email_verified", true)
+                .claim("name", "John Doe")
+                .claim("picture", "https://example.com/john.png")
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(Duration.ofHours(1))))
+                .signWith(signer.getPrivate(), SignatureAlgorithm.RS256);
+    }
+
+    private static long timed(Runnable work) {
+        long start = System.nanoTime();
+        work.run();
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,129 @@
+package com.pillmind.infra.oauth;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Servidor JWKS local no lugar do endpoint de certificados do Google.
+ */
+class JwksTestServer implements AutoCloseable {
+    private final HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile Map<String, KeyPair> keys = Map.of();
+    private volatile String cacheControl = "public, max-age=3600";
+    private volatile int status = 200;
+    private volatile long delayMs;
+    private volatile long ageSeconds = -1;
+
+    JwksTestServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/oauth2/v3/certs", exchange -> {
+            requests.incrementAndGet();
+            sleep(delayMs);
+            byte[] body = jwks().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("Cache-Control", cacheControl);
+            if (ageSeconds >= 0) {
+                exchange.getResponseHeaders().set("Age", String.valueOf(ageSeconds));
+            }
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(null);
+        server.start();
+    }
+
+    static KeyPair newKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    URI uri() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/oauth2/v3/certs");
+    }
+
+    /** Chaves publicadas, por kid. */
+    void publish(Map<String, KeyPair> keys) {
+        this.keys = Map.copyOf(keys);
+    }
+
+    void cacheControl(String cacheControl) {
+        this.cacheControl = cacheControl;
+    }
+
+    void status(int status) {
+        this.status = status;
+    }
+
+    /** Header Age, como se a resposta viesse de um cache intermediário. */
+    void age(long ageSeconds) {
+        this.ageSeconds = ageSeconds;
+    }
+
+    void delayMs(long delayMs) {
+        this.delayMs = delayMs;
+    }
+
+    int requests() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private String jwks() {
+        return keys.entrySet().stream()
+                .map(entry -> jwk(entry.getKey(), (RSAPublicKey) entry.getValue().getPublic()))
+                .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+    }
+
+    private static String jwk(String kid, RSAPublicKey key) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return """
+                {"kty":"RSA","alg":"RS256","use":"sig","kid":"%s","n":"%s","e":"%s"}"""
+                .formatted(kid, encoder.encodeToString(unsigned(key.getModulus().toByteArray())),
+                        encoder.encodeToString(unsigned(key.getPublicExponent().toByteArray())));
+    }
+
+    /** BigInteger.toByteArray pode ter um zero de sinal à esquerda, que o JWK não usa. */
+    private static byte[] unsigned(byte[] bytes) {
+        if (bytes.length > 1 && bytes[0] == 0) {
+            return Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return bytes;
+    }
+
+    private static void sleep(long ms) {
+        if (ms <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
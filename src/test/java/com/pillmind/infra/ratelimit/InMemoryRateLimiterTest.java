@@ -0,0 +1,133 @@
+package com.pillmind.infra.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("InMemoryRateLimiter")
+class InMemoryRateLimiterTest {
+
+    private static final int BURST = 3;
+    private static final int PER_MINUTE = 6; // uma permissão a cada 10 s
+
+    private AtomicLong nanos;
+    private InMemoryRateLimiter sut;
+
+    @BeforeEach
+    void setUp() {
+        nanos = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+        // manutenção síncrona: expiração e despejo visíveis na hora
+        sut = new InMemoryRateLimiter("test", BURST, PER_MINUTE, 1_000, nanos::get, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Libera o burst e recusa a seguinte com o tempo até a próxima permissão")
+    void allowsBurstThenRejects() {
+        for (int i = 0; i < BURST; i++) {
+            assertEquals(0, sut.tryAcquire("1.2.3.4"));
+        }
+
+        assertEquals(10_000, sut.tryAcquire("1.2.3.4"));
+        assertEquals(3L, sut.metrics().get("allowed"));
+        assertEquals(1L, sut.metrics().get("rejected"));
+    }
+
+    @Test
+    @DisplayName("Reabastece uma permissão por intervalo")
+    void refillsOverTime() {
+        for (int i = 0; i < BURST; i++) {
+            sut.tryAcquire("1.2.3.4");
+        }
+
+        advanceSeconds(4);
+        assertEquals(6_000, sut.tryAcquire("1.2.3.4"));
+
+        advanceSeconds(6);
+        assertEquals(0, sut.tryAcquire("1.2.3.4"));
+        assertTrue(sut.tryAcquire("1.2.3.4") > 0);
+    }
+
+    @Test
+    @DisplayName("Chaves diferentes têm baldes independentes")
+    void keysAreIndependent() {
+        for (int i = 0; i < BURST; i++) {
+            sut.tryAcquire("a@example.com");
+        }
+
+        assertTrue(sut.tryAcquire("a@example.com") > 0);
+        assertEquals(0, sut.tryAcquire("b@example.com"));
+    }
+
+    @Test
+    @DisplayName("Recusas não consomem permissões futuras")
+    void rejectionsDoNotExtendTheWait() {
+        for (int i = 0; i < BURST; i++) {
+            sut.tryAcquire("1.2.3.4");
+        }
+        for (int i = 0; i < 100; i++) {
+            sut.tryAcquire("1.2.3.4");
+        }
+
+        advanceSeconds(10);
+        assertEquals(0, sut.tryAcquire("1.2.3.4"));
+    }
+
+    @Test
+    @DisplayName("Chave ociosa some depois que o balde enche de novo")
+    void idleKeysExpire() {
+        sut.tryAcquire("1.2.3.4");
+        advanceSeconds(31);
+        sut.tryAcquire("5.6.7.8");
+
+        assertEquals(1L, sut.metrics().get("keys"));
+    }
+
+    @Test
+    @DisplayName("Enxurrada de chaves novas não passa do limite de memória")
+    void keyFloodIsBounded() {
+        for (int i = 0; i < 50_000; i++) {
+            sut.tryAcquire("10.0." + (i / 256) + "." + (i % 256));
+        }
+
+        assertTrue(sut.metrics().get("keys").longValue() <= 1_000);
+    }
+
+    @Test
+    @DisplayName("Threads concorrentes nunca passam do burst")
+    void concurrentAcquiresRespectBurst() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+        try {
+            for (int i = 0; i < 64; i++) {
+                pool.submit(() -> {
+                    start.await();
+                    if (sut.tryAcquire("1.2.3.4") == 0) {
+                        allowed.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(BURST, allowed.get());
+    }
+
+    private void advanceSeconds(long seconds) {
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
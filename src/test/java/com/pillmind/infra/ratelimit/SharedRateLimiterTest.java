@@ -0,0 +1,63 @@
+package com.pillmind.infra.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pillmind.infra.cache.SharedCacheClient;
+import com.pillmind.infra.cache.SharedCacheUnavailableException;
+
+@DisplayName("SharedRateLimiter")
+class SharedRateLimiterTest {
+
+    private SharedCacheClient client;
+    private SharedRateLimiter sut;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(SharedCacheClient.class);
+        sut = new SharedRateLimiter("authIp", client, 2, 6, new InMemoryRateLimiter("authIp", 2, 6, 100));
+    }
+
+    @Test
+    @DisplayName("Passa intervalo e burst em microssegundos e usa uma chave por limitador")
+    void evaluatesScriptPerKey() {
+        when(client.eval(anyString(), anyList(), anyList())).thenReturn(0L);
+
+        assertEquals(0, sut.tryAcquire("1.2.3.4"));
+
+        verify(client).eval(eq(SharedRateLimiter.SCRIPT), eq(List.of("pillmind:ratelimit:authIp:1.2.3.4")),
+                eq(List.of("10000000", "20000000")));
+    }
+
+    @Test
+    @DisplayName("Converte a espera devolvida pelo Redis em milissegundos")
+    void returnsWaitInMillis() {
+        when(client.eval(anyString(), anyList(), anyList())).thenReturn(2_500_000L);
+
+        assertEquals(2_500, sut.tryAcquire("1.2.3.4"));
+        assertEquals(1L, sut.metrics().get("rejected"));
+    }
+
+    @Test
+    @DisplayName("Com Redis indisponível, limita localmente")
+    void fallsBackToLocalLimiter() {
+        when(client.eval(anyString(), anyList(), anyList()))
+                .thenThrow(new SharedCacheUnavailableException("Redis indisponível"));
+
+        assertEquals(0, sut.tryAcquire("1.2.3.4"));
+        assertEquals(0, sut.tryAcquire("1.2.3.4"));
+        assertEquals(10_000, sut.tryAcquire("1.2.3.4"), 1_000);
+        assertEquals(3L, sut.metrics().get("fallbacks"));
+    }
+}
@@ -0,0 +1,131 @@
+package com.pillmind.infra.schedule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("HierarchicalTimingWheel")
+class HierarchicalTimingWheelTest {
+
+    private static final class Task extends HierarchicalTimingWheel.Timer {
+        final int id;
+
+        Task(int id) {
+            this.id = id;
+        }
+    }
+
+    /** Avança até {@code until}, registrando em que tick cada timer disparou */
+    private static List<long[]> drain(HierarchicalTimingWheel<Task> wheel, long until) {
+        List<long[]> fired = new ArrayList<>();
+        wheel.advanceTo(until, task -> fired.add(new long[] { task.id, wheel.currentTick() - 1 }));
+        return fired;
+    }
+
+    @Test
+    @DisplayName("Dispara cada timer exatamente no seu tick, em todos os níveis")
+    void firesOnDeadlineAcrossLevels() {
+        var wheel = new HierarchicalTimingWheel<Task>(1_000);
+        long[] deadlines = { 1_000, 1_001, 1_255, 1_256, 1_000 + 65_535, 1_000 + 65_536, 1_000 + 300_000,
+                1_000 + (1L << 24) + 7 };
+        for (int i = 0; i < deadlines.length; i++) {
+            wheel.schedule(new Task(i), deadlines[i]);
+        }
+        assertEquals(deadlines.length, wheel.size());
+
+        List<long[]> fired = drain(wheel, deadlines[deadlines.length - 1]);
+
+        assertEquals(deadlines.length, fired.size());
+        for (int i = 0; i < deadlines.length; i++) {
+            assertEquals(i, fired.get(i)[0]);
+            assertEquals(deadlines[i], fired.get(i)[1], "timer " + i);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Prazos aleatórios saem em ordem e no tick certo")
+    void randomDeadlines() {
+        var random = new Random(42);
+        var wheel = new HierarchicalTimingWheel<Task>(123_456);
+        int count = 200_000;
+        long[] deadlines = new long[count];
+        for (int i = 0; i < count; i++) {
+            deadlines[i] = 123_456 + random.nextInt(5_000_000);
+            wheel.schedule(new Task(i), deadlines[i]);
+        }
+
+        var fired = new ArrayList<long[]>();
+        // Saltos grandes, como depois de uma pausa da thread
+        wheel.advanceTo(2_000_000, task -> fired.add(new long[] { task.id, task.deadline() }));
+        wheel.advanceTo(6_000_000, task -> fired.add(new long[] { task.id, task.deadline() }));
+
+        assertEquals(count, fired.size());
+        long previous = Long.MIN_VALUE;
+        for (long[] event : fired) {
+            assertEquals(deadlines[(int) event[0]], event[1]);
+            assertTrue(event[1] >= previous);
+            previous = event[1];
+        }
+    }
+
+    @Test
+    @DisplayName("Cancelar e reagendar tiram o timer da posição antiga")
+    void cancelAndReschedule() {
+        var wheel = new HierarchicalTimingWheel<Task>(0);
+        var cancelled = new Task(1);
+        var moved = new Task(2);
+        wheel.schedule(cancelled, 10);
+        wheel.schedule(moved, 70_000);
+        wheel.schedule(moved, 20);
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+        assertFalse(cancelled.isScheduled());
+
+        List<long[]> fired = drain(wheel, 100_000);
+        assertEquals(1, fired.size());
+        assertEquals(2, fired.get(0)[0]);
+        assertEquals(20, fired.get(0)[1]);
+    }
+
+    @Test
+    @DisplayName("Prazo vencido dispara no próximo avanço; reagendar no disparo vale para o tick seguinte")
+    void pastDeadlinesAndRescheduleOnFire() {
+        var wheel = new HierarchicalTimingWheel<Task>(500);
+        var task = new Task(1);
+        wheel.schedule(task, 3);
+
+        List<Long> ticks = new ArrayList<>();
+        wheel.advanceTo(500, fired -> {
+            ticks.add(wheel.currentTick() - 1);
+            wheel.schedule(fired, 0);
+        });
+        assertEquals(List.of(500L), ticks);
+        assertTrue(task.isScheduled());
+
+        wheel.advanceTo(501, fired -> ticks.add(wheel.currentTick() - 1));
+        assertEquals(List.of(500L, 501L), ticks);
+    }
+
+    @Test
+    @DisplayName("Prazos além do alcance da roda são reposicionados até o tick certo")
+    void beyondRange() {
+        var wheel = new HierarchicalTimingWheel<Task>(10);
+        long far = 10 + (1L << 32) + 5;
+        wheel.schedule(new Task(1), far);
+
+        var fired = new ArrayList<Long>();
+        wheel.advanceTo(far - 1, task -> fired.add(wheel.currentTick() - 1));
+        assertTrue(fired.isEmpty());
+        wheel.advanceTo(far, task -> fired.add(wheel.currentTick() - 1));
+        assertEquals(List.of(far), fired);
+    }
+}
@@ -0,0 +1,27 @@
+package com.pillmind.infra.schedule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.pillmind.data.protocols.schedule.ReminderSink;
+import com.pillmind.domain.models.DoseReminder;
+
+/**
+ * {@link ReminderSink} que só guarda os lembretes recebidos, para testes.
+ */
+class InMemoryReminderSink implements ReminderSink {
+    private final List<DoseReminder> delivered = new ArrayList<>();
+
+    @Override
+    public synchronized void deliver(DoseReminder reminder) {
+        delivered.add(reminder);
+    }
+
+    synchronized List<DoseReminder> delivered() {
+        return List.copyOf(delivered);
+    }
+
+    synchronized void clear() {
+        delivered.clear();
+    }
+}
@@ -0,0 +1,219 @@
+package com.pillmind.infra.schedule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.data.protocols.schedule.ReminderSink;
+import com.pillmind.domain.models.DoseReminder;
+import com.pillmind.domain.models.Medicine;
+
+@DisplayName("ReminderDispatcher")
+class ReminderDispatcherTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 10);
+    private static final Instant NOW = DAY.atTime(7, 0).toInstant(ZoneOffset.UTC);
+
+    private final Map<String, Medicine> stored = new ConcurrentHashMap<>();
+    private MedicineRepository repository;
+    private InMemoryReminderSink sink;
+    private MutableClock clock;
+    private ReminderDispatcher sut;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        repository = mock(MedicineRepository.class);
+        when(repository.streamActive(any(), any())).thenAnswer(invocation -> {
+            Consumer<Medicine> consumer = invocation.getArgument(1);
+            stored.values().forEach(consumer);
+            return stored.size();
+        });
+        when(repository.findByIdAndUserId(anyString(), anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(stored.get(invocation.<String>getArgument(0))));
+        sink = new InMemoryReminderSink();
+        clock = new MutableClock(NOW);
+        sut = new ReminderDispatcher(repository, sink, 100, 1_000, 0, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.close();
+    }
+
+    private static Medicine medicine(String id, List<String> times, LocalDate end) {
+        return new Medicine(id, "user-1", "Med " + id, "500mg", "daily", times, DAY.minusDays(1), end, null, null,
+                "capsule", null, 30, true, LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 1, 0, 0));
+    }
+
+    private void store(Medicine medicine) {
+        stored.put(medicine.id(), medicine);
+    }
+
+    /** Avança o relógio até {@code time} e dispara o que venceu */
+    private List<String> runUntil(LocalDateTime time) {
+        clock.set(time.toInstant(ZoneOffset.UTC));
+        sink.clear();
+        sut.runDue();
+        return sink.delivered().stream().map(r -> r.medicineId() + "@" + r.scheduledAt().toLocalTime()).toList();
+    }
+
+    @Test
+    @DisplayName("Reconstrói a partir dos medicamentos ativos e dispara no horário, com precisão de tick")
+    void rebuildAndFire() {
+        store(medicine("m-1", List.of("08:00", "20:00"), null));
+        store(medicine("m-2", List.of("08:00"), DAY.minusDays(1)));
+        store(medicine("m-3", List.of("07:30"), null));
+
+        assertEquals(2, sut.rebuild());
+        assertEquals(Optional.of(DAY.atTime(8, 0)), sut.nextReminder("m-1"));
+
+        assertEquals(List.of(), runUntil(DAY.atTime(7, 29, 59, 950_000_000)));
+        assertEquals(List.of("m-3@07:30"), runUntil(DAY.atTime(7, 30)));
+        assertEquals(List.of(), runUntil(DAY.atTime(7, 59, 59, 900_000_000)));
+        assertEquals(List.of("m-1@08:00"), runUntil(DAY.atTime(8, 0, 0, 50_000_000)));
+
+        DoseReminder reminder = sink.delivered().get(0);
+        assertEquals("user-1", reminder.userId());
+        assertEquals("Med m-1", reminder.medicineName());
+        assertEquals(Optional.of(DAY.atTime(20, 0)), sut.nextReminder("m-1"));
+        assertEquals(Optional.of(DAY.plusDays(1).atTime(7, 30)), sut.nextReminder("m-3"));
+        assertEquals(2L, sut.metrics().get("delivered"));
+    }
+
+    @Test
+    @DisplayName("Escritas reagendam, removem e encerram lembretes")
+    void followsWrites() {
+        store(medicine("m-1", List.of("08:00"), null));
+        sut.rebuild();
+
+        var moved = medicine("m-1", List.of("09:15"), null);
+        store(moved);
+        sut.medicineSaved(moved);
+        var created = medicine("m-2", List.of("08:30"), null);
+        store(created);
+        sut.medicineSaved(created);
+
+        assertEquals(List.of(), runUntil(DAY.atTime(8, 0)));
+        assertEquals(List.of("m-2@08:30"), runUntil(DAY.atTime(8, 30)));
+
+        // Fim hoje: a dose das 09:15 ainda vale, a de amanhã não
+        var ending = medicine("m-1", List.of("09:15"), DAY);
+        store(ending);
+        sut.medicineSaved(ending);
+        stored.remove("m-2");
+        sut.medicineDeleted("user-1", "m-2");
+
+        assertEquals(List.of("m-1@09:15"), runUntil(DAY.atTime(9, 15)));
+        assertEquals(List.of(), runUntil(DAY.plusDays(2).atStartOfDay()));
+        assertEquals(0, sut.metrics().get("scheduled"));
+    }
+
+    @Test
+    @DisplayName("Horário alterado fora desta réplica não dispara a dose antiga")
+    void skipsStaleEntries() {
+        store(medicine("m-1", List.of("08:00"), null));
+        sut.rebuild();
+        // Outra réplica mudou o horário sem avisar este processo
+        store(medicine("m-1", List.of("10:00"), null));
+
+        assertEquals(List.of(), runUntil(DAY.atTime(8, 0)));
+        assertEquals(1L, sut.metrics().get("skipped"));
+        assertEquals(List.of("m-1@10:00"), runUntil(DAY.atTime(10, 0)));
+    }
+
+    @Test
+    @DisplayName("Falha no sink não impede a próxima dose")
+    void sinkFailure() {
+        ReminderSink failing = mock(ReminderSink.class);
+        doThrow(new IllegalStateException("push fora do ar")).when(failing).deliver(any());
+        sut = new ReminderDispatcher(repository, failing, 100, 1_000, 0, clock);
+        store(medicine("m-1", List.of("08:00", "09:00"), null));
+        sut.rebuild();
+
+        runUntil(DAY.atTime(8, 0));
+
+        assertEquals(1L, sut.metrics().get("failures"));
+        assertEquals(Optional.of(DAY.atTime(9, 0)), sut.nextReminder("m-1"));
+    }
+
+    @Test
+    @DisplayName("Limite de entradas recusa medicamentos além da capacidade")
+    void boundedEntries() {
+        sut = new ReminderDispatcher(repository, sink, 100, 2, 0, clock);
+        for (int i = 0; i < 5; i++) {
+            store(medicine("m-" + i, List.of("08:00"), null));
+        }
+
+        assertEquals(2, sut.rebuild());
+        assertEquals(3L, sut.metrics().get("rejected"));
+        assertEquals(2, runUntil(DAY.atTime(8, 0)).size());
+    }
+
+    @Test
+    @DisplayName("Um avanço longo dispara as doses vencidas de muitos medicamentos")
+    void manyEntries() {
+        int count = 50_000;
+        sut = new ReminderDispatcher(repository, sink, 100, count, 0, clock);
+        for (int i = 0; i < count; i++) {
+            store(medicine("m-" + i, List.of(String.format("%02d:%02d", 8 + i % 12, i % 60)), null));
+        }
+        assertEquals(count, sut.rebuild());
+
+        clock.set(DAY.atTime(20, 0).toInstant(ZoneOffset.UTC));
+        sut.runDue();
+
+        assertEquals(count, sink.delivered().size());
+        assertTrue(sink.delivered().stream().allMatch(r -> !r.scheduledAt().isAfter(DAY.atTime(20, 0))));
+        assertEquals(count, sut.metrics().get("scheduled"));
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant instant) {
+            now = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
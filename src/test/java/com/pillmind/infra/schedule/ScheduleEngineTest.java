@@ -0,0 +1,205 @@
+package com.pillmind.infra.schedule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pillmind.data.protocols.cache.VersionTracker.Scope;
+import com.pillmind.data.protocols.db.MedicineRepository;
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.domain.models.ScheduledDose;
+import com.pillmind.infra.cache.InMemoryVersionTracker;
+
+@DisplayName("ScheduleEngine")
+class ScheduleEngineTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 10);
+
+    private MedicineRepository repository;
+    private InMemoryVersionTracker versionTracker;
+    private ScheduleEngine sut;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(MedicineRepository.class);
+        versionTracker = new InMemoryVersionTracker();
+        sut = new ScheduleEngine(repository, versionTracker, 1_000, Runnable::run);
+    }
+
+    private static Medicine medicine(String id, String name, List<String> times, LocalDate start, LocalDate end) {
+        return medicine(id, name, times, start, end, LocalDateTime.of(2024, 1, 1, 0, 0));
+    }
+
+    private static Medicine medicine(String id, String name, List<String> times, LocalDate start, LocalDate end,
+            LocalDateTime updatedAt) {
+        return new Medicine(id, "user-1", name, "500mg", "daily", times, start, end, null, null, "capsule", null,
+                30, true, LocalDateTime.of(2024, 1, 1, 0, 0), updatedAt);
+    }
+
+    private static List<String> describe(List<ScheduledDose> doses) {
+        return doses.stream().map(d -> d.scheduledAt().toString().substring(5) + " " + d.medicineName()).toList();
+    }
+
+    @Test
+    @DisplayName("Expande os horários de cada dia em ordem, dentro do intervalo [from, to)")
+    void expandsDosesInOrder() {
+        when(repository.findAllByUserId("user-1")).thenReturn(List.of(
+                medicine("m-1", "B", List.of("20:00", "08:00"), DAY, null),
+                medicine("m-2", "A", List.of("08:00", "12:30"), DAY, null)));
+
+        var doses = sut.dosesBetween("user-1", DAY.atTime(8, 0), DAY.plusDays(1).atTime(8, 0));
+
+        assertEquals(List.of(
+                "03-10T08:00 A",
+                "03-10T08:00 B",
+                "03-10T12:30 A",
+                "03-10T20:00 B"), describe(doses));
+    }
+
+    @Test
+    @DisplayName("Respeita startDate/endDate de cada medicamento")
+    void respectsDateRange() {
+        when(repository.findAllByUserId("user-1")).thenReturn(List.of(
+                medicine("m-1", "Antibiótico", List.of("09:00"), DAY.plusDays(1), DAY.plusDays(2)),
+                medicine("m-2", "Vitamina", List.of("07:00"), DAY.minusDays(30), DAY)));
+
+        var doses = sut.dosesBetween("user-1", DAY.atStartOfDay(), DAY.plusDays(5).atStartOfDay());
+
+        assertEquals(List.of(
+                "03-10T07:00 Vitamina",
+                "03-11T09:00 Antibiótico",
+                "03-12T09:00 Antibiótico"), describe(doses));
+    }
+
+    @Test
+    @DisplayName("Medicamentos fora do intervalo não entram, mesmo com horários intercalados")
+    void skipsMedicinesOutsideRange() {
+        when(repository.findAllByUserId("user-1")).thenReturn(List.of(
+                medicine("m-1", "Encerrado", List.of("06:00", "08:00"), DAY.minusDays(10), DAY.minusDays(1)),
+                medicine("m-2", "Contínuo", List.of("07:00"), DAY.minusDays(30), null),
+                medicine("m-3", "Futuro", List.of("06:30"), DAY.plusDays(5), null),
+                medicine("m-4", "Novo", List.of("07:30"), DAY.plusDays(1), null)));
+
+        var doses = sut.dosesBetween("user-1", DAY.atStartOfDay(), DAY.plusDays(2).atStartOfDay());
+
+        assertEquals(List.of(
+                "03-10T07:00 Contínuo",
+                "03-11T07:00 Contínuo",
+                "03-11T07:30 Novo"), describe(doses));
+    }
+
+    @Test
+    @DisplayName("from com segundos não inclui a dose do minuto anterior")
+    void partialMinutes() {
+        when(repository.findAllByUserId("user-1")).thenReturn(List.of(
+                medicine("m-1", "A", List.of("08:00", "08:01"), DAY, null)));
+
+        var doses = sut.dosesBetween("user-1", DAY.atTime(8, 0, 30), DAY.atTime(8, 1, 0));
+
+        assertTrue(doses.isEmpty());
+        assertEquals(List.of("03-10T08:01 A"),
+                describe(sut.dosesBetween("user-1", DAY.atTime(8, 0, 30), DAY.atTime(8, 1, 1))));
+    }
+
+    @Test
+    @DisplayName("Escritas atualizam a agenda compilada sem voltar ao banco")
+    void incrementalUpdates() {
+        when(repository.findAllByUserId("user-1")).thenReturn(List.of(
+                medicine("m-1", "A", List.of("08:00"), DAY, null)));
+        var from = DAY.atStartOfDay();
+        var to = DAY.plusDays(1).atStartOfDay();
+        sut.dosesBetween("user-1", from, to);
+
+        // mesma ordem dos casos de uso: grava, incrementa a versão, avisa o motor
+        versionTracker.bump(Scope.MEDICINES, "user-1");
+        sut.medicineSaved(medicine("m-2", "B", List.of("10:00"), DAY, null));
+        versionTracker.bump(Scope.MEDICINES, "user-1");
+        sut.medicineSaved(medicine("m-1", "A", List.of("09:00"), DAY, null));
+        assertEquals(List.of("03-10T09:00 A", "03-10T10:00 B"), describe(sut.dosesBetween("user-1", from, to)));
+
+        versionTracker.bump(Scope.MEDICINES, "user-1");
+        sut.medicineDeleted("user-1", "m-2");
+        assertEquals(List.of("03-10T09:00 A"), describe(sut.dosesBetween("user-1", from, to)));
+
+        verify(repository, times(1)).findAllByUserId("user-1");
+        assertEquals(3L, sut.metrics().get("incrementalUpdates"));
+    }
+
+    @Test
+    @DisplayName("Aviso atrasado de uma escrita mais antiga não sobrescreve a mais nova nem a remoção")
+    void ignoresOutOfOrderWrites() {
+        when(repository.findAllByUserId("user-1")).thenReturn(List.of(
+                medicine("m-1", "A", List.of("08:00"), DAY, null),
+                medicine("m-2", "B", List.of("10:00"), DAY, null)));
+        var from = DAY.atStartOfDay();
+        var to = DAY.plusDays(1).atStartOfDay();
+        sut.dosesBetween("user-1", from, to);
+
+        // Duas escritas de m-1 gravadas e versionadas; a mais nova avisa o motor primeiro
+        var older = medicine("m-1", "A", List.of("09:00"), DAY, null, LocalDateTime.of(2024, 1, 2, 0, 0));
+        var newer = medicine("m-1", "A", List.of("11:00"), DAY, null, LocalDateTime.of(2024, 1, 2, 0, 1));
+        versionTracker.bump(Scope.MEDICINES, "user-1");
+        versionTracker.bump(Scope.MEDICINES, "user-1");
+        sut.medicineSaved(newer);
+        sut.medicineSaved(older);
+
+        // Update de m-2 avisado depois do delete que o seguiu
+        versionTracker.bump(Scope.MEDICINES, "user-1");
+        versionTracker.bump(Scope.MEDICINES, "user-1");
+        sut.medicineDeleted("user-1", "m-2");
+        sut.medicineSaved(medicine("m-2", "B", List.of("12:00"), DAY, null, LocalDateTime.of(2024, 1, 2, 0, 0)));
+
+        assertEquals(List.of("03-10T11:00 A"), describe(sut.dosesBetween("user-1", from, to)));
+        verify(repository, times(1)).findAllByUserId("user-1");
+        assertEquals(2L, sut.metrics().get("staleUpdates"));
+    }
+
+    @Test
+    @DisplayName("Versão alterada por outra réplica recompila do banco")
+    void recompilesOnForeignBump() {
+        when(repository.findAllByUserId("user-1"))
+                .thenReturn(List.of(medicine("m-1", "A", List.of("08:00"), DAY, null)))
+                .thenReturn(List.of());
+        var from = DAY.atStartOfDay();
+        var to = DAY.plusDays(1).atStartOfDay();
+        assertEquals(1, sut.dosesBetween("user-1", from, to).size());
+
+        versionTracker.bump(Scope.MEDICINES, "user-1");
+
+        assertTrue(sut.dosesBetween("user-1", from, to).isEmpty());
+        verify(repository, times(2)).findAllByUserId("user-1");
+    }
+
+    @Test
+    @DisplayName("Escrita de usuário sem agenda compilada não carrega nada")
+    void ignoresUsersNotCompiled() {
+        sut.medicineSaved(medicine("m-1", "A", List.of("08:00"), DAY, null));
+        sut.medicineDeleted("user-1", "m-1");
+
+        verify(repository, times(0)).findAllByUserId("user-1");
+        assertEquals(0L, sut.metrics().get("incrementalUpdates"));
+    }
+
+    @Test
+    @DisplayName("Próxima dose de um medicamento atravessa o dia e respeita o fim")
+    void nextDose() {
+        var recurrence = MedicineRecurrence.compile(medicine("m-1", "A", List.of("08:00", "20:00"), DAY, DAY.plusDays(1)));
+
+        assertEquals(DAY.atTime(8, 0), recurrence.nextDoseAtOrAfter(DAY.minusDays(3).atTime(22, 0)));
+        assertEquals(DAY.atTime(20, 0), recurrence.nextDoseAtOrAfter(DAY.atTime(8, 0, 1)));
+        assertEquals(DAY.plusDays(1).atTime(8, 0), recurrence.nextDoseAtOrAfter(DAY.atTime(20, 0, 1)));
+        assertNull(recurrence.nextDoseAtOrAfter(DAY.plusDays(1).atTime(20, 0, 1)));
+    }
+}
@@ -0,0 +1,363 @@
+package com.pillmind.infra.schedule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.pillmind.data.usecases.DbDeleteMedicineForUser;
+import com.pillmind.data.usecases.DbUpdateMedicineForUser;
+import com.pillmind.domain.models.DoseReminder;
+import com.pillmind.domain.models.Medicine;
+import com.pillmind.domain.usecases.DeleteMedicineForUser;
+import com.pillmind.domain.usecases.UpdateMedicineForUser;
+import com.pillmind.infra.cache.CachingMedicineRepository;
+import com.pillmind.infra.cache.InMemoryVersionTracker;
+import com.pillmind.infra.db.postgres.MedicinePostgresRepository;
+import com.pillmind.infra.db.postgres.ReminderLeasePostgresRepository;
+import com.pillmind.infra.db.postgres.helpers.JdbcTransactionManager;
+import com.pillmind.test.config.TestDatabaseConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Vários nós no mesmo JVM, cada um com seu pool, despachante e coordenador, sobre o mesmo arquivo
+ * SQLite: os leases dividem os shards sem sobreposição e cada dose é lembrada uma única vez, mesmo
+ * com nós entrando, saindo e caindo.
+ */
+@DisplayName("Lembretes particionados entre nós")
+class ShardedReminderIntegrationTest {
+
+    private static final int SHARDS = 16;
+    private static final int USERS = 48;
+    private static final long TTL_MS = 3_000;
+    private static final long HEARTBEAT_MS = 1_000;
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 10);
+    private static final LocalDateTime DOSE = DAY.atTime(8, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private final MutableClock clock = new MutableClock(DAY.atTime(7, 59, 30).toInstant(ZoneOffset.UTC));
+    private final List<Node> nodes = new ArrayList<>();
+    private Set<String> medicineIds;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Node seed = node("seed");
+        try (Connection connection = seed.dataSource.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(
+                        "INSERT INTO users (id, name, email) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < USERS; i++) {
+                stmt.setString(1, "user-" + i);
+                stmt.setString(2, "User " + i);
+                stmt.setString(3, "user" + i + "@example.com");
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        medicineIds = new HashSet<>();
+        for (int i = 0; i < USERS; i++) {
+            medicineIds.add(seed.medicines.insert(medicine("m-" + i, "user-" + i, DAY.atTime(7, 0))).id());
+        }
+        seed.close();
+        nodes.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(Node::close);
+    }
+
+    private Node node(String id) {
+        var node = new Node(id, TestDatabaseConfig.createFileDataSource(tempDir.resolve("reminders.db"), 2));
+        nodes.add(node);
+        return node;
+    }
+
+    private static Medicine medicine(String id, String userId, LocalDateTime updatedAt) {
+        return new Medicine(id, userId, "Med " + id, "500mg", "daily", List.of("08:00"), DAY.minusDays(1), null, null,
+                null, "capsule", null, 30, true, updatedAt, updatedAt);
+    }
+
+    /**
+     * Um heartbeat: cada nó ativo roda o ciclo de leases, conferindo a cada passo que nenhum shard
+     * está com dois deles; depois o relógio anda e todos os despachantes, inclusive os de nós
+     * parados, disparam o que venceu.
+     */
+    private void round(List<Node> cycling) {
+        for (Node node : cycling) {
+            node.coordinator.runCycle();
+            assertDisjoint(cycling);
+        }
+        clock.set(clock.instant().plusMillis(HEARTBEAT_MS));
+        for (Node node : nodes) {
+            node.dispatcher.runDue();
+        }
+    }
+
+    private void rounds(int count, List<Node> cycling) {
+        for (int i = 0; i < count; i++) {
+            round(cycling);
+        }
+    }
+
+    private void untilDose(List<Node> cycling) {
+        until(DOSE, cycling);
+    }
+
+    private void until(LocalDateTime dose, List<Node> cycling) {
+        while (clock.instant().isBefore(dose.plusSeconds(1).toInstant(ZoneOffset.UTC))) {
+            round(cycling);
+        }
+    }
+
+    private static void assertDisjoint(List<Node> group) {
+        Map<Integer, String> owners = new HashMap<>();
+        for (Node node : group) {
+            for (int shard : node.coordinator.ownedShards()) {
+                String previous = owners.put(shard, node.id);
+                assertTrue(previous == null, "shard " + shard + " com " + previous + " e " + node.id);
+            }
+        }
+    }
+
+    private static Set<Integer> allShards() {
+        Set<Integer> all = new HashSet<>();
+        IntStream.range(0, SHARDS).forEach(all::add);
+        return all;
+    }
+
+    private static Set<Integer> owned(List<Node> group) {
+        Set<Integer> owned = new HashSet<>();
+        group.forEach(node -> owned.addAll(node.coordinator.ownedShards()));
+        return owned;
+    }
+
+    /** Cada medicamento lembrado uma vez no total, somando todos os nós */
+    private void assertDeliveredOnce(Set<String> expected) {
+        List<String> delivered = new ArrayList<>();
+        for (Node node : nodes) {
+            node.sink.delivered().stream().map(DoseReminder::medicineId).forEach(delivered::add);
+        }
+        assertEquals(expected.size(), delivered.size(), "entregas: " + delivered);
+        assertEquals(expected, new HashSet<>(delivered));
+        for (Node node : nodes) {
+            assertTrue(node.sink.delivered().stream().allMatch(r -> r.scheduledAt().equals(DOSE)));
+        }
+    }
+
+    @Test
+    @DisplayName("Três nós dividem os shards e cada dose sai uma única vez")
+    void threeNodesSplitShards() {
+        List<Node> group = List.of(node("node-a"), node("node-b"), node("node-c"));
+        rounds(3, group);
+
+        assertEquals(allShards(), owned(group));
+        for (Node node : group) {
+            int size = node.coordinator.ownedShards().size();
+            assertTrue(size == 5 || size == 6, node.id + " com " + size);
+        }
+        assertEquals(1, group.stream().filter(node -> node.coordinator.isLeader()).count());
+
+        // Criado por uma réplica sem avisar as outras: o dono do shard acha pela varredura de alterações
+        Node writer = group.get(2);
+        writer.medicines.insert(medicine("m-late", "user-0", LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC)));
+        Set<String> expected = new HashSet<>(medicineIds);
+        expected.add("m-late");
+
+        untilDose(group);
+
+        assertDeliveredOnce(expected);
+    }
+
+    @Test
+    @DisplayName("Nó que sai em ordem devolve os shards e os outros assumem")
+    void gracefulLeave() {
+        List<Node> group = List.of(node("node-a"), node("node-b"), node("node-c"));
+        rounds(3, group);
+
+        Node leaving = group.get(2);
+        leaving.coordinator.close();
+        assertTrue(leaving.coordinator.ownedShards().isEmpty());
+        List<Node> remaining = group.subList(0, 2);
+        rounds(2, remaining);
+
+        assertEquals(allShards(), owned(remaining));
+        untilDose(remaining);
+        assertTrue(leaving.sink.delivered().isEmpty());
+        assertDeliveredOnce(medicineIds);
+    }
+
+    @Test
+    @DisplayName("Líder que cai perde os shards ao expirar o lease e para de disparar")
+    void crashedLeader() {
+        List<Node> group = List.of(node("node-a"), node("node-b"), node("node-c"));
+        rounds(3, group);
+        Node crashed = group.get(0);
+        assertTrue(crashed.coordinator.isLeader());
+        assertFalse(crashed.coordinator.ownedShards().isEmpty());
+
+        // Sem heartbeat, mas o despachante continua vivo (ex.: sem acesso ao banco)
+        List<Node> survivors = group.subList(1, 3);
+        rounds((int) (TTL_MS / HEARTBEAT_MS) + 3, survivors);
+
+        assertEquals(allShards(), owned(survivors));
+        assertTrue(survivors.get(0).coordinator.isLeader() || survivors.get(1).coordinator.isLeader());
+        untilDose(survivors);
+
+        assertTrue(crashed.sink.delivered().isEmpty());
+        assertDeliveredOnce(medicineIds);
+    }
+
+    @Test
+    @DisplayName("Nó que entra recebe parte dos shards sem sobreposição em nenhum passo")
+    void joiningNode() {
+        List<Node> group = new ArrayList<>(List.of(node("node-a"), node("node-b")));
+        rounds(3, group);
+        assertEquals(8, group.get(0).coordinator.ownedShards().size());
+
+        group.add(node("node-c"));
+        rounds(3, group);
+
+        assertEquals(allShards(), owned(group));
+        assertTrue(group.stream().allMatch(node -> node.coordinator.ownedShards().size() >= 5));
+        untilDose(group);
+        assertDeliveredOnce(medicineIds);
+    }
+
+    @Test
+    @DisplayName("Alteração e remoção feitas em outro nó valem no disparo, mesmo com o cache local do dono velho")
+    void writesFromAnotherNode() {
+        List<Node> group = List.of(node("node-a"), node("node-b"), node("node-c"));
+        rounds(3, group);
+
+        // Dois usuários do mesmo nó; a escrita sai de outro, como numa réplica atrás do balanceador
+        Map<Node, List<String>> usersByOwner = new HashMap<>();
+        for (int i = 0; i < USERS; i++) {
+            int shard = ReminderShards.shardOf("user-" + i, SHARDS);
+            Node owner = group.stream().filter(node -> node.coordinator.ownedShards().contains(shard))
+                    .findFirst().orElseThrow();
+            usersByOwner.computeIfAbsent(owner, key -> new ArrayList<>()).add("user-" + i);
+        }
+        Node owner = group.stream().filter(node -> usersByOwner.getOrDefault(node, List.of()).size() >= 2)
+                .findFirst().orElseThrow();
+        Node writer = group.stream().filter(node -> node != owner).findFirst().orElseThrow();
+        String moved = usersByOwner.get(owner).get(0);
+        String removed = usersByOwner.get(owner).get(1);
+        String movedId = "m-" + moved.substring("user-".length());
+        String removedId = "m-" + removed.substring("user-".length());
+
+        // Cache local do dono carregado antes da escrita; sem Redis, nada o invalida
+        owner.cachedMedicines.findAllByUserId(moved);
+        owner.cachedMedicines.findAllByUserId(removed);
+        writer.updateMedicine.execute(new UpdateMedicineForUser.Params(moved, movedId, "Med " + movedId, "500mg",
+                "daily", List.of("08:30"), DAY.minusDays(1), null, null, null, "capsule", null, 30, true));
+        writer.deleteMedicine.execute(new DeleteMedicineForUser.Params(removed, removedId));
+        assertEquals(List.of("08:00"),
+                owner.cachedMedicines.findByIdAndUserId(movedId, moved).orElseThrow().times());
+
+        LocalDateTime movedDose = DAY.atTime(8, 30);
+        until(movedDose, group);
+
+        Map<String, List<LocalDateTime>> delivered = new HashMap<>();
+        for (Node node : nodes) {
+            for (DoseReminder reminder : node.sink.delivered()) {
+                delivered.computeIfAbsent(reminder.medicineId(), key -> new ArrayList<>()).add(reminder.scheduledAt());
+            }
+        }
+        assertEquals(List.of(movedDose), delivered.get(movedId));
+        assertFalse(delivered.containsKey(removedId));
+        for (String medicineId : medicineIds) {
+            if (!medicineId.equals(movedId) && !medicineId.equals(removedId)) {
+                assertEquals(List.of(DOSE), delivered.get(medicineId), medicineId);
+            }
+        }
+        assertEquals(0L, owner.dispatcher.metrics().get("skipped"));
+    }
+
+    /**
+     * Nó montado como no {@code ApplicationBootstrap} sem Redis: casos de uso sobre o cache local
+     * (L1) com versões em memória, avisando o despachante, que lê direto do banco.
+     */
+    private final class Node implements AutoCloseable {
+        final String id;
+        final HikariDataSource dataSource;
+        final MedicinePostgresRepository medicines;
+        final CachingMedicineRepository cachedMedicines;
+        final InMemoryReminderSink sink = new InMemoryReminderSink();
+        final ReminderDispatcher dispatcher;
+        final ShardLeaseCoordinator coordinator;
+        final UpdateMedicineForUser updateMedicine;
+        final DeleteMedicineForUser deleteMedicine;
+
+        Node(String id, HikariDataSource dataSource) {
+            this.id = id;
+            this.dataSource = dataSource;
+            var transactionManager = new JdbcTransactionManager(dataSource);
+            this.medicines = new MedicinePostgresRepository(transactionManager);
+            var versionTracker = new InMemoryVersionTracker();
+            this.cachedMedicines = new CachingMedicineRepository(medicines, versionTracker, 10_000);
+            this.dispatcher = new ReminderDispatcher(medicines, sink, 100, 10_000, SHARDS, clock);
+            this.coordinator = new ShardLeaseCoordinator(new ReminderLeasePostgresRepository(transactionManager),
+                    dispatcher, id, TTL_MS, HEARTBEAT_MS, clock);
+            this.updateMedicine = new DbUpdateMedicineForUser(cachedMedicines, versionTracker, dispatcher);
+            this.deleteMedicine = new DbDeleteMedicineForUser(cachedMedicines, versionTracker, dispatcher);
+        }
+
+        @Override
+        public void close() {
+            coordinator.close();
+            dispatcher.close();
+            dataSource.close();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant instant) {
+            now = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.pillmind.main.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pillmind.presentation.controllers.MedicineHttpController.MedicineJsonResponse;
+import com.pillmind.presentation.controllers.MedicineHttpController.MedicineWriteRequest;
+import com.pillmind.presentation.controllers.ProfileController.ProfileResponse;
+
+/**
+ * O mapper compartilhado (com Blackbird) precisa produzir exatamente o mesmo JSON que o mapper
+ * por reflexão que os controllers usavam antes.
+ */
+@DisplayName("JsonConfig")
+class JsonConfigTest {
+
+    private final ObjectMapper reflection = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ObjectMapper shared = JsonConfig.createObjectMapper();
+
+    @Test
+    @DisplayName("MedicineJsonResponse serializa igual ao mapper por reflexão")
+    void medicineResponseMatchesReflection() throws Exception {
+        var now = LocalDateTime.of(2024, 5, 1, 8, 30, 15);
+        var medicine = new MedicineJsonResponse("m-1", "u-1", "Dipirona", "500mg", "daily",
+                List.of("08:00", "20:00"), LocalDate.of(2024, 1, 1), null, "Com alimento", null,
+                "capsule", "Dor", 30, true, now, now);
+
+        String json = shared.writeValueAsString(List.of(medicine, medicine));
+
+        assertEquals(reflection.writeValueAsString(List.of(medicine, medicine)), json);
+    }
+
+    @Test
+    @DisplayName("ProfileResponse serializa igual ao mapper por reflexão")
+    void profileResponseMatchesReflection() throws Exception {
+        var profile = new ProfileResponse("u-1", "Maria", "maria@example.com", LocalDate.of(1990, 2, 3),
+                "FEMALE", null, true, LocalDateTime.of(2024, 5, 1, 8, 30));
+
+        assertEquals(reflection.writeValueAsString(profile), shared.writeValueAsString(profile));
+    }
+
+    @Test
+    @DisplayName("Corpo de requisição é desserializado com datas")
+    void requestBodyRoundTrips() throws Exception {
+        String json = """
+                {
+                  "name": "Dipirona",
+                  "dosage": "500mg",
+                  "frequency": "daily",
+                  "times": ["08:00"],
+                  "startDate": "2024-01-01",
+                  "quantity": 10
+                }
+                """;
+
+        MedicineWriteRequest request = shared.readValue(json, MedicineWriteRequest.class);
+
+        assertEquals("Dipirona", request.name());
+        assertEquals(List.of("08:00"), request.times());
+        assertEquals(LocalDate.of(2024, 1, 1), request.startDate());
+        assertEquals(10, request.quantity());
+        assertEquals(reflection.readValue(json, MedicineWriteRequest.class), request);
+    }
+}
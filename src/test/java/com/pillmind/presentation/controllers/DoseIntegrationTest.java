@@ -0,0 +1,226 @@
+package com.pillmind.presentation.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pillmind.main.routes.AuthRoutes;
+import com.pillmind.main.routes.DoseRoutes;
+import com.pillmind.main.routes.MedicineRoutes;
+import com.pillmind.presentation.handlers.ErrorHandlers;
+import com.pillmind.test.base.IntegrationTestBase;
+
+import io.javalin.Javalin;
+import io.javalin.testtools.HttpClient;
+import io.javalin.testtools.JavalinTest;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * POST /api/doses/batch grava em lote (upsert por medicamento, dia e horário) e GET /api/doses lê
+ * por dia ou intervalo.
+ */
+@DisplayName("Dose routes")
+class DoseIntegrationTest extends IntegrationTestBase {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final MediaType JSON = MediaType.parse("application/json");
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Test
+    @DisplayName("POST /api/doses/batch sem token retorna 401")
+    void withoutTokenReturns401() {
+        JavalinTest.test((app, client) -> {
+            setupRoutes(app);
+            try (Response response = client.request("/api/doses/batch",
+                    b -> b.post(RequestBody.create("{\"doses\": []}", JSON)))) {
+                assertEquals(401, response.code());
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Lote maior que um bloco grava tudo; repetir doses atualiza em vez de duplicar")
+    void batchUpsert() {
+        JavalinTest.test((app, client) -> {
+            setupRoutes(app);
+            String token = signUpAndSignIn(client, "dose.user@example.com");
+            String dipirona = createMedicine(client, token, "Dipirona");
+            String vitamina = createMedicine(client, token, "Vitamina D");
+
+            // 125 dias x 2 horários: três blocos do INSERT de várias linhas
+            List<String> doses = new ArrayList<>();
+            for (int day = 0; day < 125; day++) {
+                doses.add(dose(dipirona, START.plusDays(day), "08:00", false));
+                doses.add(dose(dipirona, START.plusDays(day), "20:00", false));
+            }
+            doses.add(dose(vitamina, START, "12:00", false));
+            assertEquals(251, batch(client, token, doses));
+
+            List<JsonNode> firstDay = list(client, token, "?from=2024-01-01");
+            assertEquals(3, firstDay.size());
+            assertEquals(250, list(client, token, "?from=2024-01-01&to=2024-05-04&medicineId=" + dipirona).size());
+
+            // "8:00" é a mesma dose que "08:00"; a última ocorrência no lote vale
+            assertEquals(1, batch(client, token, List.of(
+                    dose(dipirona, START, "8:00", false),
+                    dose(dipirona, START, "08:00", true))));
+
+            List<JsonNode> firstDayDipirona = list(client, token, "?from=2024-01-01&medicineId=" + dipirona);
+            assertEquals(2, firstDayDipirona.size());
+            JsonNode skipped = firstDayDipirona.get(0);
+            assertEquals("08:00", skipped.get("scheduledTime").asText());
+            assertTrue(skipped.get("skipped").asBoolean());
+            assertTrue(skipped.get("takenAt").isNull());
+            assertFalse(firstDayDipirona.get(1).get("skipped").asBoolean());
+            assertEquals("2024-01-01T20:00:00", firstDayDipirona.get(1).get("takenAt").asText());
+        });
+    }
+
+    @Test
+    @DisplayName("Medicamento de outro usuário retorna 404 e não grava nada do lote")
+    void otherUsersMedicine() {
+        JavalinTest.test((app, client) -> {
+            setupRoutes(app);
+            String owner = signUpAndSignIn(client, "owner@example.com");
+            String foreign = createMedicine(client, owner, "Dipirona");
+            String token = signUpAndSignIn(client, "intruder@example.com");
+            String mine = createMedicine(client, token, "Vitamina D");
+
+            String body = "{\"doses\": [" + dose(mine, START, "08:00", false) + ", "
+                    + dose(foreign, START, "08:00", false) + "]}";
+            try (Response response = post(client, token, body)) {
+                assertEquals(404, response.code());
+            }
+            assertEquals(0, list(client, token, "?from=2024-01-01").size());
+            assertEquals(0, list(client, owner, "?from=2024-01-01").size());
+        });
+    }
+
+    @Test
+    @DisplayName("Lote ou intervalo inválido retorna 400")
+    void invalidRequestsReturn400() {
+        JavalinTest.test((app, client) -> {
+            setupRoutes(app);
+            String token = signUpAndSignIn(client, "dose.invalid@example.com");
+            String id = createMedicine(client, token, "Dipirona");
+
+            for (String body : List.of("{\"doses\": []}", "{}", "nope",
+                    "{\"doses\": [" + dose(id, START, "25:00", false) + "]}",
+                    "{\"doses\": [{\"medicineId\": \"" + id + "\", \"scheduledTime\": \"08:00\"}]}")) {
+                try (Response response = post(client, token, body)) {
+                    assertEquals(400, response.code(), body);
+                }
+            }
+            for (String query : List.of("?from=ontem", "?from=2024-01-02&to=2024-01-01",
+                    "?from=2024-01-01&to=2025-01-01")) {
+                try (Response response = client.request("/api/doses" + query, b -> {
+                    b.header("Authorization", "Bearer " + token);
+                    b.get();
+                })) {
+                    assertEquals(400, response.code(), query);
+                }
+            }
+        });
+    }
+
+    private static String dose(String medicineId, LocalDate date, String time, boolean skipped) {
+        // Tomada no horário previsto
+        String takenAt = skipped ? "" : ", \"takenAt\": \"" + date + "T" + (time.length() == 4 ? "0" : "") + time + ":00\"";
+        return "{\"medicineId\": \"%s\", \"date\": \"%s\", \"scheduledTime\": \"%s\", \"skipped\": %s%s}"
+                .formatted(medicineId, date, time, skipped, takenAt);
+    }
+
+    private int batch(HttpClient client, String token, List<String> doses) throws IOException {
+        try (Response response = post(client, token, "{\"doses\": [" + String.join(", ", doses) + "]}")) {
+            String raw = response.body().string();
+            assertEquals(200, response.code(), raw);
+            return MAPPER.readTree(raw).get("saved").asInt();
+        }
+    }
+
+    private Response post(HttpClient client, String token, String body) {
+        return client.request("/api/doses/batch", b -> {
+            b.header("Authorization", "Bearer " + token);
+            b.post(RequestBody.create(body, JSON));
+        });
+    }
+
+    private List<JsonNode> list(HttpClient client, String token, String query) throws IOException {
+        try (Response response = client.request("/api/doses" + query, b -> {
+            b.header("Authorization", "Bearer " + token);
+            b.get();
+        })) {
+            String raw = response.body().string();
+            assertEquals(200, response.code(), raw);
+            List<JsonNode> out = new ArrayList<>();
+            MAPPER.readTree(raw).forEach(out::add);
+            return out;
+        }
+    }
+
+    private String createMedicine(HttpClient client, String token, String name) throws IOException {
+        String body = """
+                {
+                  "name": "%s",
+                  "dosage": "500mg",
+                  "frequency": "daily",
+                  "times": ["08:00", "20:00"],
+                  "startDate": "2024-01-01"
+                }
+                """.formatted(name);
+        try (Response response = client.request("/api/medicines", b -> {
+            b.header("Authorization", "Bearer " + token);
+            b.post(RequestBody.create(body, JSON));
+        })) {
+            String raw = response.body().string();
+            assertEquals(201, response.code(), raw);
+            return MAPPER.readTree(raw).get("id").asText();
+        }
+    }
+
+    private void setupRoutes(Javalin app) {
+        ErrorHandlers.configure(app);
+        try {
+            container.resolve("route.auth", AuthRoutes.class).setup(app);
+            container.resolve("route.medicines", MedicineRoutes.class).setup(app);
+            container.resolve("route.doses", DoseRoutes.class).setup(app);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private String signUpAndSignIn(HttpClient client, String email) throws IOException {
+        try (var signUp = client.post("/api/signup", """
+                {
+                  "name": "Dose User",
+                  "email": "%s",
+                  "password": "SecurePass123",
+                  "dateOfBirth": "1990-01-01",
+                  "gender": "MALE"
+                }
+                """.formatted(email))) {
+            assertEquals(201, signUp.code(), signUp.body().string());
+        }
+        String json;
+        try (var signIn = client.post("/api/signin", """
+                { "email": "%s", "password": "SecurePass123" }
+                """.formatted(email))) {
+            json = signIn.body().string();
+            assertEquals(200, signIn.code(), json);
+        }
+        return MAPPER.readTree(json).get("accessToken").asText();
+    }
+}
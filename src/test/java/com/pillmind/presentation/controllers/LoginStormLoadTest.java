@@ -0,0 +1,192 @@
+package com.pillmind.presentation.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pillmind.main.di.ApplicationBootstrap;
+import com.pillmind.main.di.Container;
+import com.pillmind.main.routes.AuthRoutes;
+import com.pillmind.main.routes.MedicineRoutes;
+import com.pillmind.presentation.handlers.ErrorHandlers;
+import com.pillmind.test.config.TestDatabaseConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.javalin.Javalin;
+import io.javalin.testtools.HttpClient;
+import io.javalin.testtools.JavalinTest;
+import okhttp3.Response;
+
+/**
+ * Rajada de sign-in (bcrypt) enquanto outro usuário lista medicamentos: as leituras continuam
+ * rápidas e o excesso de logins recebe 503 com {@code Retry-After} em vez de enfileirar sem limite.
+ * <p>
+ * Lento: roda só com {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+@DisplayName("Login storm load test")
+class LoginStormLoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final int LOGIN_THREADS = 64;
+    private static final int LOGINS_PER_THREAD = 4;
+    private static final long MAX_READ_P99_MS = 500;
+
+    @TempDir
+    Path tempDir;
+
+    private HikariDataSource dataSource;
+    private ApplicationBootstrap bootstrap;
+    private Container container;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = TestDatabaseConfig.createFileDataSource(tempDir.resolve("login-storm.db"), 8);
+        bootstrap = new ApplicationBootstrap();
+        bootstrap.bootstrap(dataSource);
+        container = bootstrap.getContainer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bootstrap.shutdown();
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("GET /api/medicines segue respondendo durante uma rajada de POST /api/signin")
+    void readsStayResponsiveDuringLoginStorm() {
+        JavalinTest.test((app, client) -> {
+            setupRoutes(app);
+            signUp(client, "storm@example.com");
+            signUp(client, "reader@example.com");
+            String readerToken = signIn(client, "reader@example.com");
+
+            Queue<String> failures = new ConcurrentLinkedQueue<>();
+            AtomicInteger accepted = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService pool = Executors.newFixedThreadPool(LOGIN_THREADS);
+            try {
+                for (int t = 0; t < LOGIN_THREADS; t++) {
+                    pool.submit(() -> {
+                        try {
+                            start.await();
+                            for (int i = 0; i < LOGINS_PER_THREAD; i++) {
+                                storm(client, accepted, rejected, failures);
+                            }
+                        } catch (Exception e) {
+                            failures.add(e.toString());
+                        }
+                    });
+                }
+                start.countDown();
+                pool.shutdown();
+
+                List<Long> readLatencies = new ArrayList<>();
+                while (!pool.isTerminated()) {
+                    readLatencies.add(timedList(client, readerToken));
+                }
+                assertTrue(pool.awaitTermination(5, TimeUnit.MINUTES), "rajada não terminou a tempo");
+
+                assertTrue(failures.isEmpty(), String.join("\n", failures));
+                assertTrue(accepted.get() > 0, "nenhum login foi aceito");
+                long p99 = percentile(readLatencies, 0.99);
+                assertTrue(p99 <= MAX_READ_P99_MS,
+                        "p99 das leituras durante a rajada: " + p99 + " ms (" + readLatencies.size() + " leituras, "
+                                + accepted.get() + " logins aceitos, " + rejected.get() + " recusados)");
+            } finally {
+                pool.shutdownNow();
+            }
+        });
+    }
+
+    private void storm(HttpClient client, AtomicInteger accepted, AtomicInteger rejected, Queue<String> failures)
+            throws IOException {
+        try (Response response = client.post("/api/signin", """
+                { "email": "storm@example.com", "password": "SecurePass123" }
+                """)) {
+            if (response.code() == 200) {
+                accepted.incrementAndGet();
+            } else if (response.code() == 503 && response.header("Retry-After") != null) {
+                rejected.incrementAndGet();
+            } else {
+                failures.add("signin -> " + response.code() + " " + response.body().string());
+            }
+        }
+    }
+
+    private long timedList(HttpClient client, String token) throws IOException {
+        long startedAt = System.nanoTime();
+        try (Response response = client.request("/api/medicines", b -> {
+            b.header("Authorization", "Bearer " + token);
+            b.get();
+        })) {
+            assertEquals(200, response.code(), response.body().string());
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+
+    private static long percentile(List<Long> values, double percentile) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    private void setupRoutes(Javalin app) {
+        ErrorHandlers.configure(app);
+        try {
+            container.resolve("route.auth", AuthRoutes.class).setup(app);
+            container.resolve("route.medicines", MedicineRoutes.class).setup(app);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void signUp(HttpClient client, String email) throws IOException {
+        try (var signUp = client.post("/api/signup", """
+                {
+                  "name": "Storm User",
+                  "email": "%s",
+                  "password": "SecurePass123",
+                  "dateOfBirth": "1990-01-01",
+                  "gender": "MALE"
+                }
+                """.formatted(email))) {
+            assertEquals(201, signUp.code(), signUp.body().string());
+        }
+    }
+
+    private String signIn(HttpClient client, String email) throws IOException {
+        String json;
+        try (var signIn = client.post("/api/signin", """
+                { "email": "%s", "password": "SecurePass123" }
+                """.formatted(email))) {
+            json = signIn.body().string();
+            assertEquals(200, signIn.code(), json);
+        }
+        return MAPPER.readTree(json).get("accessToken").asText();
+    }
+}
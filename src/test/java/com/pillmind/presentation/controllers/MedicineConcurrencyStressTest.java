@@ -0,0 +1,204 @@
+package com.pillmind.presentation.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pillmind.main.di.ApplicationBootstrap;
+import com.pillmind.main.di.Container;
+import com.pillmind.main.routes.AuthRoutes;
+import com.pillmind.main.routes.MedicineRoutes;
+import com.pillmind.presentation.handlers.ErrorHandlers;
+import com.pillmind.test.config.TestDatabaseConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.javalin.Javalin;
+import io.javalin.testtools.HttpClient;
+import io.javalin.testtools.JavalinTest;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * Várias threads criando e listando medicamentos ao mesmo tempo: cada requisição empresta
+ * sua própria conexão do pool e nenhum usuário enxerga dados de outro.
+ */
+@DisplayName("Medicine Concurrency Stress Tests")
+class MedicineConcurrencyStressTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final MediaType JSON = MediaType.parse("application/json");
+
+    private static final int USERS = 8;
+    private static final int MEDICINES_PER_USER = 25;
+    private static final int THREADS = 16;
+
+    @TempDir
+    Path tempDir;
+
+    private HikariDataSource dataSource;
+    private ApplicationBootstrap bootstrap;
+    private Container container;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = TestDatabaseConfig.createFileDataSource(tempDir.resolve("stress.db"), 8);
+        bootstrap = new ApplicationBootstrap();
+        bootstrap.bootstrap(dataSource);
+        container = bootstrap.getContainer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bootstrap.shutdown();
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("POST/GET concorrentes em /api/medicines não misturam dados entre usuários")
+    void concurrentRequestsDoNotInterfere() {
+        JavalinTest.test((app, client) -> {
+            setupRoutes(app);
+
+            List<String> tokens = new ArrayList<>();
+            for (int u = 0; u < USERS; u++) {
+                tokens.add(signUpAndSignIn(client, "stress" + u + "@example.com"));
+            }
+
+            Queue<String> failures = new ConcurrentLinkedQueue<>();
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+            try {
+                for (int m = 0; m < MEDICINES_PER_USER; m++) {
+                    for (int u = 0; u < USERS; u++) {
+                        final int user = u;
+                        final int medicine = m;
+                        pool.submit(() -> {
+                            try {
+                                start.await();
+                                createAndVerify(client, tokens.get(user), user, medicine, failures);
+                            } catch (Exception e) {
+                                failures.add("user " + user + ": " + e);
+                            }
+                        });
+                    }
+                }
+                start.countDown();
+                pool.shutdown();
+                assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES), "requisições não terminaram a tempo");
+            } finally {
+                pool.shutdownNow();
+            }
+
+            assertTrue(failures.isEmpty(), String.join("\n", failures));
+
+            for (int u = 0; u < USERS; u++) {
+                JsonNode list = list(client, tokens.get(u));
+                assertEquals(MEDICINES_PER_USER, list.size());
+                Set<String> names = new HashSet<>();
+                list.forEach(item -> names.add(item.get("name").asText()));
+                for (int m = 0; m < MEDICINES_PER_USER; m++) {
+                    assertTrue(names.contains(medicineName(u, m)), "faltando " + medicineName(u, m));
+                }
+            }
+        });
+    }
+
+    private void createAndVerify(HttpClient client, String token, int user, int medicine, Queue<String> failures)
+            throws IOException {
+        String body = """
+                {
+                  "name": "%s",
+                  "dosage": "500mg",
+                  "frequency": "daily",
+                  "times": ["08:00"],
+                  "startDate": "2024-01-01"
+                }
+                """.formatted(medicineName(user, medicine));
+        try (Response post = client.request("/api/medicines", b -> {
+            b.header("Authorization", "Bearer " + token);
+            b.post(RequestBody.create(body.getBytes(StandardCharsets.UTF_8), JSON));
+        })) {
+            if (post.code() != 201) {
+                failures.add("POST user " + user + " -> " + post.code() + " " + post.body().string());
+                return;
+            }
+        }
+
+        String prefix = "U" + user + "-";
+        for (JsonNode item : list(client, token)) {
+            String name = item.get("name").asText();
+            if (!name.startsWith(prefix)) {
+                failures.add("user " + user + " enxergou medicamento de outro usuário: " + name);
+            }
+        }
+    }
+
+    private JsonNode list(HttpClient client, String token) throws IOException {
+        try (Response response = client.request("/api/medicines", b -> {
+            b.header("Authorization", "Bearer " + token);
+            b.get();
+        })) {
+            String raw = response.body().string();
+            assertEquals(200, response.code(), raw);
+            return MAPPER.readTree(raw);
+        }
+    }
+
+    private static String medicineName(int user, int medicine) {
+        return "U" + user + "-M" + medicine;
+    }
+
+    private void setupRoutes(Javalin app) {
+        ErrorHandlers.configure(app);
+        try {
+            container.resolve("route.auth", AuthRoutes.class).setup(app);
+            container.resolve("route.medicines", MedicineRoutes.class).setup(app);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private String signUpAndSignIn(HttpClient client, String email) throws IOException {
+        try (var signUp = client.post("/api/signup", """
+                {
+                  "name": "Stress User",
+                  "email": "%s",
+                  "password": "SecurePass123",
+                  "dateOfBirth": "1990-01-01",
+                  "gender": "MALE"
+                }
+                """.formatted(email))) {
+            assertEquals(201, signUp.code(), signUp.body().string());
+        }
+        String json;
+        try (var signIn = client.post("/api/signin", """
+                { "email": "%s", "password": "SecurePass123" }
+                """.formatted(email))) {
+            json = signIn.body().string();
+            assertEquals(200, signIn.code(), json);
+        }
+        return MAPPER.readTree(json).get("accessToken").asText();
+    }
+}
@@ -5,9 +5,14 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -47,6 +52,20 @@ class MedicineCrudIntegrationTest extends IntegrationTestBase {
         });
     }
 
+    @Test
+    @DisplayName("Token inválido retorna 401 antes de chegar ao controller")
+    void invalidTokenReturns401() {
+        JavalinTest.test((app, client) -> {
+            setupRoutes(app);
+            try (Response response = client.request("/api/medicines/changes", b -> {
+                b.get();
+                b.header("Authorization", "Bearer not.a.jwt");
+            })) {
+                assertEquals(401, response.code());
+            }
+        });
+    }
+
     @Test
     @DisplayName("GET /api/medicines vazio após cadastro retorna []")
     void listEmptyReturnsOk() {
@@ -177,6 +196,195 @@ class MedicineCrudIntegrationTest extends IntegrationTestBase {
         });
     }
 
+    @Test
+    @DisplayName("GET /api/medicines?limit pagina por cursor na mesma ordem da lista completa")
+    void listPagesWithCursor() {
+        JavalinTest.test((app, client) -> {
+            setupRoutes(app);
+            String token = signUpAndSignIn(client);
+
+            // Datas e nomes repetidos: o desempate por id precisa manter a ordem estável
+            String[][] medicines = {
+                    { "Dipirona", "2024-03-01" }, { "Aspirina", "2024-01-01" }, { "Aspirina", "2024-01-01" },
+                    { "Zinco", "2024-01-01" }, { "Aspirina", "2024-02-01" }, { "Omeprazol", "2024-03-01" },
+                    { "Aspirina", "2024-01-01" } };
+            for (String[] medicine : medicines) {
+                createMedicine(client, token, medicine[0], medicine[1]);
+            }
+
+            List<String> expected = new ArrayList<>();
+            listMedicines(client, token, "").forEach(item -> expected.add(item.get("id").asText()));
+            assertEquals(medicines.length, expected.size());
+
+            List<String> paged = new ArrayList<>();
+            List<Integer> pageSizes = new ArrayList<>();
+            String cursor = null;
+            do {
+                JsonNode page = listMedicines(client, token, "?limit=3" + (cursor != null ? "&cursor=" + cursor : ""));
+                assertTrue(page.get("items").isArray());
+                page.get("items").forEach(item -> paged.add(item.get("id").asText()));
+                pageSizes.add(page.get("items").size());
+                cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            } while (cursor != null);
+
+            assertEquals(List.of(3, 3, 1), pageSizes);
+            assertEquals(expected, paged);
+        });
+    }
+
+    @Test
+    @DisplayName("GET /api/medicines em streaming serializa itens igual ao GET por id")
+    void streamedListMatchesSingleItemJson() {
+        JavalinTest.test((app, client) -> {
+            setupRoutes(app);
+            String token = signUpAndSignIn(client);
+            for (int i = 0; i < 120; i++) {
+                createMedicine(client, token, "Remédio " + i, "2024-01-01");
+            }
+
+            JsonNode list = listMedicines(client, token, "");
+            assertEquals(120, list.size());
+            JsonNode first = list.get(0);
+            assertEquals(first, listMedicines(client, token, "/" + first.get("id").asText()));
+        });
+    }
+
+    @Test
+    @DisplayName("GET /api/medicines/changes retorna só o que mudou desde o watermark, com tombstones")
+    void changesSinceWatermark() {
+        JavalinTest.test((app, client) -> {
+            setupRoutes(app);
+            String token = signUpAndSignIn(client);
+            String untouched = createMedicine(client, token, "Antigo", "2024-01-01");
+            String updated = createMedicine(client, token, "Atualizado", "2024-01-01");
+            String deleted = createMedicine(client, token, "Removido", "2024-01-01");
+            // Linhas existentes "envelhecem" para ficar fora da janela de segurança
+            try (PreparedStatement stmt = connection.prepareStatement("UPDATE medicines SET updated_at = ?")) {
+                stmt.setTimestamp(1, Timestamp.valueOf(LocalDateTime.of(2020, 1, 1, 0, 0)));
+                stmt.executeUpdate();
+            }
+
+            JsonNode full = listMedicines(client, token, "/changes");
+            assertEquals(3, full.get("changed").size());
+            assertEquals(0, full.get("deleted").size());
+            assertTrue(full.get("full").asBoolean());
+            long watermark = full.get("watermark").asLong();
+
+            String updateBody = """
+                    { "name": "Atualizado 2", "dosage": "2mg", "frequency": "once-a-day", "times": ["09:00"], "startDate": "2024-01-01" }
+                    """;
+            try (Response put = client.request("/api/medicines/" + updated, b -> {
+                b.header("Authorization", "Bearer " + token);
+                b.put(RequestBody.create(updateBody.getBytes(StandardCharsets.UTF_8), JSON));
+            })) {
+                assertEquals(200, put.code());
+            }
+            try (Response del = client.request("/api/medicines/" + deleted, b -> {
+                b.header("Authorization", "Bearer " + token);
+                b.delete();
+            })) {
+                assertEquals(204, del.code());
+            }
+            String created = createMedicine(client, token, "Novo", "2024-01-01");
+
+            JsonNode delta = listMedicines(client, token, "/changes?since=" + watermark);
+            List<String> changed = new ArrayList<>();
+            delta.get("changed").forEach(item -> changed.add(item.get("id").asText()));
+            assertEquals(2, changed.size(), delta.toString());
+            assertTrue(changed.containsAll(List.of(updated, created)));
+            assertEquals(1, delta.get("deleted").size());
+            assertEquals(deleted, delta.get("deleted").get(0).asText());
+            assertTrue(!changed.contains(untouched));
+            assertTrue(delta.get("watermark").asLong() >= watermark);
+            assertTrue(!delta.get("full").asBoolean());
+        });
+    }
+
+    @Test
+    @DisplayName("GET /api/medicines e /{id} respondem 304 com If-None-Match até a próxima escrita")
+    void conditionalGetUntilNextWrite() {
+        JavalinTest.test((app, client) -> {
+            setupRoutes(app);
+            String token = signUpAndSignIn(client);
+            String id = createMedicine(client, token, "Dipirona", "2024-01-01");
+
+            String etag;
+            try (Response first = client.request("/api/medicines", b -> {
+                b.header("Authorization", "Bearer " + token);
+                b.get();
+            })) {
+                assertEquals(200, first.code());
+                etag = first.header("ETag");
+                assertTrue(etag != null && etag.startsWith("\""), "ETag forte esperado: " + etag);
+            }
+            try (Response cached = conditionalGet(client, token, "/api/medicines", etag)) {
+                assertEquals(304, cached.code());
+                assertEquals(0, cached.body().bytes().length);
+            }
+            try (Response cachedOne = conditionalGet(client, token, "/api/medicines/" + id, etag)) {
+                assertEquals(304, cachedOne.code());
+            }
+
+            createMedicine(client, token, "Ibuprofeno", "2024-01-02");
+
+            try (Response changed = conditionalGet(client, token, "/api/medicines", etag)) {
+                assertEquals(200, changed.code());
+                assertTrue(!etag.equals(changed.header("ETag")));
+                assertEquals(2, MAPPER.readTree(changed.body().string()).size());
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("GET /api/medicines com cursor ou limit inválido retorna 400")
+    void listWithInvalidPaginationReturns400() {
+        JavalinTest.test((app, client) -> {
+            setupRoutes(app);
+            String token = signUpAndSignIn(client);
+            for (String query : List.of("?cursor=@@invalido@@", "?limit=abc", "?limit=0")) {
+                try (Response response = client.request("/api/medicines" + query, b -> {
+                    b.header("Authorization", "Bearer " + token);
+                    b.get();
+                })) {
+                    assertEquals(400, response.code(), query);
+                }
+            }
+        });
+    }
+
+    private String createMedicine(HttpClient client, String token, String name, String startDate) throws IOException {
+        String body = """
+                { "name": "%s", "dosage": "1mg", "frequency": "daily", "times": ["08:00"], "startDate": "%s" }
+                """.formatted(name, startDate);
+        try (Response post = client.request("/api/medicines", b -> {
+            b.header("Authorization", "Bearer " + token);
+            b.post(RequestBody.create(body.getBytes(StandardCharsets.UTF_8), JSON));
+        })) {
+            String raw = post.body().string();
+            assertEquals(201, post.code(), raw);
+            return MAPPER.readTree(raw).get("id").asText();
+        }
+    }
+
+    private Response conditionalGet(HttpClient client, String token, String path, String etag) {
+        return client.request(path, b -> {
+            b.header("Authorization", "Bearer " + token);
+            b.header("If-None-Match", etag);
+            b.get();
+        });
+    }
+
+    private JsonNode listMedicines(HttpClient client, String token, String query) throws IOException {
+        try (Response response = client.request("/api/medicines" + query, b -> {
+            b.header("Authorization", "Bearer " + token);
+            b.get();
+        })) {
+            String raw = response.body().string();
+            assertEquals(200, response.code(), raw);
+            return MAPPER.readTree(raw);
+        }
+    }
+
     private void setupRoutes(Javalin app) {
         ErrorHandlers.configure(app);
         try {
@@ -0,0 +1,165 @@
+package com.pillmind.presentation.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pillmind.main.routes.AuthRoutes;
+import com.pillmind.main.routes.MedicineRoutes;
+import com.pillmind.main.routes.ScheduleRoutes;
+import com.pillmind.presentation.handlers.ErrorHandlers;
+import com.pillmind.test.base.IntegrationTestBase;
+
+import io.javalin.Javalin;
+import io.javalin.testtools.HttpClient;
+import io.javalin.testtools.JavalinTest;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * GET /api/schedule acompanha criação, alteração e remoção de medicamentos.
+ */
+@DisplayName("Schedule routes")
+class ScheduleIntegrationTest extends IntegrationTestBase {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final MediaType JSON = MediaType.parse("application/json");
+    private static final String RANGE = "/api/schedule?from=2024-01-01T08:00&to=2024-01-03";
+
+    @Test
+    @DisplayName("GET /api/schedule sem token retorna 401")
+    void withoutTokenReturns401() {
+        JavalinTest.test((app, client) -> {
+            setupRoutes(app);
+            try (Response response = client.request("/api/schedule", Request.Builder::get)) {
+                assertEquals(401, response.code());
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Agenda reflete criação, alteração e remoção")
+    void followsMedicineWrites() {
+        JavalinTest.test((app, client) -> {
+            setupRoutes(app);
+            String token = signUpAndSignIn(client);
+            assertEquals(List.of(), doses(client, token));
+
+            String id = write(client, token, "POST", "/api/medicines", "Dipirona", "[\"20:00\", \"08:00\"]");
+            assertEquals(List.of(
+                    "2024-01-01T08:00:00 Dipirona",
+                    "2024-01-01T20:00:00 Dipirona",
+                    "2024-01-02T08:00:00 Dipirona",
+                    "2024-01-02T20:00:00 Dipirona"), doses(client, token));
+
+            write(client, token, "PUT", "/api/medicines/" + id, "Dipirona", "[\"12:00\"]");
+            assertEquals(List.of(
+                    "2024-01-01T12:00:00 Dipirona",
+                    "2024-01-02T12:00:00 Dipirona"), doses(client, token));
+
+            try (Response response = client.request("/api/medicines/" + id, b -> {
+                b.header("Authorization", "Bearer " + token);
+                b.delete();
+            })) {
+                assertEquals(204, response.code());
+            }
+            assertEquals(List.of(), doses(client, token));
+        });
+    }
+
+    @Test
+    @DisplayName("Intervalo inválido retorna 400")
+    void invalidRangeReturns400() {
+        JavalinTest.test((app, client) -> {
+            setupRoutes(app);
+            String token = signUpAndSignIn(client);
+            for (String query : List.of("?from=ontem", "?from=2024-01-02&to=2024-01-01",
+                    "?from=2024-01-01&to=2024-03-01")) {
+                try (Response response = client.request("/api/schedule" + query, b -> {
+                    b.header("Authorization", "Bearer " + token);
+                    b.get();
+                })) {
+                    assertEquals(400, response.code(), query);
+                }
+            }
+        });
+    }
+
+    private List<String> doses(HttpClient client, String token) throws IOException {
+        try (Response response = client.request(RANGE, b -> {
+            b.header("Authorization", "Bearer " + token);
+            b.get();
+        })) {
+            String body = response.body().string();
+            assertEquals(200, response.code(), body);
+            List<String> out = new ArrayList<>();
+            for (JsonNode dose : MAPPER.readTree(body).get("doses")) {
+                out.add(dose.get("scheduledAt").asText() + " " + dose.get("medicineName").asText());
+            }
+            return out;
+        }
+    }
+
+    private String write(HttpClient client, String token, String method, String path, String name, String times)
+            throws IOException {
+        String body = """
+                {
+                  "name": "%s",
+                  "dosage": "500mg",
+                  "frequency": "daily",
+                  "times": %s,
+                  "startDate": "2024-01-01"
+                }
+                """.formatted(name, times);
+        try (Response response = client.request(path, b -> {
+            b.header("Authorization", "Bearer " + token);
+            b.method(method, RequestBody.create(body, JSON));
+        })) {
+            String raw = response.body().string();
+            assertEquals("POST".equals(method) ? 201 : 200, response.code(), raw);
+            return MAPPER.readTree(raw).get("id").asText();
+        }
+    }
+
+    private void setupRoutes(Javalin app) {
+        ErrorHandlers.configure(app);
+        try {
+            container.resolve("route.auth", AuthRoutes.class).setup(app);
+            container.resolve("route.medicines", MedicineRoutes.class).setup(app);
+            container.resolve("route.schedule", ScheduleRoutes.class).setup(app);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private String signUpAndSignIn(HttpClient client) throws IOException {
+        try (var signUp = client.post("/api/signup", """
+                {
+                  "name": "Schedule User",
+                  "email": "schedule.user@example.com",
+                  "password": "SecurePass123",
+                  "dateOfBirth": "1990-01-01",
+                  "gender": "MALE"
+                }
+                """)) {
+            assertEquals(201, signUp.code(), signUp.body().string());
+        }
+        String json;
+        try (var signIn = client.post("/api/signin", """
+                { "email": "schedule.user@example.com", "password": "SecurePass123" }
+                """)) {
+            json = signIn.body().string();
+            assertEquals(200, signIn.code(), json);
+        }
+        return MAPPER.readTree(json).get("accessToken").asText();
+    }
+}
@@ -0,0 +1,113 @@
+package com.pillmind.presentation.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pillmind.main.routes.AuthRoutes;
+import com.pillmind.presentation.handlers.ErrorHandlers;
+import com.pillmind.test.base.IntegrationTestBase;
+
+import io.javalin.Javalin;
+import io.javalin.testtools.HttpClient;
+import io.javalin.testtools.JavalinTest;
+import okhttp3.Response;
+
+/**
+ * Sessão completa: sign-in, rotação do refresh token, detecção de reuso e logout.
+ */
+@DisplayName("Refresh token / logout routes")
+class SessionRefreshIntegrationTest extends IntegrationTestBase {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Test
+  @DisplayName("Refresh rotaciona o token e o reuso do antigo encerra a sessão")
+  void refreshRotatesAndReuseRevokesSession() throws Exception {
+    JavalinTest.test((app, client) -> {
+      setupRoutes(app);
+      JsonNode session = signUpAndSignIn(client, "rotation@example.com");
+      String firstRefresh = session.get("refreshToken").asText();
+
+      JsonNode rotated;
+      try (Response resp = client.post("/api/auth/refresh", refreshBody(firstRefresh))) {
+        String body = resp.body().string();
+        assertEquals(200, resp.code(), body);
+        rotated = MAPPER.readTree(body);
+      }
+      String secondRefresh = rotated.get("refreshToken").asText();
+      assertNotNull(rotated.get("accessToken").asText());
+      assertNotEquals(firstRefresh, secondRefresh);
+
+      // o token antigo usado de novo derruba a família inteira, inclusive o novo
+      try (Response resp = client.post("/api/auth/refresh", refreshBody(firstRefresh))) {
+        assertEquals(401, resp.code());
+      }
+      try (Response resp = client.post("/api/auth/refresh", refreshBody(secondRefresh))) {
+        assertEquals(401, resp.code());
+      }
+    });
+  }
+
+  @Test
+  @DisplayName("Logout revoga o access token e o refresh token")
+  void logoutRevokesTokens() throws Exception {
+    JavalinTest.test((app, client) -> {
+      setupRoutes(app);
+      JsonNode session = signUpAndSignIn(client, "logout@example.com");
+      String accessToken = session.get("accessToken").asText();
+      String refreshToken = session.get("refreshToken").asText();
+
+      try (Response resp = client.get("/api/profile", b -> b.header("x-access-token", accessToken))) {
+        assertEquals(200, resp.code());
+      }
+
+      try (Response resp = client.post("/api/auth/logout", refreshBody(refreshToken),
+          b -> b.header("x-access-token", accessToken))) {
+        assertEquals(204, resp.code());
+      }
+
+      try (Response resp = client.get("/api/profile", b -> b.header("x-access-token", accessToken))) {
+        assertEquals(401, resp.code());
+      }
+      try (Response resp = client.post("/api/auth/refresh", refreshBody(refreshToken))) {
+        assertEquals(401, resp.code());
+      }
+    });
+  }
+
+  private void setupRoutes(Javalin app) {
+    ErrorHandlers.configure(app);
+    var authRoutes = container.resolve("route.auth", AuthRoutes.class);
+    try {
+      authRoutes.setup(app);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static String refreshBody(String refreshToken) {
+    return "{\"refreshToken\":\"" + refreshToken + "\"}";
+  }
+
+  private JsonNode signUpAndSignIn(HttpClient client, String email) throws IOException {
+    try (var signUp = client.post("/api/signup",
+        "{\"name\":\"Session User\",\"email\":\"" + email + "\",\"password\":\"test12\"}")) {
+      String signUpBody = signUp.body().string();
+      assertEquals(201, signUp.code(), signUpBody);
+    }
+    try (var signIn = client.post("/api/signin",
+        "{\"email\":\"" + email + "\",\"password\":\"test12\"}")) {
+      String body = signIn.body().string();
+      assertEquals(200, signIn.code(), body);
+      return MAPPER.readTree(body);
+    }
+  }
+}
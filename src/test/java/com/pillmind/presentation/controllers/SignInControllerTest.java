@@ -19,6 +19,7 @@ import com.pillmind.domain.errors.ValidationException;
 import com.pillmind.domain.models.Gender;
 import com.pillmind.domain.models.User;
 import com.pillmind.domain.usecases.LocalAuthentication;
+import com.pillmind.main.config.JsonConfig;
 import com.pillmind.presentation.handlers.ErrorHandlers;
 import com.pillmind.presentation.validators.SignInValidation;
 
@@ -41,11 +42,11 @@ public class SignInControllerTest {
 
     var user = makeUser();
     when(localAuthentication.execute(any(LocalAuthentication.Params.class)))
-        .thenReturn(new LocalAuthentication.Result("access-token-123", user));
+        .thenReturn(new LocalAuthentication.Result("access-token-123", "refresh-token-123", user));
 
     JavalinTest.test((app, client) -> {
       ErrorHandlers.configure(app);
-      app.post("/api/signin", new SignInController(localAuthentication, validator)::handle);
+      app.post("/api/signin", new SignInController(localAuthentication, validator, JsonConfig.createObjectMapper())::handle);
 
       var response = client.post("/api/signin", """
           {
@@ -55,7 +56,9 @@ public class SignInControllerTest {
           """);
 
       assertEquals(200, response.code());
-      assertTrue(response.body().string().contains("access-token-123"));
+      var body = response.body().string();
+      assertTrue(body.contains("access-token-123"));
+      assertTrue(body.contains("refresh-token-123"));
       verify(localAuthentication).execute(any(LocalAuthentication.Params.class));
     });
   }
@@ -70,7 +73,7 @@ public class SignInControllerTest {
 
     JavalinTest.test((app, client) -> {
       ErrorHandlers.configure(app);
-      app.post("/api/signin", new SignInController(localAuthentication, validator)::handle);
+      app.post("/api/signin", new SignInController(localAuthentication, validator, JsonConfig.createObjectMapper())::handle);
 
       try (var response = client.post("/api/signin", """
           {
@@ -95,7 +98,7 @@ public class SignInControllerTest {
 
     JavalinTest.test((app, client) -> {
       ErrorHandlers.configure(app);
-      app.post("/api/signin", new SignInController(localAuthentication, validator)::handle);
+      app.post("/api/signin", new SignInController(localAuthentication, validator, JsonConfig.createObjectMapper())::handle);
       var payload = """
           {
             "email": "test@example.com",
@@ -21,6 +21,7 @@ import com.pillmind.domain.errors.ValidationException;
 import com.pillmind.domain.models.Gender;
 import com.pillmind.domain.models.User;
 import com.pillmind.domain.usecases.CreateLocalAccount;
+import com.pillmind.main.config.JsonConfig;
 import com.pillmind.presentation.controllers.SignUpController.SignUpRequest;
 import com.pillmind.presentation.handlers.ErrorHandlers;
 import com.pillmind.presentation.protocols.Validation;
@@ -52,7 +53,7 @@ class SignUpControllerTest {
   void setUp() {
     createLocalAccount = mock(CreateLocalAccount.class);
     validation = mock(SignUpValidation.class);
-    signUpController = new SignUpController(createLocalAccount, validation);
+    signUpController = new SignUpController(createLocalAccount, validation, JsonConfig.createObjectMapper());
   }
 
   private void withSignUpApp(BiConsumer<Javalin, HttpClient> test) {
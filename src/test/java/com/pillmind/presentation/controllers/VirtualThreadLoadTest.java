@@ -0,0 +1,327 @@
+package com.pillmind.presentation.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pillmind.data.protocols.storage.ObjectStorageService;
+import com.pillmind.main.di.ApplicationBootstrap;
+import com.pillmind.main.di.Container;
+import com.pillmind.main.routes.AuthRoutes;
+import com.pillmind.main.routes.MediaRoutes;
+import com.pillmind.main.routes.MedicineRoutes;
+import com.pillmind.presentation.handlers.ErrorHandlers;
+import com.pillmind.test.config.TestDatabaseConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.javalin.Javalin;
+import io.javalin.testtools.HttpClient;
+import io.javalin.testtools.JavalinTest;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * Compara o pool de threads do Jetty com virtual threads ({@code HTTP_VIRTUAL_THREADS}) em
+ * {@code GET /api/medicines} (JDBC) e no streaming de mídia (I/O lento do MinIO, simulado).
+ * <p>
+ * Com mais requisições bloqueadas do que threads no pool do Jetty, o modo de plataforma
+ * enfileira; com virtual threads cada requisição espera o I/O sem ocupar uma thread do SO.
+ * <p>
+ * Lento: roda só com {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+@DisplayName("Platform vs virtual threads load test")
+class VirtualThreadLoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Acima do máximo de 250 threads do pool padrão do Jetty no Javalin. */
+    private static final int MEDIA_CLIENTS = 600;
+    private static final long MEDIA_LATENCY_MS = 200;
+    private static final byte[] MEDIA_BYTES = new byte[64 * 1024];
+    private static final String MEDIA_USER_ID = UUID.randomUUID().toString();
+
+    private static final int READ_CLIENTS = 200;
+    private static final int READS_PER_CLIENT = 5;
+    private static final int MEDICINES = 20;
+
+    @TempDir
+    Path tempDir;
+
+    private HikariDataSource dataSource;
+    private ApplicationBootstrap bootstrap;
+    private Container container;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = TestDatabaseConfig.createFileDataSource(tempDir.resolve("virtual-threads.db"), 8);
+        bootstrap = new ApplicationBootstrap();
+        bootstrap.bootstrap(dataSource);
+        container = bootstrap.getContainer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bootstrap.shutdown();
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Streaming de mídia lento termina antes com virtual threads")
+    void mediaStreamingScalesWithVirtualThreads() {
+        long platformMs = mediaBurst(false);
+        long virtualMs = mediaBurst(true);
+
+        logger.info("Streaming de mídia ({} clientes, {} ms de latência): plataforma {} ms, virtual {} ms",
+                MEDIA_CLIENTS, MEDIA_LATENCY_MS, platformMs, virtualMs);
+        assertTrue(virtualMs < platformMs,
+                "virtual threads deveriam terminar antes: plataforma " + platformMs + " ms, virtual " + virtualMs + " ms");
+    }
+
+    @Test
+    @DisplayName("GET /api/medicines não fica mais lento com virtual threads")
+    void medicineReadsDoNotRegressWithVirtualThreads() {
+        long platformP99 = readBurst(false);
+        long virtualP99 = readBurst(true);
+
+        logger.info("GET /api/medicines ({} clientes x {} leituras): p99 plataforma {} ms, virtual {} ms",
+                READ_CLIENTS, READS_PER_CLIENT, platformP99, virtualP99);
+        // O pool JDBC limita as duas configurações; virtual threads não podem piorar (pinning)
+        assertTrue(virtualP99 <= platformP99 * 2 + 100,
+                "p99 com virtual threads: " + virtualP99 + " ms, com plataforma: " + platformP99 + " ms");
+    }
+
+    private long mediaBurst(boolean virtualThreads) {
+        long[] elapsed = new long[1];
+        JavalinTest.test(app(virtualThreads), (app, client) -> {
+            new MediaRoutes(new SlowObjectStorage()).setup(app);
+            String path = "/api/media/profiles/" + MEDIA_USER_ID + "/" + UUID.randomUUID() + ".png";
+
+            Queue<String> failures = new ConcurrentLinkedQueue<>();
+            elapsed[0] = burst(MEDIA_CLIENTS, 1, failures, () -> {
+                try (Response response = client.get(path)) {
+                    int size = response.body().bytes().length;
+                    if (response.code() != 200 || size != MEDIA_BYTES.length) {
+                        failures.add("media -> " + response.code() + " (" + size + " bytes)");
+                    }
+                }
+            }, Collections.synchronizedList(new ArrayList<>()));
+            assertTrue(failures.isEmpty(), String.join("\n", failures));
+        });
+        return elapsed[0];
+    }
+
+    private long readBurst(boolean virtualThreads) {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        JavalinTest.test(app(virtualThreads), (app, client) -> {
+            setupRoutes(app);
+            String token = signUpAndSignIn(client, (virtualThreads ? "virtual" : "platform") + "@example.com");
+            for (int i = 0; i < MEDICINES; i++) {
+                createMedicine(client, token, "Medicine " + i);
+            }
+
+            Queue<String> failures = new ConcurrentLinkedQueue<>();
+            burst(READ_CLIENTS, READS_PER_CLIENT, failures, () -> {
+                try (Response response = client.request("/api/medicines", b -> {
+                    b.header("Authorization", "Bearer " + token);
+                    b.get();
+                })) {
+                    if (response.code() != 200) {
+                        failures.add("list -> " + response.code() + " " + response.body().string());
+                    } else {
+                        response.body().bytes();
+                    }
+                }
+            }, latencies);
+            assertTrue(failures.isEmpty(), String.join("\n", failures));
+        });
+        return percentile(latencies, 0.99);
+    }
+
+    /**
+     * Dispara {@code clients} clientes simultâneos, cada um com {@code requests} chamadas; retorna o
+     * tempo total em ms e acumula a latência de cada chamada em {@code latencies}.
+     */
+    private static long burst(int clients, int requests, Queue<String> failures, IoCall call, List<Long> latencies)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        // Clientes em virtual threads: o gargalo medido é o servidor, não o gerador de carga
+        ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor();
+        long startedAt;
+        try {
+            for (int c = 0; c < clients; c++) {
+                pool.submit(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < requests; i++) {
+                            long callStartedAt = System.nanoTime();
+                            call.run();
+                            latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - callStartedAt));
+                        }
+                    } catch (Exception e) {
+                        failures.add(e.toString());
+                    }
+                });
+            }
+            startedAt = System.nanoTime();
+            start.countDown();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(5, TimeUnit.MINUTES), "carga não terminou a tempo");
+        } finally {
+            pool.shutdownNow();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+
+    private static Javalin app(boolean virtualThreads) {
+        return Javalin.create(config -> config.useVirtualThreads = virtualThreads);
+    }
+
+    private static long percentile(List<Long> values, double percentile) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    private void setupRoutes(Javalin app) {
+        ErrorHandlers.configure(app);
+        try {
+            container.resolve("route.auth", AuthRoutes.class).setup(app);
+            container.resolve("route.medicines", MedicineRoutes.class).setup(app);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void createMedicine(HttpClient client, String token, String name) throws IOException {
+        String body = """
+                {
+                  "name": "%s",
+                  "dosage": "500mg",
+                  "frequency": "daily",
+                  "times": ["08:00"],
+                  "startDate": "2024-01-01"
+                }
+                """.formatted(name);
+        try (Response response = client.request("/api/medicines", b -> {
+            b.header("Authorization", "Bearer " + token);
+            b.post(RequestBody.create(body, MediaType.parse("application/json")));
+        })) {
+            assertEquals(201, response.code(), response.body().string());
+        }
+    }
+
+    private String signUpAndSignIn(HttpClient client, String email) throws IOException {
+        try (var signUp = client.post("/api/signup", """
+                {
+                  "name": "Load User",
+                  "email": "%s",
+                  "password": "SecurePass123",
+                  "dateOfBirth": "1990-01-01",
+                  "gender": "MALE"
+                }
+                """.formatted(email))) {
+            assertEquals(201, signUp.code(), signUp.body().string());
+        }
+        String json;
+        try (var signIn = client.post("/api/signin", """
+                { "email": "%s", "password": "SecurePass123" }
+                """.formatted(email))) {
+            json = signIn.body().string();
+            assertEquals(200, signIn.code(), json);
+        }
+        return MAPPER.readTree(json).get("accessToken").asText();
+    }
+
+    @FunctionalInterface
+    private interface IoCall {
+        void run() throws IOException;
+    }
+
+    /**
+     * MinIO de mentira: cada objeto demora {@link #MEDIA_LATENCY_MS} para começar a chegar.
+     */
+    private static final class SlowObjectStorage implements ObjectStorageService {
+        @Override
+        public boolean isConfigured() {
+            return true;
+        }
+
+        @Override
+        public Optional<StreamedObject> openPublicObject(String objectKey) {
+            return Optional.of(new StreamedObject("image/png", new SlowInputStream(), MEDIA_BYTES.length));
+        }
+
+        @Override
+        public StoredObject putProfileImage(InputStream data, long sizeBytes, String contentType, String userId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public StoredObject putMedicineImage(InputStream data, long sizeBytes, String contentType, String userId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Sem {@code synchronized} (ao contrário de {@link ByteArrayInputStream}): a espera não pode
+     * prender a carrier da virtual thread.
+     */
+    private static final class SlowInputStream extends InputStream {
+        private final InputStream data = new ByteArrayInputStream(MEDIA_BYTES);
+        private boolean waited;
+
+        @Override
+        public int read() throws IOException {
+            awaitFirstByte();
+            return data.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            awaitFirstByte();
+            return data.read(buffer, offset, length);
+        }
+
+        private void awaitFirstByte() throws IOException {
+            if (waited) {
+                return;
+            }
+            waited = true;
+            try {
+                Thread.sleep(MEDIA_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrompido", e);
+            }
+        }
+    }
+}
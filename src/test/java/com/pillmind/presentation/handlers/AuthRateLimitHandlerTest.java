@@ -0,0 +1,164 @@
+package com.pillmind.presentation.handlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pillmind.domain.models.Gender;
+import com.pillmind.domain.models.User;
+import com.pillmind.domain.usecases.LocalAuthentication;
+import com.pillmind.infra.ratelimit.InMemoryRateLimiter;
+import com.pillmind.main.config.JsonConfig;
+import com.pillmind.presentation.controllers.SignInController;
+import com.pillmind.presentation.validators.SignInValidation;
+
+import io.javalin.testtools.HttpClient;
+import io.javalin.testtools.JavalinTest;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+@DisplayName("AuthRateLimitHandler")
+class AuthRateLimitHandlerTest {
+
+    private LocalAuthentication localAuthentication;
+
+    @BeforeEach
+    void setUp() {
+        localAuthentication = mock(LocalAuthentication.class);
+        var user = new User("user-id", "John Doe", "john@example.com", LocalDate.of(1990, 5, 15), Gender.MALE, null,
+                true, LocalDateTime.now(), LocalDateTime.now());
+        when(localAuthentication.execute(any(LocalAuthentication.Params.class)))
+                .thenReturn(new LocalAuthentication.Result("access-token-123", "refresh-token-123", user));
+    }
+
+    @Test
+    @DisplayName("Recusa com 429 e Retry-After sem chegar ao controller")
+    void rejectsBeforeController() {
+        var handler = new AuthRateLimitHandler(limiter(100), limiter(2), false);
+
+        JavalinTest.test((app, client) -> {
+            ErrorHandlers.configure(app);
+            app.before("/api/signin", handler);
+            app.post("/api/signin", new SignInController(localAuthentication, mock(SignInValidation.class),
+                    JsonConfig.createObjectMapper())::handle);
+
+            for (int i = 0; i < 2; i++) {
+                try (var response = client.post("/api/signin", signIn("john@example.com"))) {
+                    assertEquals(200, response.code());
+                }
+            }
+            try (var response = client.post("/api/signin", signIn("john@example.com"))) {
+                assertEquals(429, response.code());
+                assertEquals("30", response.header("Retry-After"));
+            }
+            verify(localAuthentication, times(2)).execute(any(LocalAuthentication.Params.class));
+        });
+    }
+
+    @Test
+    @DisplayName("Variações de caixa e espaços do email contam para a mesma conta")
+    void normalizesEmail() {
+        var handler = new AuthRateLimitHandler(limiter(100), limiter(1), false);
+
+        JavalinTest.test((app, client) -> {
+            ErrorHandlers.configure(app);
+            app.before("/api/signin", handler);
+            app.post("/api/signin", new SignInController(localAuthentication, mock(SignInValidation.class),
+                    JsonConfig.createObjectMapper())::handle);
+
+            try (var response = client.post("/api/signin", signIn("john@example.com"))) {
+                assertEquals(200, response.code());
+            }
+            try (var response = client.post("/api/signin", signIn("  John@Example.COM "))) {
+                assertEquals(429, response.code());
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Limite por IP vale para qualquer conta")
+    void limitsPerIp() {
+        var handler = new AuthRateLimitHandler(limiter(1), limiter(100), false);
+
+        JavalinTest.test((app, client) -> {
+            ErrorHandlers.configure(app);
+            app.before("/api/signin", handler);
+            app.post("/api/signin", new SignInController(localAuthentication, mock(SignInValidation.class),
+                    JsonConfig.createObjectMapper())::handle);
+
+            try (var response = client.post("/api/signin", signIn("a@example.com"))) {
+                assertEquals(200, response.code());
+            }
+            try (var response = client.post("/api/signin", signIn("b@example.com"))) {
+                assertEquals(429, response.code());
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Atrás de proxy confiável, cada cliente do X-Forwarded-For tem seu próprio balde")
+    void separatesForwardedClients() {
+        var handler = new AuthRateLimitHandler(limiter(1), limiter(100), true);
+
+        JavalinTest.test((app, client) -> {
+            ErrorHandlers.configure(app);
+            app.before("/api/signin", handler);
+            app.post("/api/signin", new SignInController(localAuthentication, mock(SignInValidation.class),
+                    JsonConfig.createObjectMapper())::handle);
+
+            // Todas as conexões vêm do mesmo proxy (127.0.0.1)
+            try (var response = signInFrom(client, "203.0.113.7, 10.0.0.2", "a@example.com")) {
+                assertEquals(200, response.code());
+            }
+            try (var response = signInFrom(client, "198.51.100.23", "b@example.com")) {
+                assertEquals(200, response.code());
+            }
+            try (var response = signInFrom(client, "203.0.113.7", "c@example.com")) {
+                assertEquals(429, response.code());
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Corpo sem email válido não gera chave de conta")
+    void ignoresMissingOrInvalidEmail() {
+        assertNull(AuthRateLimitHandler.normalizedEmail(null));
+        assertNull(AuthRateLimitHandler.normalizedEmail("{\"idToken\":\"abc\"}"));
+        assertNull(AuthRateLimitHandler.normalizedEmail("{\"email\": 42}"));
+        assertNull(AuthRateLimitHandler.normalizedEmail("not json"));
+        assertEquals("john@example.com", AuthRateLimitHandler.normalizedEmail("{\"email\":\" JOHN@example.com\"}"));
+    }
+
+    /** Burst dado, reabastecendo duas vezes por minuto (Retry-After de 30 s). */
+    private static InMemoryRateLimiter limiter(int burst) {
+        return new InMemoryRateLimiter("test", burst, 2, 100);
+    }
+
+    private static Response signInFrom(HttpClient client, String forwardedFor, String email) {
+        return client.request("/api/signin", builder -> {
+            builder.header("X-Forwarded-For", forwardedFor);
+            builder.post(RequestBody.create(signIn(email), MediaType.parse("application/json")));
+        });
+    }
+
+    private static String signIn(String email) {
+        return """
+                {
+                  "email": "%s",
+                  "password": "validPassword123"
+                }
+                """.formatted(email);
+    }
+}
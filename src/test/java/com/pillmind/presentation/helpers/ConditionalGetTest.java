@@ -0,0 +1,38 @@
+package com.pillmind.presentation.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ConditionalGet")
+class ConditionalGetTest {
+
+    private static final String ETAG = ConditionalGet.etag("abc.7");
+
+    @Test
+    @DisplayName("Should quote the version as a strong ETag")
+    void shouldBuildStrongEtag() {
+        assertEquals("\"abc.7\"", ETAG);
+    }
+
+    @Test
+    @DisplayName("Should match an identical ETag, a weak one and *")
+    void shouldMatchEquivalentTags() {
+        assertTrue(ConditionalGet.matches("\"abc.7\"", ETAG));
+        assertTrue(ConditionalGet.matches("W/\"abc.7\"", ETAG));
+        assertTrue(ConditionalGet.matches("*", ETAG));
+        assertTrue(ConditionalGet.matches("\"abc.6\", \"abc.7\"", ETAG));
+    }
+
+    @Test
+    @DisplayName("Should not match a missing or different ETag")
+    void shouldNotMatchDifferentTags() {
+        assertFalse(ConditionalGet.matches(null, ETAG));
+        assertFalse(ConditionalGet.matches("", ETAG));
+        assertFalse(ConditionalGet.matches("\"abc.6\"", ETAG));
+        assertFalse(ConditionalGet.matches("abc.7", ETAG));
+    }
+}
@@ -24,10 +24,10 @@ public abstract class IntegrationTestBase {
     static void setUpDatabase() throws SQLException {
         connection = TestDatabaseConfig.initializeDatabase();
 
-        // Bootstrap com a mesma conexão SQLite de teste
+        // Bootstrap com pool sobre o mesmo SQLite de teste
         try {
             ApplicationBootstrap bootstrap = new ApplicationBootstrap();
-            bootstrap.bootstrap(connection);
+            bootstrap.bootstrap(TestDatabaseConfig.getDataSource());
             container = bootstrap.getContainer();
         } catch (Exception e) {
             throw new RuntimeException("Erro ao inicializar bootstrap", e);
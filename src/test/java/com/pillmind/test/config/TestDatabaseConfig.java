@@ -1,13 +1,19 @@
 package com.pillmind.test.config;
 
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 
+import javax.sql.DataSource;
+
 import org.flywaydb.core.Flyway;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
 /**
  * SQLite em memória compartilhada para testes (mesmo stack que produção dev).
  */
@@ -20,6 +26,7 @@ public class TestDatabaseConfig {
     private static final String SQLITE_URL = "jdbc:sqlite:file:pillmind_test?mode=memory&cache=shared";
 
     private static Connection connection;
+    private static HikariDataSource dataSource;
 
     /**
      * Inicializa o SQLite com migrations Flyway.
@@ -40,16 +47,62 @@ public class TestDatabaseConfig {
         }
         logger.info("✓ SQLite de teste conectado");
 
-        runMigrations();
+        runMigrations(SQLITE_URL);
 
         return connection;
     }
 
-    private static void runMigrations() {
+    /**
+     * Pool sobre o mesmo banco em memória; a conexão de {@link #initializeDatabase()} mantém o banco vivo.
+     */
+    public static DataSource getDataSource() {
+        if (dataSource == null) {
+            dataSource = createDataSource(SQLITE_URL, 4);
+        }
+        return dataSource;
+    }
+
+    /**
+     * Banco SQLite em arquivo (WAL), migrado, para testes com várias conexões concorrentes.
+     * O chamador fecha o pool retornado.
+     */
+    public static HikariDataSource createFileDataSource(Path file, int poolSize) {
+        String url = "jdbc:sqlite:" + file.toAbsolutePath();
+        runMigrations(url);
+        return createDataSource(url, poolSize, false);
+    }
+
+    /**
+     * Pool somente leitura ({@code PRAGMA query_only}) sobre um banco já criado por
+     * {@link #createFileDataSource(Path, int)}, como o pool de leitura de produção.
+     */
+    public static HikariDataSource createFileReadOnlyDataSource(Path file, int poolSize) {
+        return createDataSource("jdbc:sqlite:" + file.toAbsolutePath(), poolSize, true);
+    }
+
+    private static HikariDataSource createDataSource(String url, int poolSize) {
+        return createDataSource(url, poolSize, false);
+    }
+
+    private static HikariDataSource createDataSource(String url, int poolSize, boolean queryOnly) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.addDataSourceProperty("foreign_keys", "true");
+        config.addDataSourceProperty("journal_mode", "WAL");
+        config.addDataSourceProperty("busy_timeout", "10000");
+        if (queryOnly) {
+            config.setConnectionInitSql("PRAGMA query_only = ON");
+        }
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(1);
+        return new HikariDataSource(config);
+    }
+
+    private static void runMigrations(String url) {
         logger.info("Executando migrations Flyway...");
 
         Flyway flyway = Flyway.configure()
-                .dataSource(SQLITE_URL, "", "")
+                .dataSource(url, "", "")
                 .initSql("PRAGMA foreign_keys = ON")
                 .locations("classpath:db/migration")
                 .baselineOnMigrate(true)
@@ -76,13 +129,23 @@ public class TestDatabaseConfig {
 
     public static void cleanAllTables() throws SQLException {
         logger.debug("Limpando todas as tabelas...");
+        cleanTable("reminder_shard_leases");
+        cleanTable("reminder_nodes");
+        cleanTable("medicine_taken");
+        cleanTable("medicine_tombstones");
         cleanTable("medicines");
+        cleanTable("refresh_tokens");
+        cleanTable("revoked_access_tokens");
         cleanTable("oauth_accounts");
         cleanTable("local_accounts");
         cleanTable("users");
     }
 
     public static void closeDatabase() throws SQLException {
+        if (dataSource != null) {
+            dataSource.close();
+            dataSource = null;
+        }
         if (connection != null && !connection.isClosed()) {
             connection.close();
             logger.info("SQLite de teste fechado");